@@ -1,6 +1,8 @@
 package com.sun.apollo.graphql.mappers;
 
 import com.sun.apollo.codegen.types.Stem;
+import com.sun.apollo.codegen.types.StemRendition;
+import com.sun.apollo.model.enums.RenditionStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.sun.apollo.model.StemEntity;
@@ -14,8 +16,11 @@ public class StemMapper {
 
   private static final Logger logger = LoggerFactory.getLogger(StemMapper.class);
 
+  static final String RENDITION_MIME_TYPE = "audio/mp4";
+
   /**
-   * Maps a domain StemEntity to a GraphQL Stem type.
+   * Maps a domain StemEntity to a GraphQL Stem type. The stem's song must be
+   * loaded, as its URLs live under the song's directory.
    *
    * @param stemEntity the domain StemEntity to map
    * @return the mapped GraphQL Stem type
@@ -23,13 +28,33 @@ public class StemMapper {
   public Stem map(StemEntity stemEntity) {
     logger.debug("Mapping stem {}", stemEntity.getName());
 
+    String songPath = SongMapper.path(stemEntity.getSong());
+    StemRendition rendition = rendition(stemEntity, songPath);
+
     Stem stem = Stem.newBuilder()
+        .id(stemEntity.getId().toString())
         .path(stemEntity.getFilePath())
         .name(stemEntity.getName())
+        .url(rendition != null ? rendition.getUrl() : songPath + stemEntity.getFilePath())
+        .rendition(rendition)
         .build();
 
     logger.debug("Mapped stem {} with path {}", stemEntity.getName(), stem.getPath());
 
     return stem;
   }
-}
\ No newline at end of file
+
+  private StemRendition rendition(StemEntity stemEntity, String songPath) {
+    if (stemEntity.getRenditionStatus() != RenditionStatus.READY) {
+      return null;
+    }
+    return StemRendition.newBuilder()
+        .url(songPath + stemEntity.getRenditionFile())
+        .mimeType(RENDITION_MIME_TYPE)
+        .bytes(stemEntity.getRenditionBytes())
+        .sourceBytes(stemEntity.getSourceBytes())
+        .durationMs(stemEntity.getDurationMs())
+        .peaksUrl(songPath + stemEntity.getPeaksFile())
+        .build();
+  }
+}
@@ -0,0 +1,32 @@
+package com.sun.apollo.graphql.resolvers;
+
+import com.netflix.graphql.dgs.DgsDataLoader;
+import com.sun.apollo.codegen.types.Stem;
+import com.sun.apollo.graphql.services.StemPlayerGraphQLService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.MappedBatchLoader;
+
+/**
+ * Batch-resolves Song.stems: every song in a GraphQL response that asks for
+ * its stems is served by one query, instead of one lazy collection load per
+ * song.
+ */
+@DgsDataLoader(name = SongStemsDataLoader.NAME)
+public class SongStemsDataLoader implements MappedBatchLoader<String, List<Stem>> {
+
+  public static final String NAME = "songStems";
+
+  private final StemPlayerGraphQLService stemPlayerGraphQLService;
+
+  public SongStemsDataLoader(StemPlayerGraphQLService stemPlayerGraphQLService) {
+    this.stemPlayerGraphQLService = stemPlayerGraphQLService;
+  }
+
+  @Override
+  public CompletableFuture<Map<String, List<Stem>>> load(Set<String> songIds) {
+    return CompletableFuture.completedFuture(stemPlayerGraphQLService.stemsBySong(songIds));
+  }
+}
@@ -2,12 +2,19 @@ package com.sun.apollo.graphql.resolvers;
 
 import com.netflix.graphql.dgs.DgsComponent;
 import com.netflix.graphql.dgs.DgsData;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
 import com.sun.apollo.graphql.services.StemPlayerGraphQLService;
+import com.sun.apollo.codegen.types.PlayerLoadInput;
+import com.sun.apollo.codegen.types.QueryResult;
 import com.sun.apollo.codegen.types.Song;
+import com.sun.apollo.codegen.types.Stem;
+import com.sun.apollo.codegen.types.StemPlayerMutations;
 import com.sun.apollo.codegen.types.StemPlayerQueries;
+import org.dataloader.DataLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GraphQL data fetcher for Stem Player queries.
@@ -29,6 +36,16 @@ public class StemPlayerDataFetcher {
     return StemPlayerQueries.newBuilder().build();
   }
 
+  /**
+   * Provides the stem player mutations object.
+   *
+   * @return a new StemPlayerMutations instance
+   */
+  @DgsData(parentType = "Mutation", field = "stemPlayerMutations")
+  public StemPlayerMutations getStemPlayerMutations() {
+    return StemPlayerMutations.newBuilder().build();
+  }
+
   /**
    * Retrieves all songs for the stem player (without stems).
    *
@@ -51,4 +68,30 @@ public class StemPlayerDataFetcher {
   public Song locate(String id) {
     return stemPlayerGraphQLService.locate(id);
   }
+
+  /**
+   * Resolves a song's stems through the songStems DataLoader, so a list of
+   * songs costs one stem query.
+   *
+   * @param env the data fetching environment; its source is the song
+   * @return the song's stems
+   */
+  @DgsData(parentType = "Song", field = "stems")
+  public CompletableFuture<List<Stem>> stems(DgsDataFetchingEnvironment env) {
+    Song source = env.getSource();
+    DataLoader<String, List<Stem>> loader = env.getDataLoader(SongStemsDataLoader.NAME);
+    return loader.load(source.getId()).thenApply(stems -> stems == null ? List.of() : stems);
+  }
+
+  /**
+   * Records how long the player took to load a song and how many bytes it fetched.
+   *
+   * @param input the browser's measurements
+   * @return QueryResult indicating success or error
+   */
+  @DgsData(parentType = "StemPlayerMutations", field = "reportLoad")
+  @PreAuthorize("@permissions.has('graphql.apollo.reportLoad')")
+  public QueryResult reportLoad(PlayerLoadInput input) {
+    return stemPlayerGraphQLService.reportLoad(input);
+  }
 }
@@ -2,15 +2,29 @@ package com.sun.apollo.graphql.services;
 
 import com.sun.apollo.service.ApolloService;
 import com.sun.apollo.graphql.mappers.SongMapper;
+import com.sun.apollo.graphql.mappers.StemMapper;
+import com.sun.apollo.codegen.types.PlayerLoadInput;
+import com.sun.apollo.codegen.types.QueryResult;
+import com.sun.apollo.codegen.types.QuerySuccess;
 import com.sun.apollo.codegen.types.Song;
+import com.sun.apollo.codegen.types.StandardError;
+import com.sun.apollo.codegen.types.Stem;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import com.sun.apollo.model.SongEntity;
+import com.sun.apollo.model.StemEntity;
 import java.util.UUID;
 
 /**
@@ -29,6 +43,12 @@ public class StemPlayerGraphQLService {
   @Autowired
   private SongMapper songMapper;
 
+  @Autowired
+  private StemMapper stemMapper;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   /**
    * Retrieves all songs for the stem player (without stems).
    *
@@ -65,4 +85,55 @@ public class StemPlayerGraphQLService {
     logger.info("Retrieved song {} with id {}", songEntity.getName(), song.getId());
     return song;
   }
+
+  /**
+   * Retrieves the stems of many songs in one query, for the songStems
+   * DataLoader.
+   *
+   * @param songIds the song IDs as strings
+   * @return the GraphQL Stem objects keyed by song ID; songs without stems are absent
+   */
+  @Transactional(readOnly = true)
+  public Map<String, List<Stem>> stemsBySong(Collection<String> songIds) {
+    List<UUID> ids = songIds.stream().map(UUID::fromString).toList();
+    Map<String, List<Stem>> stems = new HashMap<>();
+    for (Map.Entry<UUID, List<StemEntity>> entry : apolloService.findStemsBySongIds(ids).entrySet()) {
+      stems.put(entry.getKey().toString(), entry.getValue().stream().map(stemMapper::map).toList());
+    }
+    logger.debug("Retrieved stems for {} of {} songs", stems.size(), ids.size());
+    return stems;
+  }
+
+  /**
+   * Records one player load as measured by the browser: the time until every
+   * stem was playable in {@code apollo.player.time_to_playable} and the bytes
+   * fetched in {@code apollo.player.bytes}, both tagged by whether renditions
+   * or originals were played.
+   *
+   * @param input the measurements
+   * @return QueryResult indicating success or error
+   */
+  public QueryResult reportLoad(PlayerLoadInput input) {
+    if (input.getTimeToPlayableMs() < 0 || input.getBytes() < 0) {
+      return StandardError.newBuilder()
+          .message("timeToPlayableMs and bytes must not be negative")
+          .build();
+    }
+    String source = Boolean.TRUE.equals(input.getRenditions()) ? "rendition" : "original";
+    Timer.builder("apollo.player.time_to_playable")
+        .description("Time from requesting a song's stems until all were playable")
+        .tag("source", source)
+        .register(meterRegistry)
+        .record(Duration.ofMillis(input.getTimeToPlayableMs()));
+    DistributionSummary.builder("apollo.player.bytes")
+        .description("Bytes fetched to load a song's stems")
+        .baseUnit("bytes")
+        .tag("source", source)
+        .register(meterRegistry)
+        .record(input.getBytes());
+    return QuerySuccess.newBuilder()
+        .message("Player load recorded")
+        .id(input.getSongId())
+        .build();
+  }
 }
\ No newline at end of file
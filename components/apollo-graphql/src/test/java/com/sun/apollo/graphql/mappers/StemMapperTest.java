@@ -3,7 +3,9 @@ package com.sun.apollo.graphql.mappers;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sun.apollo.codegen.types.Stem;
+import com.sun.apollo.model.SongEntity;
 import com.sun.apollo.model.StemEntity;
+import com.sun.apollo.model.enums.RenditionStatus;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
@@ -11,16 +13,69 @@ class StemMapperTest {
 
   private final StemMapper mapper = new StemMapper();
 
-  @Test
-  void map_shouldMapAllFields() {
+  private static StemEntity stem() {
+    SongEntity song = new SongEntity();
+    song.setId(UUID.randomUUID());
+    song.setFilePath("test-song");
+
     StemEntity entity = new StemEntity();
     entity.setId(UUID.randomUUID());
     entity.setFilePath("drums.mp3");
     entity.setName("Drums");
+    entity.setSong(song);
+    return entity;
+  }
+
+  @Test
+  void map_shouldMapAllFields() {
+    StemEntity entity = stem();
 
     Stem result = mapper.map(entity);
 
+    assertThat(result.getId()).isEqualTo(entity.getId().toString());
     assertThat(result.getPath()).isEqualTo("drums.mp3");
     assertThat(result.getName()).isEqualTo("Drums");
   }
+
+  @Test
+  void map_beforeRendition_shouldPointAtTheOriginal() {
+    Stem result = mapper.map(stem());
+
+    assertThat(result.getUrl()).isEqualTo("/_components/stem-player/test-song/stems/drums.mp3");
+    assertThat(result.getRendition()).isNull();
+  }
+
+  @Test
+  void map_failedRendition_shouldPointAtTheOriginal() {
+    StemEntity entity = stem();
+    entity.setRenditionStatus(RenditionStatus.FAILED);
+
+    Stem result = mapper.map(entity);
+
+    assertThat(result.getUrl()).isEqualTo("/_components/stem-player/test-song/stems/drums.mp3");
+    assertThat(result.getRendition()).isNull();
+  }
+
+  @Test
+  void map_readyRendition_shouldPointAtTheHashedRendition() {
+    StemEntity entity = stem();
+    entity.setRenditionStatus(RenditionStatus.READY);
+    entity.setRenditionFile("renditions/0123456789abcdef.m4a");
+    entity.setPeaksFile("renditions/0123456789abcdef.peaks.json");
+    entity.setSourceBytes(40_000_000L);
+    entity.setRenditionBytes(3_000_000L);
+    entity.setDurationMs(180_000L);
+
+    Stem result = mapper.map(entity);
+
+    String dir = "/_components/stem-player/test-song/stems/";
+    assertThat(result.getPath()).isEqualTo("drums.mp3");
+    assertThat(result.getUrl()).isEqualTo(dir + "renditions/0123456789abcdef.m4a");
+    assertThat(result.getRendition().getUrl()).isEqualTo(result.getUrl());
+    assertThat(result.getRendition().getMimeType()).isEqualTo("audio/mp4");
+    assertThat(result.getRendition().getPeaksUrl()).isEqualTo(dir + "renditions/0123456789abcdef.peaks.json");
+    assertThat(result.getRendition().getBytes()).isEqualTo(3_000_000L);
+    assertThat(result.getRendition().getSourceBytes()).isEqualTo(40_000_000L);
+    assertThat(result.getRendition().getDurationMs()).isEqualTo(180_000L);
+  }
 }
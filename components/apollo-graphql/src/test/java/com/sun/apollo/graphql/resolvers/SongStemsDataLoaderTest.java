@@ -0,0 +1,35 @@
+package com.sun.apollo.graphql.resolvers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.apollo.codegen.types.Stem;
+import com.sun.apollo.graphql.services.StemPlayerGraphQLService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SongStemsDataLoaderTest {
+
+  @Mock private StemPlayerGraphQLService stemPlayerGraphQLService;
+  @InjectMocks private SongStemsDataLoader loader;
+
+  @Test
+  void load_resolvesTheWholeBatchInOneCall() throws Exception {
+    Set<String> ids = Set.of("s1", "s2", "s3");
+    List<Stem> stems = List.of(Stem.newBuilder().name("Drums").build());
+    when(stemPlayerGraphQLService.stemsBySong(ids)).thenReturn(Map.of("s1", stems));
+
+    Map<String, List<Stem>> result = loader.load(ids).get();
+
+    assertThat(result).containsExactly(Map.entry("s1", stems));
+    verify(stemPlayerGraphQLService).stemsBySong(ids);
+  }
+}
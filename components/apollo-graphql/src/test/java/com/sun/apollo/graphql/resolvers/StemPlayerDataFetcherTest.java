@@ -1,8 +1,13 @@
 package com.sun.apollo.graphql.resolvers;
 
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
+import com.sun.apollo.codegen.types.PlayerLoadInput;
+import com.sun.apollo.codegen.types.QuerySuccess;
 import com.sun.apollo.codegen.types.Song;
+import com.sun.apollo.codegen.types.Stem;
 import com.sun.apollo.codegen.types.StemPlayerQueries;
 import com.sun.apollo.graphql.services.StemPlayerGraphQLService;
+import org.dataloader.DataLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +17,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,4 +71,41 @@ class StemPlayerDataFetcherTest {
     assertThat(result).isEqualTo(mockSong);
     assertThat(result.getName()).isEqualTo("Test Song 1");
   }
-}
\ No newline at end of file
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void stems_shouldLoadThroughTheDataLoader() throws Exception {
+    Song song = Song.newBuilder().id("1").build();
+    List<Stem> stems = List.of(Stem.newBuilder().name("Drums").build());
+    DataLoader<String, List<Stem>> loader = mock(DataLoader.class);
+    DgsDataFetchingEnvironment env = mock(DgsDataFetchingEnvironment.class);
+    when(env.getSource()).thenReturn(song);
+    doReturn(loader).when(env).getDataLoader(SongStemsDataLoader.NAME);
+    when(loader.load("1")).thenReturn(CompletableFuture.completedFuture(stems));
+
+    assertThat(stemPlayerDataFetcher.stems(env).get()).isEqualTo(stems);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void stems_songWithoutStems_shouldResolveEmpty() throws Exception {
+    Song song = Song.newBuilder().id("1").build();
+    DataLoader<String, List<Stem>> loader = mock(DataLoader.class);
+    DgsDataFetchingEnvironment env = mock(DgsDataFetchingEnvironment.class);
+    when(env.getSource()).thenReturn(song);
+    doReturn(loader).when(env).getDataLoader(SongStemsDataLoader.NAME);
+    when(loader.load("1")).thenReturn(CompletableFuture.completedFuture(null));
+
+    assertThat(stemPlayerDataFetcher.stems(env).get()).isEmpty();
+  }
+
+  @Test
+  void reportLoad_shouldDelegateToService() {
+    PlayerLoadInput input = PlayerLoadInput.newBuilder()
+        .songId("1").timeToPlayableMs(850).bytes(2_000_000L).renditions(true).build();
+    QuerySuccess recorded = QuerySuccess.newBuilder().message("Player load recorded").id("1").build();
+    when(stemPlayerGraphQLService.reportLoad(input)).thenReturn(recorded);
+
+    assertThat(stemPlayerDataFetcher.reportLoad(input)).isSameAs(recorded);
+  }
+}
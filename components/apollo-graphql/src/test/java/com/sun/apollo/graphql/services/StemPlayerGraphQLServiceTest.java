@@ -1,21 +1,31 @@
 package com.sun.apollo.graphql.services;
 
 import com.sun.apollo.graphql.mappers.SongMapper;
+import com.sun.apollo.graphql.mappers.StemMapper;
 import com.sun.apollo.service.ApolloService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import com.sun.apollo.model.StemEntity;
 import com.sun.apollo.model.SongEntity;
+import com.sun.apollo.codegen.types.PlayerLoadInput;
+import com.sun.apollo.codegen.types.QuerySuccess;
 import com.sun.apollo.codegen.types.Song;
+import com.sun.apollo.codegen.types.StandardError;
 import com.sun.apollo.codegen.types.Stem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -38,6 +48,12 @@ class StemPlayerGraphQLServiceTest {
   @Mock
   private SongMapper songMapper;
 
+  @Mock
+  private StemMapper stemMapper;
+
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @InjectMocks
   private StemPlayerGraphQLService stemPlayerGraphQLService;
 
@@ -120,4 +136,42 @@ class StemPlayerGraphQLServiceTest {
         .isInstanceOf(RuntimeException.class)
         .hasMessage("Song not found with id: " + songEntity1.getId().toString());
   }
-}
\ No newline at end of file
+
+  @Test
+  void stemsBySong_shouldMapStemsKeyedBySongId() {
+    StemEntity stemEntity = songEntity1.getStems().get(0);
+    Stem stem = Stem.newBuilder().name("Drums").build();
+    when(apolloService.findStemsBySongIds(List.of(songEntity1.getId())))
+        .thenReturn(Map.of(songEntity1.getId(), List.of(stemEntity)));
+    when(stemMapper.map(stemEntity)).thenReturn(stem);
+
+    Map<String, List<Stem>> result =
+        stemPlayerGraphQLService.stemsBySong(Set.of(songEntity1.getId().toString()));
+
+    assertThat(result).containsExactly(Map.entry(songEntity1.getId().toString(), List.of(stem)));
+  }
+
+  @Test
+  void reportLoad_shouldRecordTimeAndBytesBySource() {
+    PlayerLoadInput input = PlayerLoadInput.newBuilder()
+        .songId(songEntity1.getId().toString())
+        .timeToPlayableMs(850).bytes(2_000_000L).renditions(true).build();
+
+    assertThat(stemPlayerGraphQLService.reportLoad(input)).isInstanceOf(QuerySuccess.class);
+
+    assertThat(meterRegistry.get("apollo.player.time_to_playable").tag("source", "rendition")
+        .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(850.0);
+    assertThat(meterRegistry.get("apollo.player.bytes").tag("source", "rendition")
+        .summary().totalAmount()).isEqualTo(2_000_000.0);
+  }
+
+  @Test
+  void reportLoad_shouldRejectNegativeMeasurements() {
+    PlayerLoadInput input = PlayerLoadInput.newBuilder()
+        .songId(songEntity1.getId().toString())
+        .timeToPlayableMs(-1).bytes(0L).renditions(false).build();
+
+    assertThat(stemPlayerGraphQLService.reportLoad(input)).isInstanceOf(StandardError.class);
+    assertThat(meterRegistry.find("apollo.player.bytes").summary()).isNull();
+  }
+}
@@ -1,8 +1,18 @@
 package com.sun.apollo.model;
 
+import com.sun.apollo.model.enums.RenditionStatus;
 import com.sun.base.model.BaseEntity;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
+/**
+ * One stem of a song. filePath names the original upload in the song's stems
+ * directory; once the rendition pipeline has run, renditionFile and peaksFile
+ * name the compressed streaming copy and its waveform peaks, relative to the
+ * same directory. While a worker renders the stem it is PROCESSING under that
+ * worker's claim token.
+ */
 @Entity
 @Table(name = "apollo_stems")
 public class StemEntity extends BaseEntity {
@@ -17,6 +27,32 @@ public class StemEntity extends BaseEntity {
   @JoinColumn(name = "song_id")
   private SongEntity song;
 
+  @Enumerated(EnumType.STRING)
+  @Column(name = "rendition_status", nullable = false,
+      columnDefinition = "varchar(255) default 'PENDING'")
+  private RenditionStatus renditionStatus = RenditionStatus.PENDING;
+
+  @Column(name = "rendition_file")
+  private String renditionFile;
+
+  @Column(name = "peaks_file")
+  private String peaksFile;
+
+  @Column(name = "source_bytes")
+  private Long sourceBytes;
+
+  @Column(name = "rendition_bytes")
+  private Long renditionBytes;
+
+  @Column(name = "duration_ms")
+  private Long durationMs;
+
+  @Column(name = "rendition_claim_token")
+  private UUID renditionClaimToken;
+
+  @Column(name = "rendition_claimed_at")
+  private LocalDateTime renditionClaimedAt;
+
   // Getters and setters
   public String getFilePath() {
     return filePath;
@@ -41,4 +77,68 @@ public class StemEntity extends BaseEntity {
   public void setSong(SongEntity song) {
     this.song = song;
   }
-}
\ No newline at end of file
+
+  public RenditionStatus getRenditionStatus() {
+    return renditionStatus;
+  }
+
+  public void setRenditionStatus(RenditionStatus renditionStatus) {
+    this.renditionStatus = renditionStatus;
+  }
+
+  public String getRenditionFile() {
+    return renditionFile;
+  }
+
+  public void setRenditionFile(String renditionFile) {
+    this.renditionFile = renditionFile;
+  }
+
+  public String getPeaksFile() {
+    return peaksFile;
+  }
+
+  public void setPeaksFile(String peaksFile) {
+    this.peaksFile = peaksFile;
+  }
+
+  public Long getSourceBytes() {
+    return sourceBytes;
+  }
+
+  public void setSourceBytes(Long sourceBytes) {
+    this.sourceBytes = sourceBytes;
+  }
+
+  public Long getRenditionBytes() {
+    return renditionBytes;
+  }
+
+  public void setRenditionBytes(Long renditionBytes) {
+    this.renditionBytes = renditionBytes;
+  }
+
+  public Long getDurationMs() {
+    return durationMs;
+  }
+
+  public void setDurationMs(Long durationMs) {
+    this.durationMs = durationMs;
+  }
+
+  public UUID getRenditionClaimToken() {
+    return renditionClaimToken;
+  }
+
+  public void setRenditionClaimToken(UUID renditionClaimToken) {
+    this.renditionClaimToken = renditionClaimToken;
+  }
+
+  public LocalDateTime getRenditionClaimedAt() {
+    return renditionClaimedAt;
+  }
+
+  public void setRenditionClaimedAt(LocalDateTime renditionClaimedAt) {
+    this.renditionClaimedAt = renditionClaimedAt;
+  }
+}
@@ -0,0 +1,11 @@
+package com.sun.apollo.model.enums;
+
+/**
+ * Progress of a stem through the rendition pipeline.
+ */
+public enum RenditionStatus {
+  PENDING,
+  PROCESSING,
+  READY,
+  FAILED
+}
@@ -0,0 +1,73 @@
+package com.sun.apollo.repository;
+
+import com.sun.apollo.model.StemEntity;
+import com.sun.apollo.model.enums.RenditionStatus;
+import com.sun.base.repository.BaseRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StemRepository extends BaseRepository<StemEntity> {
+
+  /**
+   * Finds the stems of many songs in one query, with each stem's song fetched
+   * alongside so its directory can be resolved without further queries.
+   */
+  @Query("select s from StemEntity s join fetch s.song where s.song.id in :songIds order by s.name")
+  List<StemEntity> findWithSongBySongIdIn(@Param("songIds") Collection<UUID> songIds);
+
+  /**
+   * Finds one stem with its song.
+   */
+  @Query("select s from StemEntity s join fetch s.song where s.id = :id")
+  Optional<StemEntity> findWithSongById(@Param("id") UUID id);
+
+  /**
+   * Finds stems waiting for a rendition, oldest first: pending ones, and ones
+   * whose claim went stale without finishing.
+   */
+  @Query("select s.id from StemEntity s where s.renditionStatus = :pending"
+      + " or (s.renditionStatus = :processing and s.renditionClaimedAt < :staleBefore)"
+      + " order by s.createdAt")
+  List<UUID> findRenditionWork(@Param("pending") RenditionStatus pending,
+      @Param("processing") RenditionStatus processing,
+      @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+  /**
+   * Claims one stem for the rendition pipeline under a fresh token if it is
+   * still waiting, so two passes never render the same stem at once.
+   *
+   * @return 1 if claimed, 0 if another worker has it or it is done
+   */
+  @Modifying
+  @Query("update StemEntity s set s.renditionStatus = :processing, s.renditionClaimToken = :token,"
+      + " s.renditionClaimedAt = :now, s.lastUpdatedAt = :now"
+      + " where s.id = :id and (s.renditionStatus = :pending"
+      + " or (s.renditionStatus = :processing and s.renditionClaimedAt < :staleBefore))")
+  int claimForRendition(@Param("id") UUID id, @Param("token") UUID token, @Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore,
+      @Param("pending") RenditionStatus pending, @Param("processing") RenditionStatus processing);
+
+  /**
+   * Records the pipeline's result for a stem, provided it is still claimed
+   * under {@code token}. A claim that went stale and was taken over by
+   * another worker is left alone.
+   *
+   * @return 1 if recorded, 0 if the claim was lost
+   */
+  @Modifying
+  @Query("update StemEntity s set s.renditionStatus = :status, s.renditionFile = :renditionFile,"
+      + " s.peaksFile = :peaksFile, s.sourceBytes = :sourceBytes, s.renditionBytes = :renditionBytes,"
+      + " s.durationMs = :durationMs, s.renditionClaimToken = null, s.lastUpdatedAt = :now"
+      + " where s.id = :id and s.renditionClaimToken = :token")
+  int completeRendition(@Param("id") UUID id, @Param("token") UUID token, @Param("now") LocalDateTime now,
+      @Param("status") RenditionStatus status, @Param("renditionFile") String renditionFile,
+      @Param("peaksFile") String peaksFile, @Param("sourceBytes") Long sourceBytes,
+      @Param("renditionBytes") Long renditionBytes, @Param("durationMs") Long durationMs);
+}
@@ -1,14 +1,20 @@
 package com.sun.apollo.service;
 
 import com.sun.apollo.model.SongEntity;
+import com.sun.apollo.model.StemEntity;
 import com.sun.apollo.repository.SongRepository;
+import com.sun.apollo.repository.StemRepository;
 import com.sun.base.service.BaseService;
 import org.springframework.stereotype.Service;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,8 +22,11 @@ import java.util.UUID;
 @Transactional
 public class ApolloService extends BaseService<SongEntity> {
 
-  public ApolloService(SongRepository repository) {
+  private final StemRepository stemRepository;
+
+  public ApolloService(SongRepository repository, StemRepository stemRepository) {
     super(repository);
+    this.stemRepository = stemRepository;
   }
 
   /**
@@ -49,5 +58,20 @@ public class ApolloService extends BaseService<SongEntity> {
     return findById(id);
   }
 
-  // Domain-specific logic for Stem Player can be added here
+  /**
+   * Retrieves the stems of many songs in a single query.
+   *
+   * @param songIds the song IDs
+   * @return the stems keyed by song ID, ordered by name; songs without stems are absent
+   */
+  public Map<UUID, List<StemEntity>> findStemsBySongIds(Collection<UUID> songIds) {
+    Map<UUID, List<StemEntity>> bySong = new LinkedHashMap<>();
+    if (songIds == null || songIds.isEmpty()) {
+      return bySong;
+    }
+    for (StemEntity stem : stemRepository.findWithSongBySongIdIn(songIds)) {
+      bySong.computeIfAbsent(stem.getSong().getId(), id -> new ArrayList<>()).add(stem);
+    }
+    return bySong;
+  }
 }
\ No newline at end of file
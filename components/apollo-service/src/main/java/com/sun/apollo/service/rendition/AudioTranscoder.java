@@ -0,0 +1,28 @@
+package com.sun.apollo.service.rendition;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Turns an uploaded stem into what the player streams.
+ */
+public interface AudioTranscoder {
+
+  /**
+   * Encodes a stem as a compressed streaming rendition.
+   *
+   * @param source the original stem
+   * @param target where to write the rendition; its extension picks the container
+   * @throws IOException if the stem cannot be read or encoded
+   */
+  void encode(Path source, Path target) throws IOException;
+
+  /**
+   * Decodes a stem and reduces it to waveform peaks.
+   *
+   * @param source the original stem
+   * @return the stem's duration and peaks
+   * @throws IOException if the stem cannot be read or decoded
+   */
+  WaveformPeaks peaks(Path source) throws IOException;
+}
@@ -0,0 +1,86 @@
+package com.sun.apollo.service.rendition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs ffmpeg for the rendition pipeline. Renditions are AAC in MP4 with the
+ * index moved to the front, so the browser can start decoding before the
+ * whole file has arrived.
+ */
+@Component
+public class FfmpegAudioTranscoder implements AudioTranscoder {
+
+  private final RenditionProperties properties;
+
+  public FfmpegAudioTranscoder(RenditionProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public void encode(Path source, Path target) throws IOException {
+    Process process = new ProcessBuilder(
+        properties.getFfmpeg(), "-nostdin", "-v", "error", "-y",
+        "-i", source.toAbsolutePath().toString(),
+        "-vn", "-c:a", "aac", "-b:a", properties.getBitrate(),
+        "-movflags", "+faststart",
+        target.toAbsolutePath().toString())
+        .redirectErrorStream(true)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .start();
+    await(process, "encode " + source);
+  }
+
+  @Override
+  public WaveformPeaks peaks(Path source) throws IOException {
+    int sampleRate = properties.getPeakSampleRate();
+    Process process = new ProcessBuilder(
+        properties.getFfmpeg(), "-nostdin", "-v", "error",
+        "-i", source.toAbsolutePath().toString(),
+        "-vn", "-ac", "1", "-ar", String.valueOf(sampleRate), "-f", "s16le", "-")
+        .redirectError(ProcessBuilder.Redirect.DISCARD)
+        .start();
+    // Reading the samples blocks until ffmpeg closes its output, so the
+    // timeout has to kill the process from outside rather than in await.
+    AtomicBoolean timedOut = new AtomicBoolean();
+    CompletableFuture<Void> watchdog = CompletableFuture.runAsync(() -> {
+      timedOut.set(true);
+      process.destroyForcibly();
+    }, CompletableFuture.delayedExecutor(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    WaveformPeaks peaks;
+    try (InputStream pcm = process.getInputStream()) {
+      peaks = WaveformPeaks.read(pcm, sampleRate, properties.getPeakCount());
+    } catch (IOException e) {
+      process.destroyForcibly();
+      throw e;
+    } finally {
+      watchdog.cancel(false);
+    }
+    if (timedOut.get()) {
+      throw new IOException("ffmpeg timed out: decode " + source);
+    }
+    await(process, "decode " + source);
+    return peaks;
+  }
+
+  private void await(Process process, String what) throws IOException {
+    try {
+      if (!process.waitFor(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        process.destroyForcibly();
+        throw new IOException("ffmpeg timed out: " + what);
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted waiting for ffmpeg: " + what, e);
+    }
+    if (process.exitValue() != 0) {
+      throw new IOException("ffmpeg exited with code " + process.exitValue() + ": " + what);
+    }
+  }
+}
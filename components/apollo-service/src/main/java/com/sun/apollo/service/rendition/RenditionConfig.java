@@ -0,0 +1,13 @@
+package com.sun.apollo.service.rendition;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Schedules the background stem rendition pipeline.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RenditionProperties.class)
+public class RenditionConfig {}
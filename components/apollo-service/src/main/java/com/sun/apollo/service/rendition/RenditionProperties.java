@@ -0,0 +1,129 @@
+package com.sun.apollo.service.rendition;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the stem rendition pipeline.
+ */
+@ConfigurationProperties(prefix = "apollo.renditions")
+public class RenditionProperties {
+
+  /**
+   * Whether pending stems are rendered in the background.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Directory served as /_components/stem-player/; each song's stems live in
+   * {@code <root>/<song file path>/stems/}.
+   */
+  private String root = "";
+
+  /**
+   * The ffmpeg executable.
+   */
+  private String ffmpeg = "ffmpeg";
+
+  /**
+   * AAC bitrate of the streaming rendition.
+   */
+  private String bitrate = "128k";
+
+  /**
+   * Sample rate the stem is decoded at to find its waveform peaks.
+   */
+  private int peakSampleRate = 8000;
+
+  /**
+   * Number of peaks kept per stem.
+   */
+  private int peakCount = 1000;
+
+  /**
+   * Maximum number of stems claimed per pass.
+   */
+  private int batchSize = 10;
+
+  /**
+   * How long one ffmpeg run may take before it is killed.
+   */
+  private Duration timeout = Duration.ofMinutes(5);
+
+  /**
+   * How long a stem may stay claimed before another pass takes it back.
+   */
+  private Duration claimTimeout = Duration.ofMinutes(30);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getRoot() {
+    return root;
+  }
+
+  public void setRoot(String root) {
+    this.root = root;
+  }
+
+  public String getFfmpeg() {
+    return ffmpeg;
+  }
+
+  public void setFfmpeg(String ffmpeg) {
+    this.ffmpeg = ffmpeg;
+  }
+
+  public String getBitrate() {
+    return bitrate;
+  }
+
+  public void setBitrate(String bitrate) {
+    this.bitrate = bitrate;
+  }
+
+  public int getPeakSampleRate() {
+    return peakSampleRate;
+  }
+
+  public void setPeakSampleRate(int peakSampleRate) {
+    this.peakSampleRate = peakSampleRate;
+  }
+
+  public int getPeakCount() {
+    return peakCount;
+  }
+
+  public void setPeakCount(int peakCount) {
+    this.peakCount = peakCount;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+
+  public Duration getClaimTimeout() {
+    return claimTimeout;
+  }
+
+  public void setClaimTimeout(Duration claimTimeout) {
+    this.claimTimeout = claimTimeout;
+  }
+}
@@ -0,0 +1,202 @@
+package com.sun.apollo.service.rendition;
+
+import com.sun.apollo.model.StemEntity;
+import com.sun.apollo.model.enums.RenditionStatus;
+import com.sun.apollo.repository.StemRepository;
+import com.sun.base.util.DerivedFiles;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Prepares what the stem player streams. Each pending stem is encoded to a
+ * compressed rendition and reduced to waveform peaks, both written to
+ * {@code renditions/} beside the original and named after a hash of the
+ * original and the encoder settings. A rendition's URL therefore changes
+ * whenever its content does, so it can be cached forever.
+ *
+ * <p>Files are written under a temporary name and moved into place, so a
+ * hashed URL never serves a partial file. Stems that fail are marked FAILED
+ * and the player keeps using the original.
+ *
+ * <p>A conditional update claims each stem under a fresh token, so two
+ * passes never render it at once, and the result is only written while that
+ * claim is still held. A claim left behind by a crash goes stale and the
+ * next pass takes the stem back.
+ *
+ * <p>Each stem's original and rendition sizes feed
+ * {@code apollo.stem.rendition.bytes}, tagged by kind, and the work itself
+ * {@code apollo.stem.rendition.duration}.
+ */
+@Service
+public class StemRenditionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(StemRenditionService.class);
+
+  /** Directory, relative to a song's stems, holding its renditions. */
+  public static final String RENDITION_DIR = "renditions";
+
+  /** Bumped when the encoding changes in a way the settings do not show. */
+  private static final String PIPELINE_VERSION = "1";
+
+  private static final int HASH_LENGTH = 16;
+
+  private static final String BYTES = "apollo.stem.rendition.bytes";
+  private static final String BYTES_DESCRIPTION = "Size of each rendered stem's original and its rendition";
+  private static final String OUTCOMES = "apollo.stem.renditions";
+  private static final String OUTCOMES_DESCRIPTION = "Stems run through the rendition pipeline";
+
+  private final StemRepository stemRepository;
+  private final AudioTranscoder transcoder;
+  private final RenditionProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Timer duration;
+  private final DistributionSummary sourceBytes;
+  private final DistributionSummary renditionBytes;
+  private final Counter ready;
+  private final Counter failed;
+
+  public StemRenditionService(
+      StemRepository stemRepository,
+      AudioTranscoder transcoder,
+      RenditionProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.stemRepository = stemRepository;
+    this.transcoder = transcoder;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    this.duration = Timer.builder("apollo.stem.rendition.duration")
+        .description("Time to encode a stem and compute its peaks")
+        .register(meterRegistry);
+    this.sourceBytes = DerivedFiles.bytes(meterRegistry, BYTES, BYTES_DESCRIPTION, "source");
+    this.renditionBytes = DerivedFiles.bytes(meterRegistry, BYTES, BYTES_DESCRIPTION, "rendition");
+    this.ready = DerivedFiles.outcome(meterRegistry, OUTCOMES, OUTCOMES_DESCRIPTION, "ready");
+    this.failed = DerivedFiles.outcome(meterRegistry, OUTCOMES, OUTCOMES_DESCRIPTION, "failed");
+  }
+
+  /**
+   * Renders waiting stems until none are left. Every claimed stem leaves the
+   * work query, and a pass stops once a batch claims nothing, so it ends
+   * even when results cannot be recorded.
+   */
+  @Scheduled(fixedDelayString = "${apollo.renditions.poll-interval-ms:60000}")
+  public void renderPending() {
+    if (!properties.isEnabled() || properties.getRoot().isBlank()) {
+      return;
+    }
+    List<UUID> batch;
+    boolean claimedAny;
+    do {
+      batch = stemRepository.findRenditionWork(RenditionStatus.PENDING, RenditionStatus.PROCESSING,
+          staleBefore(), PageRequest.of(0, properties.getBatchSize()));
+      claimedAny = false;
+      for (UUID id : batch) {
+        claimedAny |= render(id);
+      }
+    } while (claimedAny && batch.size() == properties.getBatchSize());
+  }
+
+  /**
+   * Claims a stem, renders it and records the result. Does nothing if
+   * another pass holds it or it is already done, and discards the result if
+   * the claim went stale and another pass took the stem over meanwhile.
+   *
+   * @param id the stem id
+   * @return whether this call claimed the stem
+   */
+  public boolean render(UUID id) {
+    UUID token = UUID.randomUUID();
+    LocalDateTime now = LocalDateTime.now();
+    StemEntity stem = transactionTemplate.execute(status -> {
+      int claimed = stemRepository.claimForRendition(
+          id, token, now, staleBefore(), RenditionStatus.PENDING, RenditionStatus.PROCESSING);
+      return claimed == 0 ? null : stemRepository.findWithSongById(id).orElse(null);
+    });
+    if (stem == null) {
+      return false;
+    }
+
+    Timer.Sample sample = Timer.start();
+    try {
+      writeRendition(stem);
+      stem.setRenditionStatus(RenditionStatus.READY);
+      sourceBytes.record(stem.getSourceBytes());
+      renditionBytes.record(stem.getRenditionBytes());
+      ready.increment();
+      logger.info("Rendered stem {}: {} bytes to {} bytes", id,
+          stem.getSourceBytes(), stem.getRenditionBytes());
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to render stem {}", id, e);
+      stem.setRenditionStatus(RenditionStatus.FAILED);
+      failed.increment();
+    } finally {
+      sample.stop(duration);
+    }
+    Integer recorded = transactionTemplate.execute(status -> stemRepository.completeRendition(
+        id, token, LocalDateTime.now(), stem.getRenditionStatus(), stem.getRenditionFile(),
+        stem.getPeaksFile(), stem.getSourceBytes(), stem.getRenditionBytes(), stem.getDurationMs()));
+    if (recorded == null || recorded == 0) {
+      logger.info("Claim on stem {} was taken over; discarding this result", id);
+    }
+    return true;
+  }
+
+  /**
+   * Writes a stem's rendition and peaks and notes them on the stem. The stem
+   * must have its song loaded.
+   */
+  private void writeRendition(StemEntity stem) throws IOException {
+    Path root = Path.of(properties.getRoot()).toAbsolutePath().normalize();
+    Path stems = root.resolve(stem.getSong().getFilePath()).resolve("stems").normalize();
+    Path source = stems.resolve(stem.getFilePath()).normalize();
+    if (!source.startsWith(root)) {
+      throw new IOException("Stem path escapes the stems root: " + stem.getFilePath());
+    }
+
+    // The settings are hashed with the original, so changing either yields a new name.
+    String settings = String.join("|", PIPELINE_VERSION, properties.getBitrate(),
+        String.valueOf(properties.getPeakSampleRate()), String.valueOf(properties.getPeakCount()));
+    String hash = DerivedFiles.fingerprint(settings, source, HASH_LENGTH);
+    Path dir = Files.createDirectories(stems.resolve(RENDITION_DIR));
+    Path rendition = dir.resolve(hash + ".m4a");
+    Path peaksFile = dir.resolve(hash + ".peaks.json");
+
+    if (!Files.exists(rendition)) {
+      Path partial = dir.resolve(hash + ".partial.m4a");
+      transcoder.encode(source, partial);
+      DerivedFiles.moveIntoPlace(partial, rendition);
+    }
+    WaveformPeaks peaks = transcoder.peaks(source);
+    Path partialPeaks = dir.resolve(hash + ".peaks.json.partial");
+    Files.writeString(partialPeaks, peaks.toJson(), StandardCharsets.UTF_8);
+    DerivedFiles.moveIntoPlace(partialPeaks, peaksFile);
+
+    stem.setRenditionFile(RENDITION_DIR + "/" + rendition.getFileName());
+    stem.setPeaksFile(RENDITION_DIR + "/" + peaksFile.getFileName());
+    stem.setSourceBytes(Files.size(source));
+    stem.setRenditionBytes(Files.size(rendition));
+    stem.setDurationMs(peaks.durationMs());
+  }
+
+  private LocalDateTime staleBefore() {
+    return LocalDateTime.now().minus(properties.getClaimTimeout());
+  }
+}
@@ -0,0 +1,108 @@
+package com.sun.apollo.service.rendition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Precomputed waveform of a stem: its duration and up to a fixed number of
+ * peaks, each the loudest sample of its slice of the stem scaled to 0-255 of
+ * full scale. Peaks are not normalised per stem, so quiet stems draw small.
+ *
+ * @param durationMs the stem's duration
+ * @param peaks the peaks, in order
+ */
+public record WaveformPeaks(long durationMs, int[] peaks) {
+
+  /** Peaks are first taken over windows of this many milliseconds. */
+  static final int WINDOW_MS = 10;
+
+  private static final int FULL_SCALE = 32768;
+
+  /**
+   * Reads mono signed 16-bit little-endian PCM to the end and reduces it to
+   * peaks. The stream is summarised as it is read, so only one value per
+   * window is held however long the stem is.
+   *
+   * @param pcm the decoded samples
+   * @param sampleRate the samples per second of {@code pcm}
+   * @param count the most peaks to keep
+   * @return the duration and peaks
+   * @throws IOException if the stream cannot be read
+   */
+  public static WaveformPeaks read(InputStream pcm, int sampleRate, int count) throws IOException {
+    if (sampleRate < 1 || count < 1) {
+      throw new IllegalArgumentException("sampleRate and count must be positive");
+    }
+    int window = Math.max(1, sampleRate * WINDOW_MS / 1000);
+    int[] windows = new int[256];
+    int windowCount = 0;
+    long samples = 0;
+    int inWindow = 0;
+    int max = 0;
+    int low = -1;
+
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = pcm.read(buffer)) != -1) {
+      for (int i = 0; i < read; i++) {
+        if (low < 0) {
+          low = buffer[i] & 0xff;
+          continue;
+        }
+        int sample = (short) ((buffer[i] << 8) | low);
+        low = -1;
+        max = Math.max(max, Math.abs(sample));
+        samples++;
+        if (++inWindow == window) {
+          if (windowCount == windows.length) {
+            windows = Arrays.copyOf(windows, windowCount * 2);
+          }
+          windows[windowCount++] = max;
+          inWindow = 0;
+          max = 0;
+        }
+      }
+    }
+    if (inWindow > 0) {
+      if (windowCount == windows.length) {
+        windows = Arrays.copyOf(windows, windowCount + 1);
+      }
+      windows[windowCount++] = max;
+    }
+    return new WaveformPeaks(samples * 1000 / sampleRate, downsample(windows, windowCount, count));
+  }
+
+  /**
+   * Keeps the loudest window of each of {@code count} equal slices.
+   */
+  private static int[] downsample(int[] windows, int length, int count) {
+    int size = Math.min(length, count);
+    int[] peaks = new int[size];
+    for (int i = 0; i < size; i++) {
+      int from = (int) ((long) i * length / size);
+      int to = (int) ((long) (i + 1) * length / size);
+      int max = 0;
+      for (int w = from; w < to; w++) {
+        max = Math.max(max, windows[w]);
+      }
+      peaks[i] = (max * 255 + FULL_SCALE / 2) / FULL_SCALE;
+    }
+    return peaks;
+  }
+
+  /**
+   * Serialises the peaks as the JSON document served next to the rendition.
+   */
+  public String toJson() {
+    StringBuilder json = new StringBuilder(peaks.length * 4 + 32)
+        .append("{\"durationMs\":").append(durationMs).append(",\"peaks\":[");
+    for (int i = 0; i < peaks.length; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append(peaks[i]);
+    }
+    return json.append("]}").toString();
+  }
+}
@@ -0,0 +1,65 @@
+package com.sun.apollo.service.rendition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for FfmpegAudioTranscoder, run against a shell script standing
+ * in for ffmpeg.
+ */
+@DisabledOnOs(OS.WINDOWS)
+class FfmpegAudioTranscoderTest {
+
+  @TempDir Path dir;
+
+  private FfmpegAudioTranscoder transcoder(String script, Duration timeout) throws IOException {
+    Path ffmpeg = dir.resolve("ffmpeg");
+    Files.writeString(ffmpeg, "#!/bin/sh\n" + script + "\n");
+    Files.setPosixFilePermissions(ffmpeg, PosixFilePermissions.fromString("rwx------"));
+    RenditionProperties properties = new RenditionProperties();
+    properties.setFfmpeg(ffmpeg.toString());
+    properties.setTimeout(timeout);
+    return new FfmpegAudioTranscoder(properties);
+  }
+
+  @Test
+  void peaks_readsTheDecodedSamples() throws Exception {
+    // Two seconds of silence at the default 8000 Hz.
+    FfmpegAudioTranscoder transcoder = transcoder("head -c 32000 /dev/zero", Duration.ofSeconds(10));
+
+    WaveformPeaks peaks = transcoder.peaks(dir.resolve("drums.wav"));
+
+    assertThat(peaks.durationMs()).isEqualTo(2000);
+  }
+
+  @Test
+  void peaks_decoderThatNeverFinishes_isKilledAtTheTimeout() throws Exception {
+    FfmpegAudioTranscoder transcoder = transcoder("exec sleep 30", Duration.ofMillis(200));
+
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> transcoder.peaks(dir.resolve("drums.wav")))
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("ffmpeg timed out: decode");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void peaks_failingDecoder_reportsTheExitCode() throws Exception {
+    FfmpegAudioTranscoder transcoder = transcoder("exit 3", Duration.ofSeconds(10));
+
+    assertThatThrownBy(() -> transcoder.peaks(dir.resolve("drums.wav")))
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("ffmpeg exited with code 3");
+  }
+}
@@ -0,0 +1,261 @@
+package com.sun.apollo.service.rendition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sun.apollo.model.SongEntity;
+import com.sun.apollo.model.StemEntity;
+import com.sun.apollo.model.enums.RenditionStatus;
+import com.sun.apollo.repository.StemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for StemRenditionService.
+ */
+@ExtendWith(MockitoExtension.class)
+class StemRenditionServiceTest {
+
+  @Mock private StemRepository stemRepository;
+  @Mock private AudioTranscoder transcoder;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir Path root;
+
+  private RenditionProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private StemRenditionService service;
+
+  @BeforeEach
+  void setUp() {
+    properties = new RenditionProperties();
+    properties.setEnabled(true);
+    properties.setRoot(root.toString());
+    meterRegistry = new SimpleMeterRegistry();
+    service = new StemRenditionService(stemRepository, transcoder, properties,
+        transactionManager, meterRegistry);
+  }
+
+  private StemEntity stem(String fileName, byte[] content) throws IOException {
+    SongEntity song = new SongEntity();
+    song.setId(UUID.randomUUID());
+    song.setFilePath("song");
+    Path stems = Files.createDirectories(root.resolve("song").resolve("stems"));
+    Files.write(stems.resolve(fileName), content);
+
+    StemEntity stem = new StemEntity();
+    stem.setId(UUID.randomUUID());
+    stem.setFilePath(fileName);
+    stem.setSong(song);
+    return stem;
+  }
+
+  /** Builds a stem the repository will let the service claim and complete. */
+  private StemEntity claimable(String fileName, byte[] content) throws IOException {
+    StemEntity stem = stem(fileName, content);
+    when(stemRepository.claimForRendition(eq(stem.getId()), any(), any(), any(),
+        eq(RenditionStatus.PENDING), eq(RenditionStatus.PROCESSING))).thenReturn(1);
+    when(stemRepository.findWithSongById(stem.getId())).thenReturn(Optional.of(stem));
+    when(stemRepository.completeRendition(eq(stem.getId()), any(), any(), any(), any(), any(),
+        any(), any(), any())).thenReturn(1);
+    return stem;
+  }
+
+  private void verifyCompleted(StemEntity stem, RenditionStatus status) {
+    verify(stemRepository).completeRendition(eq(stem.getId()), any(), any(), eq(status),
+        eq(stem.getRenditionFile()), eq(stem.getPeaksFile()), eq(stem.getSourceBytes()),
+        eq(stem.getRenditionBytes()), eq(stem.getDurationMs()));
+  }
+
+  private void encodesTo(byte[] rendition) throws IOException {
+    doAnswer(inv -> Files.write(inv.<Path>getArgument(1), rendition))
+        .when(transcoder).encode(any(), any());
+  }
+
+  @Test
+  void render_writesHashedRenditionAndPeaks() throws Exception {
+    StemEntity stem = claimable("drums.wav", new byte[1000]);
+    encodesTo(new byte[100]);
+    when(transcoder.peaks(any())).thenReturn(new WaveformPeaks(1500, new int[] {0, 255}));
+
+    assertThat(service.render(stem.getId())).isTrue();
+
+    assertThat(stem.getRenditionStatus()).isEqualTo(RenditionStatus.READY);
+    assertThat(stem.getRenditionFile()).matches("renditions/[0-9a-f]{16}\\.m4a");
+    assertThat(stem.getPeaksFile())
+        .isEqualTo(stem.getRenditionFile().replace(".m4a", ".peaks.json"));
+    assertThat(stem.getSourceBytes()).isEqualTo(1000);
+    assertThat(stem.getRenditionBytes()).isEqualTo(100);
+    assertThat(stem.getDurationMs()).isEqualTo(1500);
+    Path stems = root.resolve("song").resolve("stems");
+    assertThat(stems.resolve(stem.getRenditionFile())).hasSize(100);
+    assertThat(stems.resolve(stem.getPeaksFile())).hasContent("{\"durationMs\":1500,\"peaks\":[0,255]}");
+    try (var files = Files.list(stems.resolve(StemRenditionService.RENDITION_DIR))) {
+      assertThat(files).hasSize(2);
+    }
+    verifyCompleted(stem, RenditionStatus.READY);
+    assertThat(meterRegistry.get("apollo.stem.rendition.bytes").tag("kind", "source")
+        .summary().totalAmount()).isEqualTo(1000.0);
+    assertThat(meterRegistry.get("apollo.stem.rendition.bytes").tag("kind", "rendition")
+        .summary().totalAmount()).isEqualTo(100.0);
+    assertThat(meterRegistry.get("apollo.stem.renditions").tag("outcome", "ready")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void render_nameChangesWithTheOriginalAndTheSettings() throws Exception {
+    encodesTo(new byte[10]);
+    when(transcoder.peaks(any())).thenReturn(new WaveformPeaks(0, new int[0]));
+    StemEntity first = claimable("a.wav", new byte[] {1});
+    StemEntity sameContent = claimable("b.wav", new byte[] {1});
+    StemEntity otherContent = claimable("c.wav", new byte[] {2});
+
+    service.render(first.getId());
+    service.render(sameContent.getId());
+    service.render(otherContent.getId());
+    properties.setBitrate("96k");
+    StemEntity otherBitrate = claimable("d.wav", new byte[] {1});
+    service.render(otherBitrate.getId());
+
+    assertThat(sameContent.getRenditionFile()).isEqualTo(first.getRenditionFile());
+    assertThat(otherContent.getRenditionFile()).isNotEqualTo(first.getRenditionFile());
+    assertThat(otherBitrate.getRenditionFile()).isNotEqualTo(first.getRenditionFile());
+  }
+
+  @Test
+  void render_existingRendition_isNotEncodedAgain() throws Exception {
+    encodesTo(new byte[10]);
+    when(transcoder.peaks(any())).thenReturn(new WaveformPeaks(0, new int[0]));
+    StemEntity first = claimable("a.wav", new byte[] {1});
+    StemEntity copy = claimable("b.wav", new byte[] {1});
+
+    service.render(first.getId());
+    service.render(copy.getId());
+
+    verify(transcoder).encode(any(), any());
+    assertThat(copy.getRenditionStatus()).isEqualTo(RenditionStatus.READY);
+  }
+
+  @Test
+  void render_transcoderFailure_marksFailedAndLeavesNoFile() throws Exception {
+    StemEntity stem = claimable("drums.wav", new byte[10]);
+    doThrow(new IOException("ffmpeg exited with code 1")).when(transcoder).encode(any(), any());
+
+    assertThat(service.render(stem.getId())).isTrue();
+
+    assertThat(stem.getRenditionStatus()).isEqualTo(RenditionStatus.FAILED);
+    assertThat(stem.getRenditionFile()).isNull();
+    verifyCompleted(stem, RenditionStatus.FAILED);
+    try (var files = Files.list(root.resolve("song/stems/renditions"))) {
+      assertThat(files).isEmpty();
+    }
+    assertThat(meterRegistry.get("apollo.stem.renditions").tag("outcome", "failed")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void render_pathOutsideRoot_marksFailed() throws Exception {
+    StemEntity stem = claimable("drums.wav", new byte[10]);
+    stem.setFilePath("../../../etc/passwd");
+
+    assertThat(service.render(stem.getId())).isTrue();
+
+    assertThat(stem.getRenditionStatus()).isEqualTo(RenditionStatus.FAILED);
+    verifyNoInteractions(transcoder);
+  }
+
+  @Test
+  void renderPending_rendersBatchesUntilAShortOne() throws Exception {
+    properties.setBatchSize(1);
+    encodesTo(new byte[10]);
+    when(transcoder.peaks(any())).thenReturn(new WaveformPeaks(0, new int[0]));
+    StemEntity a = claimable("a.wav", new byte[] {1});
+    StemEntity b = claimable("b.wav", new byte[] {2});
+    when(stemRepository.findRenditionWork(eq(RenditionStatus.PENDING), eq(RenditionStatus.PROCESSING),
+        any(), any(Pageable.class)))
+        .thenReturn(List.of(a.getId()))
+        .thenReturn(List.of(b.getId()))
+        .thenReturn(List.of());
+
+    service.renderPending();
+
+    assertThat(a.getRenditionStatus()).isEqualTo(RenditionStatus.READY);
+    assertThat(b.getRenditionStatus()).isEqualTo(RenditionStatus.READY);
+  }
+
+  @Test
+  void renderPending_disabled_doesNothing() {
+    properties.setEnabled(false);
+
+    service.renderPending();
+
+    verify(stemRepository, never()).findRenditionWork(any(), any(), any(), any());
+  }
+
+  @Test
+  void render_claimedElsewhere_leavesTheStemAlone() throws Exception {
+    StemEntity stem = stem("drums.wav", new byte[10]);
+
+    assertThat(service.render(stem.getId())).isFalse();
+
+    verify(stemRepository, never()).findWithSongById(any());
+    verify(stemRepository, never()).completeRendition(any(), any(), any(), any(), any(), any(),
+        any(), any(), any());
+    verifyNoInteractions(transcoder);
+  }
+
+  @Test
+  void render_claimTakenOver_resultIsOnlyOfferedUnderItsOwnToken() throws Exception {
+    StemEntity stem = stem("drums.wav", new byte[10]);
+    when(stemRepository.claimForRendition(eq(stem.getId()), any(), any(), any(),
+        eq(RenditionStatus.PENDING), eq(RenditionStatus.PROCESSING))).thenReturn(1);
+    when(stemRepository.findWithSongById(stem.getId())).thenReturn(Optional.of(stem));
+    encodesTo(new byte[5]);
+    when(transcoder.peaks(any())).thenReturn(new WaveformPeaks(0, new int[0]));
+
+    // completeRendition is left unstubbed, so it matches no row.
+    assertThat(service.render(stem.getId())).isTrue();
+
+    ArgumentCaptor<UUID> claimToken = ArgumentCaptor.forClass(UUID.class);
+    ArgumentCaptor<UUID> completeToken = ArgumentCaptor.forClass(UUID.class);
+    verify(stemRepository).claimForRendition(any(), claimToken.capture(), any(), any(), any(), any());
+    verify(stemRepository).completeRendition(any(), completeToken.capture(), any(), any(), any(), any(),
+        any(), any(), any());
+    assertThat(completeToken.getValue()).isNotNull().isEqualTo(claimToken.getValue());
+    verify(stemRepository, never()).save(any());
+  }
+
+  @Test
+  void renderPending_stopsWhenABatchClaimsNothing() {
+    properties.setBatchSize(1);
+    UUID held = UUID.randomUUID();
+    when(stemRepository.findRenditionWork(any(), any(), any(), any(Pageable.class)))
+        .thenReturn(List.of(held));
+
+    service.renderPending();
+
+    verify(stemRepository).findRenditionWork(any(), any(), any(), any(Pageable.class));
+    verifyNoInteractions(transcoder);
+  }
+}
@@ -0,0 +1,66 @@
+package com.sun.apollo.service.rendition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for WaveformPeaks.
+ */
+class WaveformPeaksTest {
+
+  private static ByteArrayInputStream pcm(short... samples) {
+    ByteBuffer buffer = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+    for (short sample : samples) {
+      buffer.putShort(sample);
+    }
+    return new ByteArrayInputStream(buffer.array());
+  }
+
+  @Test
+  void read_takesTheLoudestSampleOfEachWindow() throws Exception {
+    // 100 samples per second gives one sample per 10ms window.
+    WaveformPeaks peaks = WaveformPeaks.read(pcm((short) 0, Short.MAX_VALUE, Short.MIN_VALUE, (short) 16384),
+        100, 10);
+
+    assertThat(peaks.peaks()).containsExactly(0, 255, 255, 128);
+    assertThat(peaks.durationMs()).isEqualTo(40);
+  }
+
+  @Test
+  void read_downsamplesToTheRequestedCount() throws Exception {
+    short[] samples = new short[1000];
+    samples[250] = -8192;
+    samples[999] = 32000;
+
+    WaveformPeaks peaks = WaveformPeaks.read(pcm(samples), 1000, 4);
+
+    assertThat(peaks.peaks()).containsExactly(0, 64, 0, 249);
+    assertThat(peaks.durationMs()).isEqualTo(1000);
+  }
+
+  @Test
+  void read_keepsAPartialLastWindow() throws Exception {
+    WaveformPeaks peaks = WaveformPeaks.read(pcm(new short[15]), 1000, 100);
+
+    assertThat(peaks.peaks()).hasSize(2);
+    assertThat(peaks.durationMs()).isEqualTo(15);
+  }
+
+  @Test
+  void read_emptyStream_hasNoPeaks() throws Exception {
+    WaveformPeaks peaks = WaveformPeaks.read(new ByteArrayInputStream(new byte[0]), 8000, 100);
+
+    assertThat(peaks.peaks()).isEmpty();
+    assertThat(peaks.durationMs()).isZero();
+  }
+
+  @Test
+  void toJson_writesDurationAndPeaks() {
+    assertThat(new WaveformPeaks(1500, new int[] {0, 12, 255}).toJson())
+        .isEqualTo("{\"durationMs\":1500,\"peaks\":[0,12,255]}");
+  }
+}
@@ -65,18 +65,40 @@ public class BlogPostMapper {
 
     PostEntity postEntity = new PostEntity();
     postEntity.setTitle(title);
-    postEntity.setContent(input.getContent());
-    postEntity.setTags(input.getTags());
-    postEntity.setRemoteObject(input.getRemoteObject());
-    postEntity.setLanguage(input.getLanguage());
-    if (input.getTypeId() != null) {
-      postEntity.setType(resolveType(UUID.fromString(input.getTypeId())));
-    }
+    applyInput(postEntity, input);
 
     logger.debug("Mapped input to post entity with title: {}", title);
     return postEntity;
   }
 
+  /**
+   * Copies the fields set in a GraphQL BlogPostInput onto an existing
+   * PostEntity; fields left null keep their current value.
+   *
+   * @param postEntity the post to update
+   * @param input the GraphQL BlogPostInput, or null to leave the post as is
+   */
+  public void applyInput(PostEntity postEntity, BlogPostInput input) {
+    if (input == null) {
+      return;
+    }
+    if (input.getContent() != null) {
+      postEntity.setContent(input.getContent());
+    }
+    if (input.getTags() != null) {
+      postEntity.setTags(input.getTags());
+    }
+    if (input.getRemoteObject() != null) {
+      postEntity.setRemoteObject(input.getRemoteObject());
+    }
+    if (input.getLanguage() != null) {
+      postEntity.setLanguage(input.getLanguage());
+    }
+    if (input.getTypeId() != null) {
+      postEntity.setType(resolveType(UUID.fromString(input.getTypeId())));
+    }
+  }
+
   /**
    * Loads a post type by id.
    *
@@ -103,6 +103,20 @@ public class BlogDataFetcher {
     return blogGraphQLService.createBlogPost(title, input);
   }
 
+  /**
+   * Updates an existing blog post.
+   *
+   * @param id the blog post ID
+   * @param title the new title, or null to keep the current one
+   * @param input the new post data, or null to keep the current data
+   * @return QueryResult indicating success or error
+   */
+  @DgsData(parentType = "BlogMutations", field = "updateBlogPost")
+  @PreAuthorize("@permissions.has('graphql.briareus.updateBlogPost')")
+  public QueryResult updateBlogPost(String id, String title, BlogPostInput input) {
+    return blogGraphQLService.updateBlogPost(id, title, input);
+  }
+
   /**
    * Creates a blog post type with a unique name.
    *
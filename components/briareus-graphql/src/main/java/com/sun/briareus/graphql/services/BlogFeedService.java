@@ -0,0 +1,122 @@
+package com.sun.briareus.graphql.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.briareus.codegen.types.BlogPost;
+import com.sun.briareus.codegen.types.PagedBlogPosts;
+import com.sun.briareus.graphql.mappers.BlogPostMapper;
+import com.sun.briareus.model.PostEntity;
+import com.sun.briareus.service.BriareusService;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Renders the public blog feed to JSON once and keeps the bytes in the
+ * {@code blogFeed} cache together with their validators, so anonymous page
+ * views and conditional requests are answered without touching the database.
+ * The cache carries the post and type invalidation tags of
+ * {@link BlogGraphQLService}, so every blog mutation drops it on commit.
+ */
+@Service
+public class BlogFeedService {
+
+  /** Name of the rendered-feed cache. */
+  public static final String FEED_CACHE = "blogFeed";
+
+  public static final int DEFAULT_PAGE_SIZE = 20;
+  public static final int MAX_PAGE_SIZE = 50;
+
+  private static final Sort NEWEST_FIRST =
+      Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+  /**
+   * A rendered response body and its validators.
+   *
+   * @param body the JSON body
+   * @param etag the strong entity tag, a digest of the body
+   * @param lastModified the latest change among the rendered posts, or null
+   *     when there are none
+   */
+  public record Rendered(byte[] body, String etag, Instant lastModified) {
+  }
+
+  private final BriareusService briareusService;
+  private final BlogPostMapper blogPostMapper;
+  private final ObjectMapper objectMapper;
+
+  public BlogFeedService(BriareusService briareusService, BlogPostMapper blogPostMapper,
+      ObjectMapper objectMapper) {
+    this.briareusService = briareusService;
+    this.blogPostMapper = blogPostMapper;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Renders one page of the feed, newest posts first.
+   *
+   * @param page the zero-based page number
+   * @param size the page size, between 1 and MAX_PAGE_SIZE
+   * @return the rendered page
+   * @throws IllegalArgumentException on a negative page or a bad size
+   */
+  @Cacheable(cacheNames = FEED_CACHE, key = "'page:' + #page + ':' + #size")
+  @Transactional(readOnly = true)
+  public Rendered page(int page, int size) {
+    if (page < 0) {
+      throw new IllegalArgumentException("page must not be negative");
+    }
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    Page<PostEntity> result = briareusService.listPostsPaged(List.of(),
+        PageRequest.of(page, size, NEWEST_FIRST));
+    List<BlogPost> items = result.getContent().stream().map(blogPostMapper::map).toList();
+    PagedBlogPosts body = PagedBlogPosts.newBuilder()
+        .items(items)
+        .pageInfo(BlogGraphQLService.pageInfo(result))
+        .build();
+    return render(body, result.getContent());
+  }
+
+  /**
+   * Renders a single post.
+   *
+   * @param id the post id
+   * @return the rendered post, or empty if it does not exist
+   */
+  @Cacheable(cacheNames = FEED_CACHE, key = "'post:' + #id", unless = "#result == null")
+  @Transactional(readOnly = true)
+  public Optional<Rendered> post(UUID id) {
+    return briareusService.locatePost(id)
+        .map(post -> render(blogPostMapper.map(post), List.of(post)));
+  }
+
+  private Rendered render(Object body, List<PostEntity> posts) {
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not render blog feed", e);
+    }
+    String etag = '"' + DigestUtils.md5DigestAsHex(json) + '"';
+    Instant lastModified = posts.stream()
+        .map(p -> p.getLastUpdatedAt() != null ? p.getLastUpdatedAt() : p.getCreatedAt())
+        .filter(Objects::nonNull)
+        .max(LocalDateTime::compareTo)
+        .map(t -> t.toInstant(ZoneOffset.UTC))
+        .orElse(null);
+    return new Rendered(json, etag, lastModified);
+  }
+}
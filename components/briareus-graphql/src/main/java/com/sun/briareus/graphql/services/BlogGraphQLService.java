@@ -1,5 +1,6 @@
 package com.sun.briareus.graphql.services;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.base.util.FilterSpec;
 import com.sun.base.util.GraphQLSupport;
 import com.sun.base.util.PageRequests;
@@ -24,6 +25,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -31,13 +34,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * GraphQL business logic for the blogsite.
+ * GraphQL business logic for the blogsite. Post listings and the type list are
+ * cached in-process; every mutation invalidates them once it commits.
  */
 @Service
 public class BlogGraphQLService {
 
   private static final Logger logger = LoggerFactory.getLogger(BlogGraphQLService.class);
 
+  /** Invalidation tag of cached post listings and rendered posts. */
+  public static final String POSTS_TAG = "briareus.posts";
+
+  /** Invalidation tag of cached post types, which rendered posts embed. */
+  public static final String TYPES_TAG = "briareus.types";
+
   @Autowired
   private BriareusService briareusService;
 
@@ -50,12 +60,16 @@ public class BlogGraphQLService {
   @Autowired
   private BlogPostTypeMapper blogPostTypeMapper;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   /**
    * Retrieves a page of blog posts matching the filters.
    *
    * @param pagination the pagination and filter input
    * @return the matching page
    */
+  @Cacheable("blogPosts")
   @Transactional(readOnly = true)
   public PagedBlogPosts listBlogPosts(PaginationInput pagination) {
     logger.info("Retrieving blog posts");
@@ -114,6 +128,7 @@ public class BlogGraphQLService {
    *
    * @return the post types
    */
+  @Cacheable("blogPostTypes")
   @Transactional(readOnly = true)
   public List<BlogPostType> blogPostTypes() {
     logger.info("Retrieving blog post types");
@@ -142,6 +157,7 @@ public class BlogGraphQLService {
     entity.setName(name);
     entity.setDescription(description);
     BlogPostTypeEntity saved = blogPostTypeService.save(entity);
+    eventPublisher.publishEvent(CacheInvalidationEvent.of(TYPES_TAG));
 
     logger.info("Created blog post type {} with id {}", name, saved.getId());
     return QuerySuccess.newBuilder()
@@ -164,6 +180,7 @@ public class BlogGraphQLService {
     try {
       PostEntity postEntity = blogPostMapper.mapInput(title, input);
       PostEntity savedEntity = briareusService.save(postEntity);
+      eventPublisher.publishEvent(CacheInvalidationEvent.of(POSTS_TAG));
 
       logger.info("Successfully created blog post with id: {}", savedEntity.getId());
       return QuerySuccess.newBuilder()
@@ -178,6 +195,41 @@ public class BlogGraphQLService {
     }
   }
 
+  /**
+   * Updates an existing blog post.
+   *
+   * @param id the blog post ID
+   * @param title the new title, or null to keep the current one
+   * @param input the new post data, or null to keep the current data
+   * @return QueryResult indicating success or error
+   */
+  @Transactional
+  public QueryResult updateBlogPost(String id, String title, BlogPostInput input) {
+    logger.info("Updating blog post with id: {}", id);
+
+    try {
+      PostEntity postEntity = briareusService.locatePost(UUID.fromString(id))
+          .orElseThrow(() -> new IllegalArgumentException("Blog post not found with id: " + id));
+      if (title != null) {
+        postEntity.setTitle(title);
+      }
+      blogPostMapper.applyInput(postEntity, input);
+      PostEntity savedEntity = briareusService.save(postEntity);
+      eventPublisher.publishEvent(CacheInvalidationEvent.of(POSTS_TAG));
+
+      logger.info("Successfully updated blog post with id: {}", savedEntity.getId());
+      return QuerySuccess.newBuilder()
+          .message("Blog post updated successfully")
+          .id(savedEntity.getId().toString())
+          .build();
+    } catch (Exception e) {
+      logger.error("Failed to update blog post with id: {}", id, e);
+      return StandardError.newBuilder()
+          .message("Failed to update blog post: " + e.getMessage())
+          .build();
+    }
+  }
+
   /**
    * Builds a pageable from the pagination input.
    *
@@ -202,7 +254,7 @@ public class BlogGraphQLService {
    * @param result the data page
    * @return the GraphQL PageInfo
    */
-  private PageInfo pageInfo(Page<?> result) {
+  static PageInfo pageInfo(Page<?> result) {
     return PageInfo.newBuilder()
         .page(result.getNumber())
         .size(result.getSize())
@@ -0,0 +1,71 @@
+package com.sun.briareus.rest;
+
+import com.sun.briareus.graphql.services.BlogFeedService;
+import com.sun.briareus.graphql.services.BlogFeedService.Rendered;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Public, anonymous read path for blog content. Responses carry an ETag and
+ * Last-Modified, and Spring answers a matching If-None-Match or
+ * If-Modified-Since with 304 and no body. Shared caches may keep a response
+ * for a short while but must revalidate it after that.
+ */
+@RestController
+@RequestMapping("/api/blog")
+public class BlogFeedController {
+
+  static final CacheControl CACHE_CONTROL =
+      CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic().mustRevalidate();
+
+  private final BlogFeedService feedService;
+
+  public BlogFeedController(BlogFeedService feedService) {
+    this.feedService = feedService;
+  }
+
+  /**
+   * Returns one page of posts, newest first.
+   */
+  @GetMapping("/posts")
+  public ResponseEntity<byte[]> posts(
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "" + BlogFeedService.DEFAULT_PAGE_SIZE) int size) {
+    return respond(feedService.page(page, size));
+  }
+
+  /**
+   * Returns a single post.
+   */
+  @GetMapping("/posts/{id}")
+  public ResponseEntity<byte[]> post(@PathVariable UUID id) {
+    return feedService.post(id)
+        .map(this::respond)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  ResponseEntity<Void> badRequest() {
+    return ResponseEntity.badRequest().build();
+  }
+
+  private ResponseEntity<byte[]> respond(Rendered rendered) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .cacheControl(CACHE_CONTROL)
+        .eTag(rendered.etag());
+    if (rendered.lastModified() != null) {
+      response.lastModified(rendered.lastModified());
+    }
+    return response.body(rendered.body());
+  }
+}
@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -89,4 +90,23 @@ class BlogPostMapperTest {
     assertThat(result.getType()).isEqualTo(typeEntity);
   }
 
+  @Test
+  void applyInput_shouldReplaceOnlyTheFieldsThatAreSet() {
+    BlogPostTypeEntity type = new BlogPostTypeEntity();
+    PostEntity postEntity = new PostEntity();
+    postEntity.setTitle("Kept Title");
+    postEntity.setContent("Old Content");
+    postEntity.setTags(List.of("kept"));
+    postEntity.setType(type);
+    BlogPostInput input = BlogPostInput.newBuilder().content("New Content").language("el").build();
+
+    blogPostMapper.applyInput(postEntity, input);
+
+    assertThat(postEntity.getTitle()).isEqualTo("Kept Title");
+    assertThat(postEntity.getContent()).isEqualTo("New Content");
+    assertThat(postEntity.getLanguage()).isEqualTo("el");
+    assertThat(postEntity.getTags()).containsExactly("kept");
+    assertThat(postEntity.getType()).isSameAs(type);
+  }
+
 }
@@ -109,6 +109,16 @@ class BlogDataFetcherTest {
     assertThat(result).isEqualTo(mockResult);
   }
 
+  @Test
+  void updateBlogPost_shouldReturnQueryResultFromService() {
+    QueryResult mockResult = QuerySuccess.newBuilder().message("ok").build();
+    when(blogGraphQLService.updateBlogPost("id-1", "New Title", null)).thenReturn(mockResult);
+
+    QueryResult result = blogDataFetcher.updateBlogPost("id-1", "New Title", null);
+
+    assertThat(result).isEqualTo(mockResult);
+  }
+
   @Test
   void createBlogPostType_shouldReturnQueryResultFromService() {
     QueryResult mockResult = QuerySuccess.newBuilder().message("ok").build();
@@ -0,0 +1,127 @@
+package com.sun.briareus.graphql.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.briareus.codegen.types.BlogPost;
+import com.sun.briareus.graphql.mappers.BlogPostMapper;
+import com.sun.briareus.model.PostEntity;
+import com.sun.briareus.service.BriareusService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Unit tests for BlogFeedService.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlogFeedServiceTest {
+
+  @Mock
+  private BriareusService briareusService;
+
+  @Mock
+  private BlogPostMapper blogPostMapper;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private BlogFeedService feedService;
+
+  @BeforeEach
+  void setUp() {
+    feedService = new BlogFeedService(briareusService, blogPostMapper, objectMapper);
+  }
+
+  @Test
+  void page_rendersNewestFirstWithValidators() {
+    PostEntity older = post("Older", LocalDateTime.of(2026, 1, 1, 9, 0));
+    PostEntity newer = post("Newer", LocalDateTime.of(2026, 2, 1, 9, 0));
+    ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+    when(briareusService.listPostsPaged(anyList(), pageable.capture()))
+        .thenReturn(new PageImpl<>(List.of(newer, older), PageRequest.of(1, 2), 7));
+    when(blogPostMapper.map(any(PostEntity.class)))
+        .thenAnswer(inv -> BlogPost.newBuilder().title(((PostEntity) inv.getArgument(0)).getTitle()).build());
+
+    BlogFeedService.Rendered rendered = feedService.page(1, 2);
+
+    assertThat(pageable.getValue().getPageNumber()).isEqualTo(1);
+    assertThat(pageable.getValue().getSort().getOrderFor("createdAt").getDirection())
+        .isEqualTo(Sort.Direction.DESC);
+    String json = new String(rendered.body(), StandardCharsets.UTF_8);
+    assertThat(json).contains("\"title\":\"Newer\"").contains("\"totalCount\":7");
+    assertThat(rendered.etag()).startsWith("\"").endsWith("\"").hasSize(34);
+    assertThat(rendered.lastModified())
+        .isEqualTo(LocalDateTime.of(2026, 2, 1, 9, 0).toInstant(ZoneOffset.UTC));
+  }
+
+  @Test
+  void page_etagFollowsContent() {
+    PostEntity post = post("Title", LocalDateTime.of(2026, 1, 1, 9, 0));
+    when(briareusService.listPostsPaged(anyList(), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(post), PageRequest.of(0, 20), 1));
+    when(blogPostMapper.map(post))
+        .thenReturn(BlogPost.newBuilder().title("Title").build())
+        .thenReturn(BlogPost.newBuilder().title("Title").build())
+        .thenReturn(BlogPost.newBuilder().title("Edited").build());
+
+    String first = feedService.page(0, 20).etag();
+    String same = feedService.page(0, 20).etag();
+    String edited = feedService.page(0, 20).etag();
+
+    assertThat(same).isEqualTo(first);
+    assertThat(edited).isNotEqualTo(first);
+  }
+
+  @Test
+  void page_emptyFeedHasNoLastModified() {
+    when(briareusService.listPostsPaged(anyList(), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+    assertThat(feedService.page(0, 20).lastModified()).isNull();
+  }
+
+  @Test
+  void page_rejectsBadPaging() {
+    assertThatThrownBy(() -> feedService.page(-1, 20)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> feedService.page(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> feedService.page(0, BlogFeedService.MAX_PAGE_SIZE + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(briareusService);
+  }
+
+  @Test
+  void post_isEmptyWhenMissing() {
+    UUID id = UUID.randomUUID();
+    when(briareusService.locatePost(id)).thenReturn(Optional.empty());
+
+    assertThat(feedService.post(id)).isEmpty();
+  }
+
+  private static PostEntity post(String title, LocalDateTime updatedAt) {
+    PostEntity post = new PostEntity();
+    post.setId(UUID.randomUUID());
+    post.setTitle(title);
+    post.setCreatedAt(updatedAt.minusDays(1));
+    post.setLastUpdatedAt(updatedAt);
+    return post;
+  }
+}
@@ -1,5 +1,6 @@
 package com.sun.briareus.graphql.services;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.briareus.graphql.mappers.BlogPostMapper;
 import com.sun.briareus.graphql.mappers.BlogPostTypeMapper;
 import com.sun.briareus.model.BlogPostTypeEntity;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -35,6 +37,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +56,9 @@ class BlogGraphQLServiceTest {
   @Mock
   private BlogPostTypeMapper blogPostTypeMapper;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private BlogGraphQLService blogGraphQLService;
 
@@ -159,6 +166,7 @@ class BlogGraphQLServiceTest {
 
     assertThat(result).isInstanceOf(QuerySuccess.class);
     assertThat(((QuerySuccess) result).getId()).isEqualTo(saved.getId().toString());
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(BlogGraphQLService.TYPES_TAG));
   }
 
   @Test
@@ -199,6 +207,7 @@ class BlogGraphQLServiceTest {
     QueryResult result = blogGraphQLService.createBlogPost("New Blog Post", input);
 
     assertThat(result).isInstanceOf(QuerySuccess.class);
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(BlogGraphQLService.POSTS_TAG));
   }
 
   @Test
@@ -218,5 +227,32 @@ class BlogGraphQLServiceTest {
 
     assertThat(result).isInstanceOf(StandardError.class);
     assertThat(((StandardError) result).getMessage()).contains("Database error");
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void updateBlogPost_shouldApplyChangesAndInvalidatePosts() {
+    BlogPostInput input = BlogPostInput.newBuilder().content("Edited content").build();
+    when(briareusService.locatePost(postEntity1.getId())).thenReturn(Optional.of(postEntity1));
+    when(briareusService.save(postEntity1)).thenReturn(postEntity1);
+
+    QueryResult result = blogGraphQLService.updateBlogPost(
+        postEntity1.getId().toString(), "Edited title", input);
+
+    assertThat(result).isInstanceOf(QuerySuccess.class);
+    assertThat(postEntity1.getTitle()).isEqualTo("Edited title");
+    verify(blogPostMapper).applyInput(postEntity1, input);
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(BlogGraphQLService.POSTS_TAG));
+  }
+
+  @Test
+  void updateBlogPost_shouldReturnStandardErrorWhenPostNotFound() {
+    when(briareusService.locatePost(postEntity1.getId())).thenReturn(Optional.empty());
+
+    QueryResult result = blogGraphQLService.updateBlogPost(postEntity1.getId().toString(), "Title", null);
+
+    assertThat(result).isInstanceOf(StandardError.class);
+    assertThat(((StandardError) result).getMessage()).contains("not found");
+    verify(eventPublisher, never()).publishEvent(any());
   }
 }
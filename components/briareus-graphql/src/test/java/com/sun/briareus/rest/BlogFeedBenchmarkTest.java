@@ -0,0 +1,225 @@
+package com.sun.briareus.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.briareus.graphql.mappers.BlogPostMapper;
+import com.sun.briareus.graphql.mappers.BlogPostTypeMapper;
+import com.sun.briareus.graphql.services.BlogFeedService;
+import com.sun.briareus.model.BlogPostTypeEntity;
+import com.sun.briareus.model.PostEntity;
+import com.sun.briareus.service.BlogPostTypeService;
+import com.sun.briareus.service.BriareusService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Requests per second for anonymous feed traffic over HTTP against an
+ * embedded Tomcat: every view rendering from the database, views served from
+ * the rendered-post cache, and revalidations answered with 304. The database
+ * is simulated by a 3 ms page query over 20 posts of about 4 KB each; run with
+ * {@code SUN_BENCHMARK=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "SUN_BENCHMARK", matches = "true")
+class BlogFeedBenchmarkTest {
+
+  private static final int CLIENTS = 16;
+  private static final int REQUESTS_PER_CLIENT = 250;
+  private static final long QUERY_MILLIS = 3;
+
+  @Test
+  void cachedFeedServesMoreRequestsThanRendering() throws Exception {
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    double renderRps;
+    try (Server server = Server.start(false)) {
+      renderRps = measure(client, server.feed(), null, 200);
+    }
+    double cachedRps;
+    double revalidateRps;
+    try (Server server = Server.start(true)) {
+      HttpResponse<byte[]> first = client.send(HttpRequest.newBuilder(server.feed()).build(),
+          HttpResponse.BodyHandlers.ofByteArray());
+      String etag = first.headers().firstValue("ETag").orElseThrow();
+      assertThat(first.body()).isNotEmpty();
+      cachedRps = measure(client, server.feed(), null, 200);
+      revalidateRps = measure(client, server.feed(), etag, 304);
+    }
+
+    assertThat(cachedRps).isGreaterThan(renderRps * 2);
+    assertThat(revalidateRps).isGreaterThan(cachedRps);
+  }
+
+  private static double measure(HttpClient client, URI uri, String etag, int expectedStatus)
+      throws Exception {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+    if (etag != null) {
+      builder.header("If-None-Match", etag);
+    }
+    HttpRequest request = builder.build();
+    AtomicInteger unexpected = new AtomicInteger();
+    Runnable views = () -> {
+      for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+        try {
+          HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+          if (response.statusCode() != expectedStatus) {
+            unexpected.incrementAndGet();
+          }
+        } catch (Exception e) {
+          unexpected.incrementAndGet();
+        }
+      }
+    };
+    ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+    try {
+      // Warm up the JIT and the connection pool before timing.
+      run(pool, views);
+      long start = System.nanoTime();
+      run(pool, views);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      assertThat(unexpected).hasValue(0);
+      return CLIENTS * REQUESTS_PER_CLIENT / seconds;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void run(ExecutorService pool, Runnable views) throws Exception {
+    List<Future<?>> futures = new ArrayList<>();
+    for (int c = 0; c < CLIENTS; c++) {
+      futures.add(pool.submit(views));
+    }
+    for (Future<?> f : futures) {
+      f.get();
+    }
+  }
+
+  /**
+   * An embedded Tomcat serving the feed controller.
+   */
+  private record Server(Tomcat tomcat, AnnotationConfigWebApplicationContext context, Path baseDir)
+      implements AutoCloseable {
+
+    static Server start(boolean cached) throws Exception {
+      Path baseDir = Files.createTempDirectory("blog-feed-benchmark");
+      AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+      context.register(FeedConfig.class, cached ? CachedConfig.class : UncachedConfig.class);
+
+      Tomcat tomcat = new Tomcat();
+      tomcat.setBaseDir(baseDir.toString());
+      tomcat.setPort(0);
+      tomcat.getConnector();
+      Context root = tomcat.addContext("", baseDir.toString());
+      Tomcat.addServlet(root, "dispatcher", new DispatcherServlet(context)).setLoadOnStartup(1);
+      root.addServletMappingDecoded("/", "dispatcher");
+      tomcat.start();
+      return new Server(tomcat, context, baseDir);
+    }
+
+    URI feed() {
+      return URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/api/blog/posts");
+    }
+
+    @Override
+    public void close() throws Exception {
+      tomcat.stop();
+      tomcat.destroy();
+      context.close();
+    }
+  }
+
+  @Configuration
+  static class CachedConfig {
+
+    @Bean
+    CacheManager cacheManager() {
+      return new ConcurrentMapCacheManager(BlogFeedService.FEED_CACHE);
+    }
+  }
+
+  @Configuration
+  static class UncachedConfig {
+
+    @Bean
+    CacheManager cacheManager() {
+      return new NoOpCacheManager();
+    }
+  }
+
+  @Configuration
+  @EnableWebMvc
+  @EnableCaching
+  @Import({BlogFeedController.class, BlogFeedService.class, BlogPostMapper.class,
+      BlogPostTypeMapper.class})
+  static class FeedConfig {
+
+    @Bean
+    ObjectMapper objectMapper() {
+      return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Bean
+    BlogPostTypeService blogPostTypeService() {
+      return mock(BlogPostTypeService.class);
+    }
+
+    @Bean
+    BriareusService briareusService() {
+      BlogPostTypeEntity type = new BlogPostTypeEntity();
+      type.setId(UUID.randomUUID());
+      type.setName("BOT_FAQ");
+      List<PostEntity> posts = new ArrayList<>();
+      for (int i = 0; i < BlogFeedService.DEFAULT_PAGE_SIZE; i++) {
+        PostEntity post = new PostEntity();
+        post.setId(UUID.randomUUID());
+        post.setTitle("Post " + i);
+        post.setContent("Lorem ipsum dolor sit amet. ".repeat(150));
+        post.setTags(List.of("faq", "language"));
+        post.setLanguage("en");
+        post.setType(type);
+        post.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusDays(i));
+        post.setLastUpdatedAt(post.getCreatedAt());
+        posts.add(post);
+      }
+      BriareusService service = mock(BriareusService.class);
+      when(service.listPostsPaged(anyList(), any(Pageable.class))).thenAnswer(inv -> {
+        Thread.sleep(QUERY_MILLIS);
+        return new PageImpl<>(posts, inv.getArgument(1), 200);
+      });
+      return service;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.sun.briareus.rest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.sun.briareus.graphql.services.BlogFeedService;
+import com.sun.briareus.graphql.services.BlogFeedService.Rendered;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Tests for {@link BlogFeedController}: rendered bodies with validators, and
+ * 304 answers to conditional requests.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlogFeedControllerTest {
+
+  private static final byte[] BODY = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+  private static final String ETAG = "\"abc123\"";
+  private static final Instant MODIFIED = Instant.parse("2026-03-01T10:15:30Z");
+
+  @Mock
+  private BlogFeedService feedService;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.standaloneSetup(new BlogFeedController(feedService)).build();
+  }
+
+  @Test
+  void posts_returnsBodyWithValidators() throws Exception {
+    when(feedService.page(0, BlogFeedService.DEFAULT_PAGE_SIZE))
+        .thenReturn(new Rendered(BODY, ETAG, MODIFIED));
+
+    mockMvc.perform(get("/api/blog/posts"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(content().bytes(BODY))
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+        .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, MODIFIED.toEpochMilli()))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("must-revalidate")));
+  }
+
+  @Test
+  void posts_answersMatchingEtagWithNotModified() throws Exception {
+    when(feedService.page(2, 10)).thenReturn(new Rendered(BODY, ETAG, MODIFIED));
+
+    mockMvc.perform(get("/api/blog/posts").param("page", "2").param("size", "10")
+            .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+        .andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]))
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+  }
+
+  @Test
+  void posts_answersUnchangedSinceWithNotModified() throws Exception {
+    when(feedService.page(0, BlogFeedService.DEFAULT_PAGE_SIZE))
+        .thenReturn(new Rendered(BODY, ETAG, MODIFIED));
+
+    mockMvc.perform(get("/api/blog/posts")
+            .header(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 01 Mar 2026 10:15:30 GMT"))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void posts_returnsBodyWhenEtagIsStale() throws Exception {
+    when(feedService.page(0, BlogFeedService.DEFAULT_PAGE_SIZE))
+        .thenReturn(new Rendered(BODY, ETAG, MODIFIED));
+
+    mockMvc.perform(get("/api/blog/posts").header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(BODY));
+  }
+
+  @Test
+  void posts_rejectsBadPaging() throws Exception {
+    when(feedService.page(0, 500)).thenThrow(new IllegalArgumentException("size"));
+
+    mockMvc.perform(get("/api/blog/posts").param("size", "500"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void post_returnsNotFoundForMissingPost() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(feedService.post(id)).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/api/blog/posts/" + id))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void post_returnsRenderedPost() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(feedService.post(id)).thenReturn(Optional.of(new Rendered(BODY, ETAG, null)));
+
+    mockMvc.perform(get("/api/blog/posts/" + id))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+        .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+  }
+}
@@ -4,11 +4,14 @@ import com.sun.base.model.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
 
 /**
- * A named category a blog post belongs to.
+ * A named category a blog post belongs to. Lazy references from posts are
+ * resolved in batches rather than one query per post.
  */
 @Entity
+@BatchSize(size = 50)
 @Table(name = "briareus_blog_post_types")
 public class BlogPostTypeEntity extends BaseEntity {
 
@@ -1,14 +1,21 @@
 package com.sun.briareus.model;
 
 import com.sun.base.model.BaseEntity;
+import com.sun.base.model.RemoteObjectOwner;
+import com.sun.base.model.RemoteObjectRefListener;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Type;
 import java.util.List;
 
+/**
+ * A blog post. Its type is loaded lazily: list and lookup queries join-fetch
+ * it, and other paths batch-load the types of a page of posts together.
+ */
 @Entity
+@EntityListeners(RemoteObjectRefListener.class)
 @Table(name = "briareus_posts")
-public class PostEntity extends BaseEntity {
+public class PostEntity extends BaseEntity implements RemoteObjectOwner {
 
   @Column(name = "title")
   private String title;
@@ -24,7 +31,7 @@ public class PostEntity extends BaseEntity {
   @Column(name = "remote_object", columnDefinition = "jsonb")
   private List<String> remoteObject;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "type_id")
   private BlogPostTypeEntity type;
 
@@ -2,14 +2,55 @@ package com.sun.briareus.repository;
 
 import com.sun.briareus.model.PostEntity;
 import com.sun.base.repository.BaseRepository;
+import com.sun.base.repository.RemoteObjectRefRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Query;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
-public interface PostRepository extends BaseRepository<PostEntity>, JpaSpecificationExecutor<PostEntity> {
+public interface PostRepository
+    extends BaseRepository<PostEntity>, RemoteObjectRefRepository,
+    JpaSpecificationExecutor<PostEntity> {
   // Domain-specific query methods can be added here
 
-  @Query(value = "SELECT * FROM briareus_posts WHERE EXISTS (SELECT 1 FROM jsonb_array_elements_text(remote_object) AS elem WHERE elem = ANY(?1))", nativeQuery = true)
-  List<PostEntity> findByRemoteObjectsIn(String[] ids);
+  /**
+   * Finds a post with its type in one query.
+   *
+   * @param id the post id
+   * @return the post, if any
+   */
+  @Override
+  @EntityGraph(attributePaths = "type")
+  Optional<PostEntity> findById(UUID id);
+
+  /**
+   * Finds a page of posts with their types in one query.
+   *
+   * @param pageable the pagination and sort
+   * @return the page
+   */
+  @Override
+  @EntityGraph(attributePaths = "type")
+  Page<PostEntity> findAll(Pageable pageable);
+
+  /**
+   * Finds a page of matching posts with their types in one query.
+   *
+   * @param spec the filter
+   * @param pageable the pagination and sort
+   * @return the page
+   */
+  @Override
+  @EntityGraph(attributePaths = "type")
+  Page<PostEntity> findAll(Specification<PostEntity> spec, Pageable pageable);
+
+  default List<PostEntity> findByRemoteObjectsIn(String[] ids) {
+    return findByRemoteObjectRefs(PostEntity.class, Arrays.asList(ids));
+  }
 }
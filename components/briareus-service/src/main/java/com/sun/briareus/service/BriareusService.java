@@ -2,6 +2,8 @@ package com.sun.briareus.service;
 
 import com.sun.briareus.model.PostEntity;
 import com.sun.briareus.repository.PostRepository;
+import com.sun.base.search.FullTextSearch;
+import com.sun.base.search.SearchHit;
 import com.sun.base.service.BaseService;
 import com.sun.base.util.FilterBuilder;
 import com.sun.base.util.FilterSpec;
@@ -20,11 +22,16 @@ import java.util.UUID;
 @Transactional
 public class BriareusService extends BaseService<PostEntity> {
 
+  private static final FullTextSearch.Source POSTS = new FullTextSearch.Source(
+      "briareus_posts", "t.title", "t.content", "t.language", null);
+
   private final PostRepository postRepository;
+  private final FullTextSearch fullTextSearch;
 
-  public BriareusService(PostRepository repository) {
+  public BriareusService(PostRepository repository, FullTextSearch fullTextSearch) {
     super(repository);
     this.postRepository = repository;
+    this.fullTextSearch = fullTextSearch;
   }
 
   /**
@@ -67,4 +74,18 @@ public class BriareusService extends BaseService<PostEntity> {
   public List<PostEntity> listByRemoteObjects(List<String> ids) {
     return postRepository.findByRemoteObjectsIn(ids.toArray(new String[0]));
   }
-}
\ No newline at end of file
+
+  /**
+   * Full-text searches post titles and bodies, each in its post's language.
+   *
+   * @param query the web-search query
+   * @param language the query language, or null for any
+   * @param limit the maximum number of hits
+   * @param offset the number of hits to skip
+   * @return the hits, best first
+   */
+  @Transactional(readOnly = true)
+  public List<SearchHit> search(String query, String language, int limit, long offset) {
+    return fullTextSearch.search(POSTS, query, language, limit, offset);
+  }
+}
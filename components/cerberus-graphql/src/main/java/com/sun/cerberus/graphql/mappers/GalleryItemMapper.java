@@ -1,6 +1,7 @@
 package com.sun.cerberus.graphql.mappers;
 
 import java.time.ZoneOffset;
+import com.sun.cerberus.codegen.types.GalleryImageVariant;
 import com.sun.cerberus.codegen.types.GalleryItem;
 import com.sun.cerberus.codegen.types.GalleryItemInput;
 import org.slf4j.Logger;
@@ -8,7 +9,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.sun.cerberus.model.GalleryItemEntity;
+import com.sun.cerberus.model.ImageDerivative;
+import com.sun.cerberus.model.enums.DerivativeStatus;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Mapper for converting domain GalleryItem entities to GraphQL GalleryItem
@@ -38,12 +43,60 @@ public class GalleryItemMapper {
         .keyDetailId(galleryItemEntity.getKeyDetailId() == null ? null : galleryItemEntity.getKeyDetailId().toString())
         .createdAt(galleryItemEntity.getCreatedAt() == null ? null : galleryItemEntity.getCreatedAt().atOffset(ZoneOffset.UTC))
         .updatedAt(galleryItemEntity.getLastUpdatedAt() == null ? null : galleryItemEntity.getLastUpdatedAt().atOffset(ZoneOffset.UTC))
+        .width(galleryItemEntity.getImageWidth())
+        .height(galleryItemEntity.getImageHeight())
+        .srcset(srcset(galleryItemEntity))
+        .variants(variants(galleryItemEntity))
         .build();
 
     logger.debug("Mapped gallery item {} with id {}", galleryItemEntity.getTitle(), galleryItemEntity.getId());
     return galleryItem;
   }
 
+  /**
+   * Builds an img srcset from an item's derivatives, narrowest first, with the
+   * original as the widest candidate.
+   *
+   * @param galleryItemEntity the gallery item
+   * @return the srcset, or null until the derivatives are ready
+   */
+  private String srcset(GalleryItemEntity galleryItemEntity) {
+    List<ImageDerivative> derivatives = readyDerivatives(galleryItemEntity);
+    if (derivatives == null) {
+      return null;
+    }
+    String candidates = derivatives.stream()
+        .map(d -> d.path() + " " + d.width() + "w")
+        .collect(Collectors.joining(", "));
+    String original = galleryItemEntity.getImagePath() + " " + galleryItemEntity.getImageWidth() + "w";
+    return candidates.isEmpty() ? original : candidates + ", " + original;
+  }
+
+  private List<GalleryImageVariant> variants(GalleryItemEntity galleryItemEntity) {
+    List<ImageDerivative> derivatives = readyDerivatives(galleryItemEntity);
+    if (derivatives == null) {
+      return null;
+    }
+    return derivatives.stream()
+        .map(d -> GalleryImageVariant.newBuilder()
+            .url(d.path())
+            .width(d.width())
+            .height(d.height())
+            .format(d.format())
+            .bytes(d.bytes())
+            .build())
+        .toList();
+  }
+
+  private static List<ImageDerivative> readyDerivatives(GalleryItemEntity galleryItemEntity) {
+    if (galleryItemEntity.getDerivativeStatus() != DerivativeStatus.READY
+        || galleryItemEntity.getDerivatives() == null
+        || galleryItemEntity.getImageWidth() == null) {
+      return null;
+    }
+    return galleryItemEntity.getDerivatives();
+  }
+
   /**
    * Maps a GraphQL GalleryItemInput to a domain GalleryItemEntity.
    *
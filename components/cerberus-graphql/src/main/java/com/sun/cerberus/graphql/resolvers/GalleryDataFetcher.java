@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import com.sun.base.ratelimit.Cost;
 import com.sun.cerberus.graphql.services.GalleryGraphQLService;
 import com.netflix.graphql.dgs.DgsComponent;
 import com.netflix.graphql.dgs.DgsData;
@@ -12,6 +13,8 @@ import com.sun.cerberus.codegen.types.GalleryItem;
 import com.sun.cerberus.codegen.types.GalleryQueries;
 import com.sun.cerberus.codegen.types.GalleryMutations;
 import com.sun.cerberus.codegen.types.GalleryItemInput;
+import com.sun.cerberus.codegen.types.PagedGalleryItems;
+import com.sun.cerberus.codegen.types.PaginationInput;
 import com.sun.cerberus.codegen.types.QueryResult;
 
 @DgsComponent
@@ -41,6 +44,19 @@ public class GalleryDataFetcher {
     return galleryGraphQLService.list();
   }
 
+  /**
+   * Retrieves a page of gallery items with their srcsets.
+   *
+   * @param pagination the pagination, sort and filter input
+   * @return a page of gallery items
+   */
+  @DgsData(parentType = "GalleryQueries", field = "items")
+  @PreAuthorize("@permissions.has('graphql.cerberus.items')")
+  @Cost(defaultSize = GalleryGraphQLService.DEFAULT_PAGE_SIZE)
+  public PagedGalleryItems items(PaginationInput pagination) {
+    return galleryGraphQLService.items(pagination);
+  }
+
   /**
    * Retrieves a specific gallery item by ID.
    *
@@ -4,12 +4,21 @@ import com.sun.cerberus.service.CerberusService;
 import com.sun.cerberus.graphql.mappers.GalleryItemMapper;
 import com.sun.cerberus.codegen.types.GalleryItem;
 import com.sun.cerberus.codegen.types.GalleryItemInput;
+import com.sun.cerberus.codegen.types.PageInfo;
+import com.sun.cerberus.codegen.types.PagedGalleryItems;
+import com.sun.cerberus.codegen.types.PaginationInput;
 import com.sun.cerberus.codegen.types.QueryResult;
 import com.sun.cerberus.codegen.types.QuerySuccess;
 import com.sun.cerberus.codegen.types.StandardError;
+import com.sun.base.util.FilterSpec;
+import com.sun.base.util.GraphQLSupport;
+import com.sun.base.util.PageRequests;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -27,6 +36,12 @@ public class GalleryGraphQLService {
 
   private static final Logger logger = LoggerFactory.getLogger(GalleryGraphQLService.class);
 
+  /** Items per page when the caller does not ask for a size. */
+  public static final int DEFAULT_PAGE_SIZE = 24;
+
+  /** Largest page a caller may ask for. */
+  static final int MAX_PAGE_SIZE = 100;
+
   @Autowired
   private CerberusService cerberusService;
 
@@ -51,6 +66,45 @@ public class GalleryGraphQLService {
     return galleryItems;
   }
 
+  /**
+   * Lists a page of gallery items, newest first by default, each with a
+   * srcset of its derivatives. Pages default to DEFAULT_PAGE_SIZE items and
+   * are capped at MAX_PAGE_SIZE, so a grid never pulls the whole gallery.
+   *
+   * @param pagination the pagination, sort and filter input
+   * @return a page of gallery items
+   */
+  @Transactional(readOnly = true)
+  public PagedGalleryItems items(PaginationInput pagination) {
+    int size = pagination == null || pagination.getSize() == null
+        ? DEFAULT_PAGE_SIZE
+        : pagination.getSize();
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    Pageable pageable = pagination == null
+        ? PageRequests.of(null, size, null, null, "createdAt", Sort.Direction.DESC)
+        : PageRequests.of(pagination.getPage(), size, pagination.getSortBy(),
+            pagination.getSortDir() == null ? null : pagination.getSortDir().name(),
+            "createdAt", Sort.Direction.DESC);
+    List<FilterSpec> filters = GraphQLSupport.toFilterSpecs(
+        pagination == null ? null : pagination.getFilters(),
+        f -> new FilterSpec(f.getField(), f.getOperator().name(), f.getValue()));
+
+    Page<GalleryItemEntity> result = cerberusService.listPaged(filters, pageable);
+    return PagedGalleryItems.newBuilder()
+        .items(result.getContent().stream().map(galleryItemMapper::map).toList())
+        .pageInfo(PageInfo.newBuilder()
+            .page(result.getNumber())
+            .size(result.getSize())
+            .totalPages(result.getTotalPages())
+            .totalCount((int) result.getTotalElements())
+            .hasNextPage(result.hasNext())
+            .hasPreviousPage(result.hasPrevious())
+            .build())
+        .build();
+  }
+
   /**
    * Retrieves a specific gallery item with its information by ID.
    *
@@ -120,7 +174,7 @@ public class GalleryGraphQLService {
 
     try {
       GalleryItemEntity galleryItemEntity = galleryItemMapper.mapInput(input);
-      GalleryItemEntity savedEntity = cerberusService.save(galleryItemEntity);
+      GalleryItemEntity savedEntity = cerberusService.create(galleryItemEntity);
 
       logger.info("Successfully created gallery item with id: {}", savedEntity.getId());
       return QuerySuccess.newBuilder()
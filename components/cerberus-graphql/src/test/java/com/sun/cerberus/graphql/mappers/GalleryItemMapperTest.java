@@ -7,11 +7,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sun.cerberus.model.GalleryItemEntity;
+import com.sun.cerberus.model.ImageDerivative;
+import com.sun.cerberus.model.enums.DerivativeStatus;
 import com.sun.cerberus.codegen.types.GalleryItem;
 import com.sun.cerberus.codegen.types.GalleryItemInput;
 
@@ -47,6 +50,59 @@ class GalleryItemMapperTest {
     assertThat(result.getUpdatedAt()).isEqualTo(updatedAt.atOffset(ZoneOffset.UTC));
   }
 
+  @Test
+  void map_readyDerivatives_shouldBuildSrcset() {
+    GalleryItemEntity galleryItemEntity = new GalleryItemEntity();
+    galleryItemEntity.setId(UUID.randomUUID());
+    galleryItemEntity.setTitle("Test Title");
+    galleryItemEntity.setImagePath("/gallery/photo.jpg");
+    galleryItemEntity.setImageWidth(2000);
+    galleryItemEntity.setImageHeight(1500);
+    galleryItemEntity.setDerivativeStatus(DerivativeStatus.READY);
+    galleryItemEntity.setDerivatives(List.of(
+        new ImageDerivative(320, 240, "jpeg", "/gallery/derivatives/photo.abc.320w.jpg", 20_000),
+        new ImageDerivative(640, 480, "jpeg", "/gallery/derivatives/photo.abc.640w.jpg", 60_000)));
+
+    GalleryItem result = galleryItemMapper.map(galleryItemEntity);
+
+    assertThat(result.getSrcset()).isEqualTo("/gallery/derivatives/photo.abc.320w.jpg 320w, "
+        + "/gallery/derivatives/photo.abc.640w.jpg 640w, /gallery/photo.jpg 2000w");
+    assertThat(result.getWidth()).isEqualTo(2000);
+    assertThat(result.getHeight()).isEqualTo(1500);
+    assertThat(result.getVariants()).hasSize(2);
+    assertThat(result.getVariants().get(0).getUrl()).isEqualTo("/gallery/derivatives/photo.abc.320w.jpg");
+    assertThat(result.getVariants().get(0).getHeight()).isEqualTo(240);
+    assertThat(result.getVariants().get(0).getBytes()).isEqualTo(20_000L);
+  }
+
+  @Test
+  void map_smallOriginal_shouldOfferOnlyTheOriginal() {
+    GalleryItemEntity galleryItemEntity = new GalleryItemEntity();
+    galleryItemEntity.setId(UUID.randomUUID());
+    galleryItemEntity.setImagePath("/icon.png");
+    galleryItemEntity.setImageWidth(200);
+    galleryItemEntity.setDerivativeStatus(DerivativeStatus.READY);
+    galleryItemEntity.setDerivatives(List.of());
+
+    GalleryItem result = galleryItemMapper.map(galleryItemEntity);
+
+    assertThat(result.getSrcset()).isEqualTo("/icon.png 200w");
+    assertThat(result.getVariants()).isEmpty();
+  }
+
+  @Test
+  void map_pendingDerivatives_shouldLeaveSrcsetNull() {
+    GalleryItemEntity galleryItemEntity = new GalleryItemEntity();
+    galleryItemEntity.setId(UUID.randomUUID());
+    galleryItemEntity.setImagePath("/gallery/photo.jpg");
+
+    GalleryItem result = galleryItemMapper.map(galleryItemEntity);
+
+    assertThat(result.getSrcset()).isNull();
+    assertThat(result.getVariants()).isNull();
+    assertThat(result.getImagePath()).isEqualTo("/gallery/photo.jpg");
+  }
+
   @Test
   void mapInput() {
     GalleryItemInput input = GalleryItemInput.newBuilder()
@@ -16,6 +16,9 @@ import static org.mockito.Mockito.when;
 import com.sun.cerberus.graphql.services.GalleryGraphQLService;
 import com.sun.cerberus.codegen.types.GalleryItem;
 import com.sun.cerberus.codegen.types.GalleryItemInput;
+import com.sun.cerberus.codegen.types.PageInfo;
+import com.sun.cerberus.codegen.types.PagedGalleryItems;
+import com.sun.cerberus.codegen.types.PaginationInput;
 import com.sun.cerberus.codegen.types.QueryResult;
 import com.sun.cerberus.codegen.types.QuerySuccess;
 
@@ -130,4 +133,19 @@ class GalleryDataFetcherTest {
 
     assertThat(result).isEqualTo(mockResult);
   }
-}
\ No newline at end of file
+
+  @Test
+  void items_shouldReturnPageFromService() {
+    PaginationInput pagination = PaginationInput.newBuilder().page(1).size(2).build();
+    PagedGalleryItems page = PagedGalleryItems.newBuilder()
+        .items(mockGalleryItems)
+        .pageInfo(PageInfo.newBuilder().page(1).size(2).totalPages(2).totalCount(4)
+            .hasNextPage(false).hasPreviousPage(true).build())
+        .build();
+    when(galleryGraphQLService.items(pagination)).thenReturn(page);
+
+    PagedGalleryItems result = galleryDataFetcher.items(pagination);
+
+    assertThat(result).isEqualTo(page);
+  }
+}
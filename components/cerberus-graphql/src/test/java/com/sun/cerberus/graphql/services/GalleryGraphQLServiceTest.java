@@ -11,10 +11,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.sun.cerberus.model.GalleryItemEntity;
 import com.sun.cerberus.codegen.types.GalleryItem;
 import com.sun.cerberus.codegen.types.GalleryItemInput;
+import com.sun.cerberus.codegen.types.PagedGalleryItems;
+import com.sun.cerberus.codegen.types.PaginationInput;
 import com.sun.cerberus.codegen.types.QueryResult;
 import com.sun.cerberus.codegen.types.QuerySuccess;
 import com.sun.cerberus.codegen.types.StandardError;
 
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -23,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.ArgumentMatchers.any;
 import java.util.Optional;
 
@@ -154,7 +164,7 @@ class GalleryGraphQLServiceTest {
     savedEntity.setRemoteObject(Arrays.asList("new", "ids"));
 
     when(galleryItemMapper.mapInput(input)).thenReturn(galleryItemEntity);
-    when(cerberusService.save(galleryItemEntity)).thenReturn(savedEntity);
+    when(cerberusService.create(galleryItemEntity)).thenReturn(savedEntity);
 
     QueryResult result = galleryGraphQLService.create(input);
 
@@ -208,7 +218,7 @@ class GalleryGraphQLServiceTest {
     galleryItemEntity.setRemoteObject(Arrays.asList("new", "ids"));
 
     when(galleryItemMapper.mapInput(input)).thenReturn(galleryItemEntity);
-    doThrow(new RuntimeException("Database error")).when(cerberusService).save(galleryItemEntity);
+    doThrow(new RuntimeException("Database error")).when(cerberusService).create(galleryItemEntity);
 
     QueryResult result = galleryGraphQLService.create(input);
 
@@ -216,4 +226,32 @@ class GalleryGraphQLServiceTest {
     StandardError error = (StandardError) result;
     assertThat(error.getMessage()).contains("Failed to create gallery item: Database error");
   }
-}
\ No newline at end of file
+
+  @Test
+  void items_shouldDefaultToANewestFirstPage() {
+    Page<GalleryItemEntity> page = new PageImpl<>(List.of(galleryItemEntity1, galleryItemEntity2),
+        PageRequest.of(0, GalleryGraphQLService.DEFAULT_PAGE_SIZE), 30);
+    when(cerberusService.listPaged(any(), any(Pageable.class))).thenReturn(page);
+    when(galleryItemMapper.map(galleryItemEntity1)).thenReturn(galleryItem1);
+    when(galleryItemMapper.map(galleryItemEntity2)).thenReturn(galleryItem2);
+
+    PagedGalleryItems result = galleryGraphQLService.items(null);
+
+    ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+    verify(cerberusService).listPaged(any(), pageable.capture());
+    assertThat(pageable.getValue().getPageSize()).isEqualTo(GalleryGraphQLService.DEFAULT_PAGE_SIZE);
+    assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt"));
+    assertThat(result.getItems()).containsExactly(galleryItem1, galleryItem2);
+    assertThat(result.getPageInfo().getTotalCount()).isEqualTo(30);
+    assertThat(result.getPageInfo().getHasNextPage()).isTrue();
+  }
+
+  @Test
+  void items_shouldRejectOversizedPages() {
+    PaginationInput pagination = PaginationInput.newBuilder()
+        .size(GalleryGraphQLService.MAX_PAGE_SIZE + 1).build();
+
+    assertThatThrownBy(() -> galleryGraphQLService.items(pagination))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
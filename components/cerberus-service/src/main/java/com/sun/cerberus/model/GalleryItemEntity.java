@@ -1,15 +1,26 @@
 package com.sun.cerberus.model;
 
 import com.sun.base.model.BaseEntity;
+import com.sun.base.model.RemoteObjectOwner;
+import com.sun.base.model.RemoteObjectRefListener;
+import com.sun.cerberus.model.enums.DerivativeStatus;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Type;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * A gallery item. imagePath is the URL path of the full-resolution original;
+ * the derivative pipeline adds resized copies, listed in derivatives, once
+ * derivativeStatus is READY. While PROCESSING, derivativeClaimToken names
+ * the worker holding the item and derivativeClaimedAt when it took it.
+ */
 @Entity
+@EntityListeners(RemoteObjectRefListener.class)
 @Table(name = "cerberus_gallery_items")
-public class GalleryItemEntity extends BaseEntity {
+public class GalleryItemEntity extends BaseEntity implements RemoteObjectOwner {
 
   @Column(name = "title")
   private String title;
@@ -30,6 +41,27 @@ public class GalleryItemEntity extends BaseEntity {
   @Column(name = "key_detail_id")
   private UUID keyDetailId;
 
+  @Enumerated(EnumType.STRING)
+  @Column(name = "derivative_status", nullable = false,
+      columnDefinition = "varchar(255) default 'PENDING'")
+  private DerivativeStatus derivativeStatus = DerivativeStatus.PENDING;
+
+  @Column(name = "image_width")
+  private Integer imageWidth;
+
+  @Column(name = "image_height")
+  private Integer imageHeight;
+
+  @Type(JsonBinaryType.class)
+  @Column(name = "derivatives", columnDefinition = "jsonb")
+  private List<ImageDerivative> derivatives;
+
+  @Column(name = "derivative_claim_token")
+  private UUID derivativeClaimToken;
+
+  @Column(name = "derivative_claimed_at")
+  private LocalDateTime derivativeClaimedAt;
+
   // Getters and setters
   public String getTitle() {
     return title;
@@ -78,4 +110,52 @@ public class GalleryItemEntity extends BaseEntity {
   public void setKeyDetailId(UUID keyDetailId) {
     this.keyDetailId = keyDetailId;
   }
+
+  public DerivativeStatus getDerivativeStatus() {
+    return derivativeStatus;
+  }
+
+  public void setDerivativeStatus(DerivativeStatus derivativeStatus) {
+    this.derivativeStatus = derivativeStatus;
+  }
+
+  public Integer getImageWidth() {
+    return imageWidth;
+  }
+
+  public void setImageWidth(Integer imageWidth) {
+    this.imageWidth = imageWidth;
+  }
+
+  public Integer getImageHeight() {
+    return imageHeight;
+  }
+
+  public void setImageHeight(Integer imageHeight) {
+    this.imageHeight = imageHeight;
+  }
+
+  public List<ImageDerivative> getDerivatives() {
+    return derivatives;
+  }
+
+  public void setDerivatives(List<ImageDerivative> derivatives) {
+    this.derivatives = derivatives;
+  }
+
+  public UUID getDerivativeClaimToken() {
+    return derivativeClaimToken;
+  }
+
+  public void setDerivativeClaimToken(UUID derivativeClaimToken) {
+    this.derivativeClaimToken = derivativeClaimToken;
+  }
+
+  public LocalDateTime getDerivativeClaimedAt() {
+    return derivativeClaimedAt;
+  }
+
+  public void setDerivativeClaimedAt(LocalDateTime derivativeClaimedAt) {
+    this.derivativeClaimedAt = derivativeClaimedAt;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.sun.cerberus.model;
+
+/**
+ * One resized copy of a gallery image, stored beside the original.
+ *
+ * @param width the width in pixels
+ * @param height the height in pixels
+ * @param format the image format, jpeg or png
+ * @param path the URL path the copy is served from
+ * @param bytes the file size
+ */
+public record ImageDerivative(int width, int height, String format, String path, long bytes) {
+}
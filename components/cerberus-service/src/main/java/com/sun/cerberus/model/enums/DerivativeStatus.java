@@ -0,0 +1,11 @@
+package com.sun.cerberus.model.enums;
+
+/**
+ * Progress of a gallery item's image through the derivative pipeline.
+ */
+public enum DerivativeStatus {
+  PENDING,
+  PROCESSING,
+  READY,
+  FAILED
+}
@@ -1,15 +1,71 @@
 package com.sun.cerberus.repository;
 
 import com.sun.cerberus.model.GalleryItemEntity;
+import com.sun.cerberus.model.ImageDerivative;
+import com.sun.cerberus.model.enums.DerivativeStatus;
 import com.sun.base.repository.BaseRepository;
+import com.sun.base.repository.RemoteObjectRefRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
-public interface GalleryItemRepository extends BaseRepository<GalleryItemEntity> {
+public interface GalleryItemRepository
+    extends BaseRepository<GalleryItemEntity>, RemoteObjectRefRepository,
+    JpaSpecificationExecutor<GalleryItemEntity> {
   // Domain-specific query methods can be added here
 
-  @Query(value = "SELECT * FROM cerberus_gallery_items WHERE EXISTS (SELECT 1 FROM jsonb_array_elements_text(remote_object) AS elem WHERE elem = ANY(?1))", nativeQuery = true)
-  List<GalleryItemEntity> findByRemoteObjectsIn(String[] ids);
-}
\ No newline at end of file
+  default List<GalleryItemEntity> findByRemoteObjectsIn(String[] ids) {
+    return findByRemoteObjectRefs(GalleryItemEntity.class, Arrays.asList(ids));
+  }
+
+  /**
+   * Finds items waiting for derivatives, oldest first: pending ones, and ones
+   * whose claim went stale without finishing.
+   */
+  @Query("select g.id from GalleryItemEntity g where g.derivativeStatus = :pending"
+      + " or (g.derivativeStatus = :processing and g.derivativeClaimedAt < :staleBefore)"
+      + " order by g.createdAt")
+  List<UUID> findDerivativeWork(@Param("pending") DerivativeStatus pending,
+      @Param("processing") DerivativeStatus processing,
+      @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+  /**
+   * Claims one item for the derivative pipeline under a fresh token if it is
+   * still waiting, so the upload hook and the sweep never render the same
+   * item at once.
+   *
+   * @return 1 if claimed, 0 if another worker has it or it is done
+   */
+  @Modifying
+  @Query("update GalleryItemEntity g set g.derivativeStatus = :processing, g.derivativeClaimToken = :token,"
+      + " g.derivativeClaimedAt = :now, g.lastUpdatedAt = :now"
+      + " where g.id = :id and (g.derivativeStatus = :pending"
+      + " or (g.derivativeStatus = :processing and g.derivativeClaimedAt < :staleBefore))")
+  int claimForDerivatives(@Param("id") UUID id, @Param("token") UUID token, @Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore,
+      @Param("pending") DerivativeStatus pending, @Param("processing") DerivativeStatus processing);
+
+  /**
+   * Records the pipeline's result for an item, provided it is still claimed
+   * under {@code token}. A claim that went stale and was taken over by
+   * another worker is left alone.
+   *
+   * @return 1 if recorded, 0 if the claim was lost
+   */
+  @Modifying
+  @Query("update GalleryItemEntity g set g.derivativeStatus = :status, g.derivatives = :derivatives,"
+      + " g.imageWidth = :width, g.imageHeight = :height, g.derivativeClaimToken = null,"
+      + " g.lastUpdatedAt = :now"
+      + " where g.id = :id and g.derivativeClaimToken = :token")
+  int completeDerivatives(@Param("id") UUID id, @Param("token") UUID token,
+      @Param("now") LocalDateTime now,
+      @Param("status") DerivativeStatus status, @Param("derivatives") List<ImageDerivative> derivatives,
+      @Param("width") Integer width, @Param("height") Integer height);
+}
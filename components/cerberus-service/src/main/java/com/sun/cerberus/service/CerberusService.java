@@ -2,11 +2,17 @@ package com.sun.cerberus.service;
 
 import com.sun.cerberus.model.GalleryItemEntity;
 import com.sun.cerberus.repository.GalleryItemRepository;
+import com.sun.base.util.FilterBuilder;
+import com.sun.base.util.FilterSpec;
+import com.sun.base.search.FullTextSearch;
+import com.sun.base.search.SearchHit;
 import com.sun.base.service.BaseService;
+import com.sun.cerberus.service.derivative.GalleryDerivativeService;
 import org.springframework.stereotype.Service;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
@@ -17,11 +23,19 @@ import java.util.List;
 @Transactional
 public class CerberusService extends BaseService<GalleryItemEntity> {
 
+  private static final FullTextSearch.Source GALLERY_ITEMS = new FullTextSearch.Source(
+      "cerberus_gallery_items", "t.title", "concat_ws(' ', t.description, t.content)", "NULL", null);
+
   private final GalleryItemRepository galleryItemRepository;
+  private final FullTextSearch fullTextSearch;
+  private final GalleryDerivativeService derivativeService;
 
-  public CerberusService(GalleryItemRepository repository) {
+  public CerberusService(GalleryItemRepository repository, FullTextSearch fullTextSearch,
+      GalleryDerivativeService derivativeService) {
     super(repository);
     this.galleryItemRepository = repository;
+    this.fullTextSearch = fullTextSearch;
+    this.derivativeService = derivativeService;
   }
 
   /**
@@ -43,6 +57,31 @@ public class CerberusService extends BaseService<GalleryItemEntity> {
     return findAllPaged(pageable);
   }
 
+  /**
+   * Retrieves a filtered page of gallery items.
+   *
+   * @param filters the filters to apply; null or empty for none
+   * @param pageable the page, size and sort
+   * @return the page of GalleryItemEntity objects
+   */
+  public Page<GalleryItemEntity> listPaged(List<FilterSpec> filters, Pageable pageable) {
+    Specification<GalleryItemEntity> spec = FilterBuilder.buildFilters(filters);
+    return spec == null ? findAllPaged(pageable) : galleryItemRepository.findAll(spec, pageable);
+  }
+
+  /**
+   * Saves a new gallery item and queues its image derivatives, which are
+   * generated in the background once the item is committed.
+   *
+   * @param galleryItemEntity the item to create
+   * @return the saved item
+   */
+  public GalleryItemEntity create(GalleryItemEntity galleryItemEntity) {
+    GalleryItemEntity saved = save(galleryItemEntity);
+    derivativeService.requestDerivatives(saved.getId());
+    return saved;
+  }
+
   /**
    * Retrieves a specific gallery item by ID.
    *
@@ -72,4 +111,19 @@ public class CerberusService extends BaseService<GalleryItemEntity> {
   public List<GalleryItemEntity> locateByIds(List<UUID> ids) {
     return galleryItemRepository.findAllById(ids);
   }
-}
\ No newline at end of file
+
+  /**
+   * Full-text searches gallery item titles, descriptions and content. Items
+   * carry no language, so they are indexed with the {@code simple}
+   * configuration and the query is parsed with every configuration.
+   *
+   * @param query the web-search query
+   * @param limit the maximum number of hits
+   * @param offset the number of hits to skip
+   * @return the hits, best first
+   */
+  @Transactional(readOnly = true)
+  public List<SearchHit> search(String query, int limit, long offset) {
+    return fullTextSearch.search(GALLERY_ITEMS, query, null, limit, offset);
+  }
+}
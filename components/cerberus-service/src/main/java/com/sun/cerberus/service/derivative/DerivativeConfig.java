@@ -0,0 +1,34 @@
+package com.sun.cerberus.service.derivative;
+
+import java.util.concurrent.Executor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool for the gallery image derivative pipeline.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(DerivativeProperties.class)
+public class DerivativeConfig {
+
+  /**
+   * Executor that generates derivatives. Work it cannot queue is left
+   * pending in the database for the next sweep.
+   */
+  @Bean(name = "derivativeExecutor")
+  public Executor derivativeExecutor(DerivativeProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getWorkers());
+    executor.setMaxPoolSize(properties.getWorkers());
+    executor.setQueueCapacity(properties.getBatchSize());
+    executor.setThreadNamePrefix("gallery-derivative-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,105 @@
+package com.sun.cerberus.service.derivative;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the gallery image derivative pipeline.
+ */
+@ConfigurationProperties(prefix = "cerberus.derivatives")
+public class DerivativeProperties {
+
+  /**
+   * Whether derivatives are generated.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Directory served at the site root; an item's imagePath is resolved
+   * against it.
+   */
+  private String root = "";
+
+  /**
+   * Widths, in pixels, to generate. Widths at or above the original's are
+   * skipped, as the original already covers them.
+   */
+  private List<Integer> widths = List.of(320, 640, 1024, 1600);
+
+  /**
+   * JPEG quality between 0 and 1.
+   */
+  private float jpegQuality = 0.82f;
+
+  /**
+   * Number of worker threads generating derivatives.
+   */
+  private int workers = 2;
+
+  /**
+   * Maximum number of items queued per sweep.
+   */
+  private int batchSize = 20;
+
+  /**
+   * How long an item may stay claimed before the sweep takes it back.
+   */
+  private Duration claimTimeout = Duration.ofMinutes(10);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getRoot() {
+    return root;
+  }
+
+  public void setRoot(String root) {
+    this.root = root;
+  }
+
+  public List<Integer> getWidths() {
+    return widths;
+  }
+
+  public void setWidths(List<Integer> widths) {
+    this.widths = widths;
+  }
+
+  public float getJpegQuality() {
+    return jpegQuality;
+  }
+
+  public void setJpegQuality(float jpegQuality) {
+    this.jpegQuality = jpegQuality;
+  }
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public void setWorkers(int workers) {
+    this.workers = workers;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Duration getClaimTimeout() {
+    return claimTimeout;
+  }
+
+  public void setClaimTimeout(Duration claimTimeout) {
+    this.claimTimeout = claimTimeout;
+  }
+}
@@ -0,0 +1,258 @@
+package com.sun.cerberus.service.derivative;
+
+import com.sun.base.util.DerivedFiles;
+import com.sun.cerberus.model.GalleryItemEntity;
+import com.sun.cerberus.model.ImageDerivative;
+import com.sun.cerberus.model.enums.DerivativeStatus;
+import com.sun.cerberus.repository.GalleryItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.ImageIO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates resized copies of gallery images so grid and list views do not
+ * download full-resolution originals. Each configured width narrower than the
+ * original is written to {@code derivatives/} beside it, named after a hash
+ * of the original and the settings, so the URLs can be cached forever.
+ *
+ * <p>Work starts when an upload commits and runs on the
+ * {@code derivativeExecutor} pool; a scheduled sweep picks up anything the
+ * pool could not take, items from before the pipeline existed, and claims
+ * left behind by a crash. A conditional update claims each item, so it is
+ * never rendered twice at once, and the result is only written while that
+ * claim is still held.
+ *
+ * <p>Only site-local originals (an imagePath starting with a single slash)
+ * can have copies stored beside them; others are marked FAILED and keep
+ * serving the original.
+ */
+@Service
+public class GalleryDerivativeService {
+
+  private static final Logger logger = LoggerFactory.getLogger(GalleryDerivativeService.class);
+
+  /** Directory, beside the original, holding its derivatives. */
+  public static final String DERIVATIVE_DIR = "derivatives";
+
+  /** Bumped when resizing changes in a way the settings do not show. */
+  private static final String PIPELINE_VERSION = "1";
+
+  private static final int HASH_LENGTH = 12;
+
+  private static final String BYTES = "cerberus.derivatives.bytes";
+  private static final String BYTES_DESCRIPTION = "Size of each processed original and of each derivative";
+  private static final String OUTCOMES = "cerberus.derivatives";
+  private static final String OUTCOMES_DESCRIPTION = "Gallery images run through the derivative pipeline";
+
+  private final GalleryItemRepository repository;
+  private final Executor executor;
+  private final DerivativeProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Timer duration;
+  private final DistributionSummary originalBytes;
+  private final DistributionSummary derivativeBytes;
+  private final Counter ready;
+  private final Counter failed;
+
+  public GalleryDerivativeService(
+      GalleryItemRepository repository,
+      @Qualifier("derivativeExecutor") Executor executor,
+      DerivativeProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.executor = executor;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    this.duration = Timer.builder("cerberus.derivatives.duration")
+        .description("Time to generate every derivative of one gallery image")
+        .register(meterRegistry);
+    this.originalBytes = DerivedFiles.bytes(meterRegistry, BYTES, BYTES_DESCRIPTION, "original");
+    this.derivativeBytes = DerivedFiles.bytes(meterRegistry, BYTES, BYTES_DESCRIPTION, "derivative");
+    this.ready = DerivedFiles.outcome(meterRegistry, OUTCOMES, OUTCOMES_DESCRIPTION, "ready");
+    this.failed = DerivedFiles.outcome(meterRegistry, OUTCOMES, OUTCOMES_DESCRIPTION, "failed");
+  }
+
+  private boolean active() {
+    return properties.isEnabled() && !properties.getRoot().isBlank();
+  }
+
+  /**
+   * Queues derivative generation for an item once the current transaction
+   * commits, or immediately when there is none.
+   *
+   * @param id the gallery item id
+   */
+  public void requestDerivatives(UUID id) {
+    if (!active()) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          submit(id);
+        }
+      });
+    } else {
+      submit(id);
+    }
+  }
+
+  /**
+   * Queues waiting items the upload hook did not get to.
+   */
+  @Scheduled(fixedDelayString = "${cerberus.derivatives.poll-interval-ms:60000}")
+  public void sweep() {
+    if (!active()) {
+      return;
+    }
+    List<UUID> ids = repository.findDerivativeWork(DerivativeStatus.PENDING, DerivativeStatus.PROCESSING,
+        staleBefore(), PageRequest.of(0, properties.getBatchSize()));
+    for (UUID id : ids) {
+      if (!submit(id)) {
+        return;
+      }
+    }
+  }
+
+  private boolean submit(UUID id) {
+    try {
+      executor.execute(() -> process(id));
+      return true;
+    } catch (RejectedExecutionException e) {
+      logger.debug("Derivative pool full; gallery item {} left for the next sweep", id);
+      return false;
+    }
+  }
+
+  /**
+   * Claims an item and generates its derivatives. Does nothing if another
+   * worker holds it or it is already done, and discards the result if the
+   * claim went stale and another worker took the item over meanwhile.
+   *
+   * @param id the gallery item id
+   */
+  public void process(UUID id) {
+    UUID token = UUID.randomUUID();
+    LocalDateTime now = LocalDateTime.now();
+    GalleryItemEntity item = transactionTemplate.execute(status -> {
+      int claimed = repository.claimForDerivatives(
+          id, token, now, staleBefore(), DerivativeStatus.PENDING, DerivativeStatus.PROCESSING);
+      return claimed == 0 ? null : repository.findById(id).orElse(null);
+    });
+    if (item == null) {
+      return;
+    }
+
+    Timer.Sample sample = Timer.start();
+    try {
+      generate(item);
+      item.setDerivativeStatus(DerivativeStatus.READY);
+      ready.increment();
+      logger.info("Generated {} derivatives for gallery item {}", item.getDerivatives().size(), id);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to generate derivatives for gallery item {}", id, e);
+      item.setDerivativeStatus(DerivativeStatus.FAILED);
+      failed.increment();
+    } finally {
+      sample.stop(duration);
+    }
+    Integer recorded = transactionTemplate.execute(status -> repository.completeDerivatives(
+        id, token, LocalDateTime.now(), item.getDerivativeStatus(),
+        item.getDerivatives(), item.getImageWidth(), item.getImageHeight()));
+    if (recorded == null || recorded == 0) {
+      logger.info("Claim on gallery item {} was taken over; discarding this result", id);
+    }
+  }
+
+  /**
+   * Writes every derivative of an item's image and records them, with the
+   * original's dimensions, on the item.
+   */
+  void generate(GalleryItemEntity item) throws IOException {
+    String imagePath = item.getImagePath();
+    if (imagePath == null || !imagePath.startsWith("/") || imagePath.startsWith("//")) {
+      throw new IOException("Not a site-local image: " + imagePath);
+    }
+    Path root = Path.of(properties.getRoot()).toAbsolutePath().normalize();
+    Path original = root.resolve(imagePath.substring(1)).normalize();
+    if (!original.startsWith(root)) {
+      throw new IOException("Image path escapes the root: " + imagePath);
+    }
+
+    byte[] bytes = Files.readAllBytes(original);
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+    if (image == null) {
+      throw new IOException("Unsupported image format: " + imagePath);
+    }
+    originalBytes.record(bytes.length);
+    item.setImageWidth(image.getWidth());
+    item.setImageHeight(image.getHeight());
+
+    String format = ImageResizer.formatFor(image);
+    String extension = ImageResizer.PNG.equals(format) ? "png" : "jpg";
+    String fileName = original.getFileName().toString();
+    int dot = fileName.lastIndexOf('.');
+    String settings = String.join("|", PIPELINE_VERSION, String.valueOf(properties.getJpegQuality()));
+    String baseName = (dot > 0 ? fileName.substring(0, dot) : fileName) + "."
+        + DerivedFiles.fingerprint(settings, bytes, HASH_LENGTH);
+    Path dir = Files.createDirectories(original.resolveSibling(DERIVATIVE_DIR));
+    String urlDir = imagePath.substring(0, imagePath.lastIndexOf('/') + 1) + DERIVATIVE_DIR + "/";
+
+    List<Integer> widths = properties.getWidths().stream()
+        .filter(w -> w > 0 && w < image.getWidth())
+        .distinct()
+        .sorted((a, b) -> b - a)
+        .toList();
+    List<ImageDerivative> derivatives = new ArrayList<>();
+    BufferedImage current = image;
+    for (int width : widths) {
+      // Each width is scaled from the next larger one, which is both quicker
+      // and no worse than scaling every width from the original.
+      current = ImageResizer.resize(current, width);
+      String name = baseName + "." + width + "w." + extension;
+      Path target = dir.resolve(name);
+      if (!Files.exists(target)) {
+        Path partial = dir.resolve(name + ".partial");
+        Files.write(partial, ImageResizer.encode(current, format, properties.getJpegQuality()));
+        DerivedFiles.moveIntoPlace(partial, target);
+      }
+      long size = Files.size(target);
+      derivativeBytes.record(size);
+      derivatives.add(new ImageDerivative(width, current.getHeight(), format, urlDir + name, size));
+    }
+    Collections.reverse(derivatives);
+    item.setDerivatives(derivatives);
+  }
+
+  private LocalDateTime staleBefore() {
+    return LocalDateTime.now().minus(properties.getClaimTimeout());
+  }
+}
@@ -0,0 +1,94 @@
+package com.sun.cerberus.service.derivative;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Resizes and encodes images with the JDK alone. Large reductions are done
+ * in repeated halvings before the final bilinear step, which keeps fine
+ * detail from aliasing at a fraction of the cost of bicubic.
+ */
+final class ImageResizer {
+
+  static final String JPEG = "jpeg";
+  static final String PNG = "png";
+
+  private ImageResizer() {
+  }
+
+  /**
+   * Scales an image to a width, keeping its aspect ratio.
+   *
+   * @param source the image
+   * @param width the target width, smaller than the source's
+   * @return the scaled image
+   */
+  static BufferedImage resize(BufferedImage source, int width) {
+    int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+    BufferedImage current = source;
+    while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+      current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+    }
+    return draw(current, width, height);
+  }
+
+  /**
+   * Picks the format a derivative is stored in: PNG when the image has
+   * transparency, which JPEG cannot hold, and JPEG otherwise.
+   */
+  static String formatFor(BufferedImage image) {
+    return image.getColorModel().hasAlpha() ? PNG : JPEG;
+  }
+
+  /**
+   * Encodes an image. JPEGs are progressive, so a partly downloaded image
+   * already shows at low detail.
+   *
+   * @param image the image
+   * @param format JPEG or PNG
+   * @param quality the JPEG quality between 0 and 1
+   * @return the encoded bytes
+   * @throws IOException if the image cannot be encoded
+   */
+  static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (PNG.equals(format)) {
+      ImageIO.write(image, PNG, out);
+      return out.toByteArray();
+    }
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(JPEG).next();
+    try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(stream);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+
+  private static BufferedImage draw(BufferedImage source, int width, int height) {
+    int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+    BufferedImage target = new BufferedImage(width, height, type);
+    Graphics2D g = target.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      g.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      g.dispose();
+    }
+    return target;
+  }
+}
@@ -0,0 +1,96 @@
+package com.sun.cerberus.service.derivative;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.cerberus.model.GalleryItemEntity;
+import com.sun.cerberus.model.ImageDerivative;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Derivatives of 12 MP photo-like originals with the JDK's own image codecs,
+ * and the weight of a 24-item grid page served from 320w derivatives against
+ * the originals; run with {@code SUN_BENCHMARK=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "SUN_BENCHMARK", matches = "true")
+class GalleryDerivativeBenchmarkTest {
+
+  private static final int PAGE_SIZE = 24;
+  private static final int GRID_WIDTH = 320;
+
+  @TempDir Path root;
+
+  @Test
+  void derivativesCutGridPageWeight() throws Exception {
+    DerivativeProperties properties = new DerivativeProperties();
+    properties.setEnabled(true);
+    properties.setRoot(root.toString());
+    GalleryDerivativeService service = new GalleryDerivativeService(
+        null, Runnable::run, properties, null, new SimpleMeterRegistry());
+
+    int originals = 8;
+    for (int i = 0; i < originals; i++) {
+      ImageIO.write(photo(4000, 3000, i), "jpg", root.resolve("photo" + i + ".jpg").toFile());
+    }
+
+    // Warm up the codecs and the JIT on an image that is not timed.
+    ImageIO.write(photo(4000, 3000, -1), "jpg", root.resolve("warmup.jpg").toFile());
+    GalleryItemEntity warmup = new GalleryItemEntity();
+    warmup.setImagePath("/warmup.jpg");
+    service.generate(warmup);
+
+    long originalBytes = 0;
+    long gridBytes = 0;
+    long derivatives = 0;
+    for (int i = 0; i < originals; i++) {
+      GalleryItemEntity item = item(i);
+      service.generate(item);
+      originalBytes += Files.size(root.resolve("photo" + i + ".jpg"));
+      ImageDerivative grid = item.getDerivatives().stream()
+          .filter(d -> d.width() == GRID_WIDTH).findFirst().orElseThrow();
+      gridBytes += grid.bytes();
+      derivatives += item.getDerivatives().size();
+    }
+
+    double originalPage = (double) originalBytes / originals * PAGE_SIZE;
+    double gridPage = (double) gridBytes / originals * PAGE_SIZE;
+    // Every configured width is narrower than the originals.
+    assertThat(derivatives).isEqualTo((long) originals * properties.getWidths().size());
+    assertThat(gridPage).isLessThan(originalPage / 10);
+  }
+
+  private static GalleryItemEntity item(int i) {
+    GalleryItemEntity item = new GalleryItemEntity();
+    item.setId(UUID.randomUUID());
+    item.setImagePath("/photo" + i + ".jpg");
+    return item;
+  }
+
+  /** Smooth gradients with sensor-like noise, so JPEG sizes resemble a photo's. */
+  private static BufferedImage photo(int width, int height, long seed) {
+    Random random = new Random(seed);
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int r = clamp(255 * x / width + random.nextInt(24) - 12);
+        int g = clamp(255 * y / height + random.nextInt(24) - 12);
+        int b = clamp(128 + (int) (64 * Math.sin((x + y) / 90.0)) + random.nextInt(24) - 12);
+        image.setRGB(x, y, (r << 16) | (g << 8) | b);
+      }
+    }
+    return image;
+  }
+
+  private static int clamp(int value) {
+    return Math.max(0, Math.min(255, value));
+  }
+}
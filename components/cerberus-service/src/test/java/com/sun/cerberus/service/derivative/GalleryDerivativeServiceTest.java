@@ -0,0 +1,226 @@
+package com.sun.cerberus.service.derivative;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.cerberus.model.GalleryItemEntity;
+import com.sun.cerberus.model.ImageDerivative;
+import com.sun.cerberus.model.enums.DerivativeStatus;
+import com.sun.cerberus.repository.GalleryItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for GalleryDerivativeService.
+ */
+@ExtendWith(MockitoExtension.class)
+class GalleryDerivativeServiceTest {
+
+  @Mock private GalleryItemRepository repository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir Path root;
+
+  private final List<Runnable> submitted = new ArrayList<>();
+  private DerivativeProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private GalleryDerivativeService service;
+
+  @BeforeEach
+  void setUp() {
+    properties = new DerivativeProperties();
+    properties.setEnabled(true);
+    properties.setRoot(root.toString());
+    properties.setWidths(List.of(320, 640, 1600));
+    meterRegistry = new SimpleMeterRegistry();
+    service = new GalleryDerivativeService(repository, submitted::add, properties,
+        transactionManager, meterRegistry);
+  }
+
+  private static BufferedImage image(int width, int height, int type) {
+    BufferedImage image = new BufferedImage(width, height, type);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Color.ORANGE);
+    g.fillRect(0, 0, width / 2, height);
+    g.dispose();
+    return image;
+  }
+
+  private GalleryItemEntity item(String imagePath, BufferedImage image, String format) throws Exception {
+    Path file = root.resolve(imagePath.substring(1));
+    Files.createDirectories(file.getParent());
+    ImageIO.write(image, format, file.toFile());
+    GalleryItemEntity item = new GalleryItemEntity();
+    item.setId(UUID.randomUUID());
+    item.setImagePath(imagePath);
+    return item;
+  }
+
+  private void claimable(GalleryItemEntity item) {
+    when(repository.claimForDerivatives(eq(item.getId()), any(), any(), any(),
+        eq(DerivativeStatus.PENDING), eq(DerivativeStatus.PROCESSING))).thenReturn(1);
+    when(repository.findById(item.getId())).thenReturn(Optional.of(item));
+    when(repository.completeDerivatives(eq(item.getId()), any(), any(),
+        any(), any(), any(), any())).thenReturn(1);
+  }
+
+  private void verifyCompleted(GalleryItemEntity item, DerivativeStatus status) {
+    verify(repository).completeDerivatives(eq(item.getId()), any(), any(),
+        eq(status), eq(item.getDerivatives()), eq(item.getImageWidth()), eq(item.getImageHeight()));
+  }
+
+  @Test
+  void process_writesNarrowerWidthsBesideTheOriginal() throws Exception {
+    GalleryItemEntity item = item("/gallery/photo.jpg", image(1000, 500, BufferedImage.TYPE_INT_RGB), "jpg");
+    claimable(item);
+
+    service.process(item.getId());
+
+    assertThat(item.getDerivativeStatus()).isEqualTo(DerivativeStatus.READY);
+    assertThat(item.getImageWidth()).isEqualTo(1000);
+    assertThat(item.getImageHeight()).isEqualTo(500);
+    List<ImageDerivative> derivatives = item.getDerivatives();
+    assertThat(derivatives).extracting(ImageDerivative::width).containsExactly(320, 640);
+    assertThat(derivatives).extracting(ImageDerivative::height).containsExactly(160, 320);
+    assertThat(derivatives).extracting(ImageDerivative::format).containsOnly("jpeg");
+    for (ImageDerivative derivative : derivatives) {
+      assertThat(derivative.path()).matches("/gallery/derivatives/photo\\.[0-9a-f]{12}\\.\\d+w\\.jpg");
+      Path file = root.resolve(derivative.path().substring(1));
+      assertThat(file).hasSize(derivative.bytes());
+      assertThat(ImageIO.read(file.toFile()).getWidth()).isEqualTo(derivative.width());
+    }
+    try (var files = Files.list(root.resolve("gallery/derivatives"))) {
+      assertThat(files).hasSize(2);
+    }
+    verifyCompleted(item, DerivativeStatus.READY);
+    assertThat(meterRegistry.get("cerberus.derivatives.bytes").tag("kind", "derivative")
+        .summary().count()).isEqualTo(2);
+  }
+
+  @Test
+  void process_transparentImage_keepsPng() throws Exception {
+    GalleryItemEntity item = item("/logo.png", image(800, 800, BufferedImage.TYPE_INT_ARGB), "png");
+    claimable(item);
+
+    service.process(item.getId());
+
+    assertThat(item.getDerivatives()).extracting(ImageDerivative::format).containsOnly("png");
+    assertThat(item.getDerivatives().get(0).path()).endsWith(".320w.png");
+    BufferedImage derivative = ImageIO.read(root.resolve(item.getDerivatives().get(0).path().substring(1)).toFile());
+    assertThat(derivative.getColorModel().hasAlpha()).isTrue();
+  }
+
+  @Test
+  void process_alreadyClaimed_doesNothing() {
+    UUID id = UUID.randomUUID();
+    when(repository.claimForDerivatives(eq(id), any(), any(), any(), any(), any())).thenReturn(0);
+
+    service.process(id);
+
+    verify(repository, never()).findById(any());
+    verify(repository, never()).completeDerivatives(any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void process_completesOnlyTheClaimItTook() throws Exception {
+    GalleryItemEntity item = item("/photo.jpg", image(1000, 500, BufferedImage.TYPE_INT_RGB), "jpg");
+    claimable(item);
+
+    service.process(item.getId());
+
+    ArgumentCaptor<UUID> token = ArgumentCaptor.forClass(UUID.class);
+    verify(repository).claimForDerivatives(eq(item.getId()), token.capture(), any(), any(), any(), any());
+    verify(repository).completeDerivatives(eq(item.getId()), eq(token.getValue()), any(),
+        any(), any(), any(), any());
+    assertThat(token.getValue()).isNotNull();
+  }
+
+  @Test
+  void process_remoteImage_marksFailed() {
+    GalleryItemEntity item = new GalleryItemEntity();
+    item.setId(UUID.randomUUID());
+    item.setImagePath("https://cdn.example.com/photo.jpg");
+    claimable(item);
+
+    service.process(item.getId());
+
+    assertThat(item.getDerivativeStatus()).isEqualTo(DerivativeStatus.FAILED);
+    verifyCompleted(item, DerivativeStatus.FAILED);
+  }
+
+  @Test
+  void process_pathOutsideRoot_marksFailed() {
+    GalleryItemEntity item = new GalleryItemEntity();
+    item.setId(UUID.randomUUID());
+    item.setImagePath("/../secret.jpg");
+    claimable(item);
+
+    service.process(item.getId());
+
+    assertThat(item.getDerivativeStatus()).isEqualTo(DerivativeStatus.FAILED);
+  }
+
+  @Test
+  void process_notAnImage_marksFailed() throws Exception {
+    Files.writeString(root.resolve("notes.jpg"), "not an image");
+    GalleryItemEntity item = new GalleryItemEntity();
+    item.setId(UUID.randomUUID());
+    item.setImagePath("/notes.jpg");
+    claimable(item);
+
+    service.process(item.getId());
+
+    assertThat(item.getDerivativeStatus()).isEqualTo(DerivativeStatus.FAILED);
+    assertThat(meterRegistry.get("cerberus.derivatives").tag("outcome", "failed")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void requestDerivatives_withoutTransaction_submitsAtOnce() {
+    service.requestDerivatives(UUID.randomUUID());
+
+    assertThat(submitted).hasSize(1);
+  }
+
+  @Test
+  void requestDerivatives_disabled_doesNothing() {
+    properties.setEnabled(false);
+
+    service.requestDerivatives(UUID.randomUUID());
+
+    assertThat(submitted).isEmpty();
+  }
+
+  @Test
+  void sweep_submitsWaitingItems() {
+    List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+    when(repository.findDerivativeWork(eq(DerivativeStatus.PENDING), eq(DerivativeStatus.PROCESSING),
+        any(), any(Pageable.class))).thenReturn(ids);
+
+    service.sweep();
+
+    assertThat(submitted).hasSize(2);
+  }
+}
@@ -2,7 +2,9 @@ package com.sun.dionysus.graphql.mappers;
 
 import com.sun.dionysus.codegen.types.TorrentJob;
 import com.sun.dionysus.codegen.types.TorrentJobStatus;
+import com.sun.dionysus.codegen.types.TorrentProgressUpdate;
 import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -66,4 +68,52 @@ public class TorrentJobMapper {
     }
     return job;
   }
+
+  /**
+   * Maps an in-memory progress snapshot to the subscription payload.
+   */
+  public TorrentProgressUpdate map(TorrentJobProgress progress) {
+    return TorrentProgressUpdate.newBuilder()
+        .jobId(progress.jobId().toString())
+        .bucket(progress.bucket())
+        .status(TorrentJobStatus.valueOf(progress.status().name()))
+        .progress(progress.progress())
+        .totalBytes(progress.totalBytes())
+        .downloadedBytes(progress.downloadedBytes())
+        .uploadedBytes(progress.uploadedBytes())
+        .downloadRateBps(progress.downloadRateBps())
+        .uploadRateBps(progress.uploadRateBps())
+        .peersConnected(progress.peersConnected())
+        .seedsConnected(progress.seedsConnected())
+        .etaSeconds(progress.etaSeconds())
+        .build();
+  }
+
+  /**
+   * Overlays a newer in-memory snapshot onto a job mapped from the database, so
+   * queries between flushes see the live transfer state.
+   */
+  public TorrentJob applyProgress(TorrentJob job, TorrentJobProgress progress) {
+    job.setProgress(progress.progress());
+    if (progress.totalBytes() > 0) {
+      job.setTotalBytes(progress.totalBytes());
+    }
+    job.setDownloadedBytes(progress.downloadedBytes());
+    if (progress.downloadRateBps() != null) {
+      job.setDownloadRateBps(progress.downloadRateBps());
+    }
+    if (progress.uploadRateBps() != null) {
+      job.setUploadRateBps(progress.uploadRateBps());
+    }
+    if (progress.peersConnected() != null) {
+      job.setPeersConnected(progress.peersConnected());
+    }
+    if (progress.seedsConnected() != null) {
+      job.setSeedsConnected(progress.seedsConnected());
+    }
+    if (progress.etaSeconds() != null) {
+      job.setEtaSeconds(progress.etaSeconds());
+    }
+    return job;
+  }
 }
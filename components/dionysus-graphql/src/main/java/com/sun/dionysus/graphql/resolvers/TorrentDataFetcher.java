@@ -2,12 +2,16 @@ package com.sun.dionysus.graphql.resolvers;
 
 import com.netflix.graphql.dgs.DgsComponent;
 import com.netflix.graphql.dgs.DgsData;
+import com.netflix.graphql.dgs.DgsSubscription;
 import com.sun.dionysus.codegen.types.AddTorrentInput;
 import com.sun.dionysus.codegen.types.TorrentJob;
+import com.sun.dionysus.codegen.types.TorrentProgressUpdate;
 import com.sun.dionysus.graphql.services.TorrentGraphQLService;
+import com.sun.dionysus.torrent.search.TorrentSearchBatch;
 import com.sun.dionysus.torrent.search.TorrentSearchResult;
 import com.sun.dionysus.torrent.search.TorrentSearchService;
 import java.util.List;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 
@@ -32,12 +36,24 @@ public class TorrentDataFetcher {
     return torrentGraphQLService.list(bucket, status);
   }
 
+  @DgsSubscription(field = "torrentJobProgress")
+  @PreAuthorize("@permissions.has('graphql.dionysus.torrentJobs')")
+  public Publisher<TorrentProgressUpdate> torrentJobProgress(String bucket, String jobId) {
+    return torrentGraphQLService.progressUpdates(bucket, jobId);
+  }
+
   @DgsData(parentType = "FilestoreQueries", field = "searchTorrents")
   @PreAuthorize("@permissions.has('graphql.dionysus.searchTorrents')")
   public List<TorrentSearchResult> searchTorrents(String query) {
     return torrentSearchService.search(query);
   }
 
+  @DgsSubscription(field = "searchTorrentsStream")
+  @PreAuthorize("@permissions.has('graphql.dionysus.searchTorrents')")
+  public Publisher<TorrentSearchBatch> searchTorrentsStream(String query) {
+    return torrentSearchService.searchStreaming(query);
+  }
+
   @DgsData(parentType = "FilestoreMutations", field = "addTorrent")
   @PreAuthorize("@permissions.has('graphql.dionysus.torrent.add')")
   public TorrentJob addTorrent(AddTorrentInput input) {
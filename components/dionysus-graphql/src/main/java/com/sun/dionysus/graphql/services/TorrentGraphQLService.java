@@ -1,18 +1,21 @@
 package com.sun.dionysus.graphql.services;
 
 import com.sun.dionysus.codegen.types.TorrentJob;
+import com.sun.dionysus.codegen.types.TorrentProgressUpdate;
 import com.sun.dionysus.graphql.mappers.TorrentJobMapper;
 import com.sun.dionysus.model.TorrentJobEntity;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.service.torrent.TorrentJobService;
 import com.sun.dionysus.torrent.MagnetUri;
 import com.sun.dionysus.torrent.TorrentClientService;
+import com.sun.dionysus.torrent.TorrentProgressAggregator;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.reactivestreams.Publisher;
 import org.springframework.stereotype.Service;
 
 /**
@@ -30,13 +33,16 @@ public class TorrentGraphQLService {
   @Autowired
   private TorrentClientService torrentClient;
 
+  @Autowired
+  private TorrentProgressAggregator progressAggregator;
+
   /**
    * Looks up a single torrent job by id, with its magnet metadata.
    */
   public TorrentJob locate(String jobId) {
     return torrentJobService
         .findById(UUID.fromString(jobId))
-        .map(torrentJobMapper::map)
+        .map(this::mapLive)
         .orElse(null);
   }
 
@@ -48,10 +54,22 @@ public class TorrentGraphQLService {
     return torrentJobService.findAll().stream()
         .filter(job -> bucket == null || bucket.equals(job.getBucket()))
         .filter(job -> statusFilter == null || statusFilter.equals(job.getStatus()))
-        .map(torrentJobMapper::map)
+        .map(this::mapLive)
         .toList();
   }
 
+  /**
+   * Streams progress updates, optionally narrowed to a bucket or a single job.
+   */
+  public Publisher<TorrentProgressUpdate> progressUpdates(String bucket, String jobId) {
+    UUID jobFilter = jobId == null ? null : UUID.fromString(jobId);
+    return progressAggregator
+        .updates()
+        .filter(update -> bucket == null || bucket.equals(update.bucket()))
+        .filter(update -> jobFilter == null || jobFilter.equals(update.jobId()))
+        .map(torrentJobMapper::map);
+  }
+
   /**
    * Starts a torrent from a magnet link or base64-encoded .torrent file.
    */
@@ -102,6 +120,26 @@ public class TorrentGraphQLService {
     return torrentJobService.findById(UUID.fromString(jobId)).map(torrentJobMapper::map).orElse(null);
   }
 
+  /**
+   * Maps a job, overlaying the in-memory progress of a running download.
+   */
+  private TorrentJob mapLive(TorrentJobEntity entity) {
+    TorrentJob job = torrentJobMapper.map(entity);
+    if (job == null || !isDownloading(entity.getStatus())) {
+      return job;
+    }
+    return progressAggregator
+        .current(entity.getId())
+        .map(progress -> torrentJobMapper.applyProgress(job, progress))
+        .orElse(job);
+  }
+
+  private boolean isDownloading(TorrentStatus status) {
+    return status == TorrentStatus.QUEUED
+        || status == TorrentStatus.METADATA
+        || status == TorrentStatus.DOWNLOADING;
+  }
+
   /**
    * The resolved source for a torrent, either a magnet URI or the raw
    * .torrent file bytes.
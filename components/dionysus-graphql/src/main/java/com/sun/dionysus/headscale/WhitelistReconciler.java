@@ -1,18 +1,41 @@
 package com.sun.dionysus.headscale;
 
 import com.sun.gaia.model.IpWhitelistEntryEntity;
+import com.sun.gaia.model.TailscaleDeviceEntity;
+import com.sun.gaia.model.TailscaleDeviceSnapshot;
 import com.sun.gaia.service.IpWhitelistService;
 import com.sun.gaia.service.TailscaleDeviceService;
+import com.sun.gaia.service.TailscaleDevicesChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Periodically reconciles Tailscale node IPs with the Gaia IP whitelist.
  * New nodes are automatically added. Suspended entries are left untouched.
+ *
+ * <p>A snapshot of each node's synced fields is kept between runs, so only
+ * nodes that appeared, changed or disappeared are written, all in one
+ * transaction. Runs where nothing changed do not touch the database beyond
+ * reading the whitelist. The snapshots are reloaded from the stored devices
+ * hourly and whenever a device is expired or deleted, so changes made outside
+ * the sync are repaired. An empty node listing never deletes devices.
  */
 @Component
 public class WhitelistReconciler {
@@ -21,52 +44,171 @@ public class WhitelistReconciler {
 
   private static final String TAILSCALE_PREFIX = "Tailscale: ";
 
-  @Autowired
-  private HeadscaleService headscaleService;
+  /** How long the stored snapshots are trusted before being reloaded. */
+  static final Duration RELOAD_INTERVAL = Duration.ofHours(1);
 
-  @Autowired
-  private IpWhitelistService ipWhitelistService;
+  private final HeadscaleService headscaleService;
+  private final IpWhitelistService ipWhitelistService;
+  private final TailscaleDeviceService tailscaleDeviceService;
+  private final TransactionTemplate transactionTemplate;
 
-  @Autowired
-  private TailscaleDeviceService tailscaleDeviceService;
+  private final Timer reconcileTimer;
+  private final Counter devicesInserted;
+  private final Counter devicesUpdated;
+  private final Counter devicesDeleted;
+  private final Counter ipsWhitelisted;
+  private final Counter failures;
+
+  /**
+   * Each node as last written to Gaia, without lastSeen, keyed by Headscale
+   * id. Null until loaded from the stored devices, and reset to reload them.
+   */
+  private volatile Map<Long, TailscaleDeviceSnapshot> stored;
+
+  /** When {@link #stored} was loaded, by {@link System#nanoTime}. */
+  private long loadedAt;
+
+  public WhitelistReconciler(
+      HeadscaleService headscaleService,
+      IpWhitelistService ipWhitelistService,
+      TailscaleDeviceService tailscaleDeviceService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.headscaleService = headscaleService;
+    this.ipWhitelistService = ipWhitelistService;
+    this.tailscaleDeviceService = tailscaleDeviceService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.reconcileTimer = Timer.builder("headscale.reconcile.duration")
+        .description("Time taken by a Headscale whitelist reconciliation run")
+        .register(meterRegistry);
+    this.devicesInserted = changes(meterRegistry, "device.insert");
+    this.devicesUpdated = changes(meterRegistry, "device.update");
+    this.devicesDeleted = changes(meterRegistry, "device.delete");
+    this.ipsWhitelisted = changes(meterRegistry, "whitelist.insert");
+    this.failures = Counter.builder("headscale.reconcile.failures")
+        .description("Headscale whitelist reconciliation runs that failed")
+        .register(meterRegistry);
+  }
 
   /**
    * Runs 15s after boot and every 5 minutes thereafter. Adds any Tailscale
-   * node IPs that are not yet in the whitelist and upserts Gaia device records.
+   * node IPs that are not yet in the whitelist and syncs Gaia device records
+   * with the nodes that changed since the last run.
    */
   @Scheduled(fixedDelay = 300_000, initialDelay = 15_000)
-  public void reconcile() {
+  public synchronized void reconcile() {
+    Timer.Sample sample = Timer.start();
     try {
-      List<HeadscaleService.HeadscaleNode> nodes = headscaleService.listNodes();
-      List<IpWhitelistEntryEntity> existing = ipWhitelistService.listAll();
-
-      for (HeadscaleService.HeadscaleNode node : nodes) {
-        if (node.ipv4() == null || node.ipv4().isBlank()) continue;
-        String ip = node.ipv4();
-
-        boolean found = false;
-        boolean suspended = false;
-        for (IpWhitelistEntryEntity entry : existing) {
-          if (entry.getPattern().equals(ip)) {
-            found = true;
-            if (!entry.isEnabled()) suspended = true;
-            break;
-          }
-        }
+      reconcileNodes(headscaleService.listNodes());
+    } catch (Exception e) {
+      failures.increment();
+      log.warn("Whitelist reconciliation failed", e);
+    } finally {
+      sample.stop(reconcileTimer);
+    }
+  }
+
+  /**
+   * Drops the stored snapshots once a device changed outside the sync, so the
+   * next run compares against the database again.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onDevicesChanged(TailscaleDevicesChangedEvent event) {
+    stored = null;
+  }
 
-        if (found && !suspended) {
-          log.debug("Skipping existing IP {}", ip);
-        } else if (suspended) {
-          log.debug("Skipping suspended IP {}", ip);
-        } else {
-          ipWhitelistService.addEntry(ip, TAILSCALE_PREFIX + node.name(), false);
-          log.info("Auto-whitelisted Tailscale node {} ({})", node.name(), ip);
+  private void reconcileNodes(List<HeadscaleService.HeadscaleNode> nodes) {
+    Map<Long, TailscaleDeviceSnapshot> current = stored;
+    Map<Long, TailscaleDeviceSnapshot> known =
+        current == null || System.nanoTime() - loadedAt > RELOAD_INTERVAL.toNanos() ? loadStored() : current;
+    Set<String> whitelisted = new HashSet<>();
+    for (IpWhitelistEntryEntity entry : ipWhitelistService.listAll()) {
+      whitelisted.add(entry.getPattern());
+    }
+
+    Map<Long, TailscaleDeviceSnapshot> next = new HashMap<>();
+    List<TailscaleDeviceSnapshot> changed = new ArrayList<>();
+    Map<String, String> newIps = new LinkedHashMap<>();
+    int inserted = 0;
+
+    for (HeadscaleService.HeadscaleNode node : nodes) {
+      TailscaleDeviceSnapshot previous = known.get(node.id());
+      if (node.ipv4() == null || node.ipv4().isBlank()) {
+        // Keep whatever was stored; a node without an address is not synced.
+        if (previous != null) {
+          next.put(node.id(), previous);
         }
+        continue;
+      }
+      String ip = node.ipv4();
+      if (!whitelisted.contains(ip) && !newIps.containsKey(ip)) {
+        newIps.put(ip, TAILSCALE_PREFIX + node.name());
+      }
 
-        tailscaleDeviceService.upsertFromHeadscale(node.id(), node.name(), node.ipv4(), node.lastSeen(), node.online());
+      TailscaleDeviceSnapshot snapshot = new TailscaleDeviceSnapshot(
+          node.id(), node.name(), ip, node.lastSeen(), node.online());
+      TailscaleDeviceSnapshot synced = snapshot.withoutLastSeen();
+      next.put(node.id(), synced);
+      if (previous == null) {
+        inserted++;
+        changed.add(snapshot);
+      } else if (!previous.equals(synced)) {
+        changed.add(snapshot);
       }
-    } catch (Exception e) {
-      log.warn("Whitelist reconciliation failed", e);
     }
+
+    Set<Long> removed = new HashSet<>(known.keySet());
+    for (HeadscaleService.HeadscaleNode node : nodes) {
+      removed.remove(node.id());
+    }
+    if (nodes.isEmpty() && !removed.isEmpty()) {
+      // An empty listing is far more likely a Headscale hiccup than every
+      // node being deleted at once; keep the devices until nodes come back.
+      log.warn("Headscale listed no nodes; keeping {} stored device(s)", removed.size());
+      removed.forEach(id -> next.put(id, known.get(id)));
+      removed.clear();
+    }
+
+    if (changed.isEmpty() && removed.isEmpty() && newIps.isEmpty()) {
+      stored = next;
+      log.debug("Whitelist reconciliation found no changes across {} node(s)", nodes.size());
+      return;
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      if (!newIps.isEmpty()) {
+        ipWhitelistService.addEntries(newIps);
+      }
+      tailscaleDeviceService.applyHeadscaleDelta(changed, removed);
+    });
+    stored = next;
+
+    devicesInserted.increment(inserted);
+    devicesUpdated.increment(changed.size() - inserted);
+    devicesDeleted.increment(removed.size());
+    ipsWhitelisted.increment(newIps.size());
+    newIps.forEach((ip, description) -> log.info("Auto-whitelisted {} ({})", description, ip));
+    log.info("Reconciled Tailscale devices: {} inserted, {} updated, {} removed",
+        inserted, changed.size() - inserted, removed.size());
+  }
+
+  /**
+   * Loads the snapshots from the stored devices, so a restart only writes
+   * nodes that changed while the service was down.
+   */
+  private Map<Long, TailscaleDeviceSnapshot> loadStored() {
+    Map<Long, TailscaleDeviceSnapshot> loaded = new HashMap<>();
+    for (TailscaleDeviceEntity device : tailscaleDeviceService.listAll()) {
+      loaded.put(device.getHeadscaleId(), TailscaleDeviceSnapshot.of(device).withoutLastSeen());
+    }
+    loadedAt = System.nanoTime();
+    return loaded;
+  }
+
+  private static Counter changes(MeterRegistry meterRegistry, String type) {
+    return Counter.builder("headscale.reconcile.changes")
+        .description("Changes applied by Headscale whitelist reconciliation")
+        .tag("type", type)
+        .register(meterRegistry);
   }
 }
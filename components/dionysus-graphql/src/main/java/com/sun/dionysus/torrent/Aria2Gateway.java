@@ -1,6 +1,6 @@
 package com.sun.dionysus.torrent;
 
-import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.service.torrent.TorrentJobService;
 import java.io.BufferedReader;
@@ -29,6 +29,7 @@ public class Aria2Gateway {
       Pattern.compile("\\((\\d+(\\.\\d+)?)%\\)");
 
   @Autowired private TorrentJobService jobService;
+  @Autowired private TorrentProgressAggregator progressAggregator;
 
   @Async("torrentTaskExecutor")
   public void downloadMagnet(UUID jobId, String magnet, File saveDir) {
@@ -87,16 +88,10 @@ public class Aria2Gateway {
                 double progress = parseProgress(line);
                 int speed = parseSpeed(line);
 
-                TorrentJobEntity job = jobService.findById(jobId).orElse(null);
-                if (job != null) {
-                  job.setStatus(TorrentStatus.DOWNLOADING);
-                  job.setProgress(progress);
-                  job.setDownloadedBytes(downloaded);
-                  job.setTotalBytes(total);
-                  job.setDownloadRateBps(speed);
-                  job.setPeersConnected(parsePeers(line));
-                  jobService.save(job);
-                }
+                progressAggregator.record(
+                    new TorrentJobProgress(
+                        jobId, null, TorrentStatus.DOWNLOADING, progress, total, downloaded, null,
+                        speed, null, parsePeers(line), null, null));
                 log.info("aria2c progress for {}: {}% {}B/s", jobId, String.format("%.1f", progress * 100), speed);
               }
             }
@@ -124,6 +119,7 @@ public class Aria2Gateway {
   }
 
   private void markDone(UUID jobId) {
+    progressAggregator.forget(jobId);
     jobService.findById(jobId).ifPresent(job -> {
       job.setStatus(TorrentStatus.COMPLETED);
       job.setProgress(1.0);
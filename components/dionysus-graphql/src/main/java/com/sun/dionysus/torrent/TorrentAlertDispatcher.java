@@ -1,10 +1,9 @@
 package com.sun.dionysus.torrent;
 
 import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.service.torrent.TorrentJobService;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import org.libtorrent4j.AlertListener;
 import org.libtorrent4j.TorrentHandle;
@@ -21,33 +20,31 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
- * Routes libtorrent alerts to database updates on the alert thread, throttled so
- * a busy download does not flood the database with progress writes.
+ * Routes libtorrent alerts to the database on the alert thread. Lifecycle alerts
+ * are written immediately; progress alerts go to the {@link TorrentProgressAggregator},
+ * which coalesces them and writes them back in batches.
  */
 @Component
 public class TorrentAlertDispatcher implements AlertListener {
 
   private static final Logger logger = LoggerFactory.getLogger(TorrentAlertDispatcher.class);
-  private static final long PROGRESS_THROTTLE_MS = 2000L;
 
   private final TorrentJobService jobService;
   private final TorrentJobRegistry registry;
   private final TorrentCompletionService completionService;
+  private final TorrentProgressAggregator progressAggregator;
   private final TransactionTemplate transactionTemplate;
 
-  /**
-   * Per-job throttle state: last persisted wall-clock millis and integer percent.
-   */
-  private final ConcurrentHashMap<UUID, long[]> throttle = new ConcurrentHashMap<>();
-
   public TorrentAlertDispatcher(
       TorrentJobService jobService,
       TorrentJobRegistry registry,
       TorrentCompletionService completionService,
+      TorrentProgressAggregator progressAggregator,
       PlatformTransactionManager transactionManager) {
     this.jobService = jobService;
     this.registry = registry;
     this.completionService = completionService;
+    this.progressAggregator = progressAggregator;
     this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
@@ -101,18 +98,26 @@ public class TorrentAlertDispatcher implements AlertListener {
             job.getMagnetDetail().setDisplayName(status.name());
           }
           jobService.save(job);
+          progressAggregator.statusChanged(job);
         });
   }
 
   /**
-   * Hands the finished job to the S3 upload service.
+   * Writes the final transfer totals, since any coalesced report still pending
+   * is dropped once the job leaves the downloading states, then hands the
+   * finished job to the S3 upload service.
    */
   private void onFinish(TorrentHandle handle) {
     withJob(
         handle,
         job -> {
+          org.libtorrent4j.TorrentStatus status = handle.status();
+          job.setProgress(status.progress());
+          job.setDownloadedBytes(status.totalWantedDone());
+          job.setUploadedBytes(status.totalPayloadUpload());
           job.setStatus(TorrentStatus.UPLOADING);
           jobService.save(job);
+          progressAggregator.statusChanged(job);
           completionService.complete(job.getId());
         });
   }
@@ -127,39 +132,38 @@ public class TorrentAlertDispatcher implements AlertListener {
           job.setStatus(TorrentStatus.FAILED);
           job.setErrorMessage(alert.error() == null ? "torrent error" : alert.error().getMessage());
           jobService.save(job);
+          progressAggregator.statusChanged(job);
         });
   }
 
   /**
-   * Updates live progress and rate fields, throttled to avoid a write per piece.
+   * Reports live progress and rate fields to the aggregator without touching the
+   * database; the aggregator writes the latest report on its next flush.
    */
   private void onState(TorrentHandle handle) {
-    withJob(
-        handle,
-        job -> {
-          org.libtorrent4j.TorrentStatus status = handle.status();
-          int percent = (int) (status.progress() * 100);
-          long[] last = throttle.computeIfAbsent(job.getId(), k -> new long[] {0L, -1L});
-          long now = System.currentTimeMillis();
-          boolean justFinished =
-              status.state() == org.libtorrent4j.TorrentStatus.State.FINISHED;
-          if (!justFinished && now - last[0] < PROGRESS_THROTTLE_MS && percent == last[1]) {
-            return;
-          }
-          last[0] = now;
-          last[1] = percent;
-          job.setProgress(status.progress());
-          job.setDownloadedBytes(status.totalWantedDone());
-          job.setUploadedBytes(status.totalPayloadUpload());
-          job.setDownloadRateBps(status.downloadRate());
-          job.setUploadRateBps(status.uploadRate());
-          job.setPeersConnected(status.numPeers());
-          job.setSeedsConnected(status.numSeeds());
-          if (job.getStatus() == TorrentStatus.METADATA) {
-            job.setStatus(TorrentStatus.DOWNLOADING);
-          }
-          jobService.save(job);
-        });
+    if (handle == null || !handle.isValid()) {
+      return;
+    }
+    registry
+        .findJobId(handle.savePath())
+        .ifPresent(
+            jobId -> {
+              org.libtorrent4j.TorrentStatus status = handle.status();
+              progressAggregator.record(
+                  new TorrentJobProgress(
+                      jobId,
+                      null,
+                      TorrentStatus.DOWNLOADING,
+                      status.progress(),
+                      status.totalWanted(),
+                      status.totalWantedDone(),
+                      status.totalPayloadUpload(),
+                      status.downloadRate(),
+                      status.uploadRate(),
+                      status.numPeers(),
+                      status.numSeeds(),
+                      null));
+            });
   }
 
   /**
@@ -48,6 +48,7 @@ public class TorrentClientService implements SmartLifecycle {
   @Autowired private Aria2Gateway aria2Gateway;
   @Autowired private TransmissionGateway transmissionGateway;
   @Autowired private TorrentClientProperties properties;
+  @Autowired private TorrentProgressAggregator progressAggregator;
 
   private volatile boolean running = false;
   private File scratchRoot;
@@ -139,6 +140,7 @@ public class TorrentClientService implements SmartLifecycle {
     job = jobService.save(job);
 
     registry.register(job.getId(), job.getScratchPath(), null);
+    progressAggregator.track(job);
     transmissionGateway.downloadMagnet(job.getId(), magnet, saveDir);
     return job;
   }
@@ -183,6 +185,7 @@ public class TorrentClientService implements SmartLifecycle {
     job = jobService.save(job);
 
     registry.register(job.getId(), job.getScratchPath(), null);
+    progressAggregator.track(job);
 
     File torrentFile = new File(saveDir, "source.torrent");
     try {
@@ -204,6 +207,7 @@ public class TorrentClientService implements SmartLifecycle {
     job.setStatus(TorrentStatus.DOWNLOADING);
     job.setErrorMessage(null);
     jobService.save(job);
+    progressAggregator.track(job);
     String magnet = job.getMagnetDetail().getSourceUri();
     File saveDir = new File(job.getScratchPath());
     saveDir.mkdirs();
@@ -229,6 +233,7 @@ public class TorrentClientService implements SmartLifecycle {
               });
               job.setStatus(TorrentStatus.PAUSED);
               jobService.save(job);
+              progressAggregator.statusChanged(job);
             });
   }
 
@@ -248,6 +253,7 @@ public class TorrentClientService implements SmartLifecycle {
               });
               job.setStatus(TorrentStatus.DOWNLOADING);
               jobService.save(job);
+              progressAggregator.statusChanged(job);
             });
   }
 
@@ -275,6 +281,7 @@ public class TorrentClientService implements SmartLifecycle {
               registry.forget(jobId, job.getScratchPath());
               job.setStatus(TorrentStatus.CANCELLED);
               jobService.save(job);
+              progressAggregator.statusChanged(job);
             });
   }
 
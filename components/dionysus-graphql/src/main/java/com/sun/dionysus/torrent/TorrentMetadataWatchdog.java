@@ -22,22 +22,21 @@ public class TorrentMetadataWatchdog {
   private static final Duration METADATA_TIMEOUT = Duration.ofMinutes(30);
 
   @Autowired private TorrentJobService jobService;
+  @Autowired private TorrentProgressAggregator progressAggregator;
 
   /**
    * Runs each minute, failing any job that has lingered in the metadata state.
+   * Only the stale rows are fetched, via the status index.
    */
   @Scheduled(fixedDelay = 60_000L)
   public void timeoutStaleMetadataJobs() {
     LocalDateTime cutoff = LocalDateTime.now().minus(METADATA_TIMEOUT);
-    for (TorrentJobEntity job : jobService.findAll()) {
-      if (job.getStatus() == TorrentStatus.METADATA
-          && job.getLastUpdatedAt() != null
-          && job.getLastUpdatedAt().isBefore(cutoff)) {
-        job.setStatus(TorrentStatus.FAILED);
-        job.setErrorMessage("timed out waiting for torrent metadata");
-        jobService.save(job);
-        logger.warn("Timed out metadata fetch for torrent job {}", job.getId());
-      }
+    for (TorrentJobEntity job : jobService.findStaleInStatus(TorrentStatus.METADATA, cutoff)) {
+      job.setStatus(TorrentStatus.FAILED);
+      job.setErrorMessage("timed out waiting for torrent metadata");
+      jobService.save(job);
+      progressAggregator.statusChanged(job);
+      logger.warn("Timed out metadata fetch for torrent job {}", job.getId());
     }
   }
 }
@@ -0,0 +1,199 @@
+package com.sun.dionysus.torrent;
+
+import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
+import com.sun.dionysus.model.enums.TorrentStatus;
+import com.sun.dionysus.service.torrent.TorrentJobService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Holds the live transfer state of every running torrent job in memory. Progress
+ * reports from the download gateways are coalesced per job and the dirty set is
+ * written back in one batched update per tick, then pushed to subscribers.
+ */
+@Component
+public class TorrentProgressAggregator {
+
+  private static final Logger logger = LoggerFactory.getLogger(TorrentProgressAggregator.class);
+
+  /**
+   * How long reports for a forgotten job are ignored. Gateways poll every few
+   * seconds, so a late report arrives well within this window.
+   */
+  static final Duration FORGET_WINDOW = Duration.ofMinutes(10);
+
+  private final TorrentJobService jobService;
+
+  /**
+   * Latest known snapshot per job, used to overlay query results between flushes.
+   */
+  private final ConcurrentHashMap<UUID, TorrentJobProgress> live = new ConcurrentHashMap<>();
+
+  /**
+   * Snapshots recorded since the last flush; a newer report replaces an older one.
+   */
+  private final ConcurrentHashMap<UUID, TorrentJobProgress> dirty = new ConcurrentHashMap<>();
+
+  /**
+   * Bucket per tracked job, so reporters need not load the job to tag a snapshot.
+   */
+  private final ConcurrentHashMap<UUID, String> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * Jobs dropped by {@link #forget}, by {@link System#nanoTime} at the time,
+   * whose late reports are ignored until the job is tracked again or the
+   * entry is pruned after {@link #FORGET_WINDOW}.
+   */
+  private final ConcurrentHashMap<UUID, Long> forgotten = new ConcurrentHashMap<>();
+
+  private final Sinks.Many<TorrentJobProgress> updates =
+      Sinks.many().multicast().directBestEffort();
+
+  public TorrentProgressAggregator(TorrentJobService jobService) {
+    this.jobService = jobService;
+  }
+
+  /**
+   * Starts tracking a job so its progress reports are tagged with its bucket.
+   */
+  public void track(TorrentJobEntity job) {
+    forgotten.remove(job.getId());
+    buckets.put(job.getId(), job.getBucket());
+  }
+
+  /**
+   * Records a progress report. Nothing is written until the next flush.
+   * Reports for a forgotten job are dropped, including one that races with
+   * {@link #forget}.
+   */
+  public void record(TorrentJobProgress progress) {
+    UUID jobId = progress.jobId();
+    if (forgotten.containsKey(jobId)) {
+      return;
+    }
+    TorrentJobProgress tagged = progress.withBucket(buckets.get(jobId));
+    live.put(jobId, tagged);
+    dirty.put(jobId, tagged);
+    if (forgotten.containsKey(jobId)) {
+      live.remove(jobId, tagged);
+      dirty.remove(jobId, tagged);
+    }
+  }
+
+  /**
+   * Publishes a status transition that was already persisted by the caller, and
+   * drops the in-memory state once the job has left the downloading states so a
+   * pending report cannot outlive it.
+   */
+  public void statusChanged(TorrentJobEntity job) {
+    TorrentJobProgress snapshot = snapshotOf(job);
+    if (isLive(job.getStatus())) {
+      live.put(job.getId(), snapshot);
+    } else {
+      forget(job.getId());
+    }
+    emit(snapshot);
+  }
+
+  /**
+   * Drops all in-memory state for a job, including any unflushed report, and
+   * ignores its reports from then on.
+   */
+  public void forget(UUID jobId) {
+    forgotten.put(jobId, System.nanoTime());
+    live.remove(jobId);
+    dirty.remove(jobId);
+    buckets.remove(jobId);
+  }
+
+  /**
+   * Returns the latest in-memory snapshot for a job, if it is being tracked.
+   */
+  public Optional<TorrentJobProgress> current(UUID jobId) {
+    return Optional.ofNullable(live.get(jobId));
+  }
+
+  /**
+   * Stream of flushed progress snapshots and status transitions.
+   */
+  public Flux<TorrentJobProgress> updates() {
+    return updates.asFlux();
+  }
+
+  /**
+   * Drains the dirty set and writes it in one batch. Snapshots that fail to
+   * write are put back unless a newer report has arrived in the meantime.
+   */
+  @Scheduled(fixedDelayString = "${dionysus.torrent.progress-flush-ms:2000}")
+  public void flush() {
+    pruneForgotten(System.nanoTime());
+    if (dirty.isEmpty()) {
+      return;
+    }
+    List<TorrentJobProgress> batch = new ArrayList<>(dirty.size());
+    for (UUID jobId : dirty.keySet()) {
+      TorrentJobProgress snapshot = dirty.remove(jobId);
+      if (snapshot != null) {
+        batch.add(snapshot);
+      }
+    }
+    try {
+      jobService.updateProgress(batch);
+    } catch (Exception e) {
+      logger.warn("Failed to flush progress for {} torrent job(s)", batch.size(), e);
+      batch.forEach(snapshot -> dirty.putIfAbsent(snapshot.jobId(), snapshot));
+      return;
+    }
+    batch.forEach(this::emit);
+  }
+
+  /**
+   * Drops forgotten jobs whose window has passed.
+   *
+   * @param now the current {@link System#nanoTime}
+   */
+  void pruneForgotten(long now) {
+    long window = FORGET_WINDOW.toNanos();
+    forgotten.values().removeIf(at -> now - at > window);
+  }
+
+  private void emit(TorrentJobProgress snapshot) {
+    synchronized (updates) {
+      updates.tryEmitNext(snapshot);
+    }
+  }
+
+  private boolean isLive(TorrentStatus status) {
+    return status == TorrentStatus.QUEUED
+        || status == TorrentStatus.METADATA
+        || status == TorrentStatus.DOWNLOADING
+        || status == TorrentStatus.PAUSED;
+  }
+
+  private TorrentJobProgress snapshotOf(TorrentJobEntity job) {
+    return new TorrentJobProgress(
+        job.getId(),
+        job.getBucket(),
+        job.getStatus(),
+        job.getProgress(),
+        job.getTotalBytes(),
+        job.getDownloadedBytes(),
+        job.getUploadedBytes(),
+        job.getDownloadRateBps(),
+        job.getUploadRateBps(),
+        job.getPeersConnected(),
+        job.getSeedsConnected(),
+        job.getEtaSeconds());
+  }
+}
@@ -1,6 +1,7 @@
 package com.sun.dionysus.torrent;
 
 import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.service.torrent.TorrentJobService;
 import java.io.BufferedReader;
@@ -32,6 +33,7 @@ public class TransmissionGateway {
 
   @Autowired private TorrentJobService jobService;
   @Autowired private TorrentCompletionService completionService;
+  @Autowired private TorrentProgressAggregator progressAggregator;
 
   /**
    * Starts a magnet download via transmission-daemon.
@@ -90,29 +92,28 @@ public class TransmissionGateway {
       int rate = (int) parseBytes(details, "Download Speed:");
       int peers = (int) parseValue(details, "Peers:", "(\\d+)");
 
-      if (isCancelled(jobId)) { removeTransmission(jobId); return; }
-
       TorrentJobEntity job = jobService.findById(jobId).orElse(null);
-      if (job == null) { removeTransmission(jobId); return; }
+      if (job == null || job.getStatus() == TorrentStatus.CANCELLED) { removeTransmission(jobId); return; }
 
-      job.setStatus(TorrentStatus.DOWNLOADING);
-      job.setProgress(progress);
-      job.setDownloadedBytes(downloaded);
-      job.setTotalBytes(total);
-      job.setDownloadRateBps(rate);
-      job.setPeersConnected(peers);
-      jobService.save(job);
+      progressAggregator.record(
+          new TorrentJobProgress(
+              jobId, null, TorrentStatus.DOWNLOADING, progress, total, downloaded, null,
+              rate, null, peers, null, null));
       log.info("transmission progress for {}: {}% {}", jobId, String.format("%.1f", progress * 100), formatRate(rate));
 
       if (progress >= 1.0) {
         log.info("Download complete for job {}...", jobId);
+        progressAggregator.forget(jobId);
         TorrentJobEntity j = jobService.findById(jobId).orElse(null);
         if (j != null && j.getStatus() != TorrentStatus.COMPLETED) {
           String loc = parseValueStr(details, "  Location:", "  Location:\\s*(.*)");
           if (loc != null && !loc.isBlank() && !loc.equals(j.getScratchPath())) {
             j.setScratchPath(loc);
-            jobService.save(j);
           }
+          j.setProgress(progress);
+          j.setDownloadedBytes(downloaded);
+          j.setTotalBytes(total);
+          jobService.save(j);
           completionService.complete(jobId);
         }
         return;
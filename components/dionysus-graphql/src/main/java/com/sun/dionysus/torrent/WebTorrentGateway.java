@@ -1,6 +1,7 @@
 package com.sun.dionysus.torrent;
 
 import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.service.torrent.TorrentJobService;
 import java.io.BufferedReader;
@@ -49,6 +50,7 @@ public class WebTorrentGateway {
 
   @Autowired private TorrentJobService jobService;
   @Autowired private TorrentCompletionService completionService;
+  @Autowired private TorrentProgressAggregator progressAggregator;
 
   /**
    * Downloads a magnet link via webtorrent-cli.
@@ -175,13 +177,19 @@ public class WebTorrentGateway {
       int peers = node.has("numPeers") ? node.get("numPeers").asInt(0) : 0;
       long eta = node.has("timeRemaining") ? node.get("timeRemaining").asLong(0) : 0;
 
-      TorrentStatus status = progress >= 1.0 ? TorrentStatus.COMPLETED : TorrentStatus.DOWNLOADING;
+      if (progress < 1.0) {
+        progressAggregator.record(
+            new TorrentJobProgress(
+                jobId, null, TorrentStatus.DOWNLOADING, progress, total, downloaded, null,
+                speedBps, null, peers, null, eta));
+        return;
+      }
 
+      progressAggregator.forget(jobId);
       TorrentJobEntity job = jobService.findById(jobId).orElse(null);
       if (job == null) return;
 
-      boolean wasComplete = progress >= 1.0;
-      job.setStatus(wasComplete ? TorrentStatus.DOWNLOADING : TorrentStatus.DOWNLOADING);
+      job.setStatus(TorrentStatus.DOWNLOADING);
       job.setProgress(progress);
       job.setDownloadedBytes(downloaded);
       job.setTotalBytes(total != 0 ? total : job.getTotalBytes());
@@ -189,16 +197,14 @@ public class WebTorrentGateway {
       job.setPeersConnected(peers);
       job.setEtaSeconds(eta);
       jobService.save(job);
-
-      if (wasComplete) {
-        completionService.complete(jobId);
-      }
+      completionService.complete(jobId);
     } catch (Exception e) {
       log.warn("Failed to parse webtorrent JSON for job {}: {}", jobId, e.getMessage());
     }
   }
 
   private void updateDone(UUID jobId, boolean success, String output) {
+    progressAggregator.forget(jobId);
     jobService.findById(jobId).ifPresent(job -> {
       if (success) {
         job.setStatus(TorrentStatus.COMPLETED);
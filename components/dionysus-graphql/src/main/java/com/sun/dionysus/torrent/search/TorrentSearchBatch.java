@@ -0,0 +1,13 @@
+package com.sun.dionysus.torrent.search;
+
+import java.util.List;
+
+/**
+ * The results one Jackett indexer returned for a query, streamed to clients as
+ * soon as that indexer responds.
+ *
+ * @param indexer the Jackett indexer id.
+ * @param results the indexer's results, empty if it failed or found nothing.
+ */
+public record TorrentSearchBatch(String indexer, List<TorrentSearchResult> results) {
+}
@@ -0,0 +1,114 @@
+package com.sun.dionysus.torrent.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the Jackett-backed torrent search and its result cache.
+ */
+@ConfigurationProperties(prefix = "torrent-search")
+public class TorrentSearchProperties {
+
+    /**
+     * Base URL of the Jackett instance; search is disabled when blank.
+     */
+    private String jackettUrl = "";
+
+    /**
+     * Jackett API key; search is disabled when blank.
+     */
+    private String jackettApiKey = "";
+
+    /**
+     * Jackett indexer ids searched one by one so results can stream as each
+     * responds. When empty, Jackett's aggregate "all" indexer is used.
+     */
+    private List<String> indexers = new ArrayList<>();
+
+    /**
+     * How long an indexer's results for a query are served from cache.
+     */
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    /**
+     * Per-indexer overrides of {@link #cacheTtl}, keyed by indexer id.
+     */
+    private Map<String, Duration> indexerTtl = new HashMap<>();
+
+    /**
+     * Maximum number of cached (indexer, query) result sets.
+     */
+    private long cacheMaxEntries = 1000;
+
+    /**
+     * Timeout for a single indexer request.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(15);
+
+    public String getJackettUrl() {
+        return jackettUrl;
+    }
+
+    public void setJackettUrl(String jackettUrl) {
+        this.jackettUrl = jackettUrl;
+    }
+
+    public String getJackettApiKey() {
+        return jackettApiKey;
+    }
+
+    public void setJackettApiKey(String jackettApiKey) {
+        this.jackettApiKey = jackettApiKey;
+    }
+
+    public List<String> getIndexers() {
+        return indexers;
+    }
+
+    public void setIndexers(List<String> indexers) {
+        this.indexers = indexers;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public Map<String, Duration> getIndexerTtl() {
+        return indexerTtl;
+    }
+
+    public void setIndexerTtl(Map<String, Duration> indexerTtl) {
+        this.indexerTtl = indexerTtl;
+    }
+
+    public long getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(long cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Returns the cache TTL for the given indexer.
+     */
+    public Duration ttlFor(String indexer) {
+        return indexerTtl.getOrDefault(indexer, cacheTtl);
+    }
+}
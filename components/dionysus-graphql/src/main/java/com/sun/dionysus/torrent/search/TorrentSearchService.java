@@ -2,89 +2,188 @@ package com.sun.dionysus.torrent.search;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
-import java.net.URI;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Searches Jackett's internal JSON API for torrent results.
+ *
+ * <p>Each configured indexer is queried separately and its results are cached
+ * under a normalized query key for that indexer's TTL. Identical searches that
+ * arrive while one is already in flight share its response instead of issuing
+ * another request.
  */
 @Component
+@EnableConfigurationProperties(TorrentSearchProperties.class)
 public class TorrentSearchService {
 
     private static final Logger log = LoggerFactory.getLogger(TorrentSearchService.class);
 
     private static final String CATEGORIES = "2000,2010,2020,2030,2040,5000,6000,7000,8000";
 
-    private final String jackettUrl;
-    private final String apiKey;
+    /**
+     * Jackett's aggregate indexer, used when no individual indexers are configured.
+     */
+    static final String ALL_INDEXERS = "all";
+
+    private final TorrentSearchProperties properties;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
-    public TorrentSearchService(
-            @Value("${torrent-search.jackett-url:}") String jackettUrl,
-            @Value("${torrent-search.jackett-api-key:}") String apiKey) {
-        this.jackettUrl = jackettUrl;
-        this.apiKey = apiKey;
+    /**
+     * Results per (indexer, normalized query). An entry holds the in-flight
+     * request until it completes, which is what coalesces concurrent searches;
+     * failed requests are dropped rather than cached.
+     */
+    private final AsyncCache<SearchKey, List<TorrentSearchResult>> cache;
+
+    public TorrentSearchService(TorrentSearchProperties properties) {
+        this.properties = properties;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
         this.objectMapper = new ObjectMapper();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .expireAfter(new PerIndexerExpiry(properties))
+                .buildAsync();
     }
 
     /**
-     * Searches Jackett and returns parsed torrent results.
+     * Searches every indexer and returns their merged results, deduplicated by
+     * magnet link.
      *
      * @param query the search query.
      * @return list of search results, or empty when disabled or on error.
      */
     public List<TorrentSearchResult> search(String query) {
-        if (jackettUrl == null || jackettUrl.isBlank()
-                || apiKey == null || apiKey.isBlank()) {
+        String normalized = normalize(query);
+        if (!isEnabled() || normalized.isEmpty()) {
             return List.of();
         }
 
-        try {
-            String url = buildUrl(query);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(15))
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                log.warn("Jackett returned {} for search: {}", response.statusCode(), query);
-                return List.of();
+        List<CompletableFuture<List<TorrentSearchResult>>> pending = new ArrayList<>();
+        for (String indexer : indexers()) {
+            pending.add(lookup(indexer, normalized));
+        }
+        Map<String, TorrentSearchResult> merged = new LinkedHashMap<>();
+        for (CompletableFuture<List<TorrentSearchResult>> future : pending) {
+            for (TorrentSearchResult result : future.join()) {
+                merged.putIfAbsent(result.getMagnet(), result);
             }
+        }
+        return new ArrayList<>(merged.values());
+    }
 
-            return parseResponse(response.body());
-        } catch (Exception e) {
-            log.error("Jackett search failed for query: {}", query, e);
-            return List.of();
+    /**
+     * Searches every indexer and emits each one's results as soon as it
+     * responds, so a slow indexer does not hold back the fast ones.
+     *
+     * @param query the search query.
+     * @return one batch per indexer, in completion order.
+     */
+    public Flux<TorrentSearchBatch> searchStreaming(String query) {
+        String normalized = normalize(query);
+        if (!isEnabled() || normalized.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.merge(
+                indexers().stream()
+                        .map(indexer -> Mono.fromFuture(lookup(indexer, normalized))
+                                .map(results -> new TorrentSearchBatch(indexer, results)))
+                        .toList());
+    }
+
+    /**
+     * Normalizes a query into its cache key form: Unicode-compatible, lower
+     * case, with runs of whitespace collapsed.
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
         }
+        String folded = Normalizer.normalize(query, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT);
+        return folded.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Returns the cached or in-flight results for an indexer, starting a request
+     * only if neither exists. Never completes exceptionally.
+     */
+    private CompletableFuture<List<TorrentSearchResult>> lookup(String indexer, String normalized) {
+        return cache.get(new SearchKey(indexer, normalized), (key, executor) -> request(key))
+                .exceptionally(e -> {
+                    log.error("Jackett search failed on indexer {} for query: {}",
+                            indexer, normalized, unwrap(e));
+                    return List.of();
+                });
+    }
+
+    /**
+     * Issues the HTTP search for one indexer. Non-200 responses complete
+     * exceptionally so they are not cached.
+     */
+    private CompletableFuture<List<TorrentSearchResult>> request(SearchKey key) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(buildUrl(key.indexer(), key.query())))
+                .timeout(properties.getRequestTimeout())
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Jackett returned " + response.statusCode());
+                    }
+                    return parseResponse(response.body());
+                });
+    }
+
+    private boolean isEnabled() {
+        return properties.getJackettUrl() != null && !properties.getJackettUrl().isBlank()
+                && properties.getJackettApiKey() != null && !properties.getJackettApiKey().isBlank();
+    }
+
+    private List<String> indexers() {
+        List<String> configured = properties.getIndexers();
+        return configured == null || configured.isEmpty() ? List.of(ALL_INDEXERS) : configured;
+    }
+
+    private Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 
     /**
-     * Builds the Jackett JSON API URL with the given query and categories.
+     * Builds the Jackett JSON API URL for an indexer with the given query and categories.
      */
-    private String buildUrl(String query) {
+    private String buildUrl(String indexer, String query) {
         return String.format(
-                "%s/api/v2.0/indexers/all/results?apikey=%s&Query=%s&Category=%s",
-                jackettUrl.replaceAll("/$", ""),
-                URLEncoder.encode(apiKey, StandardCharsets.UTF_8),
+                "%s/api/v2.0/indexers/%s/results?apikey=%s&Query=%s&Category=%s",
+                properties.getJackettUrl().replaceAll("/$", ""),
+                URLEncoder.encode(indexer, StandardCharsets.UTF_8),
+                URLEncoder.encode(properties.getJackettApiKey(), StandardCharsets.UTF_8),
                 URLEncoder.encode(query, StandardCharsets.UTF_8),
                 CATEGORIES);
     }
@@ -163,4 +262,39 @@ public class TorrentSearchService {
         String prefix = "KMGTPE".charAt(exp - 1) + "B";
         return String.format("%.1f %s", bytes / Math.pow(1024, exp), prefix);
     }
+
+    /**
+     * Cache key for one indexer's results for a normalized query.
+     */
+    private record SearchKey(String indexer, String query) {
+    }
+
+    /**
+     * Expires each cached result set after its indexer's configured TTL.
+     */
+    private static final class PerIndexerExpiry implements Expiry<SearchKey, List<TorrentSearchResult>> {
+
+        private final TorrentSearchProperties properties;
+
+        PerIndexerExpiry(TorrentSearchProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public long expireAfterCreate(SearchKey key, List<TorrentSearchResult> value, long currentTime) {
+            return properties.ttlFor(key.indexer()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(SearchKey key, List<TorrentSearchResult> value,
+                                      long currentTime, long currentDuration) {
+            return properties.ttlFor(key.indexer()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(SearchKey key, List<TorrentSearchResult> value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -12,9 +12,11 @@ import com.sun.dionysus.codegen.types.TorrentJob;
 import com.sun.dionysus.codegen.types.TorrentJobStatus;
 import com.sun.dionysus.graphql.mappers.TorrentJobMapper;
 import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.service.torrent.TorrentJobService;
 import com.sun.dionysus.torrent.TorrentClientService;
+import com.sun.dionysus.torrent.TorrentProgressAggregator;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +33,7 @@ class TorrentGraphQLServiceTest {
   @Mock private TorrentJobService torrentJobService;
   @Mock private TorrentJobMapper torrentJobMapper;
   @Mock private TorrentClientService torrentClient;
+  @Mock private TorrentProgressAggregator progressAggregator;
 
   @InjectMocks private TorrentGraphQLService service;
 
@@ -60,6 +63,24 @@ class TorrentGraphQLServiceTest {
     assertThat(result).isNull();
   }
 
+  @Test
+  void locate_shouldOverlayLiveProgressForRunningJob() {
+    TorrentJobEntity entity = job("b", TorrentStatus.DOWNLOADING);
+    TorrentJob mapped = TorrentJob.newBuilder().id(entity.getId().toString()).bucket("b")
+        .targetKeyPath("k").sourceType("MAGNET").status(TorrentJobStatus.DOWNLOADING).infoHash("h")
+        .totalBytes(100L).downloadedBytes(0L).uploadedBytes(0L).progress(0.0).build();
+    TorrentJobProgress live = new TorrentJobProgress(entity.getId(), "b", TorrentStatus.DOWNLOADING,
+        0.5, 100L, 50L, 0L, 10, null, 3, null, null);
+    when(torrentJobService.findById(entity.getId())).thenReturn(Optional.of(entity));
+    when(torrentJobMapper.map(entity)).thenReturn(mapped);
+    when(progressAggregator.current(entity.getId())).thenReturn(Optional.of(live));
+    when(torrentJobMapper.applyProgress(mapped, live)).thenReturn(mapped);
+
+    service.locate(entity.getId().toString());
+
+    verify(torrentJobMapper).applyProgress(mapped, live);
+  }
+
   @Test
   void list_shouldReturnAllWhenNoFilter() {
     TorrentJobEntity e1 = job("b1", TorrentStatus.DOWNLOADING);
@@ -0,0 +1,227 @@
+package com.sun.dionysus.headscale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.gaia.model.IpWhitelistEntryEntity;
+import com.sun.gaia.model.TailscaleDeviceEntity;
+import com.sun.gaia.model.TailscaleDeviceSnapshot;
+import com.sun.gaia.service.IpWhitelistService;
+import com.sun.gaia.service.TailscaleDeviceService;
+import com.sun.gaia.service.TailscaleDevicesChangedEvent;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for WhitelistReconciler against a local Headscale API stub.
+ */
+@ExtendWith(MockitoExtension.class)
+class WhitelistReconcilerTest {
+
+  @Mock
+  private IpWhitelistService ipWhitelistService;
+
+  @Mock
+  private TailscaleDeviceService tailscaleDeviceService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private HttpServer headscale;
+  private SimpleMeterRegistry meterRegistry;
+  private WhitelistReconciler reconciler;
+
+  /**
+   * JSON body served by the stub's node listing.
+   */
+  private volatile String nodesJson = "{\"nodes\":[]}";
+
+  @BeforeEach
+  void setUp() throws IOException {
+    headscale = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    headscale.createContext("/api/v1/node", exchange -> {
+      byte[] body = nodesJson.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    headscale.start();
+    meterRegistry = new SimpleMeterRegistry();
+    HeadscaleService headscaleService = new HeadscaleService(
+        "http://127.0.0.1:" + headscale.getAddress().getPort(), "test-key");
+    reconciler = new WhitelistReconciler(
+        headscaleService, ipWhitelistService, tailscaleDeviceService, transactionManager, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    headscale.stop(0);
+  }
+
+  @Test
+  void reconcile_insertsNewNodesAndWhitelistsTheirIps() {
+    nodesJson = nodes(node(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z"));
+    when(tailscaleDeviceService.listAll()).thenReturn(List.of());
+    when(ipWhitelistService.listAll()).thenReturn(List.of());
+
+    reconciler.reconcile();
+
+    verify(ipWhitelistService).addEntries(Map.of("100.64.0.1", "Tailscale: laptop"));
+    ArgumentCaptor<Collection<TailscaleDeviceSnapshot>> changed = changedCaptor();
+    verify(tailscaleDeviceService).applyHeadscaleDelta(changed.capture(), anyCollection());
+    assertThat(changed.getValue()).extracting(TailscaleDeviceSnapshot::headscaleId).containsExactly(1L);
+    assertThat(count("device.insert")).isEqualTo(1);
+    assertThat(count("whitelist.insert")).isEqualTo(1);
+    assertThat(meterRegistry.get("headscale.reconcile.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void reconcile_skipsWritesWhenNothingChanged() {
+    nodesJson = nodes(node(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z"));
+    when(tailscaleDeviceService.listAll()).thenReturn(List.of(
+        device(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z")));
+    when(ipWhitelistService.listAll()).thenReturn(List.of(entry("100.64.0.1", true)));
+
+    reconciler.reconcile();
+    reconciler.reconcile();
+
+    verify(tailscaleDeviceService, never()).applyHeadscaleDelta(any(), any());
+    verify(ipWhitelistService, never()).addEntries(anyMap());
+    assertThat(meterRegistry.get("headscale.reconcile.duration").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void reconcile_appliesOnlyChangedAndRemovedNodes() {
+    nodesJson = nodes(
+        node(1, "laptop", "100.64.0.1", false, "2024-01-02T00:00:00Z"),
+        node(2, "phone", "100.64.0.2", true, "2024-01-01T00:00:00Z"));
+    when(tailscaleDeviceService.listAll()).thenReturn(List.of(
+        device(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z"),
+        device(2, "phone", "100.64.0.2", true, "2024-01-01T00:00:00Z"),
+        device(3, "old-desktop", "100.64.0.3", false, "2023-12-01T00:00:00Z")));
+    when(ipWhitelistService.listAll()).thenReturn(List.of(
+        entry("100.64.0.1", true), entry("100.64.0.2", false), entry("100.64.0.3", true)));
+
+    reconciler.reconcile();
+
+    ArgumentCaptor<Collection<TailscaleDeviceSnapshot>> changed = changedCaptor();
+    ArgumentCaptor<Collection<Long>> removed = removedCaptor();
+    verify(tailscaleDeviceService).applyHeadscaleDelta(changed.capture(), removed.capture());
+    assertThat(changed.getValue()).singleElement().satisfies(snapshot -> {
+      assertThat(snapshot.headscaleId()).isEqualTo(1L);
+      assertThat(snapshot.online()).isFalse();
+    });
+    assertThat(removed.getValue()).containsExactly(3L);
+    verify(ipWhitelistService, never()).addEntries(anyMap());
+    assertThat(count("device.update")).isEqualTo(1);
+    assertThat(count("device.delete")).isEqualTo(1);
+  }
+
+  @Test
+  void reconcile_ignoresLastSeenOnlyChanges() {
+    nodesJson = nodes(node(1, "laptop", "100.64.0.1", true, "2024-01-02T00:00:00Z"));
+    when(tailscaleDeviceService.listAll()).thenReturn(List.of(
+        device(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z")));
+    when(ipWhitelistService.listAll()).thenReturn(List.of(entry("100.64.0.1", true)));
+
+    reconciler.reconcile();
+
+    verify(tailscaleDeviceService, never()).applyHeadscaleDelta(any(), any());
+  }
+
+  @Test
+  void reconcile_keepsDevicesWhenHeadscaleListsNoNodes() {
+    when(tailscaleDeviceService.listAll()).thenReturn(List.of(
+        device(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z")));
+    when(ipWhitelistService.listAll()).thenReturn(List.of(entry("100.64.0.1", true)));
+
+    reconciler.reconcile();
+
+    verify(tailscaleDeviceService, never()).applyHeadscaleDelta(any(), any());
+  }
+
+  @Test
+  void reconcile_reloadsStoredDevicesAfterTheyChangeOutsideTheSync() {
+    nodesJson = nodes(node(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z"));
+    when(tailscaleDeviceService.listAll()).thenReturn(
+        List.of(device(1, "laptop", "100.64.0.1", true, "2024-01-01T00:00:00Z")),
+        List.of());
+    when(ipWhitelistService.listAll()).thenReturn(List.of(entry("100.64.0.1", true)));
+
+    reconciler.reconcile();
+    reconciler.onDevicesChanged(new TailscaleDevicesChangedEvent(UUID.randomUUID()));
+    reconciler.reconcile();
+
+    ArgumentCaptor<Collection<TailscaleDeviceSnapshot>> changed = changedCaptor();
+    verify(tailscaleDeviceService).applyHeadscaleDelta(changed.capture(), anyCollection());
+    assertThat(changed.getValue()).extracting(TailscaleDeviceSnapshot::headscaleId).containsExactly(1L);
+  }
+
+  @Test
+  void reconcile_recordsFailureWhenHeadscaleIsUnreachable() {
+    headscale.stop(0);
+
+    reconciler.reconcile();
+
+    verify(tailscaleDeviceService, never()).applyHeadscaleDelta(any(), any());
+    assertThat(meterRegistry.get("headscale.reconcile.failures").counter().count()).isEqualTo(1);
+  }
+
+  private double count(String type) {
+    return meterRegistry.get("headscale.reconcile.changes").tag("type", type).counter().count();
+  }
+
+  @SuppressWarnings("unchecked")
+  private ArgumentCaptor<Collection<TailscaleDeviceSnapshot>> changedCaptor() {
+    return ArgumentCaptor.forClass(Collection.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ArgumentCaptor<Collection<Long>> removedCaptor() {
+    return ArgumentCaptor.forClass(Collection.class);
+  }
+
+  private static String nodes(String... nodes) {
+    return "{\"nodes\":[" + String.join(",", nodes) + "]}";
+  }
+
+  private static String node(long id, String name, String ip, boolean online, String lastSeen) {
+    return "{\"id\":\"" + id + "\",\"givenName\":\"" + name + "\",\"ipAddresses\":[\"" + ip
+        + "\",\"fd7a:115c:a1e0::1\"],\"online\":" + online + ",\"lastSeen\":\"" + lastSeen + "\"}";
+  }
+
+  private static TailscaleDeviceEntity device(long id, String name, String ip, boolean online, String lastSeen) {
+    TailscaleDeviceEntity device = new TailscaleDeviceEntity();
+    new TailscaleDeviceSnapshot(id, name, ip, lastSeen, online).applyTo(device);
+    return device;
+  }
+
+  private static IpWhitelistEntryEntity entry(String pattern, boolean enabled) {
+    IpWhitelistEntryEntity entry = new IpWhitelistEntryEntity();
+    entry.setPattern(pattern);
+    entry.setEnabled(enabled);
+    return entry;
+  }
+}
@@ -0,0 +1,167 @@
+package com.sun.dionysus.torrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
+import com.sun.dionysus.model.enums.TorrentStatus;
+import com.sun.dionysus.service.torrent.TorrentJobService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for TorrentProgressAggregator.
+ */
+@ExtendWith(MockitoExtension.class)
+class TorrentProgressAggregatorTest {
+
+  @Mock
+  private TorrentJobService jobService;
+
+  @InjectMocks
+  private TorrentProgressAggregator aggregator;
+
+  @Test
+  void flush_coalescesReportsIntoOneBatchWithLatestSnapshotPerJob() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    aggregator.record(progress(first, 0.1));
+    aggregator.record(progress(first, 0.2));
+    aggregator.record(progress(first, 0.3));
+    aggregator.record(progress(second, 0.5));
+
+    aggregator.flush();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<TorrentJobProgress>> batch = ArgumentCaptor.forClass(Collection.class);
+    verify(jobService).updateProgress(batch.capture());
+    assertThat(batch.getValue())
+        .extracting(TorrentJobProgress::jobId, TorrentJobProgress::progress)
+        .containsExactlyInAnyOrder(
+            tuple(first, 0.3),
+            tuple(second, 0.5));
+  }
+
+  @Test
+  void flush_skipsWriteWhenNothingIsDirty() {
+    aggregator.flush();
+
+    verify(jobService, never()).updateProgress(any());
+  }
+
+  @Test
+  void flush_requeuesSnapshotsWhenWriteFails() {
+    UUID jobId = UUID.randomUUID();
+    aggregator.record(progress(jobId, 0.4));
+    doThrow(new IllegalStateException("db down")).when(jobService).updateProgress(any());
+
+    aggregator.flush();
+
+    List<Collection<TorrentJobProgress>> calls = new ArrayList<>();
+    doAnswer(inv -> {
+      calls.add(new ArrayList<>(inv.<Collection<TorrentJobProgress>>getArgument(0)));
+      return 1;
+    }).when(jobService).updateProgress(any());
+    aggregator.flush();
+
+    assertThat(calls).hasSize(1);
+    assertThat(calls.get(0)).extracting(TorrentJobProgress::jobId).containsExactly(jobId);
+  }
+
+  @Test
+  void record_tagsSnapshotsWithTrackedBucketAndPublishesOnFlush() {
+    TorrentJobEntity job = new TorrentJobEntity();
+    job.setId(UUID.randomUUID());
+    job.setBucket("media");
+    aggregator.track(job);
+    List<TorrentJobProgress> pushed = new ArrayList<>();
+    aggregator.updates().subscribe(pushed::add);
+
+    aggregator.record(progress(job.getId(), 0.7));
+    assertThat(pushed).isEmpty();
+    aggregator.flush();
+
+    assertThat(pushed).singleElement().satisfies(update -> {
+      assertThat(update.bucket()).isEqualTo("media");
+      assertThat(update.progress()).isEqualTo(0.7);
+    });
+    assertThat(aggregator.current(job.getId())).isPresent();
+  }
+
+  @Test
+  void statusChanged_dropsPendingReportOnceJobLeavesDownloading() {
+    TorrentJobEntity job = new TorrentJobEntity();
+    job.setId(UUID.randomUUID());
+    job.setBucket("media");
+    aggregator.record(progress(job.getId(), 0.9));
+    job.setStatus(TorrentStatus.CANCELLED);
+
+    aggregator.statusChanged(job);
+    aggregator.flush();
+
+    verify(jobService, never()).updateProgress(any());
+    assertThat(aggregator.current(job.getId())).isEmpty();
+  }
+
+  @Test
+  void record_ignoresLateReportAfterForget() {
+    UUID jobId = UUID.randomUUID();
+    aggregator.record(progress(jobId, 0.9));
+    aggregator.forget(jobId);
+
+    aggregator.record(progress(jobId, 0.95));
+    aggregator.flush();
+
+    verify(jobService, never()).updateProgress(any());
+    assertThat(aggregator.current(jobId)).isEmpty();
+  }
+
+  @Test
+  void track_resumesReportingForForgottenJob() {
+    TorrentJobEntity job = new TorrentJobEntity();
+    job.setId(UUID.randomUUID());
+    job.setBucket("media");
+    aggregator.forget(job.getId());
+
+    aggregator.track(job);
+    aggregator.record(progress(job.getId(), 0.2));
+
+    assertThat(aggregator.current(job.getId())).isPresent();
+  }
+
+  @Test
+  void pruneForgotten_dropsJobsOnceTheirWindowHasPassed() {
+    UUID jobId = UUID.randomUUID();
+    aggregator.forget(jobId);
+
+    aggregator.pruneForgotten(System.nanoTime());
+    aggregator.record(progress(jobId, 0.3));
+
+    assertThat(aggregator.current(jobId)).isEmpty();
+
+    aggregator.pruneForgotten(System.nanoTime() + TorrentProgressAggregator.FORGET_WINDOW.toNanos() + 1);
+    aggregator.record(progress(jobId, 0.4));
+
+    assertThat(aggregator.current(jobId)).isPresent();
+  }
+
+  private TorrentJobProgress progress(UUID jobId, double value) {
+    return new TorrentJobProgress(
+        jobId, null, TorrentStatus.DOWNLOADING, value, 1000L, (long) (value * 1000), null,
+        100, null, 4, null, null);
+  }
+}
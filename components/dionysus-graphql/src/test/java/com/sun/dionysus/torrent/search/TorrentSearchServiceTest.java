@@ -0,0 +1,195 @@
+package com.sun.dionysus.torrent.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TorrentSearchService against a fake Jackett server.
+ */
+class TorrentSearchServiceTest {
+
+    private HttpServer jackett;
+    private ExecutorService clients;
+
+    /**
+     * Requests served per indexer id.
+     */
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    /**
+     * Indexers whose responses are held until the latch is released.
+     */
+    private final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+
+    /**
+     * Indexers that answer with a server error.
+     */
+    private final Map<String, Boolean> failing = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jackett = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jackett.createContext("/api/v2.0/indexers/", this::handle);
+        jackett.setExecutor(Executors.newCachedThreadPool());
+        jackett.start();
+        clients = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gates.values().forEach(CountDownLatch::countDown);
+        jackett.stop(0);
+        clients.shutdownNow();
+    }
+
+    @Test
+    void search_servesEquivalentQueriesFromCache() {
+        TorrentSearchService service = service();
+
+        List<TorrentSearchResult> first = service.search("Big  Buck Bunny");
+        List<TorrentSearchResult> second = service.search("  big buck bunny ");
+
+        assertThat(first).extracting(TorrentSearchResult::getName).containsExactly("all-result");
+        assertThat(second).extracting(TorrentSearchResult::getName).containsExactly("all-result");
+        assertThat(hits.get("all")).hasValue(1);
+    }
+
+    @Test
+    void search_coalescesConcurrentIdenticalQueries() throws Exception {
+        TorrentSearchService service = service();
+        CountDownLatch gate = new CountDownLatch(1);
+        gates.put("all", gate);
+
+        List<Future<List<TorrentSearchResult>>> pending = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            pending.add(clients.submit(() -> service.search("ubuntu")));
+        }
+        awaitHits("all", 1);
+        TimeUnit.MILLISECONDS.sleep(100);
+        gate.countDown();
+
+        for (Future<List<TorrentSearchResult>> future : pending) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).hasSize(1);
+        }
+        assertThat(hits.get("all")).hasValue(1);
+    }
+
+    @Test
+    void search_doesNotCacheFailures() {
+        TorrentSearchService service = service();
+        failing.put("all", true);
+
+        assertThat(service.search("debian")).isEmpty();
+        failing.remove("all");
+        assertThat(service.search("debian")).hasSize(1);
+
+        assertThat(hits.get("all")).hasValue(2);
+    }
+
+    @Test
+    void searchStreaming_emitsFastIndexersBeforeSlowOnes() throws Exception {
+        TorrentSearchService service = service("slow", "fast");
+        CountDownLatch gate = new CountDownLatch(1);
+        gates.put("slow", gate);
+
+        List<TorrentSearchBatch> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        service.searchStreaming("arch").subscribe(batches::add, e -> done.countDown(), done::countDown);
+
+        awaitBatches(batches, 1);
+        assertThat(batches).extracting(TorrentSearchBatch::indexer).containsExactly("fast");
+        gate.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batches).extracting(TorrentSearchBatch::indexer).containsExactly("fast", "slow");
+        assertThat(batches.get(1).results()).extracting(TorrentSearchResult::getName)
+                .containsExactly("slow-result");
+    }
+
+    @Test
+    void search_isDisabledWithoutApiKey() {
+        TorrentSearchProperties properties = properties();
+        properties.setJackettApiKey("");
+
+        assertThat(new TorrentSearchService(properties).search("anything")).isEmpty();
+        assertThat(hits).isEmpty();
+    }
+
+    private TorrentSearchService service(String... indexers) {
+        TorrentSearchProperties properties = properties();
+        properties.setIndexers(List.of(indexers));
+        return new TorrentSearchService(properties);
+    }
+
+    private TorrentSearchProperties properties() {
+        TorrentSearchProperties properties = new TorrentSearchProperties();
+        properties.setJackettUrl("http://127.0.0.1:" + jackett.getAddress().getPort() + "/");
+        properties.setJackettApiKey("test-key");
+        return properties;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String indexer = path.substring("/api/v2.0/indexers/".length(), path.indexOf("/results"));
+        hits.computeIfAbsent(indexer, k -> new AtomicInteger()).incrementAndGet();
+        CountDownLatch gate = gates.get(indexer);
+        if (gate != null) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failing.containsKey(indexer)) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = ("{\"Results\":[{\"Title\":\"" + indexer + "-result\",\"Seeders\":5,\"Peers\":7,"
+                + "\"Size\":1048576,\"PublishDate\":\"2024-01-01T00:00:00\","
+                + "\"MagnetUri\":\"magnet:?xt=urn:btih:" + indexer + "\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void awaitHits(String indexer, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            AtomicInteger count = hits.get(indexer);
+            if (count != null && count.get() >= expected) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private void awaitBatches(List<TorrentSearchBatch> batches, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.size() < expected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.sun.dionysus.model;
+
+import com.sun.dionysus.model.enums.TorrentStatus;
+import java.util.UUID;
+
+/**
+ * A point-in-time snapshot of a torrent job's live transfer state. Snapshots are
+ * coalesced in memory per job and written back in batches, so a busy download
+ * costs one row update per flush rather than one transaction per alert.
+ *
+ * <p>The nullable fields are ones a reporter may not know; a null leaves the
+ * stored value unchanged.
+ */
+public record TorrentJobProgress(
+    UUID jobId,
+    String bucket,
+    TorrentStatus status,
+    double progress,
+    long totalBytes,
+    long downloadedBytes,
+    Long uploadedBytes,
+    Integer downloadRateBps,
+    Integer uploadRateBps,
+    Integer peersConnected,
+    Integer seedsConnected,
+    Long etaSeconds) {
+
+  /**
+   * Returns a copy tagged with the given bucket.
+   */
+  public TorrentJobProgress withBucket(String bucket) {
+    return new TorrentJobProgress(
+        jobId, bucket, status, progress, totalBytes, downloadedBytes, uploadedBytes,
+        downloadRateBps, uploadRateBps, peersConnected, seedsConnected, etaSeconds);
+  }
+
+  /**
+   * Returns a copy with the given status.
+   */
+  public TorrentJobProgress withStatus(TorrentStatus status) {
+    return new TorrentJobProgress(
+        jobId, bucket, status, progress, totalBytes, downloadedBytes, uploadedBytes,
+        downloadRateBps, uploadRateBps, peersConnected, seedsConnected, etaSeconds);
+  }
+}
@@ -3,6 +3,7 @@ package com.sun.dionysus.repository;
 import com.sun.base.repository.BaseRepository;
 import com.sun.dionysus.model.TorrentJobEntity;
 import com.sun.dionysus.model.enums.TorrentStatus;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -15,7 +16,8 @@ import org.springframework.stereotype.Repository;
  * Repository for TorrentJob entities.
  */
 @Repository
-public interface TorrentJobEntityRepository extends BaseRepository<TorrentJobEntity> {
+public interface TorrentJobEntityRepository
+    extends BaseRepository<TorrentJobEntity>, TorrentJobProgressRepository {
 
   List<TorrentJobEntity> findByStatusIn(Collection<TorrentStatus> statuses);
 
@@ -27,6 +29,8 @@ public interface TorrentJobEntityRepository extends BaseRepository<TorrentJobEnt
 
   List<TorrentJobEntity> findByBucketAndTargetKeyPath(String bucket, String targetKeyPath);
 
+  List<TorrentJobEntity> findByStatusAndLastUpdatedAtBefore(TorrentStatus status, LocalDateTime cutoff);
+
   @Modifying
   @Query("update TorrentJobEntity set status = :status where id = :id")
   void updateStatus(UUID id, TorrentStatus status);
@@ -0,0 +1,18 @@
+package com.sun.dionysus.repository;
+
+import com.sun.dionysus.model.TorrentJobProgress;
+import java.util.Collection;
+
+/**
+ * Repository fragment for bulk progress writes on torrent jobs.
+ */
+public interface TorrentJobProgressRepository {
+
+  /**
+   * Applies the given progress snapshots as a single JDBC batch. Only jobs still
+   * downloading are touched, so a late flush never overwrites a terminal status.
+   *
+   * @return the number of rows updated.
+   */
+  int batchUpdateProgress(Collection<TorrentJobProgress> snapshots);
+}
@@ -0,0 +1,75 @@
+package com.sun.dionysus.repository;
+
+import com.sun.dionysus.model.TorrentJobProgress;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC-backed implementation of {@link TorrentJobProgressRepository}. Progress
+ * columns are written directly so the batch never loads the job, its magnet
+ * detail or its file list into the persistence context.
+ */
+public class TorrentJobProgressRepositoryImpl implements TorrentJobProgressRepository {
+
+  private static final String UPDATE_PROGRESS_SQL = """
+      UPDATE dionysus_torrent_job
+      SET progress = ?,
+          totalBytes = CASE WHEN ? > 0 THEN ? ELSE totalBytes END,
+          downloadedBytes = ?,
+          uploadedBytes = COALESCE(?, uploadedBytes),
+          downloadRateBps = COALESCE(?, downloadRateBps),
+          uploadRateBps = COALESCE(?, uploadRateBps),
+          peersConnected = COALESCE(?, peersConnected),
+          seedsConnected = COALESCE(?, seedsConnected),
+          etaSeconds = COALESCE(?, etaSeconds),
+          status = CASE WHEN status IN ('QUEUED','METADATA') THEN 'DOWNLOADING' ELSE status END,
+          lastUpdatedAt = ?
+      WHERE id = ? AND status IN ('QUEUED','METADATA','DOWNLOADING','PAUSED')
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public TorrentJobProgressRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public int batchUpdateProgress(Collection<TorrentJobProgress> snapshots) {
+    if (snapshots.isEmpty()) {
+      return 0;
+    }
+    List<TorrentJobProgress> batch = new ArrayList<>(snapshots);
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    int[][] counts =
+        jdbcTemplate.batchUpdate(
+            UPDATE_PROGRESS_SQL,
+            batch,
+            batch.size(),
+            (ps, snapshot) -> {
+              ps.setDouble(1, snapshot.progress());
+              ps.setLong(2, snapshot.totalBytes());
+              ps.setLong(3, snapshot.totalBytes());
+              ps.setLong(4, snapshot.downloadedBytes());
+              ps.setObject(5, snapshot.uploadedBytes(), Types.BIGINT);
+              ps.setObject(6, snapshot.downloadRateBps(), Types.INTEGER);
+              ps.setObject(7, snapshot.uploadRateBps(), Types.INTEGER);
+              ps.setObject(8, snapshot.peersConnected(), Types.INTEGER);
+              ps.setObject(9, snapshot.seedsConnected(), Types.INTEGER);
+              ps.setObject(10, snapshot.etaSeconds(), Types.BIGINT);
+              ps.setTimestamp(11, now);
+              ps.setObject(12, snapshot.jobId());
+            });
+    int updated = 0;
+    for (int[] chunk : counts) {
+      for (int count : chunk) {
+        updated += Math.max(count, 0);
+      }
+    }
+    return updated;
+  }
+}
@@ -2,9 +2,11 @@ package com.sun.dionysus.service.torrent;
 
 import com.sun.base.service.BaseService;
 import com.sun.dionysus.model.TorrentJobEntity;
+import com.sun.dionysus.model.TorrentJobProgress;
 import com.sun.dionysus.model.enums.TorrentStatus;
 import com.sun.dionysus.repository.TorrentJobEntityRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
@@ -125,6 +127,23 @@ public class TorrentJobService extends BaseService<TorrentJobEntity> {
     jobRepository.updateStatus(id, status);
   }
 
+  /**
+   * Writes coalesced progress snapshots in one batch, skipping jobs that have
+   * since left the downloading states.
+   *
+   * @return the number of jobs updated.
+   */
+  public int updateProgress(Collection<TorrentJobProgress> snapshots) {
+    return jobRepository.batchUpdateProgress(snapshots);
+  }
+
+  /**
+   * Returns jobs that have sat in the given status since before the cutoff.
+   */
+  public List<TorrentJobEntity> findStaleInStatus(TorrentStatus status, LocalDateTime cutoff) {
+    return jobRepository.findByStatusAndLastUpdatedAtBefore(status, cutoff);
+  }
+
   /**
    * Marks the given jobs paused and records the pause time, used during a
    * graceful shutdown so they resume on the next startup.
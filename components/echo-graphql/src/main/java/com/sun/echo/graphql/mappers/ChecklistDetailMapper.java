@@ -1,7 +1,7 @@
 package com.sun.echo.graphql.mappers;
 
 import com.sun.echo.codegen.types.ChecklistDetail;
-import com.sun.echo.model.AbstractDetailEntity;
+import com.sun.echo.model.ChecklistDetailEntity;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,7 +16,7 @@ public class ChecklistDetailMapper {
    * @param entity the detail entity
    * @return the GraphQL ChecklistDetail
    */
-  public ChecklistDetail map(AbstractDetailEntity entity) {
+  public ChecklistDetail map(ChecklistDetailEntity entity) {
     return ChecklistDetail.newBuilder()
         .ownerId(entity.getOwnerId().toString())
         .description(entity.getDescription())
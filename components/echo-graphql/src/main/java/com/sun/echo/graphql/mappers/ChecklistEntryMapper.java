@@ -3,6 +3,7 @@ package com.sun.echo.graphql.mappers;
 import java.time.ZoneOffset;
 import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.ChecklistEntryInput;
+import com.sun.echo.codegen.types.ChecklistProgress;
 import com.sun.echo.model.ChecklistEntryEntity;
 import com.sun.echo.model.enums.ChecklistStatus;
 import org.springframework.stereotype.Component;
@@ -26,11 +27,31 @@ public class ChecklistEntryMapper {
         .dueAt(entity.getDueAt() == null ? null : entity.getDueAt().atOffset(ZoneOffset.UTC))
         .completedAt(entity.getCompletedAt() == null ? null : entity.getCompletedAt().atOffset(ZoneOffset.UTC))
         .status(entity.getStatus() == null ? null : entity.getStatus().name())
+        .progress(progress(entity))
         .createdAt(entity.getCreatedAt() == null ? null : entity.getCreatedAt().atOffset(ZoneOffset.UTC))
         .updatedAt(entity.getLastUpdatedAt() == null ? null : entity.getLastUpdatedAt().atOffset(ZoneOffset.UTC))
         .build();
   }
 
+  /**
+   * Maps an entry's progress counters.
+   *
+   * @param entity the checklist entry entity
+   * @return the GraphQL ChecklistProgress
+   */
+  public ChecklistProgress progress(ChecklistEntryEntity entity) {
+    int total = entity.getItemCount();
+    int done = entity.getCompleteCount() + entity.getNotNeededCount();
+    return ChecklistProgress.newBuilder()
+        .total(total)
+        .complete(entity.getCompleteCount())
+        .failed(entity.getFailedCount())
+        .notNeeded(entity.getNotNeededCount())
+        .notStarted(total - done - entity.getFailedCount())
+        .percentComplete(total == 0 ? 0.0 : done * 100.0 / total)
+        .build();
+  }
+
   /**
    * Applies the input fields to the entity, for create or update.
    *
@@ -2,11 +2,16 @@ package com.sun.echo.graphql.resolvers;
 
 import com.netflix.graphql.dgs.DgsComponent;
 import com.netflix.graphql.dgs.DgsData;
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
+import com.sun.echo.codegen.types.ChecklistDetail;
+import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.QueryResult;
 import com.sun.echo.codegen.types.RemoteObjectReference;
 import com.sun.echo.codegen.types.RemoteObjectType;
 import com.sun.echo.graphql.services.ChecklistDetailGraphQLService;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.DataLoader;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 /**
@@ -33,6 +38,22 @@ public class ChecklistDetailDataFetcher {
     return checklistDetailGraphQLService.locateRemoteObjects(ids);
   }
 
+  /**
+   * Resolves an entry's detail through the checklistEntryDetails DataLoader,
+   * so a page of entries costs one detail query.
+   *
+   * @param env the data fetching environment; its source is the entry
+   * @return the ChecklistDetail, or null if the entry has none
+   */
+  @DgsData(parentType = "ChecklistEntry", field = "detail")
+  @PreAuthorize("@permissions.has('graphql.echo.entryDetails')")
+  public CompletableFuture<ChecklistDetail> entryDetail(DgsDataFetchingEnvironment env) {
+    ChecklistEntry source = env.getSource();
+    DataLoader<String, ChecklistDetail> loader =
+        env.getDataLoader(ChecklistEntryDetailDataLoader.NAME);
+    return loader.load(source.getId());
+  }
+
   /**
    * Attaches a foreign object to a checklist detail.
    *
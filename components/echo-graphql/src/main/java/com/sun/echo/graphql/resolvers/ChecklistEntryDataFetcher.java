@@ -5,6 +5,7 @@ import com.netflix.graphql.dgs.DgsData;
 import com.sun.echo.codegen.types.ChecklistDetail;
 import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.ChecklistEntryInput;
+import com.sun.echo.codegen.types.PagedChecklistEntries;
 import com.sun.echo.codegen.types.PagedChecklistEntryItems;
 import com.sun.echo.codegen.types.PaginationInput;
 import com.sun.echo.codegen.types.QueryResult;
@@ -62,6 +63,18 @@ public class ChecklistEntryDataFetcher {
     return checklistEntryGraphQLService.entryItems(entryId, pagination);
   }
 
+  /**
+   * Lists a page of checklist entries with their progress.
+   *
+   * @param pagination the pagination, sort and filter input
+   * @return a page of ChecklistEntry objects
+   */
+  @DgsData(parentType = "ChecklistQueries", field = "entries")
+  @PreAuthorize("@permissions.has('graphql.echo.entries')")
+  public PagedChecklistEntries entries(PaginationInput pagination) {
+    return checklistEntryGraphQLService.entries(pagination);
+  }
+
   /**
    * Lists all checklist entries.
    *
@@ -110,6 +123,19 @@ public class ChecklistEntryDataFetcher {
     return checklistEntryGraphQLService.createChecklistFromTemplates(templateIds, name);
   }
 
+  /**
+   * Creates one checklist entry per name from the same template.
+   *
+   * @param templateId the template id
+   * @param names the entry names
+   * @return a QueryResult per created entry
+   */
+  @DgsData(parentType = "ChecklistMutations", field = "createChecklistsFromTemplate")
+  @PreAuthorize("@permissions.has('graphql.echo.createChecklistsFromTemplate')")
+  public List<QueryResult> createChecklistsFromTemplate(String templateId, List<String> names) {
+    return checklistEntryGraphQLService.createChecklistsFromTemplate(templateId, names);
+  }
+
   /**
    * Creates or updates a checklist entry from input.
    *
@@ -0,0 +1,32 @@
+package com.sun.echo.graphql.resolvers;
+
+import com.netflix.graphql.dgs.DgsDataLoader;
+import com.sun.echo.codegen.types.ChecklistDetail;
+import com.sun.echo.graphql.services.ChecklistDetailGraphQLService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.MappedBatchLoader;
+
+/**
+ * Batch-resolves ChecklistEntry.detail: every entry in a GraphQL request that
+ * asks for its detail is served by one keyed query on the unified detail
+ * table. Entries without a detail are simply absent from the result and
+ * resolve to null.
+ */
+@DgsDataLoader(name = ChecklistEntryDetailDataLoader.NAME)
+public class ChecklistEntryDetailDataLoader implements MappedBatchLoader<String, ChecklistDetail> {
+
+  public static final String NAME = "checklistEntryDetails";
+
+  private final ChecklistDetailGraphQLService checklistDetailGraphQLService;
+
+  public ChecklistEntryDetailDataLoader(ChecklistDetailGraphQLService checklistDetailGraphQLService) {
+    this.checklistDetailGraphQLService = checklistDetailGraphQLService;
+  }
+
+  @Override
+  public CompletableFuture<Map<String, ChecklistDetail>> load(Set<String> entryIds) {
+    return CompletableFuture.completedFuture(checklistDetailGraphQLService.entryDetails(entryIds));
+  }
+}
@@ -1,12 +1,18 @@
 package com.sun.echo.graphql.services;
 
+import com.sun.echo.codegen.types.ChecklistDetail;
 import com.sun.echo.codegen.types.QueryResult;
 import com.sun.echo.codegen.types.QuerySuccess;
 import com.sun.echo.codegen.types.RemoteObjectReference;
 import com.sun.echo.codegen.types.RemoteObjectType;
 import com.sun.echo.codegen.types.StandardError;
+import com.sun.echo.graphql.mappers.ChecklistDetailMapper;
+import com.sun.echo.model.enums.DetailOwnerType;
 import com.sun.echo.service.ChecklistDetailService;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -24,9 +30,12 @@ public class ChecklistDetailGraphQLService {
   private static final Logger logger = LoggerFactory.getLogger(ChecklistDetailGraphQLService.class);
 
   private final ChecklistDetailService detailService;
+  private final ChecklistDetailMapper detailMapper;
 
-  public ChecklistDetailGraphQLService(ChecklistDetailService detailService) {
+  public ChecklistDetailGraphQLService(ChecklistDetailService detailService,
+      ChecklistDetailMapper detailMapper) {
     this.detailService = detailService;
+    this.detailMapper = detailMapper;
   }
 
   /**
@@ -48,6 +57,22 @@ public class ChecklistDetailGraphQLService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Loads the details of many entries in one query.
+   *
+   * @param entryIds the entry ids
+   * @return the GraphQL ChecklistDetails keyed by entry id; entries without
+   *     a detail are absent
+   */
+  @Transactional(readOnly = true)
+  public Map<String, ChecklistDetail> entryDetails(Collection<String> entryIds) {
+    Map<String, ChecklistDetail> byEntry = new HashMap<>();
+    detailService.findDetails(DetailOwnerType.ENTRY,
+            entryIds.stream().map(UUID::fromString).toList())
+        .forEach((ownerId, detail) -> byEntry.put(ownerId.toString(), detailMapper.map(detail)));
+    return byEntry;
+  }
+
   /**
    * Attaches a foreign object to an owner's detail.
    *
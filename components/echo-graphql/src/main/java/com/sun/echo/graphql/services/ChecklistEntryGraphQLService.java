@@ -1,9 +1,12 @@
 package com.sun.echo.graphql.services;
 
+import com.sun.base.util.FilterSpec;
+import com.sun.base.util.GraphQLSupport;
 import com.sun.echo.codegen.types.ChecklistDetail;
 import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.ChecklistEntryInput;
 import com.sun.echo.codegen.types.ChecklistEntryItem;
+import com.sun.echo.codegen.types.PagedChecklistEntries;
 import com.sun.echo.codegen.types.PagedChecklistEntryItems;
 import com.sun.echo.codegen.types.PaginationInput;
 import com.sun.echo.codegen.types.QueryResult;
@@ -79,6 +82,26 @@ public class ChecklistEntryGraphQLService {
     return detailService.findEntryDetail(UUID.fromString(id)).map(detailMapper::map).orElse(null);
   }
 
+  /**
+   * Lists a page of checklist entries with their progress, newest first by
+   * default. Filters come from the pagination input.
+   *
+   * @param pagination the pagination, sort and filter input
+   * @return a page of entries
+   */
+  @Transactional(readOnly = true)
+  public PagedChecklistEntries entries(PaginationInput pagination) {
+    List<FilterSpec> filters = GraphQLSupport.toFilterSpecs(
+        pagination == null ? null : pagination.getFilters(),
+        f -> new FilterSpec(f.getField(), f.getOperator().name(), f.getValue()));
+    Page<ChecklistEntryEntity> result = entryService.listPaged(filters,
+        EchoGraphQLSupport.toPageable(pagination, "createdAt", Sort.Direction.DESC));
+    return PagedChecklistEntries.newBuilder()
+        .items(result.getContent().stream().map(entryMapper::map).toList())
+        .pageInfo(EchoGraphQLSupport.pageInfo(result))
+        .build();
+  }
+
   /**
    * Lists every checklist entry.
    *
@@ -149,6 +172,35 @@ public class ChecklistEntryGraphQLService {
             templateIds.stream().map(UUID::fromString).collect(Collectors.toList()), name).getId());
   }
 
+  /**
+   * Creates one checklist entry per name from the same template. A blank or
+   * null name falls back to the template's name.
+   *
+   * @param templateId the template id
+   * @param names the entry names
+   * @return a QuerySuccess per created entry, or a single StandardError
+   */
+  @Transactional
+  public List<QueryResult> createChecklistsFromTemplate(String templateId, List<String> names) {
+    String op = "createChecklistsFromTemplate";
+    try {
+      List<ChecklistEntryEntity> created =
+          entryService.createManyFromTemplate(UUID.fromString(templateId), names);
+      logger.info("{} succeeded for {} entries", op, created.size());
+      return created.stream()
+          .<QueryResult>map(e -> QuerySuccess.newBuilder()
+              .message(op + " succeeded")
+              .id(e.getId().toString())
+              .build())
+          .toList();
+    } catch (Exception e) {
+      logger.error("{} failed", op, e);
+      return List.of(StandardError.newBuilder()
+          .message(op + " failed: " + e.getMessage())
+          .build());
+    }
+  }
+
   /**
    * Creates or updates a checklist entry from input.
    *
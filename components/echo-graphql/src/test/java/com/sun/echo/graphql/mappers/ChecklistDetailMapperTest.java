@@ -3,7 +3,7 @@ package com.sun.echo.graphql.mappers;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sun.echo.codegen.types.ChecklistDetail;
-import com.sun.echo.model.ChecklistEntryDetailEntity;
+import com.sun.echo.model.ChecklistDetailEntity;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -20,7 +20,7 @@ class ChecklistDetailMapperTest {
     UUID ownerId = UUID.randomUUID();
     List<String> remoteObjects = List.of("obj-1", "obj-2");
 
-    ChecklistEntryDetailEntity entity = new ChecklistEntryDetailEntity();
+    ChecklistDetailEntity entity = new ChecklistDetailEntity();
     entity.setOwnerId(ownerId);
     entity.setDescription("Detail notes");
     entity.setRemoteObject(remoteObjects);
@@ -36,7 +36,7 @@ class ChecklistDetailMapperTest {
   void map_entityWithNullRemoteObjects() {
     UUID ownerId = UUID.randomUUID();
 
-    ChecklistEntryDetailEntity entity = new ChecklistEntryDetailEntity();
+    ChecklistDetailEntity entity = new ChecklistDetailEntity();
     entity.setOwnerId(ownerId);
     entity.setDescription("No remotes");
     entity.setRemoteObject(null);
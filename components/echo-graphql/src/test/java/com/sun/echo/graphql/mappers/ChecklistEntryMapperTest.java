@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.ChecklistEntryInput;
+import com.sun.echo.codegen.types.ChecklistProgress;
 import com.sun.echo.model.ChecklistEntryEntity;
 import com.sun.echo.model.enums.ChecklistStatus;
 import java.time.LocalDateTime;
@@ -47,6 +48,33 @@ class ChecklistEntryMapperTest {
     assertThat(result.getUpdatedAt()).isEqualTo(updatedAt.atOffset(ZoneOffset.UTC));
   }
 
+  @Test
+  void map_progressFromCounters() {
+    ChecklistEntryEntity entity = new ChecklistEntryEntity();
+    entity.setId(UUID.randomUUID());
+    entity.setItemCount(8);
+    entity.setCompleteCount(3);
+    entity.setFailedCount(1);
+    entity.setNotNeededCount(1);
+
+    ChecklistProgress progress = mapper.map(entity).getProgress();
+
+    assertThat(progress.getTotal()).isEqualTo(8);
+    assertThat(progress.getComplete()).isEqualTo(3);
+    assertThat(progress.getFailed()).isEqualTo(1);
+    assertThat(progress.getNotNeeded()).isEqualTo(1);
+    assertThat(progress.getNotStarted()).isEqualTo(3);
+    assertThat(progress.getPercentComplete()).isEqualTo(50.0);
+  }
+
+  @Test
+  void map_progressOfEmptyEntryIsZero() {
+    ChecklistEntryEntity entity = new ChecklistEntryEntity();
+    entity.setId(UUID.randomUUID());
+
+    assertThat(mapper.map(entity).getProgress().getPercentComplete()).isZero();
+  }
+
   @Test
   void map_inputMergesOntoEntity() {
     OffsetDateTime dueAt = OffsetDateTime.now(ZoneOffset.UTC);
@@ -1,15 +1,22 @@
 package com.sun.echo.graphql.resolvers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.netflix.graphql.dgs.DgsDataFetchingEnvironment;
+import com.sun.echo.codegen.types.ChecklistDetail;
+import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.QuerySuccess;
 import com.sun.echo.codegen.types.RemoteObjectReference;
 import com.sun.echo.codegen.types.RemoteObjectType;
 import com.sun.echo.graphql.services.ChecklistDetailGraphQLService;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.DataLoader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -35,6 +42,23 @@ class ChecklistDetailDataFetcherTest {
     verify(checklistDetailGraphQLService).locateRemoteObjects(ids);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void entryDetail_loadsViaDataLoader() throws Exception {
+    String entryId = UUID.randomUUID().toString();
+    ChecklistDetail detail = ChecklistDetail.newBuilder().ownerId(entryId).build();
+    DataLoader<String, ChecklistDetail> loader = mock(DataLoader.class);
+    when(loader.load(entryId)).thenReturn(CompletableFuture.completedFuture(detail));
+    DgsDataFetchingEnvironment env = mock(DgsDataFetchingEnvironment.class);
+    when(env.getSource()).thenReturn(ChecklistEntry.newBuilder().id(entryId).build());
+    doReturn(loader).when(env).getDataLoader(ChecklistEntryDetailDataLoader.NAME);
+
+    CompletableFuture<ChecklistDetail> result = fetcher.entryDetail(env);
+
+    assertThat(result.get()).isEqualTo(detail);
+    verify(loader).load(entryId);
+  }
+
   @Test
   void attachObject_delegatesToService() {
     String source = UUID.randomUUID().toString();
@@ -7,8 +7,10 @@ import static org.mockito.Mockito.when;
 import com.sun.echo.codegen.types.ChecklistDetail;
 import com.sun.echo.codegen.types.ChecklistEntry;
 import com.sun.echo.codegen.types.ChecklistEntryInput;
+import com.sun.echo.codegen.types.PagedChecklistEntries;
 import com.sun.echo.codegen.types.PagedChecklistEntryItems;
 import com.sun.echo.codegen.types.PaginationInput;
+import com.sun.echo.codegen.types.QueryResult;
 import com.sun.echo.codegen.types.QuerySuccess;
 import com.sun.echo.graphql.services.ChecklistEntryGraphQLService;
 import com.sun.echo.model.enums.ItemStatus;
@@ -63,6 +65,18 @@ class ChecklistEntryDataFetcherTest {
     verify(checklistEntryGraphQLService).entryItems(entryId, pagination);
   }
 
+  @Test
+  void entries_delegatesToService() {
+    PaginationInput pagination = PaginationInput.newBuilder().page(0).size(20).build();
+    PagedChecklistEntries expected = PagedChecklistEntries.newBuilder().items(List.of()).build();
+    when(checklistEntryGraphQLService.entries(pagination)).thenReturn(expected);
+
+    var result = fetcher.entries(pagination);
+
+    assertThat(result).isEqualTo(expected);
+    verify(checklistEntryGraphQLService).entries(pagination);
+  }
+
   @Test
   void listEntries_delegatesToService() {
     List<ChecklistEntry> expected = List.of(ChecklistEntry.newBuilder().id(UUID.randomUUID().toString()).name("e").build());
@@ -109,6 +123,18 @@ class ChecklistEntryDataFetcherTest {
     verify(checklistEntryGraphQLService).createChecklistFromTemplates(ids, "n");
   }
 
+  @Test
+  void createChecklistsFromTemplate_delegatesToService() {
+    String templateId = UUID.randomUUID().toString();
+    List<QueryResult> expected = List.of(QuerySuccess.newBuilder().message("createChecklistsFromTemplate succeeded").id(UUID.randomUUID().toString()).build());
+    when(checklistEntryGraphQLService.createChecklistsFromTemplate(templateId, List.of("a"))).thenReturn(expected);
+
+    var result = fetcher.createChecklistsFromTemplate(templateId, List.of("a"));
+
+    assertThat(result).isEqualTo(expected);
+    verify(checklistEntryGraphQLService).createChecklistsFromTemplate(templateId, List.of("a"));
+  }
+
   @Test
   void saveChecklist_delegatesToService() {
     ChecklistEntryInput input = ChecklistEntryInput.newBuilder().name("e").build();
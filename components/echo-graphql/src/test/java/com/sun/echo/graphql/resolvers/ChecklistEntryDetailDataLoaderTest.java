@@ -0,0 +1,34 @@
+package com.sun.echo.graphql.resolvers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.echo.codegen.types.ChecklistDetail;
+import com.sun.echo.graphql.services.ChecklistDetailGraphQLService;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ChecklistEntryDetailDataLoaderTest {
+
+  @Mock private ChecklistDetailGraphQLService checklistDetailGraphQLService;
+  @InjectMocks private ChecklistEntryDetailDataLoader loader;
+
+  @Test
+  void load_resolvesTheWholeBatchInOneCall() throws Exception {
+    Set<String> ids = Set.of("e1", "e2", "e3");
+    ChecklistDetail detail = ChecklistDetail.newBuilder().ownerId("e1").build();
+    when(checklistDetailGraphQLService.entryDetails(ids)).thenReturn(Map.of("e1", detail));
+
+    Map<String, ChecklistDetail> result = loader.load(ids).get();
+
+    assertThat(result).containsExactly(Map.entry("e1", detail));
+    verify(checklistDetailGraphQLService).entryDetails(ids);
+  }
+}
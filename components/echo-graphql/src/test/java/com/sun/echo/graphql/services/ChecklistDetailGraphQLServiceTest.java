@@ -1,15 +1,22 @@
 package com.sun.echo.graphql.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.sun.echo.codegen.types.ChecklistDetail;
 import com.sun.echo.codegen.types.QueryResult;
 import com.sun.echo.codegen.types.QuerySuccess;
 import com.sun.echo.codegen.types.RemoteObjectReference;
 import com.sun.echo.codegen.types.RemoteObjectType;
+import com.sun.echo.graphql.mappers.ChecklistDetailMapper;
+import com.sun.echo.model.ChecklistDetailEntity;
+import com.sun.echo.model.enums.DetailOwnerType;
 import com.sun.echo.service.ChecklistDetailService;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +28,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class ChecklistDetailGraphQLServiceTest {
 
   @Mock private ChecklistDetailService detailService;
+  @Mock private ChecklistDetailMapper detailMapper;
 
   @InjectMocks private ChecklistDetailGraphQLService service;
 
@@ -42,6 +50,24 @@ class ChecklistDetailGraphQLServiceTest {
     verify(detailService).locateRemoteObjects(ids);
   }
 
+  @Test
+  void entryDetails_loadsAllEntriesInOneCall() {
+    UUID withDetail = UUID.randomUUID();
+    UUID withoutDetail = UUID.randomUUID();
+    ChecklistDetailEntity entity = new ChecklistDetailEntity();
+    entity.setOwnerId(withDetail);
+    when(detailService.findDetails(eq(DetailOwnerType.ENTRY), any()))
+        .thenReturn(Map.of(withDetail, entity));
+    ChecklistDetail mapped = ChecklistDetail.newBuilder().ownerId(withDetail.toString()).build();
+    when(detailMapper.map(entity)).thenReturn(mapped);
+
+    Map<String, ChecklistDetail> result =
+        service.entryDetails(List.of(withDetail.toString(), withoutDetail.toString()));
+
+    assertThat(result).containsExactly(Map.entry(withDetail.toString(), mapped));
+    verify(detailService).findDetails(DetailOwnerType.ENTRY, List.of(withDetail, withoutDetail));
+  }
+
   @Test
   void attachObject_delegatesToService() {
     UUID source = UUID.randomUUID();
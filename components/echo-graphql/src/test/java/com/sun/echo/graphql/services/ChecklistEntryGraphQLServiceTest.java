@@ -2,12 +2,19 @@ package com.sun.echo.graphql.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.sun.base.util.FilterSpec;
 import com.sun.echo.codegen.types.ChecklistEntry;
+import com.sun.echo.codegen.types.FilterInput;
+import com.sun.echo.codegen.types.FilterOperator;
+import com.sun.echo.codegen.types.PagedChecklistEntries;
+import com.sun.echo.codegen.types.PaginationInput;
 import com.sun.echo.codegen.types.QueryResult;
 import com.sun.echo.codegen.types.QuerySuccess;
+import com.sun.echo.codegen.types.StandardError;
 import com.sun.echo.graphql.mappers.ChecklistDetailMapper;
 import com.sun.echo.graphql.mappers.ChecklistEntryItemMapper;
 import com.sun.echo.graphql.mappers.ChecklistEntryMapper;
@@ -20,9 +27,13 @@ import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class ChecklistEntryGraphQLServiceTest {
@@ -51,6 +62,33 @@ class ChecklistEntryGraphQLServiceTest {
     verify(entryService).locate(id);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void entries_pagesWithFiltersAndMapsProgress() {
+    ChecklistEntryEntity entity = new ChecklistEntryEntity();
+    entity.setId(UUID.randomUUID());
+    PaginationInput pagination = PaginationInput.newBuilder()
+        .page(0).size(10)
+        .filters(List.of(FilterInput.newBuilder()
+            .field("status").operator(FilterOperator.EQUALS).value("ACTIVE").build()))
+        .build();
+    when(entryService.listPaged(any(), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 10), 1));
+    ChecklistEntry mapped = ChecklistEntry.newBuilder().id(entity.getId().toString()).build();
+    when(entryMapper.map(entity)).thenReturn(mapped);
+
+    PagedChecklistEntries result = service.entries(pagination);
+
+    assertThat(result.getItems()).containsExactly(mapped);
+    assertThat(result.getPageInfo().getTotalCount()).isEqualTo(1);
+    ArgumentCaptor<List<FilterSpec>> filters = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+    verify(entryService).listPaged(filters.capture(), pageable.capture());
+    assertThat(filters.getValue()).containsExactly(new FilterSpec("status", "EQUALS", "ACTIVE"));
+    assertThat(pageable.getValue().getPageSize()).isEqualTo(10);
+    verify(entryService, never()).findAll();
+  }
+
   @Test
   void createChecklist_savesAndReturnsSuccess() {
     ChecklistEntryEntity saved = new ChecklistEntryEntity();
@@ -64,6 +102,33 @@ class ChecklistEntryGraphQLServiceTest {
     verify(entryService).save(any(ChecklistEntryEntity.class));
   }
 
+  @Test
+  void createChecklistsFromTemplate_returnsOneSuccessPerEntry() {
+    UUID templateId = UUID.randomUUID();
+    ChecklistEntryEntity first = new ChecklistEntryEntity();
+    first.setId(UUID.randomUUID());
+    ChecklistEntryEntity second = new ChecklistEntryEntity();
+    second.setId(UUID.randomUUID());
+    when(entryService.createManyFromTemplate(templateId, List.of("a", "b")))
+        .thenReturn(List.of(first, second));
+
+    List<QueryResult> result = service.createChecklistsFromTemplate(templateId.toString(), List.of("a", "b"));
+
+    assertThat(result).extracting(r -> ((QuerySuccess) r).getId())
+        .containsExactly(first.getId().toString(), second.getId().toString());
+  }
+
+  @Test
+  void createChecklistsFromTemplate_returnsSingleErrorOnFailure() {
+    UUID templateId = UUID.randomUUID();
+    when(entryService.createManyFromTemplate(templateId, List.of("a")))
+        .thenThrow(new IllegalStateException("boom"));
+
+    List<QueryResult> result = service.createChecklistsFromTemplate(templateId.toString(), List.of("a"));
+
+    assertThat(result).singleElement().isInstanceOf(StandardError.class);
+  }
+
   @Test
   void completeChecklist_delegatesToService() {
     UUID id = UUID.randomUUID();
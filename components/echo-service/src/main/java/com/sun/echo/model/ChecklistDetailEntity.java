@@ -0,0 +1,86 @@
+package com.sun.echo.model;
+
+import com.sun.base.model.BaseEntity;
+import com.sun.base.model.RemoteObjectOwner;
+import com.sun.base.model.RemoteObjectRefListener;
+import com.sun.echo.model.enums.DetailOwnerType;
+import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Type;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Detail object for a checklist entry, template or item: a 1:1 sidecar
+ * carrying a free-text description and a list of cross-component
+ * remote-object references (blog posts, gallery items, image key-details,
+ * ...).
+ *
+ * All three owner kinds share one table, told apart by ownerType, so a
+ * detail is found by one keyed lookup on owner_id whether or not the caller
+ * knows what it belongs to. The {@code remote_object} column name is fixed
+ * explicitly so native queries match Hibernate's physical column.
+ */
+@Entity
+@EntityListeners(RemoteObjectRefListener.class)
+@Table(
+    name = "echo_checklist_details",
+    uniqueConstraints = @UniqueConstraint(
+        name = "echo_checklist_details_owner_unique",
+        columnNames = {"owner_type", "owner_id"}),
+    indexes = @Index(name = "idx_echo_checklist_details_owner_id", columnList = "owner_id"))
+public class ChecklistDetailEntity extends BaseEntity implements RemoteObjectOwner {
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "owner_type", nullable = false)
+  private DetailOwnerType ownerType;
+
+  @Column(name = "owner_id", nullable = false)
+  private UUID ownerId;
+
+  @Column(columnDefinition = "text")
+  private String description;
+
+  @Type(JsonBinaryType.class)
+  @Column(name = "remote_object", columnDefinition = "jsonb")
+  private List<String> remoteObject;
+
+  public DetailOwnerType getOwnerType() {
+    return ownerType;
+  }
+
+  public void setOwnerType(DetailOwnerType ownerType) {
+    this.ownerType = ownerType;
+  }
+
+  public UUID getOwnerId() {
+    return ownerId;
+  }
+
+  public void setOwnerId(UUID ownerId) {
+    this.ownerId = ownerId;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public List<String> getRemoteObject() {
+    return remoteObject;
+  }
+
+  public void setRemoteObject(List<String> remoteObject) {
+    this.remoteObject = remoteObject;
+  }
+}
@@ -9,6 +9,14 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
+/**
+ * A dated checklist instance. Besides its own fields it carries progress
+ * counters over its items, kept current by ChecklistEntryItemService and the
+ * template instantiation paths so listings never have to read the items.
+ * The counters are written only on insert and through
+ * ChecklistEntryRepository.adjustProgress, so saving a stale entity can
+ * not overwrite a concurrent adjustment.
+ */
 @Entity
 @Table(name = "echo_checklist_entries")
 public class ChecklistEntryEntity extends BaseEntity {
@@ -26,6 +34,22 @@ public class ChecklistEntryEntity extends BaseEntity {
   @Column(name = "status", nullable = false)
   private ChecklistStatus status = ChecklistStatus.ACTIVE;
 
+  @Column(name = "item_count", nullable = false, updatable = false,
+      columnDefinition = "integer default 0")
+  private int itemCount;
+
+  @Column(name = "complete_count", nullable = false, updatable = false,
+      columnDefinition = "integer default 0")
+  private int completeCount;
+
+  @Column(name = "failed_count", nullable = false, updatable = false,
+      columnDefinition = "integer default 0")
+  private int failedCount;
+
+  @Column(name = "not_needed_count", nullable = false, updatable = false,
+      columnDefinition = "integer default 0")
+  private int notNeededCount;
+
   public String getName() {
     return name;
   }
@@ -57,4 +81,36 @@ public class ChecklistEntryEntity extends BaseEntity {
   public void setStatus(ChecklistStatus status) {
     this.status = status;
   }
+
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  public void setItemCount(int itemCount) {
+    this.itemCount = itemCount;
+  }
+
+  public int getCompleteCount() {
+    return completeCount;
+  }
+
+  public void setCompleteCount(int completeCount) {
+    this.completeCount = completeCount;
+  }
+
+  public int getFailedCount() {
+    return failedCount;
+  }
+
+  public void setFailedCount(int failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  public int getNotNeededCount() {
+    return notNeededCount;
+  }
+
+  public void setNotNeededCount(int notNeededCount) {
+    this.notNeededCount = notNeededCount;
+  }
 }
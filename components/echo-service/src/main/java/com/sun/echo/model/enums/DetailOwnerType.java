@@ -0,0 +1,10 @@
+package com.sun.echo.model.enums;
+
+/**
+ * The kind of checklist entity a detail belongs to.
+ */
+public enum DetailOwnerType {
+  ENTRY,
+  TEMPLATE,
+  ITEM
+}
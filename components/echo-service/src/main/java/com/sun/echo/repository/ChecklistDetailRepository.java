@@ -0,0 +1,29 @@
+package com.sun.echo.repository;
+
+import com.sun.base.repository.BaseRepository;
+import com.sun.base.repository.RemoteObjectRefRepository;
+import com.sun.echo.model.ChecklistDetailEntity;
+import com.sun.echo.model.enums.DetailOwnerType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ChecklistDetailRepository
+    extends BaseRepository<ChecklistDetailEntity>, RemoteObjectRefRepository {
+
+  Optional<ChecklistDetailEntity> findByOwnerTypeAndOwnerId(DetailOwnerType ownerType, UUID ownerId);
+
+  List<ChecklistDetailEntity> findByOwnerTypeAndOwnerIdIn(DetailOwnerType ownerType,
+      Collection<UUID> ownerIds);
+
+  /**
+   * Finds a detail by owner id alone. Owner ids are UUIDs of distinct rows,
+   * so at most one owner type matches in practice.
+   */
+  Optional<ChecklistDetailEntity> findFirstByOwnerId(UUID ownerId);
+
+  default List<ChecklistDetailEntity> findByRemoteObjectsIn(Collection<String> ids) {
+    return findByRemoteObjectRefs(ChecklistDetailEntity.class, ids);
+  }
+}
@@ -2,9 +2,13 @@ package com.sun.echo.repository;
 
 import com.sun.base.repository.BaseRepository;
 import com.sun.echo.model.ChecklistEntryItemEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +21,13 @@ public interface ChecklistEntryItemRepository extends BaseRepository<ChecklistEn
 
   Optional<ChecklistEntryItemEntity> findByEntryIdAndItemId(UUID entryId, UUID itemId);
 
+  /**
+   * Locates an entry item and locks its row, so status changes that adjust
+   * the entry's progress counters read the status they replace exactly once.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<ChecklistEntryItemEntity> findForUpdateByEntryIdAndItemId(UUID entryId, UUID itemId);
+
   int deleteByEntryIdAndItemId(UUID entryId, UUID itemId);
 
   int deleteByEntryId(UUID entryId);
@@ -24,4 +35,28 @@ public interface ChecklistEntryItemRepository extends BaseRepository<ChecklistEn
   @Query(value = "SELECT COALESCE(MAX(position), -1) FROM echo_checklist_entry_items WHERE entry_id = ?1",
       nativeQuery = true)
   Integer findMaxPositionByEntryId(UUID entryId);
+
+  /**
+   * Copies every item of a template into an entry as NOT_STARTED, keeping
+   * the template positions, in a single INSERT ... SELECT. The audit
+   * timestamp columns are named after BaseEntity's fields (unquoted, as
+   * Hibernate creates them).
+   *
+   * @param entryId the entry to fill
+   * @param templateId the template to copy from
+   * @param userId the acting user as text, or null; stamped as creator
+   * @return the number of entry items inserted
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO echo_checklist_entry_items
+          (id, entry_id, item_id, status, position,
+           createdAt, lastUpdatedAt, created_by, last_updated_by)
+      SELECT gen_random_uuid(), :entryId, ti.item_id, 'NOT_STARTED', ti.position,
+             localtimestamp, localtimestamp, CAST(:userId AS uuid), CAST(:userId AS uuid)
+      FROM echo_checklist_template_items ti
+      WHERE ti.template_id = :templateId
+      """, nativeQuery = true)
+  int insertFromTemplate(@Param("entryId") UUID entryId, @Param("templateId") UUID templateId,
+      @Param("userId") String userId);
 }
@@ -2,6 +2,37 @@ package com.sun.echo.repository;
 
 import com.sun.base.repository.BaseRepository;
 import com.sun.echo.model.ChecklistEntryEntity;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ChecklistEntryRepository extends BaseRepository<ChecklistEntryEntity> {
+public interface ChecklistEntryRepository extends BaseRepository<ChecklistEntryEntity>,
+    JpaSpecificationExecutor<ChecklistEntryEntity> {
+
+  /**
+   * Adds the given deltas to an entry's progress counters in one UPDATE, so
+   * concurrent item changes on the same entry serialize on its row instead of
+   * overwriting each other.
+   *
+   * @param id the entry id
+   * @param total the change in item count
+   * @param complete the change in COMPLETE items
+   * @param failed the change in FAILED items
+   * @param notNeeded the change in NOT_NEEDED items
+   * @return the number of entries updated
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(value = """
+      UPDATE echo_checklist_entries
+      SET item_count = item_count + :total,
+          complete_count = complete_count + :complete,
+          failed_count = failed_count + :failed,
+          not_needed_count = not_needed_count + :notNeeded
+      WHERE id = :id
+      """, nativeQuery = true)
+  int adjustProgress(@Param("id") UUID id, @Param("total") int total,
+      @Param("complete") int complete, @Param("failed") int failed,
+      @Param("notNeeded") int notNeeded);
 }
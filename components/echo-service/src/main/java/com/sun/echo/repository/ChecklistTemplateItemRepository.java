@@ -5,6 +5,7 @@ import com.sun.echo.model.ChecklistTemplateItemEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public interface ChecklistTemplateItemRepository extends BaseRepository<Checklis
 
   List<ChecklistTemplateItemEntity> findByTemplateIdOrderByPositionAsc(UUID templateId);
 
+  List<ChecklistTemplateItemEntity> findByTemplateIdInOrderByPositionAsc(Collection<UUID> templateIds);
+
   Page<ChecklistTemplateItemEntity> findByTemplateId(UUID templateId, Pageable pageable);
 
   Optional<ChecklistTemplateItemEntity> findByTemplateIdAndItemId(UUID templateId, UUID itemId);
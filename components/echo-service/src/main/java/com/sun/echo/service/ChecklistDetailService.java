@@ -1,14 +1,13 @@
 package com.sun.echo.service;
 
-import com.sun.echo.model.AbstractDetailEntity;
-import com.sun.echo.model.ChecklistEntryDetailEntity;
-import com.sun.echo.model.ChecklistItemDetailEntity;
-import com.sun.echo.model.ChecklistTemplateDetailEntity;
-import com.sun.echo.repository.ChecklistEntryDetailRepository;
-import com.sun.echo.repository.ChecklistItemDetailRepository;
-import com.sun.echo.repository.ChecklistTemplateDetailRepository;
+import com.sun.echo.model.ChecklistDetailEntity;
+import com.sun.echo.model.enums.DetailOwnerType;
+import com.sun.echo.repository.ChecklistDetailRepository;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
@@ -17,22 +16,17 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Service for managing checklist detail records across entries, templates, and
  * items. A detail is a sidecar holding a description and a list of cross-
- * component remote-object references.
+ * component remote-object references. All details live in one table keyed by
+ * owner type and owner id, so every lookup here is a single query.
  */
 @Service
 @Transactional
 public class ChecklistDetailService {
 
-  private final ChecklistEntryDetailRepository entryDetailRepository;
-  private final ChecklistTemplateDetailRepository templateDetailRepository;
-  private final ChecklistItemDetailRepository itemDetailRepository;
+  private final ChecklistDetailRepository detailRepository;
 
-  public ChecklistDetailService(ChecklistEntryDetailRepository entryDetailRepository,
-      ChecklistTemplateDetailRepository templateDetailRepository,
-      ChecklistItemDetailRepository itemDetailRepository) {
-    this.entryDetailRepository = entryDetailRepository;
-    this.templateDetailRepository = templateDetailRepository;
-    this.itemDetailRepository = itemDetailRepository;
+  public ChecklistDetailService(ChecklistDetailRepository detailRepository) {
+    this.detailRepository = detailRepository;
   }
 
   /**
@@ -41,8 +35,8 @@ public class ChecklistDetailService {
    * @param ownerId the entry id
    * @return the detail, or empty if none exists
    */
-  public Optional<ChecklistEntryDetailEntity> findEntryDetail(UUID ownerId) {
-    return entryDetailRepository.findByOwnerId(ownerId);
+  public Optional<ChecklistDetailEntity> findEntryDetail(UUID ownerId) {
+    return detailRepository.findByOwnerTypeAndOwnerId(DetailOwnerType.ENTRY, ownerId);
   }
 
   /**
@@ -51,8 +45,8 @@ public class ChecklistDetailService {
    * @param ownerId the template id
    * @return the detail, or empty if none exists
    */
-  public Optional<ChecklistTemplateDetailEntity> findTemplateDetail(UUID ownerId) {
-    return templateDetailRepository.findByOwnerId(ownerId);
+  public Optional<ChecklistDetailEntity> findTemplateDetail(UUID ownerId) {
+    return detailRepository.findByOwnerTypeAndOwnerId(DetailOwnerType.TEMPLATE, ownerId);
   }
 
   /**
@@ -61,8 +55,27 @@ public class ChecklistDetailService {
    * @param ownerId the item id
    * @return the detail, or empty if none exists
    */
-  public Optional<ChecklistItemDetailEntity> findItemDetail(UUID ownerId) {
-    return itemDetailRepository.findByOwnerId(ownerId);
+  public Optional<ChecklistDetailEntity> findItemDetail(UUID ownerId) {
+    return detailRepository.findByOwnerTypeAndOwnerId(DetailOwnerType.ITEM, ownerId);
+  }
+
+  /**
+   * Finds the details of many owners of one type in a single query.
+   *
+   * @param ownerType the owner type
+   * @param ownerIds the owner ids
+   * @return the details keyed by owner id; owners without one are absent
+   */
+  public Map<UUID, ChecklistDetailEntity> findDetails(DetailOwnerType ownerType,
+      Collection<UUID> ownerIds) {
+    Map<UUID, ChecklistDetailEntity> byOwner = new HashMap<>();
+    if (ownerIds == null || ownerIds.isEmpty()) {
+      return byOwner;
+    }
+    for (ChecklistDetailEntity detail : detailRepository.findByOwnerTypeAndOwnerIdIn(ownerType, ownerIds)) {
+      byOwner.put(detail.getOwnerId(), detail);
+    }
+    return byOwner;
   }
 
   /**
@@ -73,15 +86,10 @@ public class ChecklistDetailService {
    * @return the matching references
    */
   public List<RemoteObjectReference> locateRemoteObjects(List<String> ids) {
-    String[] arr = ids.toArray(new String[0]);
-    List<RemoteObjectReference> out = new ArrayList<>();
-    entryDetailRepository.findByRemoteObjectsIn(arr).forEach(d ->
-        out.add(new RemoteObjectReference(d.getId(), "ENTRY", d.getOwnerId(), d.getDescription())));
-    templateDetailRepository.findByRemoteObjectsIn(arr).forEach(d ->
-        out.add(new RemoteObjectReference(d.getId(), "TEMPLATE", d.getOwnerId(), d.getDescription())));
-    itemDetailRepository.findByRemoteObjectsIn(arr).forEach(d ->
-        out.add(new RemoteObjectReference(d.getId(), "ITEM", d.getOwnerId(), d.getDescription())));
-    return out;
+    return detailRepository.findByRemoteObjectsIn(ids).stream()
+        .map(d -> new RemoteObjectReference(
+            d.getId(), d.getOwnerType().name(), d.getOwnerId(), d.getDescription()))
+        .toList();
   }
 
   /**
@@ -95,72 +103,23 @@ public class ChecklistDetailService {
    * @return the detail id
    */
   public UUID attach(UUID source, String target, String ownerType) {
+    ChecklistDetailEntity detail;
     if (ownerType != null) {
-      return attachTyped(source, target, ownerType);
-    }
-
-    Optional<ChecklistEntryDetailEntity> entry = entryDetailRepository.findByOwnerId(source);
-    if (entry.isPresent()) {
-      appendIfAbsent(entry.get(), target);
-      return entryDetailRepository.save(entry.get()).getId();
-    }
-    Optional<ChecklistTemplateDetailEntity> template = templateDetailRepository.findByOwnerId(source);
-    if (template.isPresent()) {
-      appendIfAbsent(template.get(), target);
-      return templateDetailRepository.save(template.get()).getId();
-    }
-    Optional<ChecklistItemDetailEntity> item = itemDetailRepository.findByOwnerId(source);
-    if (item.isPresent()) {
-      appendIfAbsent(item.get(), target);
-      return itemDetailRepository.save(item.get()).getId();
-    }
-    throw new IllegalArgumentException(
-        "No detail found for owner " + source + "; provide ownerType to create one");
-  }
-
-  /**
-   * Attaches an object to a detail of a known type, creating it if missing.
-   *
-   * @param source the owning entity id
-   * @param target the object id to attach
-   * @param ownerType the owner type (ENTRY, TEMPLATE, or ITEM)
-   * @return the detail id
-   */
-  private UUID attachTyped(UUID source, String target, String ownerType) {
-    switch (ownerType) {
-      case "ENTRY": {
-        ChecklistEntryDetailEntity d = entryDetailRepository.findByOwnerId(source)
-            .orElseGet(() -> {
-              ChecklistEntryDetailEntity n = new ChecklistEntryDetailEntity();
-              n.setOwnerId(source);
-              return n;
-            });
-        appendIfAbsent(d, target);
-        return entryDetailRepository.save(d).getId();
-      }
-      case "TEMPLATE": {
-        ChecklistTemplateDetailEntity d = templateDetailRepository.findByOwnerId(source)
-            .orElseGet(() -> {
-              ChecklistTemplateDetailEntity n = new ChecklistTemplateDetailEntity();
-              n.setOwnerId(source);
-              return n;
-            });
-        appendIfAbsent(d, target);
-        return templateDetailRepository.save(d).getId();
-      }
-      case "ITEM": {
-        ChecklistItemDetailEntity d = itemDetailRepository.findByOwnerId(source)
-            .orElseGet(() -> {
-              ChecklistItemDetailEntity n = new ChecklistItemDetailEntity();
-              n.setOwnerId(source);
-              return n;
-            });
-        appendIfAbsent(d, target);
-        return itemDetailRepository.save(d).getId();
-      }
-      default:
-        throw new IllegalArgumentException("Unknown ownerType: " + ownerType);
+      DetailOwnerType type = ownerType(ownerType);
+      detail = detailRepository.findByOwnerTypeAndOwnerId(type, source)
+          .orElseGet(() -> {
+            ChecklistDetailEntity n = new ChecklistDetailEntity();
+            n.setOwnerType(type);
+            n.setOwnerId(source);
+            return n;
+          });
+    } else {
+      detail = detailRepository.findFirstByOwnerId(source)
+          .orElseThrow(() -> new IllegalArgumentException(
+              "No detail found for owner " + source + "; provide ownerType to create one"));
     }
+    appendIfAbsent(detail, target);
+    return detailRepository.save(detail).getId();
   }
 
   /**
@@ -169,7 +128,7 @@ public class ChecklistDetailService {
    * @param detail the detail to update
    * @param target the object id to append
    */
-  private void appendIfAbsent(AbstractDetailEntity detail, String target) {
+  private void appendIfAbsent(ChecklistDetailEntity detail, String target) {
     List<String> remoteObject = detail.getRemoteObject();
     if (remoteObject == null) {
       remoteObject = new ArrayList<>();
@@ -187,26 +146,17 @@ public class ChecklistDetailService {
    *
    * @param source the owning entity id
    * @param target the object id to remove
-   * @param ownerType the owner type (ENTRY, TEMPLATE, or ITEM)
+   * @param ownerType an optional owner type (ENTRY, TEMPLATE, or ITEM)
    * @return the detail id
    */
   public UUID detach(UUID source, String target, String ownerType) {
-    Optional<ChecklistEntryDetailEntity> entry = entryDetailRepository.findByOwnerId(source);
-    if (entry.isPresent()) {
-      removeIfPresent(entry.get(), target);
-      return entryDetailRepository.save(entry.get()).getId();
-    }
-    Optional<ChecklistTemplateDetailEntity> template = templateDetailRepository.findByOwnerId(source);
-    if (template.isPresent()) {
-      removeIfPresent(template.get(), target);
-      return templateDetailRepository.save(template.get()).getId();
-    }
-    Optional<ChecklistItemDetailEntity> item = itemDetailRepository.findByOwnerId(source);
-    if (item.isPresent()) {
-      removeIfPresent(item.get(), target);
-      return itemDetailRepository.save(item.get()).getId();
-    }
-    throw new IllegalArgumentException("No detail found for owner " + source);
+    Optional<ChecklistDetailEntity> found = ownerType == null
+        ? detailRepository.findFirstByOwnerId(source)
+        : detailRepository.findByOwnerTypeAndOwnerId(ownerType(ownerType), source);
+    ChecklistDetailEntity detail = found
+        .orElseThrow(() -> new IllegalArgumentException("No detail found for owner " + source));
+    removeIfPresent(detail, target);
+    return detailRepository.save(detail).getId();
   }
 
   /**
@@ -215,7 +165,7 @@ public class ChecklistDetailService {
    * @param detail the detail to update
    * @param target the object id to remove
    */
-  private void removeIfPresent(AbstractDetailEntity detail, String target) {
+  private void removeIfPresent(ChecklistDetailEntity detail, String target) {
     List<String> remoteObject = detail.getRemoteObject();
     if (remoteObject == null) {
       return;
@@ -224,4 +174,12 @@ public class ChecklistDetailService {
     remoteObject.remove(target);
     detail.setRemoteObject(remoteObject);
   }
+
+  private static DetailOwnerType ownerType(String ownerType) {
+    try {
+      return DetailOwnerType.valueOf(ownerType);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown ownerType: " + ownerType, e);
+    }
+  }
 }
@@ -4,6 +4,7 @@ import com.sun.base.service.BaseService;
 import com.sun.echo.model.ChecklistEntryItemEntity;
 import com.sun.echo.model.enums.ItemStatus;
 import com.sun.echo.repository.ChecklistEntryItemRepository;
+import com.sun.echo.repository.ChecklistEntryRepository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,16 +13,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-/** Service for managing the items linked to checklist entries. */
+/**
+ * Service for managing the items linked to checklist entries. Every change
+ * also adjusts the owning entry's progress counters in the same transaction.
+ */
 @Service
 @Transactional
 public class ChecklistEntryItemService extends BaseService<ChecklistEntryItemEntity> {
 
   private final ChecklistEntryItemRepository entryItemRepository;
+  private final ChecklistEntryRepository entryRepository;
 
-  public ChecklistEntryItemService(ChecklistEntryItemRepository repository) {
+  public ChecklistEntryItemService(ChecklistEntryItemRepository repository,
+      ChecklistEntryRepository entryRepository) {
     super(repository);
     this.entryItemRepository = repository;
+    this.entryRepository = entryRepository;
   }
 
   /**
@@ -67,7 +74,9 @@ public class ChecklistEntryItemService extends BaseService<ChecklistEntryItemEnt
     int pos = position == null ? entryItemRepository.findMaxPositionByEntryId(entryId) + 1 : position;
     entity.setPosition(pos);
     entity.setStatus(ItemStatus.NOT_STARTED);
-    return entryItemRepository.save(entity);
+    ChecklistEntryItemEntity saved = entryItemRepository.save(entity);
+    adjustProgress(entryId, 1, null, ItemStatus.NOT_STARTED);
+    return saved;
   }
 
   /**
@@ -78,7 +87,14 @@ public class ChecklistEntryItemService extends BaseService<ChecklistEntryItemEnt
    * @return true if an item was removed
    */
   public boolean removeItem(UUID entryId, UUID itemId) {
-    return entryItemRepository.deleteByEntryIdAndItemId(entryId, itemId) > 0;
+    Optional<ChecklistEntryItemEntity> existing =
+        entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId);
+    if (existing.isEmpty()) {
+      return false;
+    }
+    entryItemRepository.delete(existing.get());
+    adjustProgress(entryId, -1, existing.get().getStatus(), null);
+    return true;
   }
 
   /**
@@ -90,10 +106,34 @@ public class ChecklistEntryItemService extends BaseService<ChecklistEntryItemEnt
    * @return the updated entry item
    */
   public ChecklistEntryItemEntity setStatus(UUID entryId, UUID itemId, ItemStatus status) {
-    ChecklistEntryItemEntity entity = entryItemRepository.findByEntryIdAndItemId(entryId, itemId)
+    ChecklistEntryItemEntity entity = entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId)
         .orElseThrow(() -> new IllegalArgumentException(
             "Entry item not found for entry " + entryId + " / item " + itemId));
+    ItemStatus previous = entity.getStatus();
     entity.setStatus(status);
-    return entryItemRepository.save(entity);
+    ChecklistEntryItemEntity saved = entryItemRepository.save(entity);
+    if (previous != status) {
+      adjustProgress(entryId, 0, previous, status);
+    }
+    return saved;
+  }
+
+  /**
+   * Applies one item change to the entry's progress counters.
+   *
+   * @param entryId the entry id
+   * @param total the change in item count
+   * @param from the status leaving the entry, or null when an item is added
+   * @param to the status entering the entry, or null when an item is removed
+   */
+  private void adjustProgress(UUID entryId, int total, ItemStatus from, ItemStatus to) {
+    entryRepository.adjustProgress(entryId, total,
+        delta(ItemStatus.COMPLETE, from, to),
+        delta(ItemStatus.FAILED, from, to),
+        delta(ItemStatus.NOT_NEEDED, from, to));
+  }
+
+  private static int delta(ItemStatus counted, ItemStatus from, ItemStatus to) {
+    return (to == counted ? 1 : 0) - (from == counted ? 1 : 0);
   }
 }
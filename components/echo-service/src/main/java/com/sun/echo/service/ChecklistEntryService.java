@@ -1,8 +1,11 @@
 package com.sun.echo.service;
 
 import com.sun.base.service.BaseService;
+import com.sun.base.util.FilterBuilder;
+import com.sun.base.util.FilterSpec;
 import com.sun.echo.model.ChecklistEntryEntity;
 import com.sun.echo.model.ChecklistEntryItemEntity;
+import com.sun.echo.model.ChecklistTemplateEntity;
 import com.sun.echo.model.ChecklistTemplateItemEntity;
 import com.sun.echo.model.enums.ChecklistStatus;
 import com.sun.echo.model.enums.ItemStatus;
@@ -11,11 +14,18 @@ import com.sun.echo.repository.ChecklistEntryRepository;
 import com.sun.echo.repository.ChecklistTemplateItemRepository;
 import com.sun.echo.repository.ChecklistTemplateRepository;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,18 +34,23 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ChecklistEntryService extends BaseService<ChecklistEntryEntity> {
 
+  private final ChecklistEntryRepository entryRepository;
   private final ChecklistTemplateRepository templateRepository;
   private final ChecklistTemplateItemRepository templateItemRepository;
   private final ChecklistEntryItemRepository entryItemRepository;
+  private final AuditorAware<UUID> auditorAware;
 
   public ChecklistEntryService(ChecklistEntryRepository repository,
       ChecklistTemplateRepository templateRepository,
       ChecklistTemplateItemRepository templateItemRepository,
-      ChecklistEntryItemRepository entryItemRepository) {
+      ChecklistEntryItemRepository entryItemRepository,
+      AuditorAware<UUID> auditorAware) {
     super(repository);
+    this.entryRepository = repository;
     this.templateRepository = templateRepository;
     this.templateItemRepository = templateItemRepository;
     this.entryItemRepository = entryItemRepository;
+    this.auditorAware = auditorAware;
   }
 
   /**
@@ -48,6 +63,19 @@ public class ChecklistEntryService extends BaseService<ChecklistEntryEntity> {
     return findById(id);
   }
 
+  /**
+   * Lists a page of checklist entries matching the filters. Progress comes
+   * from the entries' own counters, so no entry items are read.
+   *
+   * @param filters the filter criteria, or null for all entries
+   * @param pageable the pagination and sort
+   * @return the matching page
+   */
+  public Page<ChecklistEntryEntity> listPaged(List<FilterSpec> filters, Pageable pageable) {
+    Specification<ChecklistEntryEntity> spec = FilterBuilder.buildFilters(filters);
+    return spec == null ? findAllPaged(pageable) : entryRepository.findAll(spec, pageable);
+  }
+
   /**
    * Marks a checklist entry as complete by stamping its completion timestamp.
    * A completed entry cannot go back to incomplete, so re-calling is a no-op.
@@ -93,7 +121,8 @@ public class ChecklistEntryService extends BaseService<ChecklistEntryEntity> {
   /**
    * Creates a new checklist entry from a template, cloning each template item
    * as an entry item with status NOT_STARTED. The entry is named after the
-   * template unless an explicit name is supplied.
+   * template unless an explicit name is supplied. The items are copied in one
+   * INSERT ... SELECT, however large the template.
    *
    * @param templateId the template id
    * @param name an optional name overriding the template's name
@@ -107,49 +136,92 @@ public class ChecklistEntryService extends BaseService<ChecklistEntryEntity> {
       templateRepository.findById(templateId).ifPresent(t -> entry.setName(t.getName()));
     }
     ChecklistEntryEntity saved = save(entry);
+    int copied = entryItemRepository.insertFromTemplate(saved.getId(), templateId,
+        auditorAware.getCurrentAuditor().map(UUID::toString).orElse(null));
+    entryRepository.adjustProgress(saved.getId(), copied, 0, 0, 0);
+    saved.setItemCount(copied);
+    return saved;
+  }
 
+  /**
+   * Creates one checklist entry per name from the same template. The
+   * template's items are read once and every entry item is written through
+   * one batched saveAll.
+   *
+   * @param templateId the template id
+   * @param names the entry names; blank names fall back to the template's
+   * @return the new entries, in the order of names
+   */
+  public List<ChecklistEntryEntity> createManyFromTemplate(UUID templateId, List<String> names) {
+    if (names == null || names.isEmpty()) {
+      return List.of();
+    }
+    String templateName = templateRepository.findById(templateId)
+        .map(ChecklistTemplateEntity::getName)
+        .orElse(null);
     List<ChecklistTemplateItemEntity> templateItems =
         templateItemRepository.findByTemplateIdOrderByPositionAsc(templateId);
-    for (ChecklistTemplateItemEntity ti : templateItems) {
-      ChecklistEntryItemEntity ei = new ChecklistEntryItemEntity();
-      ei.setEntryId(saved.getId());
-      ei.setItemId(ti.getItemId());
-      ei.setPosition(ti.getPosition());
-      ei.setStatus(ItemStatus.NOT_STARTED);
-      entryItemRepository.save(ei);
+    List<ChecklistEntryEntity> entries = new ArrayList<>(names.size());
+    for (String name : names) {
+      ChecklistEntryEntity entry = new ChecklistEntryEntity();
+      entry.setName(name != null && !name.isBlank() ? name : templateName);
+      entry.setItemCount(templateItems.size());
+      entries.add(entry);
     }
+    List<ChecklistEntryEntity> saved = entryRepository.saveAll(entries);
+
+    List<ChecklistEntryItemEntity> entryItems = new ArrayList<>(saved.size() * templateItems.size());
+    for (ChecklistEntryEntity entry : saved) {
+      for (ChecklistTemplateItemEntity ti : templateItems) {
+        entryItems.add(entryItem(entry.getId(), ti.getItemId(), ti.getPosition()));
+      }
+    }
+    entryItemRepository.saveAll(entryItems);
     return saved;
   }
 
   /**
    * Creates a new checklist entry composed from multiple templates, merging
-   * their items (de-duplicated by item id) in template order.
+   * their items (de-duplicated by item id) in template order. All templates'
+   * items are read in one query and written through one batched saveAll.
    *
    * @param templateIds the template ids to compose
    * @param name an optional name for the new entry
    * @return the new entry
    */
   public ChecklistEntryEntity createFromTemplates(List<UUID> templateIds, String name) {
+    Map<UUID, List<ChecklistTemplateItemEntity>> byTemplate = new HashMap<>();
+    for (ChecklistTemplateItemEntity ti
+        : templateItemRepository.findByTemplateIdInOrderByPositionAsc(new LinkedHashSet<>(templateIds))) {
+      byTemplate.computeIfAbsent(ti.getTemplateId(), k -> new ArrayList<>()).add(ti);
+    }
+
+    Set<UUID> itemIds = new LinkedHashSet<>();
+    for (UUID templateId : templateIds) {
+      for (ChecklistTemplateItemEntity ti : byTemplate.getOrDefault(templateId, List.of())) {
+        itemIds.add(ti.getItemId());
+      }
+    }
+
     ChecklistEntryEntity entry = new ChecklistEntryEntity();
     entry.setName(name);
+    entry.setItemCount(itemIds.size());
     ChecklistEntryEntity saved = save(entry);
 
-    Set<UUID> seen = new HashSet<>();
-    int position = 0;
-    for (UUID templateId : templateIds) {
-      for (ChecklistTemplateItemEntity ti
-          : templateItemRepository.findByTemplateIdOrderByPositionAsc(templateId)) {
-        if (!seen.add(ti.getItemId())) {
-          continue;
-        }
-        ChecklistEntryItemEntity ei = new ChecklistEntryItemEntity();
-        ei.setEntryId(saved.getId());
-        ei.setItemId(ti.getItemId());
-        ei.setPosition(position++);
-        ei.setStatus(ItemStatus.NOT_STARTED);
-        entryItemRepository.save(ei);
-      }
+    List<ChecklistEntryItemEntity> entryItems = new ArrayList<>(itemIds.size());
+    for (UUID itemId : itemIds) {
+      entryItems.add(entryItem(saved.getId(), itemId, entryItems.size()));
     }
+    entryItemRepository.saveAll(entryItems);
     return saved;
   }
+
+  private static ChecklistEntryItemEntity entryItem(UUID entryId, UUID itemId, int position) {
+    ChecklistEntryItemEntity ei = new ChecklistEntryItemEntity();
+    ei.setEntryId(entryId);
+    ei.setItemId(itemId);
+    ei.setPosition(position);
+    ei.setStatus(ItemStatus.NOT_STARTED);
+    return ei;
+  }
 }
@@ -6,6 +6,7 @@ import com.sun.echo.model.ChecklistTemplateItemEntity;
 import com.sun.echo.model.enums.ChecklistStatus;
 import com.sun.echo.repository.ChecklistTemplateItemRepository;
 import com.sun.echo.repository.ChecklistTemplateRepository;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -50,6 +51,7 @@ public class ChecklistTemplateService extends BaseService<ChecklistTemplateEntit
 
   /**
    * Adds a set of items to a template, appending each at the next position.
+   * The items are written through one batched saveAll.
    *
    * @param templateId the template id
    * @param itemIds the item ids to add
@@ -59,12 +61,14 @@ public class ChecklistTemplateService extends BaseService<ChecklistTemplateEntit
       return;
     }
     int position = templateItemRepository.findMaxPositionByTemplateId(templateId) + 1;
+    List<ChecklistTemplateItemEntity> items = new ArrayList<>(itemIds.size());
     for (UUID itemId : itemIds) {
       ChecklistTemplateItemEntity ti = new ChecklistTemplateItemEntity();
       ti.setTemplateId(templateId);
       ti.setItemId(itemId);
       ti.setPosition(position++);
-      templateItemRepository.save(ti);
+      items.add(ti);
     }
+    templateItemRepository.saveAll(items);
   }
 }
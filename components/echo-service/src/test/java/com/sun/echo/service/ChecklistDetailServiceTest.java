@@ -0,0 +1,134 @@
+package com.sun.echo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sun.echo.model.ChecklistDetailEntity;
+import com.sun.echo.model.enums.DetailOwnerType;
+import com.sun.echo.repository.ChecklistDetailRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for ChecklistDetailService. Each operation resolves its detail
+ * with a single repository lookup, whichever owner type it belongs to.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChecklistDetailServiceTest {
+
+  @Mock private ChecklistDetailRepository detailRepository;
+
+  private ChecklistDetailService service;
+  private final UUID owner = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    service = new ChecklistDetailService(detailRepository);
+  }
+
+  @Test
+  void attach_withoutOwnerTypeUsesOneKeyedLookup() {
+    ChecklistDetailEntity detail = detail(DetailOwnerType.ITEM, List.of("a"));
+    when(detailRepository.findFirstByOwnerId(owner)).thenReturn(Optional.of(detail));
+    when(detailRepository.save(detail)).thenReturn(detail);
+
+    service.attach(owner, "b", null);
+
+    assertThat(detail.getRemoteObject()).containsExactly("a", "b");
+    verify(detailRepository).findFirstByOwnerId(owner);
+    verify(detailRepository).save(detail);
+    verifyNoMoreInteractions(detailRepository);
+  }
+
+  @Test
+  void attach_withoutOwnerTypeAndNoDetailThrows() {
+    when(detailRepository.findFirstByOwnerId(owner)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.attach(owner, "b", null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("provide ownerType");
+    verify(detailRepository, never()).save(any());
+  }
+
+  @Test
+  void attach_withOwnerTypeCreatesMissingDetail() {
+    when(detailRepository.findByOwnerTypeAndOwnerId(DetailOwnerType.TEMPLATE, owner))
+        .thenReturn(Optional.empty());
+    when(detailRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    service.attach(owner, "b", "TEMPLATE");
+
+    verify(detailRepository).save(argThat(d ->
+        d.getOwnerType() == DetailOwnerType.TEMPLATE
+            && owner.equals(d.getOwnerId())
+            && d.getRemoteObject().equals(List.of("b"))));
+  }
+
+  @Test
+  void attach_rejectsUnknownOwnerType() {
+    assertThatThrownBy(() -> service.attach(owner, "b", "POST"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unknown ownerType: POST");
+  }
+
+  @Test
+  void detach_withOwnerTypeLooksUpThatTypeOnly() {
+    ChecklistDetailEntity detail = detail(DetailOwnerType.ENTRY, List.of("a", "b"));
+    when(detailRepository.findByOwnerTypeAndOwnerId(DetailOwnerType.ENTRY, owner))
+        .thenReturn(Optional.of(detail));
+    when(detailRepository.save(detail)).thenReturn(detail);
+
+    service.detach(owner, "a", "ENTRY");
+
+    assertThat(detail.getRemoteObject()).containsExactly("b");
+    verify(detailRepository, never()).findFirstByOwnerId(any());
+  }
+
+  @Test
+  void locateRemoteObjects_queriesOnceAcrossOwnerTypes() {
+    ChecklistDetailEntity entry = detail(DetailOwnerType.ENTRY, List.of("x"));
+    ChecklistDetailEntity item = detail(DetailOwnerType.ITEM, List.of("x"));
+    when(detailRepository.findByRemoteObjectsIn(List.of("x"))).thenReturn(List.of(entry, item));
+
+    List<RemoteObjectReference> refs = service.locateRemoteObjects(List.of("x"));
+
+    assertThat(refs).extracting(RemoteObjectReference::ownerType).containsExactly("ENTRY", "ITEM");
+    verify(detailRepository).findByRemoteObjectsIn(List.of("x"));
+    verifyNoMoreInteractions(detailRepository);
+  }
+
+  @Test
+  void findDetails_keysByOwnerAndSkipsEmptyInput() {
+    ChecklistDetailEntity detail = detail(DetailOwnerType.ENTRY, null);
+    when(detailRepository.findByOwnerTypeAndOwnerIdIn(DetailOwnerType.ENTRY, List.of(owner)))
+        .thenReturn(List.of(detail));
+
+    Map<UUID, ChecklistDetailEntity> found = service.findDetails(DetailOwnerType.ENTRY, List.of(owner));
+
+    assertThat(found).containsExactly(Map.entry(owner, detail));
+    assertThat(service.findDetails(DetailOwnerType.ENTRY, List.of())).isEmpty();
+    verify(detailRepository).findByOwnerTypeAndOwnerIdIn(DetailOwnerType.ENTRY, List.of(owner));
+  }
+
+  private ChecklistDetailEntity detail(DetailOwnerType type, List<String> remoteObject) {
+    ChecklistDetailEntity detail = new ChecklistDetailEntity();
+    detail.setId(UUID.randomUUID());
+    detail.setOwnerType(type);
+    detail.setOwnerId(owner);
+    detail.setRemoteObject(remoteObject);
+    return detail;
+  }
+}
@@ -0,0 +1,125 @@
+package com.sun.echo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.echo.model.ChecklistEntryItemEntity;
+import com.sun.echo.model.enums.ItemStatus;
+import com.sun.echo.repository.ChecklistEntryItemRepository;
+import com.sun.echo.repository.ChecklistEntryRepository;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for ChecklistEntryItemService, covering how each item change
+ * moves the entry's progress counters.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChecklistEntryItemServiceTest {
+
+  @Mock private ChecklistEntryItemRepository entryItemRepository;
+  @Mock private ChecklistEntryRepository entryRepository;
+
+  private ChecklistEntryItemService service;
+  private final UUID entryId = UUID.randomUUID();
+  private final UUID itemId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    service = new ChecklistEntryItemService(entryItemRepository, entryRepository);
+  }
+
+  @Test
+  void addItem_countsOneMoreItem() {
+    when(entryItemRepository.findByEntryIdAndItemId(entryId, itemId)).thenReturn(Optional.empty());
+    when(entryItemRepository.findMaxPositionByEntryId(entryId)).thenReturn(2);
+    when(entryItemRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    ChecklistEntryItemEntity added = service.addItem(entryId, itemId, null);
+
+    assertThat(added.getPosition()).isEqualTo(3);
+    verify(entryRepository).adjustProgress(entryId, 1, 0, 0, 0);
+  }
+
+  @Test
+  void addItem_existingItemLeavesCountersAlone() {
+    when(entryItemRepository.findByEntryIdAndItemId(entryId, itemId))
+        .thenReturn(Optional.of(item(ItemStatus.COMPLETE)));
+
+    service.addItem(entryId, itemId, null);
+
+    verify(entryRepository, never()).adjustProgress(any(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  void removeItem_subtractsItemAndItsStatus() {
+    ChecklistEntryItemEntity existing = item(ItemStatus.FAILED);
+    when(entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId))
+        .thenReturn(Optional.of(existing));
+
+    assertThat(service.removeItem(entryId, itemId)).isTrue();
+
+    verify(entryItemRepository).delete(existing);
+    verify(entryRepository).adjustProgress(entryId, -1, 0, -1, 0);
+  }
+
+  @Test
+  void removeItem_missingItemReturnsFalse() {
+    when(entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId))
+        .thenReturn(Optional.empty());
+
+    assertThat(service.removeItem(entryId, itemId)).isFalse();
+
+    verify(entryRepository, never()).adjustProgress(any(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  void setStatus_movesCountBetweenStatuses() {
+    when(entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId))
+        .thenReturn(Optional.of(item(ItemStatus.COMPLETE)));
+    when(entryItemRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    ChecklistEntryItemEntity updated = service.setStatus(entryId, itemId, ItemStatus.NOT_NEEDED);
+
+    assertThat(updated.getStatus()).isEqualTo(ItemStatus.NOT_NEEDED);
+    verify(entryRepository).adjustProgress(entryId, 0, -1, 0, 1);
+  }
+
+  @Test
+  void setStatus_unchangedStatusLeavesCountersAlone() {
+    when(entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId))
+        .thenReturn(Optional.of(item(ItemStatus.FAILED)));
+    when(entryItemRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    service.setStatus(entryId, itemId, ItemStatus.FAILED);
+
+    verify(entryRepository, never()).adjustProgress(any(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  void setStatus_missingItemThrows() {
+    when(entryItemRepository.findForUpdateByEntryIdAndItemId(entryId, itemId))
+        .thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.setStatus(entryId, itemId, ItemStatus.COMPLETE))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private ChecklistEntryItemEntity item(ItemStatus status) {
+    ChecklistEntryItemEntity item = new ChecklistEntryItemEntity();
+    item.setEntryId(entryId);
+    item.setItemId(itemId);
+    item.setStatus(status);
+    return item;
+  }
+}
@@ -0,0 +1,153 @@
+package com.sun.echo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.base.repository.RemoteObjectRefIndex;
+import com.sun.echo.model.ChecklistEntryEntity;
+import com.sun.echo.model.ChecklistEntryItemEntity;
+import com.sun.echo.model.ChecklistTemplateEntity;
+import com.sun.echo.model.ChecklistTemplateItemEntity;
+import com.sun.echo.repository.ChecklistEntryItemRepository;
+import com.sun.echo.repository.ChecklistEntryRepository;
+import com.sun.echo.repository.ChecklistTemplateItemRepository;
+import com.sun.echo.repository.ChecklistTemplateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Counts the SQL statements ChecklistEntryService issues when instantiating
+ * templates, against an in-memory H2 database in PostgreSQL mode with the
+ * application's JDBC batching, using Hibernate statistics. A batched insert
+ * is prepared once and reused for every row; unbatched, each row would be
+ * its own statement.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:echo;MODE=PostgreSQL",
+    "spring.jpa.hibernate.naming.physical-strategy="
+        + "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ChecklistEntryServiceStatementCountTest {
+
+  private static final int TEMPLATE_ITEMS = 40;
+
+  @Autowired private ChecklistEntryService service;
+  @Autowired private ChecklistTemplateRepository templateRepository;
+  @Autowired private ChecklistTemplateItemRepository templateItemRepository;
+  @Autowired private ChecklistEntryItemRepository entryItemRepository;
+  @Autowired private EntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @MockitoBean private RemoteObjectRefIndex remoteObjectRefIndex;
+
+  private UUID templateId;
+
+  @BeforeEach
+  void setUp() {
+    ChecklistTemplateEntity template = new ChecklistTemplateEntity();
+    template.setName("Pre-flight");
+    templateId = templateRepository.save(template).getId();
+    List<ChecklistTemplateItemEntity> items = new ArrayList<>();
+    for (int i = 0; i < TEMPLATE_ITEMS; i++) {
+      ChecklistTemplateItemEntity item = new ChecklistTemplateItemEntity();
+      item.setTemplateId(templateId);
+      item.setItemId(UUID.randomUUID());
+      item.setPosition(i);
+      items.add(item);
+    }
+    templateItemRepository.saveAll(items);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * The entry insert, the INSERT ... SELECT and the progress update; the
+   * template's items are never read into the application.
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void createFromTemplate_issuesThreeStatementsForAnyTemplateSize(boolean named) {
+    Statistics statistics = statistics();
+
+    ChecklistEntryEntity entry = service.createFromTemplate(templateId, named ? "Today" : null);
+    entityManager.flush();
+    long statements = statistics.getPrepareStatementCount();
+    long loaded = statistics.getEntityLoadCount();
+
+    // Without a name, the template is read for its name first.
+    assertThat(statements).isEqualTo(named ? 3 : 4);
+    assertThat(loaded).isEqualTo(named ? 0 : 1);
+    assertThat(entry.getItemCount()).isEqualTo(TEMPLATE_ITEMS);
+    assertThat(entryItemRepository.findByEntryIdOrderByPositionAsc(entry.getId()))
+        .extracting(ChecklistEntryItemEntity::getPosition)
+        .hasSize(TEMPLATE_ITEMS)
+        .isSorted();
+  }
+
+  /**
+   * Two reads, then one batched insert for the entries and one for their
+   * items, however many rows each writes.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {1, 5, 20})
+  void createManyFromTemplate_writesEntriesAndItemsInBatches(int entries) {
+    Statistics statistics = statistics();
+
+    List<ChecklistEntryEntity> created =
+        service.createManyFromTemplate(templateId, Collections.nCopies(entries, "Shift"));
+    entityManager.flush();
+
+    assertThat(created).hasSize(entries);
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(entries + entries * TEMPLATE_ITEMS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+  }
+
+  private Statistics statistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+
+  @SpringBootConfiguration
+  @EnableJpaAuditing
+  @EntityScan(basePackageClasses = ChecklistEntryEntity.class)
+  @EnableJpaRepositories(basePackageClasses = ChecklistEntryRepository.class,
+      includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+          classes = {ChecklistEntryRepository.class, ChecklistEntryItemRepository.class,
+              ChecklistTemplateRepository.class, ChecklistTemplateItemRepository.class}))
+  @Import(ChecklistEntryService.class)
+  static class Config {
+
+    @Bean
+    AuditorAware<UUID> auditorAware() {
+      UUID user = UUID.randomUUID();
+      return () -> Optional.of(user);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.sun.echo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sun.echo.model.ChecklistEntryEntity;
+import com.sun.echo.model.ChecklistEntryItemEntity;
+import com.sun.echo.model.ChecklistTemplateEntity;
+import com.sun.echo.model.ChecklistTemplateItemEntity;
+import com.sun.echo.repository.ChecklistEntryItemRepository;
+import com.sun.echo.repository.ChecklistEntryRepository;
+import com.sun.echo.repository.ChecklistTemplateItemRepository;
+import com.sun.echo.repository.ChecklistTemplateRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.AuditorAware;
+
+/**
+ * Unit tests for ChecklistEntryService. The statements these calls issue are
+ * counted against a database in ChecklistEntryServiceStatementCountTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChecklistEntryServiceTest {
+
+  @Mock private ChecklistEntryRepository repository;
+  @Mock private ChecklistTemplateRepository templateRepository;
+  @Mock private ChecklistTemplateItemRepository templateItemRepository;
+  @Mock private ChecklistEntryItemRepository entryItemRepository;
+  @Mock private AuditorAware<UUID> auditorAware;
+
+  private ChecklistEntryService service() {
+    return new ChecklistEntryService(repository, templateRepository, templateItemRepository,
+        entryItemRepository, auditorAware);
+  }
+
+  @Test
+  void createFromTemplate_copiesItemsInOneStatement() {
+    UUID templateId = UUID.randomUUID();
+    UUID user = UUID.randomUUID();
+    when(repository.save(any(ChecklistEntryEntity.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
+    when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of(user));
+    when(entryItemRepository.insertFromTemplate(any(), any(), any())).thenReturn(12);
+
+    ChecklistEntryEntity entry = service().createFromTemplate(templateId, "Pre-flight");
+
+    assertThat(entry.getName()).isEqualTo("Pre-flight");
+    assertThat(entry.getItemCount()).isEqualTo(12);
+    verify(repository, times(1)).save(any(ChecklistEntryEntity.class));
+    verify(entryItemRepository).insertFromTemplate(entry.getId(), templateId, user.toString());
+    verify(repository).adjustProgress(entry.getId(), 12, 0, 0, 0);
+    verifyNoMoreInteractions(entryItemRepository, templateItemRepository);
+  }
+
+  @Test
+  void createFromTemplate_fallsBackToTemplateName() {
+    UUID templateId = UUID.randomUUID();
+    ChecklistTemplateEntity template = new ChecklistTemplateEntity();
+    template.setName("Template");
+    when(templateRepository.findById(templateId)).thenReturn(Optional.of(template));
+    when(repository.save(any(ChecklistEntryEntity.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
+    when(auditorAware.getCurrentAuditor()).thenReturn(Optional.empty());
+
+    ChecklistEntryEntity entry = service().createFromTemplate(templateId, null);
+
+    assertThat(entry.getName()).isEqualTo("Template");
+    verify(entryItemRepository).insertFromTemplate(entry.getId(), templateId, null);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void createFromTemplates_loadsAllTemplatesOnceAndSavesInOneBatch() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID shared = UUID.randomUUID();
+    UUID onlyFirst = UUID.randomUUID();
+    UUID onlySecond = UUID.randomUUID();
+    when(repository.save(any(ChecklistEntryEntity.class))).thenAnswer(inv -> withId(inv.getArgument(0)));
+    // Returned in position order across templates, as the IN query would.
+    when(templateItemRepository.findByTemplateIdInOrderByPositionAsc(any())).thenReturn(List.of(
+        templateItem(second, onlySecond, 0),
+        templateItem(first, shared, 0),
+        templateItem(second, shared, 1),
+        templateItem(first, onlyFirst, 1)));
+
+    ChecklistEntryEntity entry = service().createFromTemplates(List.of(first, second), "Composed");
+
+    assertThat(entry.getItemCount()).isEqualTo(3);
+
+    ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+    verify(templateItemRepository, times(1)).findByTemplateIdInOrderByPositionAsc(ids.capture());
+    assertThat(ids.getValue()).containsExactly(first, second);
+    ArgumentCaptor<List<ChecklistEntryItemEntity>> saved = ArgumentCaptor.forClass(List.class);
+    verify(entryItemRepository, times(1)).saveAll(saved.capture());
+    verify(entryItemRepository, never()).save(any());
+    verify(templateItemRepository, never()).findByTemplateIdOrderByPositionAsc(any());
+    assertThat(saved.getValue())
+        .extracting(ChecklistEntryItemEntity::getItemId)
+        .containsExactly(shared, onlyFirst, onlySecond);
+    assertThat(saved.getValue())
+        .extracting(ChecklistEntryItemEntity::getPosition)
+        .containsExactly(0, 1, 2);
+    assertThat(saved.getValue())
+        .allSatisfy(ei -> assertThat(ei.getEntryId()).isEqualTo(entry.getId()));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void createManyFromTemplate_readsTheTemplateOnceAndSavesItemsTogether() {
+    UUID templateId = UUID.randomUUID();
+    List<ChecklistTemplateItemEntity> items = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      items.add(templateItem(templateId, UUID.randomUUID(), i));
+    }
+    ChecklistTemplateEntity template = new ChecklistTemplateEntity();
+    template.setName("Template");
+    when(templateRepository.findById(templateId)).thenReturn(Optional.of(template));
+    when(templateItemRepository.findByTemplateIdOrderByPositionAsc(templateId)).thenReturn(items);
+    when(repository.saveAll(anyList())).thenAnswer(inv -> {
+      List<ChecklistEntryEntity> entries = inv.getArgument(0);
+      entries.forEach(ChecklistEntryServiceTest::withId);
+      return entries;
+    });
+
+    List<ChecklistEntryEntity> entries =
+        service().createManyFromTemplate(templateId, List.of("a", "", "c"));
+
+    assertThat(entries).extracting(ChecklistEntryEntity::getName)
+        .containsExactly("a", "Template", "c");
+    verify(repository, times(1)).saveAll(anyList());
+    verify(repository, never()).save(any());
+    verify(templateItemRepository, times(1)).findByTemplateIdOrderByPositionAsc(templateId);
+    ArgumentCaptor<List<ChecklistEntryItemEntity>> saved = ArgumentCaptor.forClass(List.class);
+    verify(entryItemRepository, times(1)).saveAll(saved.capture());
+    verifyNoMoreInteractions(entryItemRepository);
+    assertThat(saved.getValue()).hasSize(3 * 25);
+    assertThat(entries).allSatisfy(e -> assertThat(e.getItemCount()).isEqualTo(25));
+    verify(repository, never()).adjustProgress(any(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  void createManyFromTemplate_withNoNamesTouchesNothing() {
+    assertThat(service().createManyFromTemplate(UUID.randomUUID(), List.of())).isEmpty();
+
+    verifyNoMoreInteractions(repository, templateRepository, templateItemRepository, entryItemRepository);
+  }
+
+  private static ChecklistEntryEntity withId(ChecklistEntryEntity entry) {
+    entry.setId(UUID.randomUUID());
+    return entry;
+  }
+
+  private static ChecklistTemplateItemEntity templateItem(UUID templateId, UUID itemId, int position) {
+    ChecklistTemplateItemEntity ti = new ChecklistTemplateItemEntity();
+    ti.setTemplateId(templateId);
+    ti.setItemId(itemId);
+    ti.setPosition(position);
+    return ti;
+  }
+}
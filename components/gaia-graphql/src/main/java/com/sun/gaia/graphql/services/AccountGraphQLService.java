@@ -1,5 +1,6 @@
 package com.sun.gaia.graphql.services;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.base.util.FilterBuilder;
 import com.sun.base.util.FilterSpec;
 import com.sun.base.util.GraphQLSupport;
@@ -32,6 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -49,6 +51,9 @@ public class AccountGraphQLService {
 
   private static final Logger logger = LoggerFactory.getLogger(AccountGraphQLService.class);
 
+  /** Invalidation tag of the cached account listings. */
+  public static final String ACCOUNTS_TAG = AccountService.ACCOUNTS_TAG;
+
   private final AccountService accountService;
   private final AccountRepository accountRepository;
   private final PersonService personService;
@@ -57,6 +62,7 @@ public class AccountGraphQLService {
   private final PasswordResetService passwordResetService;
   private final ReactivationService reactivationService;
   private final AccountMapper accountMapper;
+  private final ApplicationEventPublisher eventPublisher;
   private final String appBaseUrl;
 
   public AccountGraphQLService(
@@ -68,6 +74,7 @@ public class AccountGraphQLService {
       PasswordResetService passwordResetService,
       ReactivationService reactivationService,
       AccountMapper accountMapper,
+      ApplicationEventPublisher eventPublisher,
       @Value("${app.base-url}") String appBaseUrl) {
     this.accountService = accountService;
     this.accountRepository = accountRepository;
@@ -77,6 +84,7 @@ public class AccountGraphQLService {
     this.passwordResetService = passwordResetService;
     this.reactivationService = reactivationService;
     this.accountMapper = accountMapper;
+    this.eventPublisher = eventPublisher;
     this.appBaseUrl = appBaseUrl;
   }
 
@@ -153,6 +161,7 @@ public class AccountGraphQLService {
         .orElseThrow(() -> new IllegalArgumentException("Account not found: " + id));
     account.setStatus(AccountStatus.SUSPENDED);
     accountService.save(account);
+    accountsChanged();
     try {
       jwtService.revokeAllForAccount(UUID.fromString(id));
     } catch (Exception e) {
@@ -171,6 +180,7 @@ public class AccountGraphQLService {
         .orElseThrow(() -> new IllegalArgumentException("Account not found: " + id));
     account.setStatus(AccountStatus.ACTIVE);
     accountService.save(account);
+    accountsChanged();
     logger.info("Unsuspended account {}", id);
     return QuerySuccess.newBuilder().message("Account unsuspended").id(id).build();
   }
@@ -189,6 +199,7 @@ public class AccountGraphQLService {
           .build();
     }
     accountService.deactivateAccount(userId);
+    accountsChanged();
     try {
       jwtService.revokeAllForAccount(userId);
       ServletRequestAttributes attrs =
@@ -230,6 +241,7 @@ public class AccountGraphQLService {
 
     AccountEntity account = accountService.createAccount(
         input.getUsername(), input.getPassword(), person.getId());
+    accountsChanged();
 
     String token = jwtService.generateToken(account.getId(), person.getId());
     logger.info("Registered account {} for person {}", account.getId(), person.getId());
@@ -425,6 +437,7 @@ public class AccountGraphQLService {
           .orElseThrow(() -> new IllegalArgumentException("Account not found"));
       account.setStatus(AccountStatus.ACTIVE);
       accountService.save(account);
+      accountsChanged();
       logger.info("Reactivated account {}", accountId);
       return QuerySuccess.newBuilder()
           .message("Account reactivated")
@@ -436,4 +449,11 @@ public class AccountGraphQLService {
           .build();
     }
   }
+
+  /**
+   * Drops cached account listings once the current transaction commits.
+   */
+  private void accountsChanged() {
+    eventPublisher.publishEvent(CacheInvalidationEvent.of(ACCOUNTS_TAG));
+  }
 }
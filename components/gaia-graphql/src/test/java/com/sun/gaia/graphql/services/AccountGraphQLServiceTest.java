@@ -10,6 +10,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.fates.model.PersonEntity;
 import com.sun.fates.service.PersonService;
 import com.sun.gaia.codegen.types.Account;
@@ -39,6 +40,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class AccountGraphQLServiceTest {
@@ -51,6 +53,7 @@ class AccountGraphQLServiceTest {
   @Mock private PasswordResetService passwordResetService;
   @Mock private ReactivationService reactivationService;
   @Mock private AccountMapper accountMapper;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks private AccountGraphQLService service;
 
@@ -192,6 +195,7 @@ class AccountGraphQLServiceTest {
     assertThat(((QuerySuccess) result).getId()).isEqualTo(id.toString());
     assertThat(account.getStatus()).isEqualTo(AccountStatus.SUSPENDED);
     verify(accountService).save(account);
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(AccountGraphQLService.ACCOUNTS_TAG));
   }
 
   @Test
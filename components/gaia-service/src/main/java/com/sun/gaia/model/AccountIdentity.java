@@ -0,0 +1,32 @@
+package com.sun.gaia.model;
+
+import com.sun.gaia.model.enums.AccountType;
+import java.util.UUID;
+
+/**
+ * An account joined with the contact details of its person, as returned by
+ * bulk identity resolution.
+ *
+ * @param accountId the account id
+ * @param username the account username
+ * @param accountType the account type
+ * @param personId the linked person id, or null
+ * @param email the person's email, or null when unknown
+ */
+public record AccountIdentity(
+    UUID accountId, String username, AccountType accountType, UUID personId, String email) {
+
+  /**
+   * Whether this identity belongs to a human account.
+   */
+  public boolean isHuman() {
+    return accountType == AccountType.HUMAN;
+  }
+
+  /**
+   * Whether the identity has a usable email address.
+   */
+  public boolean hasEmail() {
+    return email != null && !email.isBlank();
+  }
+}
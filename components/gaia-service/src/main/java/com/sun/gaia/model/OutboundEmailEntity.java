@@ -0,0 +1,150 @@
+package com.sun.gaia.model;
+
+import com.sun.base.model.BaseEntity;
+import com.sun.gaia.model.enums.OutboundEmailStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A plain-text email waiting in, or delivered from, the outbound mail queue.
+ */
+@Entity
+@Table(name = "gaia_outbound_emails")
+public class OutboundEmailEntity extends BaseEntity {
+
+    @Column(name = "to_address", nullable = false, length = 320)
+    private String toAddress;
+
+    @Column(name = "subject", nullable = false, length = 255)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "text")
+    private String body;
+
+    /**
+     * Identifies logically identical messages so repeats within the dedup
+     * window are dropped; null disables deduplication. Unique while set, and
+     * cleared once the window has passed and the same key is queued again.
+     */
+    @Column(name = "dedup_key", length = 512)
+    private String dedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboundEmailStatus status = OutboundEmailStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false, columnDefinition = "timestamp(6)")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at", columnDefinition = "timestamp(6)")
+    private LocalDateTime claimedAt;
+
+    /**
+     * Set on each claim; an outcome is only recorded while the row still
+     * carries the token its worker claimed it with.
+     */
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "sent_at", columnDefinition = "timestamp(6)")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public String getToAddress() {
+        return toAddress;
+    }
+
+    public void setToAddress(String toAddress) {
+        this.toAddress = toAddress;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getDedupKey() {
+        return dedupKey;
+    }
+
+    public void setDedupKey(String dedupKey) {
+        this.dedupKey = dedupKey;
+    }
+
+    public OutboundEmailStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboundEmailStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public UUID getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(UUID claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sun.gaia.model;
+
+/**
+ * The Headscale-sourced fields of a Tailscale device, as reported by the
+ * Headscale API or as last written to Gaia.
+ *
+ * @param headscaleId the Headscale node id.
+ * @param name        the node hostname.
+ * @param ipv4        the Tailscale IPv4 address, or blank if none.
+ * @param lastSeen    ISO-8601 timestamp of last contact.
+ * @param online      whether the node is currently connected.
+ */
+public record TailscaleDeviceSnapshot(
+    long headscaleId, String name, String ipv4, String lastSeen, boolean online) {
+
+    /**
+     * Captures the Headscale-sourced fields of a stored device.
+     */
+    public static TailscaleDeviceSnapshot of(TailscaleDeviceEntity device) {
+        return new TailscaleDeviceSnapshot(
+            device.getHeadscaleId(), device.getName(), device.getIpv4(),
+            device.getLastSeen(), device.isOnline());
+    }
+
+    /**
+     * Returns this snapshot without lastSeen, for change detection: an online
+     * node's lastSeen moves on nearly every poll, and on its own is not worth
+     * a write. It is still written whenever another field changes.
+     */
+    public TailscaleDeviceSnapshot withoutLastSeen() {
+        return new TailscaleDeviceSnapshot(headscaleId, name, ipv4, null, online);
+    }
+
+    /**
+     * Copies these fields onto a device record.
+     */
+    public void applyTo(TailscaleDeviceEntity device) {
+        device.setHeadscaleId(headscaleId);
+        device.setName(name);
+        device.setIpv4(ipv4);
+        device.setLastSeen(lastSeen);
+        device.setOnline(online);
+    }
+}
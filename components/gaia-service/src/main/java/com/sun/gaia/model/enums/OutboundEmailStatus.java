@@ -0,0 +1,11 @@
+package com.sun.gaia.model.enums;
+
+/**
+ * Delivery state of a queued outbound email.
+ */
+public enum OutboundEmailStatus {
+  PENDING,
+  SENDING,
+  SENT,
+  FAILED
+}
@@ -2,8 +2,10 @@ package com.sun.gaia.repository;
 
 import com.sun.base.repository.BaseRepository;
 import com.sun.gaia.model.AccountEntity;
+import com.sun.gaia.model.AccountIdentity;
 import com.sun.gaia.model.enums.AccountStatus;
 import com.sun.gaia.model.enums.AccountType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +30,25 @@ public interface AccountRepository extends BaseRepository<AccountEntity>, JpaSpe
   Optional<AccountEntity> findByProviderAndProviderIdAndStatus(
       String provider, String providerId, AccountStatus status);
 
+  /**
+   * Resolves accounts and their persons' emails in one joined query.
+   */
+  @Query(
+      "SELECT new com.sun.gaia.model.AccountIdentity(a.id, a.username, a.accountType, a.personId, p.email) "
+          + "FROM AccountEntity a LEFT JOIN PersonEntity p ON p.id = a.personId "
+          + "WHERE a.id IN :ids")
+  List<AccountIdentity> findIdentitiesByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Resolves every account whose person has one of the given emails, in one
+   * joined query.
+   */
+  @Query(
+      "SELECT new com.sun.gaia.model.AccountIdentity(a.id, a.username, a.accountType, a.personId, p.email) "
+          + "FROM AccountEntity a JOIN PersonEntity p ON p.id = a.personId "
+          + "WHERE p.email IN :emails")
+  List<AccountIdentity> findIdentitiesByPersonEmailIn(@Param("emails") Collection<String> emails);
+
   /**
    * Permission patterns granted to the caller's person (any of that person's
    * accounts), directly or via roles.
@@ -0,0 +1,72 @@
+package com.sun.gaia.repository;
+
+import com.sun.base.repository.BaseRepository;
+import com.sun.gaia.model.OutboundEmailEntity;
+import com.sun.gaia.model.enums.OutboundEmailStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Data access for the outbound mail queue.
+ */
+public interface OutboundEmailRepository extends BaseRepository<OutboundEmailEntity> {
+
+    /**
+     * Clears the dedup key from a message queued before the cutoff, so the
+     * unique index admits the key again once its window has passed.
+     */
+    @Modifying
+    @Query("update OutboundEmailEntity set dedupKey = null where dedupKey = :dedupKey and createdAt < :cutoff")
+    int releaseDedupKey(String dedupKey, LocalDateTime cutoff);
+
+    /**
+     * Locks up to {@code limit} pending messages that are due, skipping rows
+     * already locked by another worker. Must run inside a transaction.
+     */
+    @Query(value = "SELECT * FROM gaia_outbound_emails"
+        + " WHERE status = 'PENDING' AND next_attempt_at <= :now"
+        + " ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboundEmailEntity> lockDue(LocalDateTime now, int limit);
+
+    /**
+     * Returns messages claimed before the cutoff to the pending state, so a
+     * crash between claim and delivery does not strand them.
+     */
+    @Modifying
+    @Query("update OutboundEmailEntity set status = :pending, claimedAt = null, claimToken = null"
+        + " where status = :sending and claimedAt < :cutoff")
+    int releaseStale(LocalDateTime cutoff, OutboundEmailStatus sending, OutboundEmailStatus pending);
+
+    /**
+     * Records a delivery outcome, provided the row still carries the claim
+     * token it was claimed with. A claim that went stale and was released or
+     * taken over by another worker is left alone.
+     *
+     * @return 1 if recorded, 0 if the claim was lost
+     */
+    @Modifying
+    @Query("update OutboundEmailEntity set status = :status, attempts = :attempts,"
+        + " nextAttemptAt = :nextAttemptAt, sentAt = :sentAt, lastError = :lastError,"
+        + " claimedAt = null, claimToken = null, lastUpdatedAt = :now"
+        + " where id = :id and claimToken = :claimToken")
+    int recordOutcome(UUID id, UUID claimToken, OutboundEmailStatus status, int attempts,
+        LocalDateTime nextAttemptAt, LocalDateTime sentAt, String lastError, LocalDateTime now);
+
+    /**
+     * Records the outcome held on a claimed message.
+     *
+     * @return true if recorded, false if the claim was lost
+     */
+    default boolean recordOutcome(OutboundEmailEntity email) {
+        return recordOutcome(email.getId(), email.getClaimToken(), email.getStatus(), email.getAttempts(),
+            email.getNextAttemptAt(), email.getSentAt(), email.getLastError(), LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Counts messages in the given state.
+     */
+    long countByStatus(OutboundEmailStatus status);
+}
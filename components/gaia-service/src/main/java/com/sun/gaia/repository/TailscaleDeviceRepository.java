@@ -3,6 +3,7 @@ package com.sun.gaia.repository;
 import com.sun.base.repository.BaseRepository;
 import com.sun.gaia.model.TailscaleDeviceEntity;
 import com.sun.gaia.model.enums.DeviceStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -18,6 +19,11 @@ public interface TailscaleDeviceRepository
      */
     Optional<TailscaleDeviceEntity> findByHeadscaleId(long headscaleId);
 
+    /**
+     * Finds the devices for the given Headscale node ids.
+     */
+    List<TailscaleDeviceEntity> findByHeadscaleIdIn(Collection<Long> headscaleIds);
+
     /**
      * Returns all devices with the given status.
      */
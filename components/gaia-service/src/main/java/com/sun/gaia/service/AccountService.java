@@ -1,15 +1,21 @@
 package com.sun.gaia.service;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.base.service.BaseService;
 import com.sun.fates.model.PersonEntity;
 import com.sun.fates.service.PersonService;
 import com.sun.gaia.model.AccountEntity;
+import com.sun.gaia.model.AccountIdentity;
 import com.sun.gaia.model.enums.AccountStatus;
 import com.sun.gaia.model.enums.AccountType;
 import com.sun.gaia.repository.AccountRepository;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,16 +24,22 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class AccountService extends BaseService<AccountEntity> {
 
+  /** Invalidation tag of the cached account listings. */
+  public static final String ACCOUNTS_TAG = "gaia.accounts";
+
   private static final UUID NIL_PERSON_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
 
   private final AccountRepository accountRepository;
   private final PersonService personService;
+  private final ApplicationEventPublisher eventPublisher;
   private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
-  public AccountService(AccountRepository repository, PersonService personService) {
+  public AccountService(AccountRepository repository, PersonService personService,
+      ApplicationEventPublisher eventPublisher) {
     super(repository);
     this.accountRepository = repository;
     this.personService = personService;
+    this.eventPublisher = eventPublisher;
   }
 
   public Optional<AccountEntity> findByUsername(String username) {
@@ -71,6 +83,61 @@ public class AccountService extends BaseService<AccountEntity> {
         .orElseGet(List::of);
   }
 
+  /**
+   * Resolves many account ids to the Discord ids of the accounts linked
+   * through Discord, in a single query. Other accounts are absent from the
+   * result.
+   *
+   * @param accountIds the account ids
+   * @return Discord ids keyed by account id
+   */
+  public Map<UUID, String> findDiscordIds(Collection<UUID> accountIds) {
+    Map<UUID, String> byAccountId = new LinkedHashMap<>();
+    if (accountIds == null || accountIds.isEmpty()) {
+      return byAccountId;
+    }
+    for (AccountEntity account : accountRepository.findAllById(accountIds)) {
+      if ("discord".equals(account.getProvider()) && account.getProviderId() != null) {
+        byAccountId.put(account.getId(), account.getProviderId());
+      }
+    }
+    return byAccountId;
+  }
+
+  /**
+   * Resolves many account ids to their accounts and person emails in a single
+   * query. Unknown ids are absent from the result.
+   *
+   * @param accountIds the account ids
+   * @return the identities keyed by account id
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, AccountIdentity> resolveIdentities(Collection<UUID> accountIds) {
+    Map<UUID, AccountIdentity> identities = new LinkedHashMap<>();
+    if (accountIds == null || accountIds.isEmpty()) {
+      return identities;
+    }
+    for (AccountIdentity identity : accountRepository.findIdentitiesByIdIn(accountIds)) {
+      identities.put(identity.accountId(), identity);
+    }
+    return identities;
+  }
+
+  /**
+   * Resolves every account linked to a person with one of the given emails,
+   * in a single query.
+   *
+   * @param emails the person emails, matched exactly
+   * @return the matching identities
+   */
+  @Transactional(readOnly = true)
+  public List<AccountIdentity> resolveIdentitiesByEmail(Collection<String> emails) {
+    if (emails == null || emails.isEmpty()) {
+      return List.of();
+    }
+    return accountRepository.findIdentitiesByPersonEmailIn(emails);
+  }
+
   /**
    * Finds or creates a non-login ghost account for the given owner key.
    *
@@ -87,7 +154,9 @@ public class AccountService extends BaseService<AccountEntity> {
           account.setStatus(AccountStatus.ACTIVE);
           account.setProvider("ghost");
           account.setAccountType(AccountType.GHOST);
-          return save(account);
+          AccountEntity saved = save(account);
+          accountsChanged();
+          return saved;
         });
   }
 
@@ -135,7 +204,16 @@ public class AccountService extends BaseService<AccountEntity> {
     account.setStatus(AccountStatus.ACTIVE);
     account.setProvider(provider);
     account.setProviderId(providerId);
-    return save(account);
+    AccountEntity saved = save(account);
+    accountsChanged();
+    return saved;
+  }
+
+  /**
+   * Drops cached account listings once the current transaction commits.
+   */
+  private void accountsChanged() {
+    eventPublisher.publishEvent(CacheInvalidationEvent.of(ACCOUNTS_TAG));
   }
 
   /**
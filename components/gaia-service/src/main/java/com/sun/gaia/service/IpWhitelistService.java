@@ -6,6 +6,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -98,6 +99,25 @@ public class IpWhitelistService {
         return repository.save(entity);
     }
 
+    /**
+     * Creates enabled, mutable entries for patterns that have no entry yet, in
+     * one batch. Callers are expected to have checked for existing entries.
+     *
+     * @param descriptionsByPattern description for each new pattern.
+     * @return the saved entities.
+     */
+    @Transactional
+    public List<IpWhitelistEntryEntity> addEntries(Map<String, String> descriptionsByPattern) {
+        List<IpWhitelistEntryEntity> entities = new ArrayList<>(descriptionsByPattern.size());
+        descriptionsByPattern.forEach((pattern, description) -> {
+            IpWhitelistEntryEntity entity = new IpWhitelistEntryEntity();
+            entity.setPattern(pattern.trim());
+            entity.setDescription(description == null ? null : description.trim());
+            entities.add(entity);
+        });
+        return repository.saveAll(entities);
+    }
+
     /**
      * Updates fields on an existing entry. Immutable entries are rejected.
      */
@@ -1,6 +1,7 @@
 package com.sun.gaia.service;
 
 import com.sun.gaia.repository.ObjectShareRepository;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,13 +24,16 @@ public class PermifyService {
   private final ObjectShareRepository shareRepository;
   private final boolean enabled;
   private final RestClient restClient;
+  private final int writeBatchSize;
 
   public PermifyService(
       ObjectShareRepository shareRepository,
       @Value("${permify.enabled:false}") boolean enabled,
-      @Value("${permify.http-endpoint:http://localhost:3477}") String httpEndpoint) {
+      @Value("${permify.http-endpoint:http://localhost:3477}") String httpEndpoint,
+      @Value("${permify.write-batch-size:100}") int writeBatchSize) {
     this.shareRepository = shareRepository;
     this.enabled = enabled;
+    this.writeBatchSize = Math.max(1, writeBatchSize);
     this.restClient = RestClient.builder().baseUrl(httpEndpoint).build();
   }
 
@@ -107,7 +111,8 @@ public class PermifyService {
   }
 
   /**
-   * Writes multiple relation tuples in one call.
+   * Writes multiple relation tuples, one request per {@code permify.write-batch-size}
+   * tuples, so sharing with many subjects costs a constant number of calls.
    *
    * @param tuples the tuples, each as object, relation, subject
    */
@@ -116,7 +121,7 @@ public class PermifyService {
       return;
     }
     try {
-      List<Map<String, Object>> permifyTuples = new java.util.ArrayList<>();
+      List<Map<String, Object>> permifyTuples = new ArrayList<>();
       for (Map<String, String> t : tuples) {
         String object = t.get("object");
         String relation = t.get("relation");
@@ -138,14 +143,16 @@ public class PermifyService {
       if (permifyTuples.isEmpty()) {
         return;
       }
-      Map<String, Object> body = new HashMap<>();
-      body.put("metadata", Map.of("schemaVersion", ""));
-      body.put("tuples", permifyTuples);
-      restClient.post()
-          .uri("/v1/tenants/t1/relationships/write")
-          .body(body)
-          .retrieve()
-          .toBodilessEntity();
+      for (int from = 0; from < permifyTuples.size(); from += writeBatchSize) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("metadata", Map.of("schemaVersion", ""));
+        body.put("tuples", permifyTuples.subList(from, Math.min(from + writeBatchSize, permifyTuples.size())));
+        restClient.post()
+            .uri("/v1/tenants/t1/relationships/write")
+            .body(body)
+            .retrieve()
+            .toBodilessEntity();
+      }
     } catch (Exception e) {
       logger.warn("Permify batch write failed for {} tuples", tuples.size(), e);
       throw new RuntimeException("Permify batch write failed", e);
@@ -1,13 +1,20 @@
 package com.sun.gaia.service;
 
 import com.sun.gaia.model.TailscaleDeviceEntity;
+import com.sun.gaia.model.TailscaleDeviceSnapshot;
 import com.sun.gaia.model.enums.DeviceStatus;
 import com.sun.gaia.repository.TailscaleDeviceRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +29,11 @@ public class TailscaleDeviceService {
     private static final Logger log = LoggerFactory.getLogger(TailscaleDeviceService.class);
 
     private final TailscaleDeviceRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TailscaleDeviceService(TailscaleDeviceRepository repository) {
+    public TailscaleDeviceService(TailscaleDeviceRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -68,6 +77,39 @@ public class TailscaleDeviceService {
         return repository.save(device);
     }
 
+    /**
+     * Applies a Headscale sync delta in one transaction: inserts or updates the
+     * changed nodes and deletes the devices whose node no longer exists. Stored
+     * devices are loaded in a single query rather than one lookup per node.
+     *
+     * @param changed           nodes that are new or whose synced fields changed.
+     * @param removedHeadscaleIds Headscale ids of nodes that have disappeared.
+     */
+    @Transactional
+    public void applyHeadscaleDelta(Collection<TailscaleDeviceSnapshot> changed, Collection<Long> removedHeadscaleIds) {
+        if (!changed.isEmpty()) {
+            Map<Long, TailscaleDeviceEntity> stored = repository.findByHeadscaleIdIn(
+                    changed.stream().map(TailscaleDeviceSnapshot::headscaleId).toList())
+                .stream()
+                .collect(Collectors.toMap(TailscaleDeviceEntity::getHeadscaleId, Function.identity(), (a, b) -> a));
+            List<TailscaleDeviceEntity> toSave = new ArrayList<>(changed.size());
+            for (TailscaleDeviceSnapshot snapshot : changed) {
+                TailscaleDeviceEntity device = stored.get(snapshot.headscaleId());
+                if (device == null) {
+                    device = new TailscaleDeviceEntity();
+                    device.setStatus(DeviceStatus.ACTIVE);
+                }
+                snapshot.applyTo(device);
+                toSave.add(device);
+            }
+            repository.saveAll(toSave);
+        }
+        if (!removedHeadscaleIds.isEmpty()) {
+            repository.deleteAllInBatch(repository.findByHeadscaleIdIn(removedHeadscaleIds));
+        }
+        log.debug("Applied Headscale delta: {} changed, {} removed", changed.size(), removedHeadscaleIds.size());
+    }
+
     /**
      * Marks a device as expired and records the expiration time.
      */
@@ -76,7 +118,9 @@ public class TailscaleDeviceService {
         TailscaleDeviceEntity device = findById(id);
         device.setStatus(DeviceStatus.EXPIRED);
         device.setExpiredAt(LocalDateTime.now());
-        return repository.save(device);
+        TailscaleDeviceEntity saved = repository.save(device);
+        eventPublisher.publishEvent(new TailscaleDevicesChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -85,5 +129,6 @@ public class TailscaleDeviceService {
     @Transactional
     public void delete(UUID id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(new TailscaleDevicesChangedEvent(id));
     }
 }
@@ -0,0 +1,12 @@
+package com.sun.gaia.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a Tailscale device record is changed outside the Headscale
+ * sync, so the WhitelistReconciler reloads what it believes is stored.
+ *
+ * @param deviceId the device that changed
+ */
+public record TailscaleDevicesChangedEvent(UUID deviceId) {
+}
@@ -0,0 +1,53 @@
+package com.sun.gaia.service.mail;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Worker pool and dispatcher thread for the outbound mail queue.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(MailQueueProperties.class)
+public class MailQueueConfig {
+
+  /**
+   * Executor used to deliver queued emails. The queue never claims more than it
+   * can hand to idle workers, so the backlog stays in the database.
+   */
+  @Bean(name = "mailExecutor")
+  public Executor mailExecutor(MailQueueProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getWorkers());
+    executor.setMaxPoolSize(properties.getWorkers());
+    executor.setQueueCapacity(properties.getWorkers() * 2);
+    executor.setThreadNamePrefix("mail-async-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Single thread that claims due emails and hands them to the workers. It is
+   * kept apart from {@code mailExecutor} so a busy worker pool cannot hold
+   * back the next claim. Requests are coalesced, so one queued task is enough.
+   */
+  @Bean(name = "mailDispatchExecutor")
+  public Executor mailDispatchExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("mail-dispatch-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,125 @@
+package com.sun.gaia.service.mail;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for the outbound mail queue and its SMTP connection pool.
+ */
+@ConfigurationProperties(prefix = "gaia.mail")
+public class MailQueueProperties {
+
+  /**
+   * Number of worker threads delivering messages, and of pooled SMTP connections.
+   */
+  private int workers = 4;
+
+  /**
+   * Maximum number of due messages claimed per dispatch pass.
+   */
+  private int batchSize = 20;
+
+  /**
+   * Delivery attempts before a message is marked failed.
+   */
+  private int maxAttempts = 6;
+
+  /**
+   * Delay before the first retry; doubles on each further attempt.
+   */
+  private Duration initialBackoff = Duration.ofSeconds(30);
+
+  /**
+   * Upper bound on the retry delay.
+   */
+  private Duration maxBackoff = Duration.ofHours(1);
+
+  /**
+   * How long a dedup key suppresses repeats of the same message.
+   */
+  private Duration dedupWindow = Duration.ofHours(1);
+
+  /**
+   * How long a claimed message may stay in flight before it is released back
+   * to the queue.
+   */
+  private Duration claimTimeout = Duration.ofMinutes(10);
+
+  /**
+   * Pooled SMTP connections idle for longer than this are closed rather than reused.
+   */
+  private Duration connectionMaxIdle = Duration.ofMinutes(1);
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public void setWorkers(int workers) {
+    this.workers = workers;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Duration getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  public void setInitialBackoff(Duration initialBackoff) {
+    this.initialBackoff = initialBackoff;
+  }
+
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  public void setMaxBackoff(Duration maxBackoff) {
+    this.maxBackoff = maxBackoff;
+  }
+
+  public Duration getDedupWindow() {
+    return dedupWindow;
+  }
+
+  public void setDedupWindow(Duration dedupWindow) {
+    this.dedupWindow = dedupWindow;
+  }
+
+  public Duration getClaimTimeout() {
+    return claimTimeout;
+  }
+
+  public void setClaimTimeout(Duration claimTimeout) {
+    this.claimTimeout = claimTimeout;
+  }
+
+  public Duration getConnectionMaxIdle() {
+    return connectionMaxIdle;
+  }
+
+  public void setConnectionMaxIdle(Duration connectionMaxIdle) {
+    this.connectionMaxIdle = connectionMaxIdle;
+  }
+
+  /**
+   * Returns the retry delay after the given number of failed attempts.
+   */
+  public Duration backoffAfter(int attempts) {
+    int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+    Duration delay = initialBackoff.multipliedBy(1L << doublings);
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+}
@@ -0,0 +1,298 @@
+package com.sun.gaia.service.mail;
+
+import com.sun.gaia.model.OutboundEmailEntity;
+import com.sun.gaia.model.enums.OutboundEmailStatus;
+import com.sun.gaia.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persistent outbound mail queue. Callers enqueue a row, committed in its own
+ * transaction, and return immediately; the {@code mailDispatchExecutor} thread
+ * then claims due rows with {@code FOR UPDATE SKIP LOCKED} and workers from
+ * the {@code mailExecutor} pool deliver them over pooled SMTP connections.
+ * Each claim carries a fresh token, and outcomes are only recorded against the
+ * token they were claimed with, so a worker whose stale claim was released
+ * cannot overwrite a later attempt. Failed deliveries are retried with
+ * exponential backoff until {@code gaia.mail.max-attempts} is reached.
+ */
+@Service
+public class OutboundEmailQueue {
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboundEmailQueue.class);
+
+  private final OutboundEmailRepository repository;
+  private final SmtpTransportPool transportPool;
+  private final Executor executor;
+  private final Executor dispatchExecutor;
+  private final MailQueueProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate enqueueTemplate;
+
+  /**
+   * One permit per idle worker; rows are only claimed against a held permit.
+   */
+  private final Semaphore workers;
+  private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+  private final Object dispatchLock = new Object();
+
+  private final Timer queueLatency;
+  private final Counter sent;
+  private final Counter retried;
+  private final Counter failed;
+  private final Counter deduplicated;
+
+  public OutboundEmailQueue(
+      OutboundEmailRepository repository,
+      SmtpTransportPool transportPool,
+      @Qualifier("mailExecutor") Executor executor,
+      @Qualifier("mailDispatchExecutor") Executor dispatchExecutor,
+      MailQueueProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.transportPool = transportPool;
+    this.executor = executor;
+    this.dispatchExecutor = dispatchExecutor;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enqueueTemplate = new TransactionTemplate(transactionManager);
+    this.enqueueTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.workers = new Semaphore(properties.getWorkers());
+
+    this.queueLatency = Timer.builder("mail.queue.latency")
+        .description("Time from enqueue to successful delivery")
+        .register(meterRegistry);
+    this.sent = Counter.builder("mail.sent")
+        .description("Emails delivered")
+        .register(meterRegistry);
+    this.retried = failures(meterRegistry, "retry");
+    this.failed = failures(meterRegistry, "failed");
+    this.deduplicated = Counter.builder("mail.queue.deduplicated")
+        .description("Emails dropped because their dedup key was recently queued")
+        .register(meterRegistry);
+    Gauge.builder("mail.workers.busy", workers, w -> properties.getWorkers() - w.availablePermits())
+        .description("Mail workers currently delivering")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Queues a plain-text email and wakes the workers. The row is written in a
+   * transaction of its own, so a failure here never marks the caller's
+   * transaction rollback-only. Repeats are rejected by the unique index on the
+   * dedup key rather than a check-then-insert.
+   *
+   * @param toEmail the recipient address
+   * @param subject the message subject
+   * @param body the message body
+   * @param dedupKey identifies the logical message; a repeat within the dedup
+   *     window is dropped. Null disables deduplication.
+   * @return true if the email was queued, false if it was deduplicated
+   */
+  public boolean enqueue(String toEmail, String subject, String body, String dedupKey) {
+    try {
+      enqueueTemplate.executeWithoutResult(status -> {
+        LocalDateTime now = LocalDateTime.now();
+        if (dedupKey != null) {
+          repository.releaseDedupKey(dedupKey, now.minus(properties.getDedupWindow()));
+        }
+        OutboundEmailEntity email = new OutboundEmailEntity();
+        email.setToAddress(toEmail);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setDedupKey(dedupKey);
+        email.setNextAttemptAt(now);
+        repository.saveAndFlush(email);
+      });
+    } catch (DataIntegrityViolationException e) {
+      if (dedupKey == null) {
+        throw e;
+      }
+      deduplicated.increment();
+      logger.debug("Dropped duplicate email '{}' to {}", subject, toEmail);
+      return false;
+    }
+    requestDispatch();
+    return true;
+  }
+
+  /**
+   * Picks up retries that have become due and messages whose wake-up was
+   * missed, and releases claims abandoned by a crashed worker.
+   */
+  @Scheduled(fixedDelayString = "${gaia.mail.poll-interval-ms:5000}")
+  public void poll() {
+    try {
+      LocalDateTime cutoff = LocalDateTime.now().minus(properties.getClaimTimeout());
+      Integer released = transactionTemplate.execute(status -> repository.releaseStale(
+          cutoff, OutboundEmailStatus.SENDING, OutboundEmailStatus.PENDING));
+      if (released != null && released > 0) {
+        logger.warn("Released {} stale outbound email claim(s)", released);
+      }
+      dispatch();
+    } catch (Exception e) {
+      logger.warn("Outbound mail poll failed", e);
+    }
+  }
+
+  /**
+   * Claims as many due messages as there are idle workers and hands them out.
+   */
+  public void dispatch() {
+    dispatchRequested.set(false);
+    synchronized (dispatchLock) {
+      int permits = 0;
+      while (permits < properties.getBatchSize() && workers.tryAcquire()) {
+        permits++;
+      }
+      if (permits == 0) {
+        return;
+      }
+      List<OutboundEmailEntity> claimed;
+      try {
+        claimed = claim(permits);
+      } catch (RuntimeException e) {
+        workers.release(permits);
+        throw e;
+      }
+      workers.release(permits - claimed.size());
+      boolean full = claimed.size() == permits;
+      for (OutboundEmailEntity email : claimed) {
+        try {
+          executor.execute(() -> deliver(email, full));
+        } catch (RejectedExecutionException e) {
+          workers.release();
+          reschedule(email, Duration.ZERO, null);
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends one claimed message and records the outcome. Frees its worker and,
+   * if the last claim was full, asks for another pass.
+   */
+  void deliver(OutboundEmailEntity email, boolean more) {
+    try {
+      transportPool.send(email.getToAddress(), email.getSubject(), email.getBody());
+      LocalDateTime now = LocalDateTime.now();
+      email.setStatus(OutboundEmailStatus.SENT);
+      email.setAttempts(email.getAttempts() + 1);
+      email.setSentAt(now);
+      email.setLastError(null);
+      record(email);
+      sent.increment();
+      if (email.getCreatedAt() != null) {
+        queueLatency.record(Duration.between(email.getCreatedAt(), now));
+      }
+    } catch (Exception e) {
+      int attempts = email.getAttempts() + 1;
+      email.setAttempts(attempts);
+      if (attempts >= properties.getMaxAttempts()) {
+        logger.error("Giving up on email '{}' to {} after {} attempts",
+            email.getSubject(), email.getToAddress(), attempts, e);
+        email.setStatus(OutboundEmailStatus.FAILED);
+        email.setLastError(truncate(e.toString()));
+        record(email);
+        failed.increment();
+      } else {
+        Duration backoff = properties.backoffAfter(attempts);
+        logger.warn("Failed to send email '{}' to {} (attempt {}), retrying in {}",
+            email.getSubject(), email.getToAddress(), attempts, backoff, e);
+        reschedule(email, backoff, e);
+        retried.increment();
+      }
+    } finally {
+      workers.release();
+      if (more) {
+        requestDispatch();
+      }
+    }
+  }
+
+  private List<OutboundEmailEntity> claim(int limit) {
+    return transactionTemplate.execute(status -> {
+      LocalDateTime now = LocalDateTime.now();
+      List<OutboundEmailEntity> due = repository.lockDue(now, limit);
+      for (OutboundEmailEntity email : due) {
+        email.setStatus(OutboundEmailStatus.SENDING);
+        email.setClaimedAt(now);
+        email.setClaimToken(UUID.randomUUID());
+      }
+      return due.isEmpty() ? due : repository.saveAll(due);
+    });
+  }
+
+  private void reschedule(OutboundEmailEntity email, Duration delay, Exception error) {
+    email.setStatus(OutboundEmailStatus.PENDING);
+    email.setNextAttemptAt(LocalDateTime.now().plus(delay));
+    if (error != null) {
+      email.setLastError(truncate(error.toString()));
+    }
+    record(email);
+  }
+
+  /**
+   * Persists a delivery outcome against the email's claim token. If the
+   * claim was released meanwhile the outcome is dropped, and on failure the
+   * claim is left to expire and be released by {@link #poll()}.
+   */
+  private void record(OutboundEmailEntity email) {
+    try {
+      Boolean recorded = transactionTemplate.execute(status -> repository.recordOutcome(email));
+      if (!Boolean.TRUE.equals(recorded)) {
+        logger.warn("Claim on outbound email {} was lost; dropped its {} outcome", email.getId(), email.getStatus());
+      }
+    } catch (Exception e) {
+      logger.error("Failed to record outcome for outbound email {}", email.getId(), e);
+    }
+  }
+
+  private void requestDispatch() {
+    if (dispatchRequested.getAndSet(true)) {
+      return;
+    }
+    try {
+      dispatchExecutor.execute(() -> {
+        try {
+          dispatch();
+        } catch (Exception e) {
+          logger.warn("Outbound mail dispatch failed", e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The poller will pick the work up.
+      dispatchRequested.set(false);
+    }
+  }
+
+  private static String truncate(String message) {
+    return message.length() <= 1000 ? message : message.substring(0, 1000);
+  }
+
+  private static Counter failures(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("mail.send.failures")
+        .description("Failed email delivery attempts")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,257 @@
+package com.sun.gaia.service.mail;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends plain-text email over a small pool of authenticated SMTP connections,
+ * so consecutive messages skip the TLS and XOAUTH2 handshakes. Connections are
+ * checked before reuse and dropped after an idle period or a send failure.
+ *
+ * <p>XOAUTH2 against Gmail is used when a refresh token is configured;
+ * otherwise connections are unauthenticated.
+ */
+@Component
+public class SmtpTransportPool implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final String host;
+  private final int port;
+  private final String oauthEndpoint;
+  private final String clientId;
+  private final String clientSecret;
+  private final String refreshToken;
+  private final String fromAddress;
+  private final int maxPooled;
+  private final long maxIdleMillis;
+  private final Session session;
+
+  /**
+   * Idle connections, most recently used first.
+   */
+  private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+  private volatile String cachedAccessToken;
+  private volatile long tokenExpiresAt;
+
+  public SmtpTransportPool(
+      @Value("${EMAIL_HOST:smtp.gmail.com}") String host,
+      @Value("${EMAIL_PORT:465}") int port,
+      @Value("${EMAIL_SSL:true}") boolean ssl,
+      @Value("${EMAIL_OAUTH:oauth2.googleapis.com}") String oauthEndpoint,
+      @Value("${EMAIL_CLIENT_ID:}") String clientId,
+      @Value("${EMAIL_CLIENT_SECRET:}") String clientSecret,
+      @Value("${EMAIL_REFRESH_TOKEN:}") String refreshToken,
+      @Value("${EMAIL_ADDRESS:}") String fromAddress,
+      MailQueueProperties properties) {
+    this.host = host;
+    this.port = port;
+    this.oauthEndpoint = oauthEndpoint;
+    this.clientId = clientId;
+    this.clientSecret = clientSecret;
+    this.refreshToken = refreshToken;
+    this.fromAddress = fromAddress;
+    this.maxPooled = properties.getWorkers();
+    this.maxIdleMillis = properties.getConnectionMaxIdle().toMillis();
+
+    Properties props = new Properties();
+    props.put("mail.smtp.host", host);
+    props.put("mail.smtp.port", String.valueOf(port));
+    props.put("mail.smtp.ssl.enable", String.valueOf(ssl));
+    props.put("mail.smtp.connectiontimeout", String.valueOf(Duration.ofSeconds(10).toMillis()));
+    props.put("mail.smtp.timeout", String.valueOf(Duration.ofSeconds(30).toMillis()));
+    if (isAuthenticated()) {
+      props.put("mail.smtp.auth.mechanisms", "XOAUTH2");
+      props.put("mail.smtp.auth", "true");
+    }
+    this.session = Session.getInstance(props);
+  }
+
+  /**
+   * Sends a plain-text email on a pooled connection.
+   *
+   * @param toEmail the recipient address
+   * @param subject the message subject
+   * @param body the message body
+   * @throws MessagingException when the message cannot be delivered to the server
+   */
+  public void send(String toEmail, String subject, String body) throws MessagingException {
+    PooledTransport pooled = borrow();
+    boolean reusable = false;
+    try {
+      MimeMessage message = new MimeMessage(session);
+      message.setFrom(new InternetAddress(fromAddress));
+      message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(toEmail));
+      message.setSubject(subject);
+      message.setText(body);
+      message.saveChanges();
+
+      pooled.transport().sendMessage(message, message.getAllRecipients());
+      reusable = true;
+      logger.info("Email '{}' sent to {}", subject, toEmail);
+    } finally {
+      if (reusable) {
+        release(pooled);
+      } else {
+        close(pooled);
+      }
+    }
+  }
+
+  /**
+   * Closes every idle connection.
+   */
+  @Override
+  public void destroy() {
+    PooledTransport pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      close(pooled);
+    }
+  }
+
+  /**
+   * Number of connections currently idle in the pool.
+   */
+  int idleCount() {
+    return idle.size();
+  }
+
+  private PooledTransport borrow() throws MessagingException {
+    long now = System.currentTimeMillis();
+    PooledTransport pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      if (now - pooled.releasedAt() <= maxIdleMillis && pooled.transport().isConnected()) {
+        return pooled;
+      }
+      close(pooled);
+    }
+    return new PooledTransport(connect(), now);
+  }
+
+  private void release(PooledTransport pooled) {
+    if (idle.size() >= maxPooled) {
+      close(pooled);
+      return;
+    }
+    idle.offerFirst(new PooledTransport(pooled.transport(), System.currentTimeMillis()));
+  }
+
+  private Transport connect() throws MessagingException {
+    Transport transport = session.getTransport("smtp");
+    if (isAuthenticated()) {
+      String accessToken;
+      try {
+        accessToken = getAccessToken();
+      } catch (Exception e) {
+        throw new MessagingException("Failed to obtain SMTP access token", e);
+      }
+      transport.connect(host, port, fromAddress, accessToken);
+    } else {
+      transport.connect(host, port, null, null);
+    }
+    return transport;
+  }
+
+  private void close(PooledTransport pooled) {
+    try {
+      pooled.transport().close();
+    } catch (MessagingException e) {
+      logger.debug("Failed to close SMTP connection", e);
+    }
+  }
+
+  private boolean isAuthenticated() {
+    return refreshToken != null && !refreshToken.isBlank();
+  }
+
+  private synchronized String getAccessToken() throws Exception {
+    long now = System.currentTimeMillis();
+    if (cachedAccessToken != null && now < tokenExpiresAt - 60000) {
+      return cachedAccessToken;
+    }
+
+    String urlStr = "https://" + oauthEndpoint + "/token";
+    URL url = new URL(urlStr);
+    HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    conn.setRequestMethod("POST");
+    conn.setDoOutput(true);
+    conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+
+    String body = "grant_type=refresh_token"
+        + "&client_id=" + URLEncoder.encode(clientId, StandardCharsets.UTF_8)
+        + "&client_secret=" + URLEncoder.encode(clientSecret, StandardCharsets.UTF_8)
+        + "&refresh_token=" + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8);
+
+    try (OutputStream os = conn.getOutputStream()) {
+      os.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    int status = conn.getResponseCode();
+    if (status >= 400) {
+      throw new RuntimeException("OAuth token refresh failed (" + status + "): " + readErrorBody(conn));
+    }
+
+    JsonNode json = MAPPER.readTree(conn.getInputStream());
+    JsonNode tokenNode = json.get("access_token");
+    if (tokenNode == null) {
+      throw new RuntimeException("OAuth token refresh response had no access_token: " + json);
+    }
+    String token = tokenNode.asText();
+    int expiresIn = json.get("expires_in").asInt();
+
+    cachedAccessToken = token;
+    tokenExpiresAt = now + (expiresIn * 1000L);
+
+    logger.info("Refreshed Gmail OAuth2 access token, expires in {} seconds", expiresIn);
+    return cachedAccessToken;
+  }
+
+  /**
+   * Reads the error stream of a failed token request.
+   *
+   * @param conn the failed connection
+   * @return the Google error body, or the status line when unreadable
+   */
+  private static String readErrorBody(HttpURLConnection conn) {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(conn.getErrorStream(), StandardCharsets.UTF_8))) {
+      StringBuilder body = new StringBuilder();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        body.append(line);
+      }
+      return body.toString();
+    } catch (Exception e) {
+      return "no error body";
+    }
+  }
+
+  /**
+   * A connected transport and when it was last returned to the pool.
+   */
+  private record PooledTransport(Transport transport, long releasedAt) {}
+}
@@ -0,0 +1,81 @@
+package com.sun.gaia.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.base.cache.CacheInvalidationEvent;
+import com.sun.fates.model.PersonEntity;
+import com.sun.fates.service.PersonService;
+import com.sun.gaia.model.AccountEntity;
+import com.sun.gaia.model.enums.AccountType;
+import com.sun.gaia.repository.AccountRepository;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for AccountService.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountServiceTest {
+
+  @Mock
+  private AccountRepository repository;
+
+  @Mock
+  private PersonService personService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private AccountService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AccountService(repository, personService, eventPublisher);
+  }
+
+  @Test
+  void upsertGhostAccount_invalidatesListingsWhenCreated() {
+    when(repository.findByUsernameAndAccountType("owner", AccountType.GHOST)).thenReturn(Optional.empty());
+    when(repository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    AccountEntity account = service.upsertGhostAccount("owner");
+
+    assertThat(account.getAccountType()).isEqualTo(AccountType.GHOST);
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(AccountService.ACCOUNTS_TAG));
+  }
+
+  @Test
+  void upsertGhostAccount_leavesListingsWhenFound() {
+    AccountEntity existing = new AccountEntity();
+    when(repository.findByUsernameAndAccountType("owner", AccountType.GHOST)).thenReturn(Optional.of(existing));
+
+    assertThat(service.upsertGhostAccount("owner")).isSameAs(existing);
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void upsertProviderAccount_invalidatesListingsWhenCreated() {
+    when(repository.findByProviderAndProviderId("discord", "42")).thenReturn(Optional.empty());
+    when(personService.save(any(PersonEntity.class))).thenAnswer(invocation -> {
+      PersonEntity person = invocation.getArgument(0);
+      person.setId(UUID.randomUUID());
+      return person;
+    });
+    when(repository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    AccountEntity account = service.upsertProviderAccount("discord", "42", "sun", "Sun", "sun@sun.test");
+
+    assertThat(account.getUsername()).isEqualTo("discord_42");
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(AccountService.ACCOUNTS_TAG));
+  }
+}
@@ -0,0 +1,107 @@
+package com.sun.gaia.service.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests. Accepts any sender, records each
+ * message's DATA section, and can be told to reject recipients.
+ */
+class LocalSmtpServer implements AutoCloseable {
+
+  private final ServerSocket socket;
+  private final AtomicInteger connections = new AtomicInteger();
+  private final List<String> messages = new CopyOnWriteArrayList<>();
+  private volatile boolean rejectRecipients;
+
+  LocalSmtpServer() throws IOException {
+    socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread acceptor = new Thread(this::acceptLoop, "local-smtp");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  int port() {
+    return socket.getLocalPort();
+  }
+
+  int connections() {
+    return connections.get();
+  }
+
+  List<String> messages() {
+    return messages;
+  }
+
+  void rejectRecipients(boolean reject) {
+    this.rejectRecipients = reject;
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+
+  private void acceptLoop() {
+    while (!socket.isClosed()) {
+      try {
+        Socket client = socket.accept();
+        connections.incrementAndGet();
+        Thread handler = new Thread(() -> handle(client), "local-smtp-session");
+        handler.setDaemon(true);
+        handler.start();
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void handle(Socket client) {
+    try (client;
+        BufferedReader in = new BufferedReader(
+            new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+        Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.US_ASCII)) {
+      reply(out, "220 localhost ESMTP");
+      String line;
+      while ((line = in.readLine()) != null) {
+        String command = line.toUpperCase(Locale.ROOT);
+        if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+          reply(out, "250 localhost");
+        } else if (command.startsWith("RCPT") && rejectRecipients) {
+          reply(out, "550 mailbox unavailable");
+        } else if (command.startsWith("DATA")) {
+          reply(out, "354 end data with <CR><LF>.<CR><LF>");
+          StringBuilder data = new StringBuilder();
+          while ((line = in.readLine()) != null && !line.equals(".")) {
+            data.append(line).append('\n');
+          }
+          messages.add(data.toString());
+          reply(out, "250 queued");
+        } else if (command.startsWith("QUIT")) {
+          reply(out, "221 bye");
+          return;
+        } else {
+          reply(out, "250 ok");
+        }
+      }
+    } catch (IOException e) {
+      // Client went away.
+    }
+  }
+
+  private static void reply(Writer out, String line) throws IOException {
+    out.write(line + "\r\n");
+    out.flush();
+  }
+}
@@ -0,0 +1,183 @@
+package com.sun.gaia.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.gaia.model.OutboundEmailEntity;
+import com.sun.gaia.model.enums.OutboundEmailStatus;
+import com.sun.gaia.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Unit tests for OutboundEmailQueue delivering to a local SMTP server.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboundEmailQueueTest {
+
+  @Mock
+  private OutboundEmailRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private LocalSmtpServer smtp;
+  private SmtpTransportPool pool;
+  private SimpleMeterRegistry meterRegistry;
+  private MailQueueProperties properties;
+  private OutboundEmailQueue queue;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    smtp = new LocalSmtpServer();
+    properties = new MailQueueProperties();
+    properties.setWorkers(2);
+    properties.setMaxAttempts(3);
+    pool = new SmtpTransportPool(
+        "127.0.0.1", smtp.port(), false, "", "", "", "", "noreply@sun.test", properties);
+    meterRegistry = new SimpleMeterRegistry();
+    queue = new OutboundEmailQueue(
+        repository, pool, Runnable::run, Runnable::run, properties, transactionManager, meterRegistry);
+    lenient().when(repository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+    lenient().when(repository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    lenient().when(repository.recordOutcome(any(OutboundEmailEntity.class))).thenReturn(true);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    pool.destroy();
+    smtp.close();
+  }
+
+  @Test
+  void dispatch_deliversClaimedEmailsOverPooledConnection() {
+    List<OutboundEmailEntity> due = List.of(
+        email("a@sun.test"), email("b@sun.test"), email("c@sun.test"));
+    when(repository.lockDue(any(), anyInt())).thenReturn(due.subList(0, 2), due.subList(2, 3), List.of());
+
+    queue.dispatch();
+
+    assertThat(smtp.messages()).hasSize(3);
+    assertThat(smtp.connections()).isEqualTo(1);
+    assertThat(due).allSatisfy(email -> {
+      assertThat(email.getStatus()).isEqualTo(OutboundEmailStatus.SENT);
+      assertThat(email.getSentAt()).isNotNull();
+      assertThat(email.getAttempts()).isEqualTo(1);
+      assertThat(email.getClaimToken()).isNotNull();
+    });
+    assertThat(due).extracting(OutboundEmailEntity::getClaimToken).doesNotHaveDuplicates();
+    verify(repository, times(3)).recordOutcome(any(OutboundEmailEntity.class));
+    assertThat(meterRegistry.get("mail.sent").counter().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("mail.queue.latency").timer().count()).isEqualTo(3);
+  }
+
+  @Test
+  void deliver_reschedulesWithBackoffWhenSendFails() {
+    smtp.rejectRecipients(true);
+    OutboundEmailEntity email = email("bounce@sun.test");
+    when(repository.lockDue(any(), anyInt())).thenReturn(List.of(email));
+
+    LocalDateTime before = LocalDateTime.now();
+    queue.dispatch();
+
+    assertThat(email.getStatus()).isEqualTo(OutboundEmailStatus.PENDING);
+    assertThat(email.getAttempts()).isEqualTo(1);
+    assertThat(email.getNextAttemptAt()).isAfterOrEqualTo(before.plus(properties.getInitialBackoff()));
+    assertThat(email.getLastError()).isNotBlank();
+    assertThat(meterRegistry.get("mail.send.failures").tag("outcome", "retry").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void deliver_marksFailedAfterMaxAttempts() {
+    smtp.rejectRecipients(true);
+    OutboundEmailEntity email = email("bounce@sun.test");
+    email.setAttempts(properties.getMaxAttempts() - 1);
+    when(repository.lockDue(any(), anyInt())).thenReturn(List.of(email));
+
+    queue.dispatch();
+
+    assertThat(email.getStatus()).isEqualTo(OutboundEmailStatus.FAILED);
+    assertThat(meterRegistry.get("mail.send.failures").tag("outcome", "failed").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void deliver_dropsOutcomeWhenClaimWasLost() {
+    OutboundEmailEntity email = email("a@sun.test");
+    when(repository.lockDue(any(), anyInt())).thenReturn(List.of(email));
+    when(repository.recordOutcome(email)).thenReturn(false);
+
+    queue.dispatch();
+
+    assertThat(smtp.messages()).hasSize(1);
+    verify(repository).recordOutcome(email);
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void enqueue_dropsDuplicateRejectedByDedupIndex() {
+    when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("idx_outbound_emails_dedup"));
+
+    boolean queued = queue.enqueue("a@sun.test", "Hi", "Body", "share-notes:1");
+
+    assertThat(queued).isFalse();
+    verify(repository).releaseDedupKey(eq("share-notes:1"), any());
+    verify(repository, never()).lockDue(any(), anyInt());
+    assertThat(meterRegistry.get("mail.queue.deduplicated").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void enqueue_persistsInItsOwnTransactionAndWakesWorkers() {
+    when(repository.lockDue(any(), anyInt())).thenReturn(List.of());
+
+    boolean queued = queue.enqueue("a@sun.test", "Hi", "Body", null);
+
+    assertThat(queued).isTrue();
+    verify(transactionManager).getTransaction(argThat(definition ->
+        definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    verify(repository).saveAndFlush(any(OutboundEmailEntity.class));
+    verify(repository, never()).releaseDedupKey(any(), any());
+    verify(repository).lockDue(any(), anyInt());
+  }
+
+  @Test
+  void backoffAfter_doublesUpToMaximum() {
+    assertThat(properties.backoffAfter(1)).isEqualTo(properties.getInitialBackoff());
+    assertThat(properties.backoffAfter(2)).isEqualTo(properties.getInitialBackoff().multipliedBy(2));
+    assertThat(properties.backoffAfter(40)).isEqualTo(properties.getMaxBackoff());
+  }
+
+  private OutboundEmailEntity email(String to) {
+    OutboundEmailEntity email = new OutboundEmailEntity();
+    email.setId(UUID.randomUUID());
+    email.setToAddress(to);
+    email.setSubject("Notes shared with you");
+    email.setBody("Someone shared their notes with you.");
+    email.setStatus(OutboundEmailStatus.SENDING);
+    email.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+    email.setNextAttemptAt(LocalDateTime.now());
+    return email;
+  }
+}
@@ -35,6 +35,7 @@ public class ReaderTextMapper {
         .ownerId(entity.getOwnerId() == null ? null : entity.getOwnerId().toString())
         .sourceId(entity.getSourceId() == null ? null : entity.getSourceId().toString())
         .status(entity.getStatus())
+        .contentLength(entity.getContentLength())
         .createdAt(entity.getCreatedAt() == null ? null : entity.getCreatedAt().atOffset(ZoneOffset.UTC))
         .updatedAt(entity.getLastUpdatedAt() == null ? null : entity.getLastUpdatedAt().atOffset(ZoneOffset.UTC))
         .build();
@@ -52,7 +53,7 @@ public class ReaderTextMapper {
     logger.debug("Mapping input for reader text {}", input.getTitle());
     ReaderTextEntity entity = new ReaderTextEntity();
     entity.setTitle(input.getTitle());
-    entity.setContent(input.getContent());
+    entity.setContentLength(input.getContent() == null ? null : input.getContent().length());
     entity.setLanguage(input.getLanguage());
     entity.setLevel(input.getLevel() == null ? CefrLevel.A1 : input.getLevel());
     UUID ownerId =
@@ -84,6 +84,7 @@ public class ReaderTextDataFetcher {
   /**
    * Resolves the heavy text body only when the client selects it, so list
    * queries that ask for id/title don't pull and serialize the full content.
+   * With {@code offset} or {@code length}, only that range is read.
    *
    * @param env the data-fetching environment, providing the parent ReaderText
    * @return the text content, or null when the parent has no id
@@ -95,7 +96,13 @@ public class ReaderTextDataFetcher {
     if (parent == null || parent.getId() == null) {
       return null;
     }
-    return readerTextGraphQLService.textContent(parent.getId());
+    Integer offset = env.getArgument("offset");
+    Integer length = env.getArgument("length");
+    if (offset == null && length == null) {
+      return readerTextGraphQLService.textContent(parent.getId());
+    }
+    return readerTextGraphQLService.textContent(parent.getId(),
+        offset == null ? 0 : offset, length == null ? Integer.MAX_VALUE : length);
   }
 
   /**
@@ -1,5 +1,6 @@
 package com.sun.hades.graphql.services;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.base.util.FilterSpec;
 import com.sun.base.util.GraphQLSupport;
 import com.sun.gaia.service.UserContextHolder;
@@ -26,6 +27,7 @@ import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -40,19 +42,25 @@ public class ReaderTextGraphQLService {
 
   private static final Logger logger = LoggerFactory.getLogger(ReaderTextGraphQLService.class);
 
+  /** Invalidation tag of the cached text listings. */
+  public static final String TEXTS_TAG = "hades.texts";
+
   private final ReaderTextService textService;
   private final ReaderSourceService sourceService;
   private final ReaderTextMapper textMapper;
   private final ReaderSourceMapper sourceMapper;
   private final InferenceClient inferenceClient;
+  private final ApplicationEventPublisher eventPublisher;
 
   public ReaderTextGraphQLService(ReaderTextService textService, ReaderSourceService sourceService,
-      ReaderTextMapper textMapper, ReaderSourceMapper sourceMapper, InferenceClient inferenceClient) {
+      ReaderTextMapper textMapper, ReaderSourceMapper sourceMapper, InferenceClient inferenceClient,
+      ApplicationEventPublisher eventPublisher) {
     this.textService = textService;
     this.sourceService = sourceService;
     this.textMapper = textMapper;
     this.sourceMapper = sourceMapper;
     this.inferenceClient = inferenceClient;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -95,9 +103,20 @@ public class ReaderTextGraphQLService {
    */
   @Transactional(readOnly = true)
   public String textContent(String id) {
-    return textService.findById(UUID.fromString(id))
-        .map(ReaderTextEntity::getContent)
-        .orElse(null);
+    return textContent(id, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a range of the text body, reading only the chunks that cover it.
+   *
+   * @param id the text id
+   * @param offset the first character wanted
+   * @param length the number of characters wanted
+   * @return the range, clipped to the end of the body, or null when the text is missing
+   */
+  @Transactional(readOnly = true)
+  public String textContent(String id, int offset, int length) {
+    return textService.content(UUID.fromString(id), offset, length).orElse(null);
   }
 
   /**
@@ -161,7 +180,9 @@ public class ReaderTextGraphQLService {
     return mutate("createText", () -> {
       requireUser();
       ReaderTextEntity entity = textMapper.mapInput(input);
-      return textService.save(entity).getId();
+      UUID id = textService.create(entity, input.getContent()).getId();
+      eventPublisher.publishEvent(CacheInvalidationEvent.of(TEXTS_TAG));
+      return id;
     });
   }
 
@@ -178,7 +199,9 @@ public class ReaderTextGraphQLService {
       ReaderTextEntity text = textService.findById(UUID.fromString(id))
           .orElseThrow(() -> new IllegalArgumentException("Text not found: " + id));
       text.setStatus(ReaderTextStatus.ARCHIVED);
-      return textService.save(text).getId();
+      UUID saved = textService.save(text).getId();
+      eventPublisher.publishEvent(CacheInvalidationEvent.of(TEXTS_TAG));
+      return saved;
     });
   }
 
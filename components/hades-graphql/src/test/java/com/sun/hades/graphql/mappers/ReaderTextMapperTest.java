@@ -23,7 +23,7 @@ class ReaderTextMapperTest {
     ReaderTextEntity entity = new ReaderTextEntity();
     entity.setId(UUID.randomUUID());
     entity.setTitle("Title");
-    entity.setContent("content");
+    entity.setContentLength(7);
     entity.setLanguage("fr");
     entity.setLevel(CefrLevel.A1);
     entity.setSourceId(sourceId);
@@ -36,6 +36,7 @@ class ReaderTextMapperTest {
     assertThat(result.getId()).isEqualTo(entity.getId().toString());
     assertThat(result.getTitle()).isEqualTo("Title");
     assertThat(result.getContent()).isNull();
+    assertThat(result.getContentLength()).isEqualTo(7);
     assertThat(result.getLanguage()).isEqualTo("fr");
     assertThat(result.getLevel()).isEqualTo(CefrLevel.A1);
     assertThat(result.getSourceId()).isEqualTo(sourceId.toString());
@@ -51,7 +52,7 @@ class ReaderTextMapperTest {
     ReaderTextEntity result = mapper.mapInput(input);
 
     assertThat(result.getTitle()).isEqualTo("Title");
-    assertThat(result.getContent()).isEqualTo("content");
+    assertThat(result.getContentLength()).isEqualTo(7);
     assertThat(result.getLanguage()).isEqualTo("fr");
     assertThat(result.getLevel()).isEqualTo(CefrLevel.B2);
   }
@@ -78,6 +78,17 @@ class ReaderTextDataFetcherTest {
     verify(readerTextGraphQLService).textContent("text-id");
   }
 
+  @Test
+  void textContent_shouldReadRangeWhenArgumentsGiven() {
+    ReaderText parent = ReaderText.newBuilder().id("text-id").title("T").build();
+    when(env.getSource()).thenReturn(parent);
+    when(env.getArgument("offset")).thenReturn(4000);
+    when(env.getArgument("length")).thenReturn(null);
+    when(readerTextGraphQLService.textContent("text-id", 4000, Integer.MAX_VALUE)).thenReturn("rest");
+
+    assertThat(fetcher.textContent(env)).isEqualTo("rest");
+  }
+
   @Test
   void textContent_shouldReturnNullWhenNoParent() {
     when(env.getSource()).thenReturn(null);
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.sun.base.cache.CacheInvalidationEvent;
 import com.sun.gaia.service.UserContextHolder;
 import com.sun.hades.codegen.types.PagedReaderTexts;
 import com.sun.hades.codegen.types.QuerySuccess;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -44,6 +46,7 @@ class ReaderTextGraphQLServiceTest {
   @Mock private InferenceClient inferenceClient;
   @Mock private ReaderTextMapper textMapper;
   @Mock private ReaderSourceMapper sourceMapper;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks private ReaderTextGraphQLService service;
 
@@ -182,12 +185,29 @@ class ReaderTextGraphQLServiceTest {
     when(textMapper.mapInput(input)).thenReturn(entity);
     ReaderTextEntity saved = new ReaderTextEntity();
     saved.setId(UUID.randomUUID());
-    when(textService.save(entity)).thenReturn(saved);
+    when(textService.create(entity, "content")).thenReturn(saved);
 
     var result = service.createText(input);
 
     assertThat(result).isInstanceOf(QuerySuccess.class);
     assertThat(((QuerySuccess) result).getId()).isEqualTo(saved.getId().toString());
+    verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(ReaderTextGraphQLService.TEXTS_TAG));
+  }
+
+  @Test
+  void textContent_readsOnlyTheRequestedRange() {
+    UUID id = UUID.randomUUID();
+    when(textService.content(id, 100, 50)).thenReturn(Optional.of("page"));
+
+    assertThat(service.textContent(id.toString(), 100, 50)).isEqualTo("page");
+  }
+
+  @Test
+  void textContent_returnsNullForMissingText() {
+    UUID id = UUID.randomUUID();
+    when(textService.content(id, 0, Integer.MAX_VALUE)).thenReturn(Optional.empty());
+
+    assertThat(service.textContent(id.toString())).isNull();
   }
 
   @Test
@@ -195,7 +215,7 @@ class ReaderTextGraphQLServiceTest {
     ReaderTextInput input = ReaderTextInput.newBuilder()
         .title("Title").content("content").language("fr").level(CefrLevel.A1).build();
     when(textMapper.mapInput(input)).thenReturn(new ReaderTextEntity());
-    when(textService.save(any())).thenThrow(new RuntimeException("fail"));
+    when(textService.create(any(), any())).thenThrow(new RuntimeException("fail"));
 
     var result = service.createText(input);
 
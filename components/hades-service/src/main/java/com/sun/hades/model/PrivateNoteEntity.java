@@ -1,10 +1,13 @@
 package com.sun.hades.model;
 
 import com.sun.base.model.BaseEntity;
+import com.sun.base.model.RemoteObjectOwner;
+import com.sun.base.model.RemoteObjectRefListener;
 import com.sun.hades.model.enums.PrivateNoteVisibility;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
@@ -16,8 +19,9 @@ import org.hibernate.annotations.Type;
  * A per-user private note anchored to a text range.
  */
 @Entity
+@EntityListeners(RemoteObjectRefListener.class)
 @Table(name = "hades_private_notes")
-public class PrivateNoteEntity extends BaseEntity {
+public class PrivateNoteEntity extends BaseEntity implements RemoteObjectOwner {
 
   @Column(name = "owner_id", nullable = false)
   private UUID ownerId;
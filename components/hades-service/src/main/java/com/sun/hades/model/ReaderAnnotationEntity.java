@@ -1,10 +1,13 @@
 package com.sun.hades.model;
 
 import com.sun.base.model.BaseEntity;
+import com.sun.base.model.RemoteObjectOwner;
+import com.sun.base.model.RemoteObjectRefListener;
 import com.sun.hades.model.enums.ReaderStatus;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
@@ -16,8 +19,9 @@ import org.hibernate.annotations.Type;
  * A markdown explanation a user wrote for a position on a text.
  */
 @Entity
+@EntityListeners(RemoteObjectRefListener.class)
 @Table(name = "hades_reader_annotations")
-public class ReaderAnnotationEntity extends BaseEntity {
+public class ReaderAnnotationEntity extends BaseEntity implements RemoteObjectOwner {
 
   @Column(name = "position_id", nullable = false)
   private UUID positionId;
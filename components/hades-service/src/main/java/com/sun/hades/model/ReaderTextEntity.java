@@ -20,8 +20,12 @@ public class ReaderTextEntity extends BaseEntity {
   @Column(name = "title", nullable = false)
   private String title;
 
-  @Column(name = "content", nullable = false, columnDefinition = "text")
-  private String content;
+  /**
+   * Length of the body in UTF-16 code units. The body itself is stored in
+   * chunks by {@code ReaderTextContentStore} and never loaded with the text.
+   */
+  @Column(name = "content_length")
+  private Integer contentLength;
 
   @Column(name = "language", nullable = false)
   private String language;
@@ -48,12 +52,12 @@ public class ReaderTextEntity extends BaseEntity {
     this.title = title;
   }
 
-  public String getContent() {
-    return content;
+  public Integer getContentLength() {
+    return contentLength;
   }
 
-  public void setContent(String content) {
-    this.content = content;
+  public void setContentLength(Integer contentLength) {
+    this.contentLength = contentLength;
   }
 
   public String getLanguage() {
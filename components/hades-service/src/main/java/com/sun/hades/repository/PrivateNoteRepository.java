@@ -1,7 +1,9 @@
 package com.sun.hades.repository;
 
 import com.sun.base.repository.BaseRepository;
+import com.sun.base.repository.RemoteObjectRefRepository;
 import com.sun.hades.model.PrivateNoteEntity;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -9,16 +11,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface PrivateNoteRepository
-    extends BaseRepository<PrivateNoteEntity>, JpaSpecificationExecutor<PrivateNoteEntity> {
+    extends BaseRepository<PrivateNoteEntity>, RemoteObjectRefRepository,
+    JpaSpecificationExecutor<PrivateNoteEntity> {
 
   List<PrivateNoteEntity> findByTextId(UUID textId);
 
   List<PrivateNoteEntity> findByOwnerId(UUID ownerId);
 
-  @Query(value = "SELECT * FROM hades_private_notes WHERE EXISTS "
-      + "(SELECT 1 FROM jsonb_array_elements_text(remote_object) AS elem WHERE elem = ANY(?1))",
-      nativeQuery = true)
-  List<PrivateNoteEntity> findByRemoteObjectsIn(String[] ids);
+  default List<PrivateNoteEntity> findByRemoteObjectsIn(String[] ids) {
+    return findByRemoteObjectRefs(PrivateNoteEntity.class, Arrays.asList(ids));
+  }
 
   @Query("select n from PrivateNoteEntity n where n.ownerId = :ownerId and n.textId = :textId")
   List<PrivateNoteEntity> findByOwnerIdAndTextId(
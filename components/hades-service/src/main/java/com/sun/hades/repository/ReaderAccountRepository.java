@@ -6,7 +6,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -21,11 +20,29 @@ public interface ReaderAccountRepository extends BaseRepository<ReaderAccountEnt
   List<ReaderAccountEntity> findByGaiaAccountIdIn(Collection<UUID> gaiaAccountIds);
 
   /**
-   * Searches by username or display name.
+   * Searches by username or display name, best matches first: exact, then
+   * prefix, then by trigram similarity. The LIKE predicates are served by the
+   * {@code pg_trgm} GIN indexes on {@code lower(...)}.
+   *
+   * @param query the lower-cased query
+   * @param pattern the LIKE pattern to match, e.g. {@code %q%} or {@code q%}
+   * @param prefix the LIKE pattern of a prefix match, {@code q%}
+   * @param limit the maximum number of rows
+   * @param offset the number of rows to skip
+   * @return the matching accounts in rank order
    */
   @Query(
-      "SELECT r FROM ReaderAccountEntity r WHERE "
-          + "LOWER(r.discordUsername) LIKE LOWER(CONCAT('%', :query, '%')) OR "
-          + "LOWER(r.globalName) LIKE LOWER(CONCAT('%', :query, '%'))")
-  List<ReaderAccountEntity> searchByUsername(@Param("query") String query, Pageable pageable);
+      value = "SELECT * FROM hades_reader_accounts r "
+          + "WHERE lower(r.discord_username) LIKE :pattern OR lower(r.global_name) LIKE :pattern "
+          + "ORDER BY CASE "
+          + "  WHEN lower(r.discord_username) = :query OR lower(r.global_name) = :query THEN 0 "
+          + "  WHEN lower(r.discord_username) LIKE :prefix OR lower(r.global_name) LIKE :prefix THEN 1 "
+          + "  ELSE 2 END, "
+          + "greatest(similarity(lower(r.discord_username), :query), "
+          + "  similarity(lower(coalesce(r.global_name, '')), :query)) DESC, "
+          + "r.discord_username "
+          + "LIMIT :limit OFFSET :offset",
+      nativeQuery = true)
+  List<ReaderAccountEntity> searchRanked(@Param("query") String query, @Param("pattern") String pattern,
+      @Param("prefix") String prefix, @Param("limit") int limit, @Param("offset") long offset);
 }
@@ -1,7 +1,9 @@
 package com.sun.hades.repository;
 
 import com.sun.base.repository.BaseRepository;
+import com.sun.base.repository.RemoteObjectRefRepository;
 import com.sun.hades.model.ReaderAnnotationEntity;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -9,7 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface ReaderAnnotationRepository
-    extends BaseRepository<ReaderAnnotationEntity>, JpaSpecificationExecutor<ReaderAnnotationEntity> {
+    extends BaseRepository<ReaderAnnotationEntity>, RemoteObjectRefRepository,
+    JpaSpecificationExecutor<ReaderAnnotationEntity> {
 
   @Query("select a from ReaderAnnotationEntity a where a.positionId in "
       + "(select p.id from ReaderPositionEntity p where p.textId = :textId)")
@@ -17,8 +20,7 @@ public interface ReaderAnnotationRepository
 
   long countByPositionId(UUID positionId);
 
-  @Query(value = "SELECT * FROM hades_reader_annotations WHERE EXISTS "
-      + "(SELECT 1 FROM jsonb_array_elements_text(remote_object) AS elem WHERE elem = ANY(?1))",
-      nativeQuery = true)
-  List<ReaderAnnotationEntity> findByRemoteObjectsIn(String[] ids);
+  default List<ReaderAnnotationEntity> findByRemoteObjectsIn(String[] ids) {
+    return findByRemoteObjectRefs(ReaderAnnotationEntity.class, Arrays.asList(ids));
+  }
 }
@@ -0,0 +1,129 @@
+package com.sun.hades.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Splits reader text bodies into fixed-size, Deflate-compressed chunks and
+ * puts ranges of them back together. Offsets and lengths are UTF-16 code
+ * units, matching {@link String#length()} and the annotation offsets stored
+ * on positions; a chunk boundary never falls inside a surrogate pair.
+ */
+public final class ReaderTextChunks {
+
+  /**
+   * One stored chunk.
+   *
+   * @param seq the chunk's position in the text, from 0
+   * @param offset the offset of its first character in the text
+   * @param length the number of characters it holds
+   * @param data the Deflate-compressed UTF-8 bytes
+   */
+  public record Chunk(int seq, int offset, int length, byte[] data) {
+  }
+
+  private ReaderTextChunks() {
+  }
+
+  /**
+   * Splits a body into compressed chunks of at most {@code chunkChars}
+   * characters each.
+   *
+   * @param content the text body
+   * @param chunkChars the target chunk size in characters
+   * @return the chunks in order; empty for an empty body
+   */
+  public static List<Chunk> split(String content, int chunkChars) {
+    if (chunkChars < 2) {
+      throw new IllegalArgumentException("Chunk size must be at least 2 characters");
+    }
+    List<Chunk> chunks = new ArrayList<>();
+    int offset = 0;
+    while (offset < content.length()) {
+      int end = Math.min(offset + chunkChars, content.length());
+      if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+        end--;
+      }
+      String piece = content.substring(offset, end);
+      chunks.add(new Chunk(chunks.size(), offset, piece.length(), compress(piece)));
+      offset = end;
+    }
+    return chunks;
+  }
+
+  /**
+   * Cuts the range {@code [offset, offset + length)} out of the chunks that
+   * cover it. The chunks must be contiguous and ordered by offset.
+   *
+   * @param chunks the chunks overlapping the range
+   * @param offset the start of the range in the text
+   * @param length the number of characters wanted
+   * @return the range, clipped to the end of the last chunk
+   */
+  public static String slice(List<Chunk> chunks, int offset, int length) {
+    if (chunks.isEmpty()) {
+      return "";
+    }
+    StringBuilder sb = new StringBuilder();
+    for (Chunk chunk : chunks) {
+      sb.append(decompress(chunk.data()));
+    }
+    int from = Math.max(0, offset - chunks.get(0).offset());
+    int to = (int) Math.min(sb.length(), (long) from + length);
+    return from >= to ? "" : sb.substring(from, to);
+  }
+
+  /**
+   * Deflates a string's UTF-8 bytes.
+   *
+   * @param text the text
+   * @return the compressed bytes
+   */
+  static byte[] compress(String text) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buf = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(buf, 0, deflater.deflate(buf));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Inflates bytes written by {@link #compress(String)}.
+   *
+   * @param data the compressed bytes
+   * @return the original text
+   */
+  static String decompress(byte[] data) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+      byte[] buf = new byte[8192];
+      while (!inflater.finished()) {
+        int n = inflater.inflate(buf);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Truncated reader text chunk");
+        }
+        out.write(buf, 0, n);
+      }
+      return out.toString(StandardCharsets.UTF_8);
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupt reader text chunk", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
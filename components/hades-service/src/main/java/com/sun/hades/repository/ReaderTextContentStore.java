@@ -0,0 +1,136 @@
+package com.sun.hades.repository;
+
+import com.sun.hades.repository.ReaderTextChunks.Chunk;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Stores reader text bodies in {@code hades_reader_text_chunks}: fixed-size,
+ * compressed chunks keyed by (text, seq) and indexed by character offset, so
+ * a page of a long text reads only the one or two chunks that cover it. Each
+ * chunk also carries the tsvector of its text (plus the title, on the first)
+ * in the text's language, for {@link ReaderTextSearch}.
+ *
+ * <p>Texts written before chunking keep their body in the legacy
+ * {@code hades_reader_texts.content} column until
+ * {@code ReaderTextContentMigrator} converts them; reads fall back to it.
+ */
+@Repository
+public class ReaderTextContentStore {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int chunkChars;
+
+  public ReaderTextContentStore(JdbcTemplate jdbcTemplate,
+      @Value("${hades.text.chunk-chars:16384}") int chunkChars) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.chunkChars = chunkChars;
+  }
+
+  /**
+   * Replaces a text's body with freshly chunked content and records its
+   * length. The text row must already be flushed.
+   *
+   * @param textId the text id
+   * @param content the full body
+   */
+  public void write(UUID textId, String content) {
+    List<Chunk> chunks = ReaderTextChunks.split(content, chunkChars);
+    jdbcTemplate.update("DELETE FROM hades_reader_text_chunks WHERE text_id = ?", textId);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO hades_reader_text_chunks "
+            + "(text_id, seq, char_offset, char_length, data, search_vector) "
+            + "SELECT ?, ?, ?, ?, ?, "
+            + "CASE WHEN ? = 0 THEN setweight(to_tsvector(sun_search_config(t.language), "
+            + "coalesce(t.title, '')), 'A') ELSE ''::tsvector END "
+            + "|| setweight(to_tsvector(sun_search_config(t.language), ?), 'B') "
+            + "FROM hades_reader_texts t WHERE t.id = ?",
+        chunks, chunks.size(), (ps, chunk) -> {
+          ps.setObject(1, textId);
+          ps.setInt(2, chunk.seq());
+          ps.setInt(3, chunk.offset());
+          ps.setInt(4, chunk.length());
+          ps.setBytes(5, chunk.data());
+          ps.setInt(6, chunk.seq());
+          ps.setString(7, content.substring(chunk.offset(), chunk.offset() + chunk.length()));
+          ps.setObject(8, textId);
+        });
+    jdbcTemplate.update(
+        "UPDATE hades_reader_texts SET content = NULL, content_length = ? WHERE id = ?",
+        content.length(), textId);
+  }
+
+  /**
+   * Reads the range {@code [offset, offset + length)} of a text's body,
+   * clipped to its end.
+   *
+   * @param textId the text id
+   * @param offset the first character wanted
+   * @param length the number of characters wanted
+   * @return the range; empty when it lies past the end or the text has no body
+   */
+  public String read(UUID textId, int offset, int length) {
+    if (offset < 0 || length < 0) {
+      throw new IllegalArgumentException("Offset and length must not be negative");
+    }
+    if (length == 0) {
+      return "";
+    }
+    long end = (long) offset + length;
+    List<Chunk> chunks = jdbcTemplate.query(
+        "SELECT seq, char_offset, char_length, data FROM hades_reader_text_chunks "
+            + "WHERE text_id = ? AND char_offset < ? AND char_offset + char_length > ? ORDER BY seq",
+        (rs, i) -> new Chunk(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getBytes(4)),
+        textId, end, offset);
+    if (!chunks.isEmpty()) {
+      return ReaderTextChunks.slice(chunks, offset, length);
+    }
+    // Unmigrated text. Postgres substring is 1-based and counts code points
+    // rather than UTF-16 units, which only differs for texts with astral
+    // characters. No text reaches past Integer.MAX_VALUE characters.
+    if (offset == Integer.MAX_VALUE) {
+      return "";
+    }
+    List<String> legacy = jdbcTemplate.queryForList(
+        "SELECT substring(content FROM ? FOR ?) FROM hades_reader_texts "
+            + "WHERE id = ? AND content IS NOT NULL",
+        String.class, offset + 1, length, textId);
+    return legacy.isEmpty() || legacy.get(0) == null ? "" : legacy.get(0);
+  }
+
+  /**
+   * Reads the given chunks of several texts, decompressed.
+   *
+   * @param textIds the text ids
+   * @param seqs the chunk of each text to read, by position
+   * @return the chunk text by position; null where a chunk is missing
+   */
+  public List<String> readChunks(List<UUID> textIds, List<Integer> seqs) {
+    if (textIds.isEmpty()) {
+      return List.of();
+    }
+    List<String> result = new ArrayList<>(Collections.nCopies(textIds.size(), null));
+    jdbcTemplate.query(
+        "SELECT u.n, c.data FROM unnest(?::uuid[], ?::int[]) WITH ORDINALITY AS u(text_id, seq, n) "
+            + "JOIN hades_reader_text_chunks c ON c.text_id = u.text_id AND c.seq = u.seq",
+        (RowCallbackHandler) rs -> result.set(rs.getInt(1) - 1, ReaderTextChunks.decompress(rs.getBytes(2))),
+        textIds.stream().map(UUID::toString).toArray(String[]::new), seqs.toArray(new Integer[0]));
+    return result;
+  }
+
+  /**
+   * Reads a text's whole body.
+   *
+   * @param textId the text id
+   * @return the body; empty when the text has none
+   */
+  public String readAll(UUID textId) {
+    return read(textId, 0, Integer.MAX_VALUE);
+  }
+}
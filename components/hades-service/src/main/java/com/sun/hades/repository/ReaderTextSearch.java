@@ -0,0 +1,80 @@
+package com.sun.hades.repository;
+
+import com.sun.base.search.FullTextSearch;
+import com.sun.base.search.SearchHit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Ranked full-text search over active reader texts. Bodies are stored as
+ * compressed chunks, so matching runs against the per-chunk tsvectors: a
+ * text ranks by its best chunk, and its snippet is cut from that chunk alone
+ * after decompressing it here.
+ */
+@Repository
+public class ReaderTextSearch {
+
+  private record Match(UUID id, String title, String language, double rank, int seq) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ReaderTextContentStore contentStore;
+
+  public ReaderTextSearch(JdbcTemplate jdbcTemplate, ReaderTextContentStore contentStore) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.contentStore = contentStore;
+  }
+
+  /**
+   * Runs a ranked search.
+   *
+   * @param query the web-search query
+   * @param language the query language, or null to match every configured one
+   * @param limit the maximum number of hits
+   * @param offset the number of hits to skip
+   * @return the hits, best first
+   */
+  public List<SearchHit> search(String query, String language, int limit, long offset) {
+    if (query == null || query.isBlank() || limit <= 0) {
+      return List.of();
+    }
+    List<Match> matches = jdbcTemplate.query(
+        "SELECT t.id, t.title, t.language, m.rank, m.seq FROM ("
+            + "  SELECT c.text_id, max(ts_rank_cd(c.search_vector, q.query)) AS rank, "
+            + "    (array_agg(c.seq ORDER BY ts_rank_cd(c.search_vector, q.query) DESC, c.seq))[1] AS seq "
+            + "  FROM hades_reader_text_chunks c, sun_search_query(?, ?) AS q(query) "
+            + "  WHERE c.search_vector @@ q.query "
+            + "  GROUP BY c.text_id) m "
+            + "JOIN hades_reader_texts t ON t.id = m.text_id "
+            + "WHERE t.status = 'ACTIVE' "
+            + "ORDER BY m.rank DESC, t.id LIMIT ? OFFSET ?",
+        (rs, i) -> new Match(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3),
+            rs.getDouble(4), rs.getInt(5)),
+        query, language, limit, offset);
+    if (matches.isEmpty()) {
+      return List.of();
+    }
+
+    List<String> chunks = contentStore.readChunks(
+        matches.stream().map(Match::id).toList(), matches.stream().map(Match::seq).toList());
+    List<String> snippets = jdbcTemplate.queryForList(
+        "SELECT ts_headline(sun_search_config(u.language), "
+            + FullTextSearch.htmlEscaped("coalesce(u.body, '')") + ", "
+            + "websearch_to_tsquery(sun_search_config(u.language), ?), '"
+            + FullTextSearch.HEADLINE_OPTIONS + "') "
+            + "FROM unnest(?::text[], ?::text[]) WITH ORDINALITY AS u(body, language, n) ORDER BY u.n",
+        String.class,
+        query, chunks.toArray(new String[0]),
+        matches.stream().map(Match::language).toArray(String[]::new));
+
+    List<SearchHit> hits = new ArrayList<>(matches.size());
+    for (int i = 0; i < matches.size(); i++) {
+      Match m = matches.get(i);
+      hits.add(new SearchHit(m.id(), m.title(), snippets.get(i), m.rank()));
+    }
+    return hits;
+  }
+}
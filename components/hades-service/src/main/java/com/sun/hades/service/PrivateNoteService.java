@@ -1,9 +1,8 @@
 package com.sun.hades.service;
 
 import com.sun.base.service.BaseService;
-import com.sun.fates.service.PersonService;
+import com.sun.gaia.model.AccountIdentity;
 import com.sun.gaia.model.ObjectShareEntity;
-import com.sun.gaia.model.enums.AccountType;
 import com.sun.gaia.repository.ObjectShareRepository;
 import com.sun.hades.mappers.ObjectShareMapper;
 import com.sun.gaia.service.AccountService;
@@ -17,8 +16,11 @@ import com.sun.hades.repository.ReaderAccountRepository;
 import com.sun.hades.repository.ReaderTextRepository;
 import com.sun.hades.service.RemoteObjectReference;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,7 +49,6 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
   private final ObjectShareRepository shareRepository;
   private final ObjectShareMapper shareMapper;
   private final AccountService accountService;
-  private final PersonService personService;
   private final EmailService emailService;
 
   public PrivateNoteService(
@@ -58,7 +59,6 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
       ObjectShareRepository shareRepository,
       ObjectShareMapper shareMapper,
       AccountService accountService,
-      PersonService personService,
       EmailService emailService) {
     super(repository);
     this.noteRepository = repository;
@@ -68,7 +68,6 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
     this.shareRepository = shareRepository;
     this.shareMapper = shareMapper;
     this.accountService = accountService;
-    this.personService = personService;
     this.emailService = emailService;
   }
 
@@ -161,7 +160,8 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
     UUID viewer = requireUser();
     var text = textRepository.findById(textId)
         .orElseThrow(() -> new IllegalArgumentException("Text not found: " + textId));
-    Set<UUID> subjects = resolveSubjects(subjectIds, subjectEmails, viewer);
+    Map<UUID, AccountIdentity> identities = resolveIdentities(subjectIds, viewer);
+    Map<UUID, AccountIdentity> subjects = resolveSubjects(subjectIds, subjectEmails, viewer, identities);
     if (subjects.isEmpty()) {
       return textId;
     }
@@ -169,47 +169,68 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
     if (notes.isEmpty()) {
       return textId;
     }
-    createShares(notes, subjects);
+    createShares(notes, subjects.keySet());
     String firstNoteId = notes.get(0).getId().toString();
-    sendShareEmails(subjects, text.getTitle(), viewer, textId.toString(), firstNoteId);
+    sendShareEmails(subjects.values(), text.getTitle(), identities.get(viewer), textId.toString(), firstNoteId,
+        UUID.randomUUID().toString());
     return textId;
   }
 
   /**
-   * Resolves ids and emails to human account ids.
+   * Resolves the subject ids and the viewer to identities in one query.
+   *
+   * @param subjectIds the account ids
+   * @param viewer the viewer id
+   * @return the identities keyed by account id
+   */
+  private Map<UUID, AccountIdentity> resolveIdentities(List<UUID> subjectIds, UUID viewer) {
+    Set<UUID> ids = new LinkedHashSet<>();
+    ids.add(viewer);
+    if (subjectIds != null) {
+      for (UUID id : subjectIds) {
+        if (id != null) {
+          ids.add(id);
+        }
+      }
+    }
+    return accountService.resolveIdentities(ids);
+  }
+
+  /**
+   * Resolves ids and emails to human account identities.
    *
    * @param subjectIds the account ids
    * @param subjectEmails the emails
    * @param viewer the viewer id
-   * @return the human subjects
+   * @param identities the already resolved identities for the ids
+   * @return the human subjects keyed by account id
    */
-  private Set<UUID> resolveSubjects(List<UUID> subjectIds, List<String> subjectEmails, UUID viewer) {
-    Set<UUID> subjects = new HashSet<>();
+  private Map<UUID, AccountIdentity> resolveSubjects(
+      List<UUID> subjectIds, List<String> subjectEmails, UUID viewer, Map<UUID, AccountIdentity> identities) {
+    Map<UUID, AccountIdentity> subjects = new LinkedHashMap<>();
     if (subjectIds != null) {
-      List<UUID> filtered = subjectIds.stream()
-          .filter(id -> id != null && !id.equals(viewer))
-          .toList();
-      for (UUID sid : filtered) {
-        var account = accountService.findById(sid)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid subject: " + sid));
-        if (account.getAccountType() != AccountType.HUMAN) {
+      for (UUID sid : subjectIds) {
+        if (sid == null || sid.equals(viewer)) {
+          continue;
+        }
+        AccountIdentity identity = identities.get(sid);
+        if (identity == null || !identity.isHuman()) {
           throw new IllegalArgumentException("Invalid subject: " + sid);
         }
-        subjects.add(sid);
+        subjects.put(sid, identity);
       }
     }
     if (subjectEmails != null) {
+      Set<String> emails = new LinkedHashSet<>();
       for (String email : subjectEmails) {
-        if (email == null || email.isBlank()) {
-          continue;
+        if (email != null && !email.isBlank()) {
+          emails.add(email.trim().toLowerCase());
+        }
+      }
+      for (AccountIdentity identity : accountService.resolveIdentitiesByEmail(emails)) {
+        if (identity.isHuman() && !identity.accountId().equals(viewer)) {
+          subjects.putIfAbsent(identity.accountId(), identity);
         }
-        String trimmed = email.trim().toLowerCase();
-        List<UUID> resolved = accountService.findByPersonEmail(trimmed).stream()
-            .filter(a -> a.getAccountType() == AccountType.HUMAN)
-            .map(a -> a.getId())
-            .filter(id -> !id.equals(viewer))
-            .toList();
-        subjects.addAll(resolved);
       }
     }
     return subjects;
@@ -326,16 +347,19 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
   }
 
   /**
-   * Sends one email per recipient.
+   * Queues one email per recipient. Each is committed on its own, so a failed
+   * enqueue is logged without rolling back the share.
    *
    * @param subjects the recipients
    * @param textTitle the text title
-   * @param viewer the sharer id
+   * @param viewer the sharer's identity, or null if unresolved
    * @param textId the text id
    * @param noteId the first note id for the link
+   * @param shareId identifies this share action in the emails' dedup keys
    */
-  private void sendShareEmails(Set<UUID> subjects, String textTitle, UUID viewer, String textId, String noteId) {
-    String sharerName = readerAccountRepository.findByGaiaAccountId(viewer)
+  private void sendShareEmails(Collection<AccountIdentity> subjects, String textTitle,
+      AccountIdentity viewer, String textId, String noteId, String shareId) {
+    String sharerName = viewer == null ? "Someone" : readerAccountRepository.findByGaiaAccountId(viewer.accountId())
         .map(r -> {
           if (r.getGlobalName() != null && !r.getGlobalName().isBlank()) {
             return r.getGlobalName();
@@ -346,18 +370,15 @@ public class PrivateNoteService extends BaseService<PrivateNoteEntity> {
           return null;
         })
         .filter(s -> s != null && !s.isBlank())
-        .orElseGet(() -> accountService.findById(viewer).map(a -> a.getUsername()).orElse("Someone"));
-    for (UUID subjectId : subjects) {
+        .orElse(viewer.username());
+    for (AccountIdentity subject : subjects) {
+      if (!subject.hasEmail()) {
+        continue;
+      }
       try {
-        String toEmail = accountService.findById(subjectId)
-            .flatMap(a -> personService.findById(a.getPersonId()))
-            .map(p -> p.getEmail())
-            .orElse(null);
-        if (toEmail != null && !toEmail.isBlank()) {
-          emailService.sendShareNotesEmail(toEmail, textTitle, sharerName, textId, noteId);
-        }
+        emailService.sendShareNotesEmail(subject.email(), textTitle, sharerName, textId, noteId, shareId);
       } catch (Exception e) {
-        logger.error("Failed to send share email to subject {}", subjectId, e);
+        logger.error("Failed to send share email to subject {}", subject.accountId(), e);
       }
     }
   }
@@ -0,0 +1,9 @@
+package com.sun.hades.service;
+
+/**
+ * Published when a reader account profile is created or updated, so caches
+ * keyed by Discord id can drop their copy.
+ *
+ * @param discordId the Discord id of the changed profile
+ */
+public record ReaderAccountChangedEvent(String discordId) {}
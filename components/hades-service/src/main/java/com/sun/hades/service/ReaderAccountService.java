@@ -6,8 +6,15 @@ import com.sun.hades.model.enums.CefrLevel;
 import com.sun.hades.repository.ReaderAccountRepository;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,10 +28,19 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReaderAccountService extends BaseService<ReaderAccountEntity> {
 
   private final ReaderAccountRepository accountRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final UsernameSearchIndex usernameIndex;
+  private final int minQueryLength;
 
-  public ReaderAccountService(ReaderAccountRepository repository) {
+  public ReaderAccountService(
+      ReaderAccountRepository repository, ApplicationEventPublisher eventPublisher,
+      UsernameSearchIndex usernameIndex,
+      @Value("${hades.search.min-query-length:2}") int minQueryLength) {
     super(repository);
     this.accountRepository = repository;
+    this.eventPublisher = eventPublisher;
+    this.usernameIndex = usernameIndex;
+    this.minQueryLength = minQueryLength;
   }
 
   /**
@@ -58,17 +74,33 @@ public class ReaderAccountService extends BaseService<ReaderAccountEntity> {
   }
 
   /**
-   * Searches reader accounts by username.
+   * Searches reader accounts by username or display name, best matches first.
+   * Queries shorter than {@code hades.search.min-query-length} return nothing;
+   * queries shorter than a trigram match prefixes only. The page's sort is
+   * ignored in favour of the ranking.
    *
    * @param query the username fragment
    * @param pageable the page request
    * @return the matching accounts
    */
   public List<ReaderAccountEntity> searchByUsername(String query, Pageable pageable) {
-    if (query == null || query.isBlank()) {
+    if (query == null) {
       return List.of();
     }
-    return accountRepository.searchByUsername(query.trim(), pageable);
+    String q = query.trim().toLowerCase(Locale.ROOT);
+    if (q.isEmpty() || q.length() < minQueryLength) {
+      return List.of();
+    }
+    if (usernameIndex.isReady()) {
+      List<UUID> ids = usernameIndex.search(q, (int) pageable.getOffset(), pageable.getPageSize());
+      Map<UUID, ReaderAccountEntity> byId = accountRepository.findAllById(ids).stream()
+          .collect(Collectors.toMap(ReaderAccountEntity::getId, Function.identity()));
+      return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    String escaped = q.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    String prefix = escaped + "%";
+    String pattern = q.length() < UsernameSearchIndex.GRAM ? prefix : "%" + prefix;
+    return accountRepository.searchRanked(q, pattern, prefix, pageable.getPageSize(), pageable.getOffset());
   }
 
   /**
@@ -104,6 +136,8 @@ public class ReaderAccountService extends BaseService<ReaderAccountEntity> {
     account.setAvatar(avatar);
     account.setCefrLevel(cefrLevel);
     account.setGuildRoles(guildRoles);
-    return accountRepository.save(account).getId();
+    UUID id = accountRepository.save(account).getId();
+    eventPublisher.publishEvent(new ReaderAccountChangedEvent(discordId));
+    return id;
   }
 }
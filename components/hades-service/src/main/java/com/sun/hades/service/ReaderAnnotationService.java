@@ -62,8 +62,11 @@ public class ReaderAnnotationService extends BaseService<ReaderAnnotationEntity>
     if (startOffset < 0 || endOffset <= startOffset || body == null || body.isBlank()) {
       throw new IllegalArgumentException("Invalid annotation");
     }
-    textRepository.findByIdForUpdate(textId)
+    ReaderTextEntity text = textRepository.findByIdForUpdate(textId)
         .orElseThrow(() -> new IllegalArgumentException("Text not found: " + textId));
+    if (text.getContentLength() != null && endOffset > text.getContentLength()) {
+      throw new IllegalArgumentException("Annotation range exceeds the text");
+    }
 
     Map<UUID, List<ReaderAnnotationEntity>> byPosition =
         annotationRepository.findByTextId(textId).stream()
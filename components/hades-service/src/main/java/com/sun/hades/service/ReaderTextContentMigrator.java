@@ -0,0 +1,111 @@
+package com.sun.hades.service;
+
+import com.sun.hades.repository.ReaderTextContentStore;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves reader text bodies out of the legacy {@code content} column into the
+ * chunk store, and rewrites chunks stored before they carried a search
+ * vector. Each text is converted in its own transaction under a row lock, so
+ * the job can be stopped and rerun at any point; texts already converted are
+ * skipped.
+ *
+ * <p>Runs once at startup when {@code hades.text.migrate-content} is set.
+ */
+@Component
+public class ReaderTextContentMigrator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReaderTextContentMigrator.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ReaderTextContentStore contentStore;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+
+  public ReaderTextContentMigrator(JdbcTemplate jdbcTemplate, ReaderTextContentStore contentStore,
+      PlatformTransactionManager transactionManager,
+      @Value("${hades.text.migrate-content:false}") boolean enabled,
+      @Value("${hades.text.migrate-batch-size:100}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.contentStore = contentStore;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateOnStartup() {
+    if (enabled) {
+      migrate();
+    }
+  }
+
+  /**
+   * Converts every text that still has a legacy body or unindexed chunks.
+   *
+   * @return the number of texts converted
+   */
+  public int migrate() {
+    int total = convert("SELECT id FROM hades_reader_texts WHERE content IS NOT NULL LIMIT ?",
+        this::migrateText);
+    total += convert(
+        "SELECT DISTINCT text_id FROM hades_reader_text_chunks WHERE search_vector IS NULL LIMIT ?",
+        this::reindexText);
+    return total;
+  }
+
+  private int convert(String select, Predicate<UUID> step) {
+    int total = 0;
+    while (true) {
+      List<UUID> ids = jdbcTemplate.queryForList(select, UUID.class, batchSize);
+      if (ids.isEmpty()) {
+        break;
+      }
+      int converted = 0;
+      for (UUID id : ids) {
+        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> step.test(id)))) {
+          converted++;
+        }
+      }
+      total += converted;
+      logger.info("Chunked {} reader texts ({} so far)", converted, total);
+      if (converted == 0) {
+        break;
+      }
+    }
+    return total;
+  }
+
+  private boolean migrateText(UUID id) {
+    List<String> content = jdbcTemplate.queryForList(
+        "SELECT content FROM hades_reader_texts WHERE id = ? AND content IS NOT NULL FOR UPDATE",
+        String.class, id);
+    if (content.isEmpty()) {
+      return false;
+    }
+    contentStore.write(id, content.get(0));
+    return true;
+  }
+
+  private boolean reindexText(UUID id) {
+    List<UUID> locked = jdbcTemplate.queryForList(
+        "SELECT id FROM hades_reader_texts WHERE id = ? FOR UPDATE", UUID.class, id);
+    if (locked.isEmpty()) {
+      return false;
+    }
+    contentStore.write(id, contentStore.readAll(id));
+    return true;
+  }
+}
@@ -1,12 +1,17 @@
 package com.sun.hades.service;
 
+import com.sun.base.search.SearchHit;
 import com.sun.base.service.BaseService;
 import com.sun.base.util.FilterBuilder;
 import com.sun.base.util.FilterSpec;
 import com.sun.hades.model.ReaderTextEntity;
 import com.sun.hades.model.enums.ReaderTextStatus;
+import com.sun.hades.repository.ReaderTextContentStore;
 import com.sun.hades.repository.ReaderTextRepository;
+import com.sun.hades.repository.ReaderTextSearch;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -19,10 +24,44 @@ import org.springframework.stereotype.Service;
 public class ReaderTextService extends BaseService<ReaderTextEntity> {
 
   private final ReaderTextRepository textRepository;
+  private final ReaderTextContentStore contentStore;
+  private final ReaderTextSearch textSearch;
 
-  public ReaderTextService(ReaderTextRepository repository) {
+  public ReaderTextService(ReaderTextRepository repository, ReaderTextContentStore contentStore,
+      ReaderTextSearch textSearch) {
     super(repository);
     this.textRepository = repository;
+    this.contentStore = contentStore;
+    this.textSearch = textSearch;
+  }
+
+  /**
+   * Saves a new text and writes its body to the chunk store.
+   *
+   * @param entity the text, without its body
+   * @param content the full body
+   * @return the saved text
+   */
+  public ReaderTextEntity create(ReaderTextEntity entity, String content) {
+    entity.setContentLength(content.length());
+    ReaderTextEntity saved = textRepository.saveAndFlush(entity);
+    contentStore.write(saved.getId(), content);
+    return saved;
+  }
+
+  /**
+   * Reads part of a text's body without loading the rest of it.
+   *
+   * @param id the text id
+   * @param offset the first character wanted
+   * @param length the number of characters wanted
+   * @return the range, clipped to the end of the body; empty when the text is missing
+   */
+  public Optional<String> content(UUID id, int offset, int length) {
+    if (!textRepository.existsById(id)) {
+      return Optional.empty();
+    }
+    return Optional.of(contentStore.read(id, offset, length));
   }
 
   /**
@@ -41,4 +80,17 @@ public class ReaderTextService extends BaseService<ReaderTextEntity> {
     }
     return textRepository.findAll(spec, pageable);
   }
+
+  /**
+   * Full-text searches active texts, each in its own language.
+   *
+   * @param query the web-search query
+   * @param language the query language, or null for any
+   * @param limit the maximum number of hits
+   * @param offset the number of hits to skip
+   * @return the hits, best first
+   */
+  public List<SearchHit> search(String query, String language, int limit, long offset) {
+    return textSearch.search(query, language, limit, offset);
+  }
 }
@@ -0,0 +1,344 @@
+package com.sun.hades.service;
+
+import com.sun.hades.model.ReaderAccountEntity;
+import com.sun.hades.repository.ReaderAccountRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Optional in-memory n-gram index over reader usernames and display names,
+ * for type-ahead without a database round trip per keystroke. Queries of
+ * three or more characters are answered from trigram postings; shorter ones
+ * from prefix grams. Results are ranked like
+ * {@link ReaderAccountRepository#searchRanked}: exact, then prefix, then
+ * substring matches, closer (shorter) names first.
+ *
+ * <p>Loaded at startup when {@code hades.search.username-index.enabled} is
+ * set and kept current from {@link ReaderAccountChangedEvent}s. Changes made
+ * while loading are queued and applied once the load finishes. An updated
+ * account keeps its slot, and its old grams are removed from the postings.
+ */
+@Component
+public class UsernameSearchIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(UsernameSearchIndex.class);
+
+  static final int GRAM = 3;
+  private static final int LOAD_PAGE_SIZE = 5000;
+
+  private record Entry(UUID id, String discordId, String username, String globalName) {
+  }
+
+  private record Hit(int slot, int rank, int length, String username) {
+  }
+
+  private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::rank).reversed()
+      .thenComparingInt(Hit::length)
+      .thenComparing(Hit::username);
+
+  /** Unordered list of slots containing one gram. */
+  private static final class Postings {
+    private int[] slots = new int[4];
+    private int size;
+
+    void add(int slot) {
+      if (size > 0 && slots[size - 1] == slot) {
+        return;
+      }
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      slots[size++] = slot;
+    }
+
+    void remove(int slot) {
+      for (int i = 0; i < size; i++) {
+        if (slots[i] == slot) {
+          slots[i] = slots[--size];
+          return;
+        }
+      }
+    }
+  }
+
+  private final ReaderAccountRepository repository;
+  private final boolean enabled;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<Entry> entries = new ArrayList<>();
+  private final Map<String, Integer> slotByDiscordId = new HashMap<>();
+  private final Map<String, Postings> postings = new HashMap<>();
+  private final Set<String> pending = new LinkedHashSet<>();
+  private volatile boolean ready;
+
+  public UsernameSearchIndex(ReaderAccountRepository repository,
+      @Value("${hades.search.username-index.enabled:false}") boolean enabled) {
+    this.repository = repository;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Whether the index is loaded and may answer searches.
+   *
+   * @return true once loaded
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    if (!enabled) {
+      return;
+    }
+    long start = System.nanoTime();
+    Page<ReaderAccountEntity> page;
+    int number = 0;
+    do {
+      page = repository.findAll(PageRequest.of(number++, LOAD_PAGE_SIZE, Sort.by("id")));
+      lock.writeLock().lock();
+      try {
+        page.forEach(this::putLocked);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } while (page.hasNext());
+    List<String> changed;
+    lock.writeLock().lock();
+    try {
+      changed = new ArrayList<>(pending);
+      pending.clear();
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    changed.forEach(this::refresh);
+    logger.info("Loaded {} reader accounts into the username index in {} ms",
+        slotByDiscordId.size(), (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Re-reads a changed account, or queues it while the index is loading.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onAccountChanged(ReaderAccountChangedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    if (!ready) {
+      lock.writeLock().lock();
+      try {
+        if (!ready) {
+          pending.add(event.discordId());
+          return;
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+    refresh(event.discordId());
+  }
+
+  private void refresh(String discordId) {
+    repository.findByDiscordId(discordId).ifPresent(this::put);
+  }
+
+  /**
+   * Adds or replaces one account.
+   *
+   * @param account the account
+   */
+  public void put(ReaderAccountEntity account) {
+    lock.writeLock().lock();
+    try {
+      putLocked(account);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * The number of slots, live or not.
+   */
+  int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches usernames and display names.
+   *
+   * @param query the lower-cased, trimmed query
+   * @param offset the number of ranked hits to skip
+   * @param limit the maximum number of ids
+   * @return the matching account ids, best first
+   */
+  public List<UUID> search(String query, int offset, int limit) {
+    if (query.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    int wanted = offset + limit;
+    PriorityQueue<Hit> top = new PriorityQueue<>(BEST_FIRST.reversed());
+    lock.readLock().lock();
+    try {
+      Postings candidates = candidates(query);
+      if (candidates == null) {
+        return List.of();
+      }
+      for (int i = 0; i < candidates.size; i++) {
+        int slot = candidates.slots[i];
+        Hit hit = hit(slot, entries.get(slot), query);
+        if (hit == null) {
+          continue;
+        }
+        if (top.size() < wanted) {
+          top.add(hit);
+        } else if (BEST_FIRST.compare(hit, top.peek()) < 0) {
+          top.poll();
+          top.add(hit);
+        }
+      }
+      List<Hit> ranked = new ArrayList<>(top);
+      ranked.sort(BEST_FIRST);
+      return ranked.stream().skip(offset).map(h -> entries.get(h.slot()).id()).toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * The smallest postings list every match must appear in.
+   */
+  private Postings candidates(String query) {
+    if (query.length() < GRAM) {
+      return postings.get("^" + query);
+    }
+    Postings smallest = null;
+    for (int i = 0; i + GRAM <= query.length(); i++) {
+      Postings p = postings.get(query.substring(i, i + GRAM));
+      if (p == null) {
+        return null;
+      }
+      if (smallest == null || p.size < smallest.size) {
+        smallest = p;
+      }
+    }
+    return smallest;
+  }
+
+  private static Hit hit(int slot, Entry entry, String query) {
+    int userRank = rank(entry.username(), query);
+    int globalRank = rank(entry.globalName(), query);
+    if (userRank == 0 && globalRank == 0) {
+      return null;
+    }
+    if (query.length() < GRAM && userRank < 2 && globalRank < 2) {
+      return null;
+    }
+    String matched = userRank >= globalRank ? entry.username() : entry.globalName();
+    return new Hit(slot, Math.max(userRank, globalRank), matched.length(),
+        entry.username() == null ? "" : entry.username());
+  }
+
+  /**
+   * 3 for an exact match, 2 for a prefix, 1 for a substring, 0 otherwise.
+   */
+  static int rank(String name, String query) {
+    if (name == null) {
+      return 0;
+    }
+    if (name.equals(query)) {
+      return 3;
+    }
+    if (name.startsWith(query)) {
+      return 2;
+    }
+    return name.contains(query) ? 1 : 0;
+  }
+
+  private void putLocked(ReaderAccountEntity account) {
+    Entry entry = new Entry(account.getId(), account.getDiscordId(),
+        lower(account.getDiscordUsername()), lower(account.getGlobalName()));
+    Integer slot = slotByDiscordId.get(account.getDiscordId());
+    if (slot == null) {
+      slot = entries.size();
+      entries.add(entry);
+      slotByDiscordId.put(account.getDiscordId(), slot);
+    } else {
+      Entry previous = entries.set(slot, entry);
+      if (Objects.equals(previous.username(), entry.username())
+          && Objects.equals(previous.globalName(), entry.globalName())) {
+        return;
+      }
+      removeGrams(slot, previous.username());
+      removeGrams(slot, previous.globalName());
+    }
+    addGrams(slot, entry.username());
+    addGrams(slot, entry.globalName());
+  }
+
+  private void addGrams(int slot, String name) {
+    if (name == null || name.isEmpty()) {
+      return;
+    }
+    for (int n = 1; n < GRAM && n <= name.length(); n++) {
+      postings.computeIfAbsent("^" + name.substring(0, n), k -> new Postings()).add(slot);
+    }
+    for (int i = 0; i + GRAM <= name.length(); i++) {
+      postings.computeIfAbsent(name.substring(i, i + GRAM), k -> new Postings()).add(slot);
+    }
+  }
+
+  private void removeGrams(int slot, String name) {
+    if (name == null || name.isEmpty()) {
+      return;
+    }
+    for (int n = 1; n < GRAM && n <= name.length(); n++) {
+      removePosting("^" + name.substring(0, n), slot);
+    }
+    for (int i = 0; i + GRAM <= name.length(); i++) {
+      removePosting(name.substring(i, i + GRAM), slot);
+    }
+  }
+
+  private void removePosting(String gram, int slot) {
+    Postings p = postings.get(gram);
+    if (p == null) {
+      return;
+    }
+    p.remove(slot);
+    if (p.size == 0) {
+      postings.remove(gram);
+    }
+  }
+
+  private static String lower(String value) {
+    return value == null ? null : value.toLowerCase(Locale.ROOT);
+  }
+}
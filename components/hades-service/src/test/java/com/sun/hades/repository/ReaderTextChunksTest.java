@@ -0,0 +1,77 @@
+package com.sun.hades.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.hades.repository.ReaderTextChunks.Chunk;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ReaderTextChunks.
+ */
+class ReaderTextChunksTest {
+
+  @Test
+  void split_producesContiguousCompressedChunks() {
+    String content = "abcdefghij".repeat(10);
+
+    List<Chunk> chunks = ReaderTextChunks.split(content, 32);
+
+    assertThat(chunks).extracting(Chunk::seq).containsExactly(0, 1, 2, 3);
+    assertThat(chunks).extracting(Chunk::offset).containsExactly(0, 32, 64, 96);
+    assertThat(chunks).extracting(Chunk::length).containsExactly(32, 32, 32, 4);
+    assertThat(ReaderTextChunks.slice(chunks, 0, content.length())).isEqualTo(content);
+  }
+
+  @Test
+  void split_neverCutsASurrogatePair() {
+    String content = "ab😀cd";
+
+    List<Chunk> chunks = ReaderTextChunks.split(content, 3);
+
+    assertThat(chunks).extracting(Chunk::length).containsExactly(2, 3, 1);
+    assertThat(ReaderTextChunks.slice(chunks, 0, content.length())).isEqualTo(content);
+  }
+
+  @Test
+  void split_emptyBodyHasNoChunks() {
+    assertThat(ReaderTextChunks.split("", 16)).isEmpty();
+    assertThat(ReaderTextChunks.slice(List.of(), 0, 10)).isEmpty();
+  }
+
+  @Test
+  void split_rejectsTinyChunks() {
+    assertThatThrownBy(() -> ReaderTextChunks.split("abc", 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void slice_cutsRangeFromCoveringChunksOnly() {
+    String content = "0123456789".repeat(10);
+    List<Chunk> chunks = ReaderTextChunks.split(content, 16);
+
+    // [40, 60) lies in chunks 2 (32..48) and 3 (48..64).
+    String range = ReaderTextChunks.slice(chunks.subList(2, 4), 40, 20);
+
+    assertThat(range).isEqualTo(content.substring(40, 60));
+  }
+
+  @Test
+  void slice_clipsToTheEndOfTheLastChunk() {
+    String content = "0123456789";
+    List<Chunk> chunks = ReaderTextChunks.split(content, 4);
+
+    assertThat(ReaderTextChunks.slice(chunks.subList(2, 3), 9, 50)).isEqualTo("9");
+  }
+
+  @Test
+  void compress_roundTripsUnicode() {
+    String text = "Ça va? Привет, 世界 😀".repeat(100);
+
+    byte[] data = ReaderTextChunks.compress(text);
+
+    assertThat(data.length).isLessThan(text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length);
+    assertThat(ReaderTextChunks.decompress(data)).isEqualTo(text);
+  }
+}
@@ -0,0 +1,81 @@
+package com.sun.hades.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.hades.repository.ReaderTextChunks.Chunk;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Memory and latency comparison for reading one page of a 2 MB text: decoding
+ * the whole body, as loading the entity did, against inflating only the chunks
+ * covering the page. Excludes the database round trip; run with
+ * {@code HADES_BENCHMARK=true}. Chunked reads must allocate a tenth of the
+ * bytes and take less time than full-body reads.
+ */
+@EnabledIfEnvironmentVariable(named = "HADES_BENCHMARK", matches = "true")
+class ReaderTextContentBenchmarkTest {
+
+  private static final int TEXT_CHARS = 2 * 1024 * 1024;
+  private static final int PAGE_CHARS = 4000;
+  private static final int ITERATIONS = 200;
+
+  @Test
+  void pageReadFromChunksBeatsFullBody() {
+    String text = novel();
+    byte[] stored = text.getBytes(StandardCharsets.UTF_8);
+    List<Chunk> chunks = ReaderTextChunks.split(text, 16384);
+    int offset = TEXT_CHARS / 2 + 123;
+    List<Chunk> covering = chunks.stream()
+        .filter(c -> c.offset() < offset + PAGE_CHARS && c.offset() + c.length() > offset)
+        .toList();
+
+    Result full = measure(() -> new String(stored, StandardCharsets.UTF_8)
+        .substring(offset, offset + PAGE_CHARS));
+    Result chunked = measure(() -> ReaderTextChunks.slice(covering, offset, PAGE_CHARS));
+
+    long compressed = chunks.stream().mapToLong(c -> c.data().length).sum();
+
+    assertThat(ReaderTextChunks.slice(covering, offset, PAGE_CHARS))
+        .isEqualTo(text.substring(offset, offset + PAGE_CHARS));
+    assertThat(compressed).isLessThan(stored.length);
+    assertThat(chunked.bytes()).isLessThan(full.bytes() / 10);
+    assertThat(chunked.micros()).isLessThan(full.micros());
+  }
+
+  private record Result(double micros, long bytes) {
+  }
+
+  private static Result measure(Supplier<String> read) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      read.get();
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    long allocated = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      read.get();
+    }
+    long elapsed = System.nanoTime() - start;
+    long bytes = threads.getThreadAllocatedBytes(threadId) - allocated;
+    return new Result(elapsed / 1000.0 / ITERATIONS, bytes / ITERATIONS);
+  }
+
+  private static String novel() {
+    String[] words = {"la", "maison", "était", "silencieuse", "quand", "Marie", "ouvrit",
+        "la", "porte", "et", "regarda", "le", "jardin", "sous", "pluie", "d'automne"};
+    Random random = new Random(42);
+    StringBuilder sb = new StringBuilder(TEXT_CHARS);
+    while (sb.length() < TEXT_CHARS) {
+      sb.append(words[random.nextInt(words.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+    }
+    return sb.substring(0, TEXT_CHARS);
+  }
+}
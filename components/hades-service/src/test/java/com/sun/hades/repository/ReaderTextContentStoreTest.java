@@ -0,0 +1,86 @@
+package com.sun.hades.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.hades.repository.ReaderTextChunks.Chunk;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Unit tests for ReaderTextContentStore.
+ */
+class ReaderTextContentStoreTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final ReaderTextContentStore store = new ReaderTextContentStore(jdbcTemplate, 4);
+  private final UUID textId = UUID.randomUUID();
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void write_replacesChunksAndClearsLegacyBody() {
+    store.write(textId, "0123456789");
+
+    verify(jdbcTemplate).update(contains("DELETE FROM hades_reader_text_chunks"), eq(textId));
+    ArgumentCaptor<List<Chunk>> chunks = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(contains("INSERT"), chunks.capture(), eq(3), any());
+    assertThat(chunks.getValue()).extracting(Chunk::offset).containsExactly(0, 4, 8);
+    verify(jdbcTemplate).update(contains("content = NULL"), eq(10), eq(textId));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void read_slicesTheCoveringChunks() {
+    List<Chunk> all = ReaderTextChunks.split("0123456789", 4);
+    when(jdbcTemplate.query(contains("hades_reader_text_chunks"), any(RowMapper.class),
+        eq(textId), eq(7L), eq(3))).thenReturn(all.subList(0, 2));
+
+    assertThat(store.read(textId, 3, 4)).isEqualTo("3456");
+    verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any(), any(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void read_fallsBackToLegacyColumnForUnmigratedTexts() {
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(textId), eq(7L), eq(3)))
+        .thenReturn(List.of());
+    when(jdbcTemplate.queryForList(contains("substring"), eq(String.class), eq(4), eq(4), eq(textId)))
+        .thenReturn(List.of("3456"));
+
+    assertThat(store.read(textId, 3, 4)).isEqualTo("3456");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void read_offsetAtIntegerMaxIsPastTheEnd() {
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(textId), eq(Integer.MAX_VALUE + 5L),
+        eq(Integer.MAX_VALUE))).thenReturn(List.of());
+
+    assertThat(store.read(textId, Integer.MAX_VALUE, 5)).isEmpty();
+    verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any(), any(), any());
+  }
+
+  @Test
+  void read_emptyRangeSkipsTheDatabase() {
+    assertThat(store.read(textId, 5, 0)).isEmpty();
+    verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void read_rejectsNegativeRanges() {
+    assertThatThrownBy(() -> store.read(textId, -1, 3)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
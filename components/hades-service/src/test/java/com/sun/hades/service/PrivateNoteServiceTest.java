@@ -2,12 +2,17 @@ package com.sun.hades.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.sun.fates.service.PersonService;
+import com.sun.gaia.model.AccountIdentity;
 import com.sun.gaia.model.ObjectShareEntity;
+import com.sun.gaia.model.enums.AccountType;
 import com.sun.gaia.repository.ObjectShareRepository;
 import com.sun.gaia.service.AccountService;
 import com.sun.gaia.service.EmailService;
@@ -19,9 +24,14 @@ import com.sun.hades.repository.PrivateNoteRepository;
 import com.sun.hades.repository.ReaderAccountRepository;
 import com.sun.hades.repository.ReaderTextRepository;
 import com.sun.hades.model.ReaderTextEntity;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,7 +49,6 @@ class PrivateNoteServiceTest {
   @Mock private ObjectShareRepository shareRepository;
   @Mock private ObjectShareMapper shareMapper;
   @Mock private AccountService accountService;
-  @Mock private PersonService personService;
   @Mock private EmailService emailService;
 
   private PrivateNoteService service;
@@ -53,7 +62,7 @@ class PrivateNoteServiceTest {
     UserContextHolder.setUserId(viewer);
     service = new PrivateNoteService(
         noteRepository, textRepository, readerAccountRepository, permifyService,
-        shareRepository, shareMapper, accountService, personService, emailService);
+        shareRepository, shareMapper, accountService, emailService);
   }
 
   @AfterEach
@@ -111,6 +120,49 @@ class PrivateNoteServiceTest {
     assertThat(newId).isEqualTo(saved.getId());
   }
 
+  /**
+   * Sharing with many subjects resolves identities, shares and tuples in bulk
+   * calls rather than one call per subject. This counts calls on the mocked
+   * repositories and services, not SQL statements.
+   */
+  @Test
+  void shareNotes_makesBulkRepositoryAndAccountCalls() {
+    ReaderTextEntity text = new ReaderTextEntity();
+    text.setTitle("Story");
+    when(textRepository.findById(textId)).thenReturn(Optional.of(text));
+    List<UUID> subjectIds = new ArrayList<>();
+    Map<UUID, AccountIdentity> identities = new HashMap<>();
+    identities.put(viewer, identity(viewer, "sharer", null));
+    for (int i = 0; i < 20; i++) {
+      UUID id = UUID.randomUUID();
+      subjectIds.add(id);
+      identities.put(id, identity(id, "user" + i, "user" + i + "@test.com"));
+    }
+    when(accountService.resolveIdentities(any())).thenReturn(identities);
+    UUID byEmail = UUID.randomUUID();
+    when(accountService.resolveIdentitiesByEmail(Set.of("friend@test.com")))
+        .thenReturn(List.of(identity(byEmail, "friend", "friend@test.com")));
+    PrivateNoteEntity first = note();
+    first.setId(UUID.randomUUID());
+    PrivateNoteEntity second = note();
+    second.setId(UUID.randomUUID());
+    when(noteRepository.findByOwnerIdAndTextId(viewer, textId)).thenReturn(List.of(first, second));
+
+    service.shareNotes(textId, subjectIds, List.of(" Friend@test.com "));
+
+    verify(accountService, never()).findById(any());
+    verify(permifyService, times(1)).writeTuples(argThat(tuples -> tuples.size() == 42));
+    verify(emailService, times(21)).sendShareNotesEmail(any(), eq("Story"), eq("sharer"), any(), any(), any());
+    long calls = Stream.of(textRepository, noteRepository, shareRepository, readerAccountRepository, accountService)
+        .mapToLong(mock -> mockingDetails(mock).getInvocations().size())
+        .sum();
+    assertThat(calls).isEqualTo(7);
+  }
+
+  private AccountIdentity identity(UUID id, String username, String email) {
+    return new AccountIdentity(id, username, AccountType.HUMAN, UUID.randomUUID(), email);
+  }
+
   private PrivateNoteEntity note() {
     PrivateNoteEntity n = new PrivateNoteEntity();
     n.setOwnerId(viewer);
@@ -0,0 +1,80 @@
+package com.sun.hades.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.hades.model.ReaderAccountEntity;
+import com.sun.hades.repository.ReaderAccountRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Unit tests for ReaderAccountService search.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReaderAccountServiceTest {
+
+  @Mock private ReaderAccountRepository repository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private UsernameSearchIndex usernameIndex;
+
+  private ReaderAccountService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new ReaderAccountService(repository, eventPublisher, usernameIndex, 2);
+  }
+
+  @Test
+  void searchByUsername_ignoresQueriesBelowMinimumLength() {
+    assertThat(service.searchByUsername(" a ", PageRequest.of(0, 10))).isEmpty();
+    assertThat(service.searchByUsername(null, PageRequest.of(0, 10))).isEmpty();
+    verify(repository, never()).searchRanked(anyString(), anyString(), anyString(), anyInt(), anyLong());
+  }
+
+  @Test
+  void searchByUsername_usesSubstringPatternForTrigramQueries() {
+    List<ReaderAccountEntity> found = List.of(new ReaderAccountEntity());
+    when(repository.searchRanked("an_n%", "%an\\_n\\%%", "an\\_n\\%%", 10, 20L)).thenReturn(found);
+
+    assertThat(service.searchByUsername(" An_N% ", PageRequest.of(2, 10))).isEqualTo(found);
+  }
+
+  @Test
+  void searchByUsername_usesPrefixPatternForShortQueries() {
+    when(repository.searchRanked("an", "an%", "an%", 10, 0L)).thenReturn(List.of());
+
+    assertThat(service.searchByUsername("an", PageRequest.of(0, 10))).isEmpty();
+  }
+
+  @Test
+  void searchByUsername_prefersLoadedIndexAndKeepsItsOrder() {
+    ReaderAccountEntity first = account();
+    ReaderAccountEntity second = account();
+    when(usernameIndex.isReady()).thenReturn(true);
+    when(usernameIndex.search("ann", 0, 10)).thenReturn(List.of(second.getId(), first.getId()));
+    when(repository.findAllById(List.of(second.getId(), first.getId()))).thenReturn(List.of(first, second));
+
+    assertThat(service.searchByUsername("Ann", PageRequest.of(0, 10))).containsExactly(second, first);
+    verify(repository, never()).searchRanked(any(), any(), any(), anyInt(), anyLong());
+  }
+
+  private static ReaderAccountEntity account() {
+    ReaderAccountEntity account = new ReaderAccountEntity();
+    account.setId(UUID.randomUUID());
+    return account;
+  }
+}
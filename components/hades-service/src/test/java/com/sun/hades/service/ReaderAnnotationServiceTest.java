@@ -51,6 +51,18 @@ class ReaderAnnotationServiceTest {
     UserContextHolder.clear();
   }
 
+  @Test
+  void createAnnotation_rejectsRangePastTheEndOfTheText() {
+    ReaderTextEntity text = new ReaderTextEntity();
+    text.setContentLength(8);
+    when(textRepository.findByIdForUpdate(textId)).thenReturn(Optional.of(text));
+
+    assertThatThrownBy(() -> service.createAnnotation(textId, 0, 10, "note"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("exceeds");
+    verify(positionRepository, never()).save(any());
+  }
+
   @Test
   void createAnnotation_createsPositionForFreshRange() {
     when(textRepository.findByIdForUpdate(textId)).thenReturn(Optional.of(new ReaderTextEntity()));
@@ -0,0 +1,73 @@
+package com.sun.hades.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.sun.hades.model.ReaderAccountEntity;
+import com.sun.hades.repository.ReaderAccountRepository;
+import java.time.Duration;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Type-ahead latency of the in-memory username index at 100k and 1M
+ * accounts: every prefix of a set of typed names, as a search box issues
+ * them. A keystroke must average under 50 ms, the type-ahead budget. The
+ * database side is covered by db/benchmark/account_trigram_search.sql. Run
+ * with {@code HADES_BENCHMARK=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "HADES_BENCHMARK", matches = "true")
+class UsernameSearchIndexBenchmarkTest {
+
+  private static final String[] SYLLABLES = {"an", "na", "ma", "ri", "jo", "el", "ka", "to", "lu",
+      "be", "sa", "mi", "ne", "ro", "xi", "de"};
+
+  @ParameterizedTest
+  @ValueSource(ints = {100_000, 1_000_000})
+  void typeAhead(int accounts) {
+    UsernameSearchIndex index = new UsernameSearchIndex(mock(ReaderAccountRepository.class), true);
+    Random random = new Random(42);
+    for (int i = 0; i < accounts; i++) {
+      ReaderAccountEntity account = new ReaderAccountEntity();
+      account.setId(UUID.randomUUID());
+      account.setDiscordId(Integer.toString(i));
+      account.setDiscordUsername(name(random) + i);
+      account.setGlobalName(random.nextBoolean() ? name(random) : null);
+      index.put(account);
+    }
+    assertThat(index.size()).isEqualTo(accounts);
+
+    String[] typed = {"marina", "joel", "kato", "xide", "lubesa"};
+    for (String word : typed) {
+      for (int n = 2; n <= word.length(); n++) {
+        index.search(word.substring(0, n), 0, 10);
+      }
+    }
+    int searches = 0;
+    long start = System.nanoTime();
+    for (int round = 0; round < 20; round++) {
+      for (String word : typed) {
+        for (int n = 2; n <= word.length(); n++) {
+          index.search(word.substring(0, n), 0, 10);
+          searches++;
+        }
+      }
+    }
+    long mean = (System.nanoTime() - start) / searches;
+
+    assertThat(index.search("marina", 0, 10)).isNotEmpty();
+    assertThat(Duration.ofNanos(mean)).isLessThan(Duration.ofMillis(50));
+  }
+
+  private static String name(Random random) {
+    StringBuilder sb = new StringBuilder();
+    int syllables = 2 + random.nextInt(3);
+    for (int i = 0; i < syllables; i++) {
+      sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    return sb.toString();
+  }
+}
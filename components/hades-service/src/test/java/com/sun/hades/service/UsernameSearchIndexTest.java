@@ -0,0 +1,140 @@
+package com.sun.hades.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.hades.model.ReaderAccountEntity;
+import com.sun.hades.repository.ReaderAccountRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Unit tests for UsernameSearchIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+class UsernameSearchIndexTest {
+
+  @Mock private ReaderAccountRepository repository;
+
+  private final ReaderAccountEntity anna = account("1", "anna", "Anna K");
+  private final ReaderAccountEntity hannah = account("2", "hannah_b", null);
+  private final ReaderAccountEntity joanne = account("3", "jo", "Joanne");
+  private final ReaderAccountEntity annabel = account("4", "annabel", "Bel");
+
+  private UsernameSearchIndex loaded() {
+    when(repository.findAll(any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of(anna, hannah, joanne, annabel)));
+    UsernameSearchIndex index = new UsernameSearchIndex(repository, true);
+    index.load();
+    return index;
+  }
+
+  @Test
+  void search_ranksExactThenPrefixThenSubstring() {
+    UsernameSearchIndex index = loaded();
+
+    assertThat(index.search("anna", 0, 10))
+        .containsExactly(anna.getId(), annabel.getId(), hannah.getId());
+  }
+
+  @Test
+  void search_matchesDisplayNames() {
+    UsernameSearchIndex index = loaded();
+
+    assertThat(index.search("joanne", 0, 10)).containsExactly(joanne.getId());
+    assertThat(index.search("bel", 0, 10)).containsExactly(annabel.getId());
+  }
+
+  @Test
+  void search_shortQueriesMatchPrefixesOnly() {
+    UsernameSearchIndex index = loaded();
+
+    assertThat(index.search("an", 0, 10)).containsExactly(anna.getId(), annabel.getId());
+    assertThat(index.search("j", 0, 10)).containsExactly(joanne.getId());
+  }
+
+  @Test
+  void search_pagesThroughRankedHits() {
+    UsernameSearchIndex index = loaded();
+
+    assertThat(index.search("ann", 1, 1)).containsExactly(annabel.getId());
+    assertThat(index.search("zzz", 0, 10)).isEmpty();
+  }
+
+  @Test
+  void accountChange_replacesTheOldEntry() {
+    UsernameSearchIndex index = loaded();
+    ReaderAccountEntity renamed = account("1", "zelda", null);
+    renamed.setId(anna.getId());
+    when(repository.findByDiscordId("discord-1")).thenReturn(Optional.of(renamed));
+
+    index.onAccountChanged(new ReaderAccountChangedEvent("discord-1"));
+
+    assertThat(index.search("anna", 0, 10)).containsExactly(annabel.getId(), hannah.getId());
+    assertThat(index.search("zel", 0, 10)).containsExactly(anna.getId());
+  }
+
+  @Test
+  void repeatedAccountChanges_reuseTheSlot() {
+    UsernameSearchIndex index = loaded();
+    ReaderAccountEntity renamed = account("1", "zelda", null);
+    renamed.setId(anna.getId());
+    when(repository.findByDiscordId("discord-1")).thenReturn(Optional.of(anna)).thenReturn(Optional.of(renamed));
+
+    for (int i = 0; i < 100; i++) {
+      index.onAccountChanged(new ReaderAccountChangedEvent("discord-1"));
+    }
+
+    assertThat(index.size()).isEqualTo(4);
+    assertThat(index.search("zel", 0, 10)).containsExactly(anna.getId());
+    assertThat(index.search("anna", 0, 10)).containsExactly(annabel.getId(), hannah.getId());
+  }
+
+  @Test
+  void accountChangeDuringLoad_isAppliedAfterwards() {
+    UsernameSearchIndex index = new UsernameSearchIndex(repository, true);
+    ReaderAccountEntity renamed = account("1", "zelda", null);
+    renamed.setId(anna.getId());
+    when(repository.findByDiscordId("discord-1")).thenReturn(Optional.of(renamed));
+    when(repository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+      index.onAccountChanged(new ReaderAccountChangedEvent("discord-1"));
+      return new PageImpl<>(List.of(anna, hannah, joanne, annabel));
+    });
+
+    index.load();
+
+    assertThat(index.isReady()).isTrue();
+    assertThat(index.search("zel", 0, 10)).containsExactly(anna.getId());
+  }
+
+  @Test
+  void disabledIndex_neverLoads() {
+    UsernameSearchIndex index = new UsernameSearchIndex(repository, false);
+
+    index.load();
+    index.onAccountChanged(new ReaderAccountChangedEvent("discord-1"));
+
+    assertThat(index.isReady()).isFalse();
+    verify(repository, never()).findAll(any(Pageable.class));
+    verify(repository, never()).findByDiscordId(any());
+  }
+
+  private static ReaderAccountEntity account(String n, String username, String globalName) {
+    ReaderAccountEntity account = new ReaderAccountEntity();
+    account.setId(UUID.randomUUID());
+    account.setDiscordId("discord-" + n);
+    account.setDiscordUsername(username);
+    account.setGlobalName(globalName);
+    return account;
+  }
+}
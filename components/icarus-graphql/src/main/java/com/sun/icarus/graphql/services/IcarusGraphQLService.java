@@ -19,7 +19,6 @@ import com.sun.icarus.codegen.types.StandardError;
 import com.sun.icarus.graphql.mappers.ForumPostMapper;
 import com.sun.icarus.graphql.mappers.ForumThreadMapper;
 import com.sun.icarus.model.ForumPostEntity;
-import com.sun.icarus.model.enums.PostStatus;
 import com.sun.icarus.model.enums.ThreadStatus;
 import com.sun.icarus.model.enums.VoteValue;
 import com.sun.icarus.service.ForumPostService;
@@ -36,9 +35,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.sun.gaia.service.AccountService;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * GraphQL business logic for discussion forums.
@@ -111,28 +110,37 @@ public class IcarusGraphQLService {
   @Transactional(readOnly = true)
   public PagedForumPosts posts(String threadId, Boolean includeHidden, PaginationInput pagination) {
     Pageable pageable = toPageable(pagination, "createdAt", Sort.Direction.ASC);
-    Page<ForumPostEntity> result = postService.listForThread(UUID.fromString(threadId), pageable);
-    List<ForumPostEntity> visible = result.getContent().stream()
-        .filter(p -> Boolean.TRUE.equals(includeHidden) || p.getStatus() == PostStatus.ACTIVE)
-        .toList();
-    Map<UUID, RemoteUser> authors = new HashMap<>();
-    visible.stream()
+    Page<ForumPostEntity> result = postService.listForThread(
+        UUID.fromString(threadId), Boolean.TRUE.equals(includeHidden), pageable);
+    List<ForumPostEntity> posts = result.getContent();
+    Map<UUID, String> discordIds = accountService.findDiscordIds(posts.stream()
+        .filter(p -> p.getAuthorDiscordId() == null)
         .map(ForumPostEntity::getCreatedBy)
         .filter(Objects::nonNull)
-        .distinct()
-        .forEach(gaiaAccountId -> accountService.findById(gaiaAccountId).ifPresent(acc -> {
-          if ("discord".equals(acc.getProvider()) && acc.getProviderId() != null) {
-            authors.put(gaiaAccountId, remoteUser(acc.getProviderId()));
-          }
-        }));
+        .collect(Collectors.toSet()));
     Map<UUID, VoteValue> myVotes = voteService.myVotes(
-        visible.stream().map(ForumPostEntity::getId).toList());
-    List<ForumPost> items = visible.stream()
-        .map(p -> postMapper.map(p, authors.get(p.getCreatedBy()), myVotes.get(p.getId())))
+        posts.stream().map(ForumPostEntity::getId).toList());
+    List<ForumPost> items = posts.stream()
+        .map(p -> postMapper.map(p, author(p, discordIds), myVotes.get(p.getId())))
         .toList();
     return PagedForumPosts.newBuilder().items(items).pageInfo(pageInfo(result)).build();
   }
 
+  /**
+   * Resolves a post's author from its snapshot, falling back to the batch of
+   * looked-up Discord ids for posts written before snapshots existed.
+   *
+   * @param post the post
+   * @param discordIds Discord ids keyed by gaia account id
+   * @return the author reference, or null when unknown
+   */
+  private RemoteUser author(ForumPostEntity post, Map<UUID, String> discordIds) {
+    String discordId = post.getAuthorDiscordId() != null
+        ? post.getAuthorDiscordId()
+        : discordIds.get(post.getCreatedBy());
+    return discordId == null ? null : remoteUser(discordId);
+  }
+
   /**
    * Builds a DISCORD RemoteUser reference from a Discord id.
    *
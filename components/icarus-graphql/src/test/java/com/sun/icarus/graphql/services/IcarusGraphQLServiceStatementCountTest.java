@@ -0,0 +1,138 @@
+package com.sun.icarus.graphql.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.base.repository.RemoteObjectRefIndex;
+import com.sun.fates.model.PersonEntity;
+import com.sun.fates.service.PersonService;
+import com.sun.gaia.model.AccountEntity;
+import com.sun.gaia.repository.AccountRepository;
+import com.sun.gaia.service.AccountService;
+import com.sun.gaia.service.UserContextHolder;
+import com.sun.icarus.codegen.types.ForumPost;
+import com.sun.icarus.codegen.types.PagedForumPosts;
+import com.sun.icarus.codegen.types.PaginationInput;
+import com.sun.icarus.graphql.mappers.ForumPostMapper;
+import com.sun.icarus.graphql.mappers.ForumThreadMapper;
+import com.sun.icarus.model.ForumPostEntity;
+import com.sun.icarus.model.ForumVoteEntity;
+import com.sun.icarus.model.enums.VoteValue;
+import com.sun.icarus.repository.ForumPostRepository;
+import com.sun.icarus.repository.ForumVoteRepository;
+import com.sun.icarus.service.ForumPostService;
+import com.sun.icarus.service.ForumThreadService;
+import com.sun.icarus.service.ForumVoteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Counts the SQL statements IcarusGraphQLService issues against an in-memory
+ * H2 database in PostgreSQL mode, using Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:icarus;MODE=PostgreSQL;NON_KEYWORDS=VALUE;"
+        + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IcarusGraphQLServiceStatementCountTest {
+
+  private static final int POSTS = 150;
+
+  @MockitoBean private ForumThreadService threadService;
+  @MockitoBean private ForumThreadMapper threadMapper;
+  @MockitoBean private PersonService personService;
+  @MockitoBean private RemoteObjectRefIndex remoteObjectRefIndex;
+
+  @Autowired private IcarusGraphQLService service;
+  @Autowired private ForumPostRepository postRepository;
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private EntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private final UUID threadId = UUID.randomUUID();
+  private final UUID viewer = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    UserContextHolder.setUserId(viewer);
+    for (int i = 0; i < POSTS; i++) {
+      AccountEntity author = new AccountEntity();
+      author.setUsername("author" + i);
+      author.setPasswordHash("x");
+      author.setPersonId(UUID.randomUUID());
+      author.setProvider("discord");
+      author.setProviderId("discord-" + i);
+      author = accountRepository.save(author);
+
+      ForumPostEntity post = new ForumPostEntity();
+      post.setThreadId(threadId);
+      post.setBody("Post " + i);
+      post.setCreatedBy(author.getId());
+      post = postRepository.save(post);
+
+      if (i % 3 == 0) {
+        ForumVoteEntity vote = new ForumVoteEntity();
+        vote.setAccountId(viewer);
+        vote.setPostId(post.getId());
+        vote.setValue(VoteValue.UP);
+        entityManager.persist(vote);
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @AfterEach
+  void clearUser() {
+    UserContextHolder.clear();
+  }
+
+  /**
+   * A page of posts costs the same statements whatever its size: the page
+   * query, its count, one author lookup and one vote lookup.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {1, 20, 100})
+  void posts_issuesConstantStatementsPerPage(int size) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    PagedForumPosts result = service.posts(threadId.toString(), false,
+        PaginationInput.newBuilder().page(0).size(size).build());
+
+    assertThat(result.getItems()).hasSize(size);
+    assertThat(result.getItems()).extracting(ForumPost::getAuthor).doesNotContainNull();
+    assertThat(result.getPageInfo().getTotalCount()).isEqualTo(POSTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+  }
+
+  @SpringBootConfiguration
+  @EnableJpaAuditing
+  @EntityScan(basePackageClasses = {ForumPostEntity.class, AccountEntity.class, PersonEntity.class})
+  @EnableJpaRepositories(basePackageClasses = {ForumPostRepository.class, AccountRepository.class},
+      includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+          classes = {ForumPostRepository.class, ForumVoteRepository.class, AccountRepository.class}))
+  @Import({IcarusGraphQLService.class, ForumPostService.class, ForumVoteService.class, AccountService.class,
+      ForumPostMapper.class})
+  static class Config {
+  }
+}
@@ -2,25 +2,39 @@ package com.sun.icarus.graphql.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.sun.icarus.codegen.types.CreateThreadInput;
+import com.sun.icarus.codegen.types.ForumPost;
 import com.sun.icarus.codegen.types.ForumThread;
+import com.sun.icarus.codegen.types.PagedForumPosts;
 import com.sun.icarus.codegen.types.QueryResult;
 import com.sun.icarus.codegen.types.QuerySuccess;
 import com.sun.icarus.graphql.mappers.ForumPostMapper;
 import com.sun.icarus.graphql.mappers.ForumThreadMapper;
+import com.sun.icarus.model.ForumPostEntity;
 import com.sun.icarus.model.ForumThreadEntity;
 import com.sun.icarus.service.ForumPostService;
 import com.sun.icarus.service.ForumThreadService;
 import com.sun.icarus.service.ForumVoteService;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 @ExtendWith(MockitoExtension.class)
 class IcarusGraphQLServiceTest {
@@ -71,4 +85,50 @@ class IcarusGraphQLServiceTest {
     assertThat(result).isInstanceOf(com.sun.icarus.codegen.types.StandardError.class);
     assertThat(((com.sun.icarus.codegen.types.StandardError) result).getMessage()).contains("Database error");
   }
+
+  /**
+   * Authors come from the post's snapshot when it has one, and otherwise from
+   * a single lookup of the remaining accounts. Statement counts are covered
+   * by IcarusGraphQLServiceStatementCountTest.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {1, 20, 100})
+  void posts_resolvesAuthorsFromSnapshotsAndOneLookup(int size) {
+    UUID threadId = UUID.randomUUID();
+    List<ForumPostEntity> posts = new ArrayList<>();
+    Map<UUID, String> discordIds = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      ForumPostEntity post = post(threadId);
+      if (i % 2 == 0) {
+        post.setAuthorDiscordId("snap-" + i);
+      } else {
+        discordIds.put(post.getCreatedBy(), "looked-up-" + i);
+      }
+      posts.add(post);
+    }
+    when(postService.listForThread(eq(threadId), eq(false), any()))
+        .thenReturn(new PageImpl<>(posts, PageRequest.of(0, size), 250));
+    when(accountService.findDiscordIds(anyCollection())).thenReturn(discordIds);
+    when(voteService.myVotes(anyList())).thenReturn(Map.of());
+    when(postMapper.map(any(), any(), any())).thenAnswer(inv -> ForumPost.newBuilder()
+        .author(inv.getArgument(1))
+        .build());
+
+    PagedForumPosts result = service.posts(threadId.toString(), false, null);
+
+    assertThat(result.getItems()).hasSize(size);
+    assertThat(result.getItems()).extracting(ForumPost::getAuthor).doesNotContainNull();
+    assertThat(result.getItems().get(0).getAuthor().getId()).isEqualTo("snap-0");
+    assertThat(result.getPageInfo().getTotalCount()).isEqualTo(250);
+    verify(accountService).findDiscordIds(discordIds.keySet());
+  }
+
+  private ForumPostEntity post(UUID threadId) {
+    ForumPostEntity post = new ForumPostEntity();
+    post.setId(UUID.randomUUID());
+    post.setThreadId(threadId);
+    post.setBody("Post");
+    post.setCreatedBy(UUID.randomUUID());
+    return post;
+  }
 }
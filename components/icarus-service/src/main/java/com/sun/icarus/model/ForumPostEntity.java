@@ -35,6 +35,13 @@ public class ForumPostEntity extends BaseEntity {
   @Column(name = "downvotes", nullable = false)
   private int downvotes;
 
+  /**
+   * Discord id of the author at posting time, so listing a thread does not
+   * need to resolve authors. Null for non-Discord authors and older posts.
+   */
+  @Column(name = "author_discord_id")
+  private String authorDiscordId;
+
   public UUID getThreadId() {
     return threadId;
   }
@@ -82,4 +89,12 @@ public class ForumPostEntity extends BaseEntity {
   public void setDownvotes(int downvotes) {
     this.downvotes = downvotes;
   }
+
+  public String getAuthorDiscordId() {
+    return authorDiscordId;
+  }
+
+  public void setAuthorDiscordId(String authorDiscordId) {
+    this.authorDiscordId = authorDiscordId;
+  }
 }
@@ -1,10 +1,13 @@
 package com.sun.icarus.model;
 
 import com.sun.base.model.BaseEntity;
+import com.sun.base.model.RemoteObjectOwner;
+import com.sun.base.model.RemoteObjectRefListener;
 import com.sun.icarus.model.enums.ThreadStatus;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
@@ -15,8 +18,9 @@ import org.hibernate.annotations.Type;
  * A discussion thread attached to a remote object.
  */
 @Entity
+@EntityListeners(RemoteObjectRefListener.class)
 @Table(name = "icarus_forum_threads")
-public class ForumThreadEntity extends BaseEntity {
+public class ForumThreadEntity extends BaseEntity implements RemoteObjectOwner {
 
   @Column(name = "title", nullable = false)
   private String title;
@@ -2,6 +2,7 @@ package com.sun.icarus.repository;
 
 import com.sun.base.repository.BaseRepository;
 import com.sun.icarus.model.ForumPostEntity;
+import com.sun.icarus.model.enums.PostStatus;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,4 +10,6 @@ import org.springframework.data.domain.Pageable;
 public interface ForumPostRepository extends BaseRepository<ForumPostEntity> {
 
   Page<ForumPostEntity> findByThreadId(UUID threadId, Pageable pageable);
+
+  Page<ForumPostEntity> findByThreadIdAndStatus(UUID threadId, PostStatus status, Pageable pageable);
 }
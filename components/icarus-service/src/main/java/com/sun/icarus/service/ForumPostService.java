@@ -1,12 +1,15 @@
 package com.sun.icarus.service;
 
 import com.sun.base.service.BaseService;
+import com.sun.gaia.service.AccountService;
 import com.sun.gaia.service.UserContextHolder;
 import com.sun.icarus.model.ForumPostEntity;
 import com.sun.icarus.model.enums.PostStatus;
 import com.sun.icarus.repository.ForumPostRepository;
 import com.sun.icarus.repository.ForumVoteRepository;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,22 +24,34 @@ public class ForumPostService extends BaseService<ForumPostEntity> {
 
   private final ForumPostRepository postRepository;
   private final ForumVoteRepository voteRepository;
+  private final AccountService accountService;
+  private final boolean authorSnapshot;
 
-  public ForumPostService(ForumPostRepository repository, ForumVoteRepository voteRepository) {
+  public ForumPostService(ForumPostRepository repository, ForumVoteRepository voteRepository,
+      AccountService accountService,
+      @Value("${icarus.forum.author-snapshot:true}") boolean authorSnapshot) {
     super(repository);
     this.postRepository = repository;
     this.voteRepository = voteRepository;
+    this.accountService = accountService;
+    this.authorSnapshot = authorSnapshot;
   }
 
   /**
-   * Lists posts in a thread.
+   * Lists posts in a thread. Hidden and deleted posts are filtered by the
+   * query, so pages are full and the page counts only cover visible posts.
    *
    * @param threadId the thread id
+   * @param includeHidden whether to include hidden or deleted posts
    * @param pageable the page request
    * @return a page of posts
    */
-  public Page<ForumPostEntity> listForThread(UUID threadId, Pageable pageable) {
-    return postRepository.findByThreadId(threadId, pageable);
+  @Transactional(readOnly = true)
+  public Page<ForumPostEntity> listForThread(UUID threadId, boolean includeHidden, Pageable pageable) {
+    if (includeHidden) {
+      return postRepository.findByThreadId(threadId, pageable);
+    }
+    return postRepository.findByThreadIdAndStatus(threadId, PostStatus.ACTIVE, pageable);
   }
 
   /**
@@ -48,7 +63,7 @@ public class ForumPostService extends BaseService<ForumPostEntity> {
    * @return the new post id
    */
   public UUID addPost(UUID threadId, UUID parentId, String body) {
-    requireUser();
+    UUID userId = requireUser();
     if (body == null || body.isBlank()) {
       throw new IllegalArgumentException("Invalid post");
     }
@@ -56,6 +71,9 @@ public class ForumPostService extends BaseService<ForumPostEntity> {
     post.setThreadId(threadId);
     post.setParentId(parentId);
     post.setBody(body);
+    if (authorSnapshot) {
+      post.setAuthorDiscordId(accountService.findDiscordIds(Set.of(userId)).get(userId));
+    }
     return postRepository.save(post).getId();
   }
 
@@ -1,10 +1,13 @@
 package com.sun.graphql.audit.config;
 
+import com.sun.base.audit.enums.AuditVerbosity;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
- * Audit config: enable toggle and hash-chain key. A blank chain key means an
- * unkeyed chain digest (tamper-detection only, not forgery-resistance).
+ * Audit config: enable toggle, hash-chain key, capture policy and partition
+ * upkeep. A blank chain key means an unkeyed chain digest (tamper-detection
+ * only, not forgery-resistance).
  */
 @ConfigurationProperties(prefix = "audit")
 public record AuditProperties(
@@ -15,10 +18,43 @@ public record AuditProperties(
     /**
      * Hash-chain configuration.
      */
-    Chain chain) {
+    Chain chain,
+    /**
+     * Monthly partition creation and retention.
+     */
+    Partitions partitions,
+    /**
+     * How much of each GraphQL operation is recorded.
+     */
+    Capture capture) {
 
   /**
    * Base64-encoded HMAC key used to hash-chain audit rows.
    */
   public record Chain(String key) {}
+
+  /**
+   * How many months of partitions to create ahead of time, and how many
+   * months to keep. A retention of 0 keeps everything; otherwise older
+   * partitions are detached, and dropped too unless detachOnly is set so they
+   * can be archived first.
+   */
+  public record Partitions(int monthsAhead, int retentionMonths, boolean detachOnly) {
+
+    /** Used when nothing is configured: three months ahead, keep everything. */
+    public static final Partitions DEFAULTS = new Partitions(3, 0, true);
+  }
+
+  /**
+   * Per-operation capture policy. Queries and mutations get their own
+   * verbosity; queries are additionally sampled. Entries in operations,
+   * keyed by event type (e.g. HADES_DEFINEWORD), override both.
+   */
+  public record Capture(AuditVerbosity queries, AuditVerbosity mutations,
+                        double querySampleRate, Map<String, AuditVerbosity> operations) {
+
+    /** Used when nothing is configured: query metadata only, mutations in full. */
+    public static final Capture DEFAULTS =
+        new Capture(AuditVerbosity.METADATA, AuditVerbosity.FULL, 1.0, Map.of());
+  }
 }
@@ -14,6 +14,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -27,10 +28,11 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 /**
  * Captures each request and writes an audit row for it via AuditEventService.
+ * The response streams to the client as it is written; only its size, digest
+ * and a short prefix are kept, by {@link AuditResponseCapture}.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
@@ -44,6 +46,9 @@ public class AuditFilter extends OncePerRequestFilter {
   /** Cap on how many request body bytes we cache/audit, to bound memory use. */
   private static final int MAX_CACHED_BODY_BYTES = 64 * 1024;
 
+  /** Leading response bytes kept to classify GraphQL errors returned with a 200. */
+  private static final int CAPTURED_RESPONSE_PREFIX_BYTES = 1024;
+
   private final AuditContext auditContext;
   private final AuditEventService auditEventService;
   private final AuditOperationRegistry registry;
@@ -71,7 +76,7 @@ public class AuditFilter extends OncePerRequestFilter {
 
     auditContext.begin();
     ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, MAX_CACHED_BODY_BYTES);
-    ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+    AuditResponseCapture wrappedResponse = new AuditResponseCapture(response, CAPTURED_RESPONSE_PREFIX_BYTES);
 
     auditContext.setStartedAt(Instant.now());
     auditContext.setEndpoint(request.getRequestURI());
@@ -91,8 +96,9 @@ public class AuditFilter extends OncePerRequestFilter {
       chain.doFilter(wrappedRequest, wrappedResponse);
     } finally {
       try {
+        wrappedResponse.finish();
         auditContext.setHttpStatus(wrappedResponse.getStatus());
-        ensureOperationRecorded(wrappedRequest);
+        ensureOperationRecorded(wrappedRequest, wrappedResponse);
         long durationMs = auditContext.getStartedAt() == null
             ? 0L
             : Duration.between(auditContext.getStartedAt(), Instant.now()).toMillis();
@@ -104,7 +110,9 @@ public class AuditFilter extends OncePerRequestFilter {
             auditContext.getEndpoint(),
             auditContext.getIpAddress(),
             auditContext.getUserAgent(),
-            auditContext.getHttpStatus());
+            auditContext.getHttpStatus(),
+            wrappedResponse.bytesWritten(),
+            wrappedResponse.sha256());
         auditEventService.persist(snapshot, durationMs);
       } catch (Exception e) {
         // Auditing must not break the response.
@@ -112,7 +120,6 @@ public class AuditFilter extends OncePerRequestFilter {
             auditContext.getCorrelationId(), e);
       } finally {
         auditContext.clear();
-        wrappedResponse.copyBodyToResponse();
       }
     }
   }
@@ -124,8 +131,10 @@ public class AuditFilter extends OncePerRequestFilter {
    * so the attempt is still recorded.
    *
    * @param request the caching wrapper around the original request
+   * @param response the capturing wrapper around the original response
    */
-  private void ensureOperationRecorded(ContentCachingRequestWrapper request) {
+  private void ensureOperationRecorded(
+      ContentCachingRequestWrapper request, AuditResponseCapture response) {
     boolean isGraphql = GRAPHQL_PATH.equalsIgnoreCase(request.getRequestURI());
 
     if (!isGraphql) {
@@ -139,11 +148,15 @@ public class AuditFilter extends OncePerRequestFilter {
       return;
     }
 
-    if (auditContext.operations().isEmpty()) {
+    if (auditContext.operations().isEmpty() && auditContext.skippedOperations() == 0) {
       // GraphQL request that never reached/passed the instrumentation
       // (parse error, unauthorised). Record a fallback so the attempt is
-      // still captured.
+      // still captured. Parse and validation errors come back as 200.
+      // Operations left out by policy did reach it and need no fallback.
       AuditOutcome outcome = outcomeFromStatus(auditContext.getHttpStatus());
+      if (outcome == AuditOutcome.SUCCESS && startsWithErrors(response.prefix())) {
+        outcome = AuditOutcome.FAILURE;
+      }
       OperationMetadata meta = OperationMetadata.unknown(OperationType.MUTATION, null);
       auditContext.addOperation(new AuditContext.AuditOperation(
           "unknown", meta, parseBody(request.getContentAsByteArray()), null, outcome, null));
@@ -166,6 +179,17 @@ public class AuditFilter extends OncePerRequestFilter {
     return AuditOutcome.FAILURE;
   }
 
+  /**
+   * Whether a GraphQL response body opens with an errors entry, as
+   * graphql-java writes it when a request fails before execution.
+   *
+   * @param prefix the leading response bytes
+   * @return true when the first key is "errors"
+   */
+  private static boolean startsWithErrors(byte[] prefix) {
+    return new String(prefix, StandardCharsets.UTF_8).replaceAll("\\s", "").startsWith("{\"errors\"");
+  }
+
   /**
    * Parses the cached request body into a map, falling back to a raw
    * body wrapper when the content is not valid JSON.
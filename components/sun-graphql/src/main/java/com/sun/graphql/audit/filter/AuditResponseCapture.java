@@ -0,0 +1,241 @@
+package com.sun.graphql.audit.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tees a response for auditing: every byte goes straight through to the
+ * client while the wrapper keeps only a bounded prefix, a running SHA-256 and
+ * a byte count, so a large body is neither held in heap nor delayed until
+ * the handler finishes.
+ *
+ * <p>Binary and streaming content types are passed through uncaptured; only
+ * their size is counted. The decision is made on the first write, once the
+ * handler has set the content type.
+ */
+public class AuditResponseCapture extends HttpServletResponseWrapper {
+
+  /** Content-type prefixes whose bodies are never captured. */
+  static final List<String> UNCAPTURED_TYPES = List.of(
+      "image/", "audio/", "video/", "font/", "multipart/",
+      "application/octet-stream", "application/pdf", "application/zip",
+      "application/x-ndjson", "text/event-stream");
+
+  private final int prefixLimit;
+  private final ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+  private MessageDigest digest;
+  private long bytes;
+  private Boolean capturing;
+  private TeeOutputStream outputStream;
+  private PrintWriter writer;
+
+  /**
+   * Wraps a response.
+   *
+   * @param response the response to stream to
+   * @param prefixLimit how many leading body bytes to keep
+   */
+  public AuditResponseCapture(HttpServletResponse response, int prefixLimit) {
+    super(response);
+    this.prefixLimit = prefixLimit;
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() throws IOException {
+    if (writer != null) {
+      throw new IllegalStateException("getWriter() has already been called on this response");
+    }
+    return tee();
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException {
+    if (writer == null) {
+      if (outputStream != null) {
+        throw new IllegalStateException("getOutputStream() has already been called on this response");
+      }
+      String encoding = getCharacterEncoding();
+      Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+      writer = new PrintWriter(new OutputStreamWriter(tee(), charset));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
+    super.flushBuffer();
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    restart();
+  }
+
+  @Override
+  public void resetBuffer() {
+    super.resetBuffer();
+    restart();
+  }
+
+  /**
+   * Pushes anything still buffered in the writer through to the client.
+   * Call once the handler has returned.
+   */
+  public void finish() {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  /**
+   * The number of body bytes written.
+   *
+   * @return the byte count
+   */
+  public long bytesWritten() {
+    return bytes;
+  }
+
+  /**
+   * The leading body bytes, up to the configured limit.
+   *
+   * @return the prefix; empty when nothing was written or capture was skipped
+   */
+  public byte[] prefix() {
+    return prefix.toByteArray();
+  }
+
+  /**
+   * The hex SHA-256 of the whole body.
+   *
+   * @return the digest, or null when the body was not captured
+   */
+  public String sha256() {
+    if (capturing == null) {
+      return bytes == 0 ? HexFormat.of().formatHex(newDigest().digest()) : null;
+    }
+    if (!capturing) {
+      return null;
+    }
+    try {
+      // Digest a copy so the running state survives further writes.
+      return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+    } catch (CloneNotSupportedException e) {
+      return null;
+    }
+  }
+
+  private TeeOutputStream tee() throws IOException {
+    if (outputStream == null) {
+      outputStream = new TeeOutputStream(super.getOutputStream());
+    }
+    return outputStream;
+  }
+
+  private void restart() {
+    prefix.reset();
+    digest = null;
+    bytes = 0;
+    capturing = null;
+  }
+
+  private void capture(byte[] b, int off, int len) {
+    bytes += len;
+    if (capturing == null) {
+      capturing = capturable(getContentType());
+      digest = capturing ? newDigest() : null;
+    }
+    if (!capturing) {
+      return;
+    }
+    digest.update(b, off, len);
+    int room = prefixLimit - prefix.size();
+    if (room > 0) {
+      prefix.write(b, off, Math.min(room, len));
+    }
+  }
+
+  static boolean capturable(String contentType) {
+    if (contentType == null) {
+      return true;
+    }
+    String type = contentType.toLowerCase(Locale.ROOT);
+    for (String uncaptured : UNCAPTURED_TYPES) {
+      if (type.startsWith(uncaptured)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is unavailable", e);
+    }
+  }
+
+  /**
+   * Writes through to the client, then records what was written.
+   */
+  private final class TeeOutputStream extends ServletOutputStream {
+
+    private final ServletOutputStream delegate;
+    private final byte[] single = new byte[1];
+
+    private TeeOutputStream(ServletOutputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+      single[0] = (byte) b;
+      capture(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      delegate.write(b, off, len);
+      capture(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener listener) {
+      delegate.setWriteListener(listener);
+    }
+  }
+}
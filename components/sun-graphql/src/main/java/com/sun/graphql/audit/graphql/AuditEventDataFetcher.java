@@ -0,0 +1,35 @@
+package com.sun.graphql.audit.graphql;
+
+import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsData;
+import com.sun.base.ratelimit.Cost;
+import com.sun.graphql.audit.service.AuditSearchService;
+import com.sun.graphql.codegen.types.AuditRecords;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Operator query over the audit trail.
+ */
+@DgsComponent
+public class AuditEventDataFetcher {
+
+  private final AuditSearchService searchService;
+
+  public AuditEventDataFetcher(AuditSearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  @DgsData(parentType = "Query", field = "auditEvents")
+  @PreAuthorize("@permissions.has('graphql.sun.auditEvents')")
+  @Cost(defaultSize = AuditSearchService.DEFAULT_LIMIT)
+  public AuditRecords auditEvents(OffsetDateTime from, OffsetDateTime to, String userId,
+      String operationName, String eventType, String namespace, String outcome,
+      Integer first, String after) {
+    return searchService.search(
+        new AuditSearchService.Criteria(from, to, userId == null ? null : UUID.fromString(userId),
+            operationName, eventType, namespace, outcome),
+        first == null ? AuditSearchService.DEFAULT_LIMIT : first, after);
+  }
+}
@@ -3,6 +3,7 @@ package com.sun.graphql.audit.graphql;
 import com.sun.base.audit.context.AuditContext;
 import com.sun.base.audit.context.OperationMetadata;
 import com.sun.base.audit.enums.AuditOutcome;
+import com.sun.base.audit.enums.AuditVerbosity;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimpleInstrumentation;
@@ -10,19 +11,19 @@ import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchPar
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLType;
 import graphql.schema.GraphQLTypeUtil;
-import java.time.temporal.Temporal;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.springframework.stereotype.Component;
 
 /**
  * GraphQL hook that records one namespaced operation per request. Sun's schema
  * nests operations under a per-service type, so the real operation sits at path
  * level 2 (e.g. {@code mutation { hadesMutations { createAnnotation } }}).
+ *
+ * <p>The request thread does as little as it can: operations the registry's
+ * policy leaves out are counted and skipped, and arguments are kept by
+ * reference rather than copied.
  */
 @Component
 public class AuditInstrumentation extends SimpleInstrumentation {
@@ -62,7 +63,13 @@ public class AuditInstrumentation extends SimpleInstrumentation {
     String parentTypeName = parentObject.getName();
     String fieldName = stepInfo.getPath().getSegmentName();
     OperationMetadata metadata = registry.forParentType(parentTypeName, fieldName);
-    Object variables = sanitizeForJson(env.getArguments());
+    if (!recorded(metadata)) {
+      auditContext.skipOperation();
+      return NOOP;
+    }
+    // The argument map is immutable, so keep the reference; the persist stage
+    // converts and redacts it off the request thread.
+    Object variables = metadata.verbosity() == AuditVerbosity.FULL ? env.getArguments() : null;
 
     return new InstrumentationContext<>() {
       @Override
@@ -87,6 +94,20 @@ public class AuditInstrumentation extends SimpleInstrumentation {
     };
   }
 
+  /**
+   * Applies the operation's verbosity and sample rate.
+   *
+   * @param metadata the resolved operation metadata
+   * @return true when this execution gets an audit row
+   */
+  private static boolean recorded(OperationMetadata metadata) {
+    if (metadata.verbosity() == AuditVerbosity.NONE) {
+      return false;
+    }
+    double rate = metadata.sampleRate();
+    return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+  }
+
   /**
    * Best-effort extraction of the acted-on entity id from the field result.
    *
@@ -107,35 +128,4 @@ public class AuditInstrumentation extends SimpleInstrumentation {
       return null;
     }
   }
-
-  /**
-   * Converts graphql argument values into JSON-serialisable forms so the audit
-   * mapper can handle them.
-   *
-   * @param value the raw argument value
-   * @return a value safe for Jackson serialisation
-   */
-  private Object sanitizeForJson(Object value) {
-    if (value == null) {
-      return null;
-    }
-    if (value instanceof Temporal || value instanceof Date) {
-      return value.toString();
-    }
-    if (value instanceof Map<?, ?> map) {
-      Map<String, Object> out = new LinkedHashMap<>();
-      for (Map.Entry<?, ?> e : map.entrySet()) {
-        out.put(String.valueOf(e.getKey()), sanitizeForJson(e.getValue()));
-      }
-      return out;
-    }
-    if (value instanceof Iterable<?> iterable) {
-      List<Object> out = new ArrayList<>();
-      for (Object item : iterable) {
-        out.add(sanitizeForJson(item));
-      }
-      return out;
-    }
-    return value;
-  }
 }
@@ -1,8 +1,12 @@
 package com.sun.graphql.audit.graphql;
 
 import com.sun.base.audit.context.OperationMetadata;
+import com.sun.base.audit.enums.AuditVerbosity;
 import com.sun.base.audit.enums.OperationType;
+import com.sun.graphql.audit.config.AuditProperties;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 
 /**
@@ -10,23 +14,47 @@ import org.springframework.stereotype.Component;
  * schema namespaces every operation under a per-service type (HadesMutations,
  * GaiaQueries, ...), so the namespace and operation type come from that type's
  * name and the event type from the field name.
+ *
+ * <p>The capture policy (verbosity and sample rate) comes from
+ * {@link AuditProperties.Capture}. Metadata is resolved once per field and
+ * reused, since every request looks it up.
  */
 @Component
 public class AuditOperationRegistry {
 
+  private final AuditProperties.Capture capture;
+  private final Map<String, OperationMetadata> resolved = new ConcurrentHashMap<>();
+
+  public AuditOperationRegistry(AuditProperties properties) {
+    this.capture = properties.capture() == null ? AuditProperties.Capture.DEFAULTS : properties.capture();
+  }
+
   /**
    * Resolves audit metadata for a namespaced GraphQL field.
    *
    * @param parentTypeName the field's parent type, e.g. HadesMutations
    * @param fieldName the executed field, e.g. createAnnotation
-   * @return metadata with derived namespace, operation type, and event type
+   * @return metadata with derived namespace, operation type, event type and
+   *     capture policy
    */
   public OperationMetadata forParentType(String parentTypeName, String fieldName) {
+    return resolved.computeIfAbsent(parentTypeName + "." + fieldName,
+        key -> resolve(parentTypeName, fieldName));
+  }
+
+  private OperationMetadata resolve(String parentTypeName, String fieldName) {
     OperationType operationType = operationTypeFor(parentTypeName);
     String namespace = namespaceFor(parentTypeName);
     String eventType = (namespace == null ? "" : namespace + "_")
         + (fieldName == null ? "UNKNOWN" : fieldName.toUpperCase());
-    return new OperationMetadata(eventType, operationType, namespace, null, Set.of());
+    boolean mutation = operationType == OperationType.MUTATION;
+    AuditVerbosity verbosity = capture.operations() == null ? null : capture.operations().get(eventType);
+    if (verbosity == null) {
+      verbosity = mutation ? capture.mutations() : capture.queries();
+    }
+    return new OperationMetadata(eventType, operationType, namespace, null, Set.of(),
+        verbosity == null ? AuditVerbosity.FULL : verbosity,
+        mutation ? 1.0 : capture.querySampleRate());
   }
 
   /**
@@ -0,0 +1,59 @@
+package com.sun.graphql.audit.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Turns captured GraphQL argument values into JSON-serialisable forms for the
+ * audit payload. Runs on the persist stage, off the request thread, so it only
+ * reads values that stay valid after the request: uploads are described, not
+ * read.
+ */
+public final class AuditArguments {
+
+  private AuditArguments() {
+  }
+
+  /**
+   * Converts graphql argument values into JSON-serialisable forms so the audit
+   * mapper can handle them.
+   *
+   * @param value the raw argument value
+   * @return a value safe for Jackson serialisation
+   */
+  public static Object toJsonSafe(Object value) {
+    if (value == null || value instanceof JsonNode) {
+      return value;
+    }
+    if (value instanceof Temporal || value instanceof Date) {
+      return value.toString();
+    }
+    if (value instanceof MultipartFile file) {
+      Map<String, Object> out = new LinkedHashMap<>();
+      out.put("filename", file.getOriginalFilename());
+      out.put("size", file.getSize());
+      return out;
+    }
+    if (value instanceof Map<?, ?> map) {
+      Map<String, Object> out = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> e : map.entrySet()) {
+        out.put(String.valueOf(e.getKey()), toJsonSafe(e.getValue()));
+      }
+      return out;
+    }
+    if (value instanceof Iterable<?> iterable) {
+      List<Object> out = new ArrayList<>();
+      for (Object item : iterable) {
+        out.add(toJsonSafe(item));
+      }
+      return out;
+    }
+    return value;
+  }
+}
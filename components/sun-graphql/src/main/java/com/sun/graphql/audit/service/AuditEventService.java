@@ -1,7 +1,5 @@
 package com.sun.graphql.audit.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.base.audit.context.AuditContext;
 import com.sun.base.audit.context.AuditRequestSnapshot;
 import com.sun.base.audit.entity.AuditEvent;
@@ -10,6 +8,7 @@ import com.sun.base.audit.repository.AuditEventRepository;
 import com.sun.graphql.audit.config.AuditProperties;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,16 +27,13 @@ public class AuditEventService {
 
   private final AuditEventRepository repository;
   private final PayloadRedactor redactor;
-  private final ObjectMapper objectMapper;
   private final AuditProperties properties;
 
   public AuditEventService(AuditEventRepository repository,
                            PayloadRedactor redactor,
-                           ObjectMapper objectMapper,
                            AuditProperties properties) {
     this.repository = repository;
     this.redactor = redactor;
-    this.objectMapper = objectMapper;
     this.properties = properties;
   }
 
@@ -79,8 +75,10 @@ public class AuditEventService {
   private AuditEvent buildEvent(AuditRequestSnapshot snapshot, AuditContext.AuditOperation op, long durationMs) {
     var meta = op.metadata();
 
-    JsonNode redacted = redactor.redact(op.variables(), meta.sensitiveFields());
-    String payloadRedacted = writeJsonOrEmpty(redacted);
+    // Arguments are captured as-is on the request thread; making them
+    // JSON-safe and redacting them happens here, on the audit executor.
+    String payloadRedacted = op.variables() == null
+        ? null : redactOrEmpty(AuditArguments.toJsonSafe(op.variables()), meta.sensitiveFields());
 
     AuditEvent event = new AuditEvent();
     event.setCorrelationId(orRandom(snapshot.correlationId()));
@@ -98,16 +96,15 @@ public class AuditEventService {
     event.setUserAgent(snapshot.userAgent());
     event.setHttpStatus(snapshot.httpStatus());
     event.setDurationMs(durationMs);
+    event.setResponseBytes(snapshot.responseBytes());
+    event.setResponseSha256(snapshot.responseSha256());
     event.setPayloadRedacted(payloadRedacted);
     return event;
   }
 
-  private String writeJsonOrEmpty(Object value) {
-    if (value == null) {
-      return null;
-    }
+  private String redactOrEmpty(Object payload, Set<String> sensitiveFields) {
     try {
-      return objectMapper.writeValueAsString(value);
+      return redactor.redactToJson(payload, sensitiveFields);
     } catch (Exception e) {
       logger.warn("Failed to serialise audit JSON; storing empty string", e);
       return "";
@@ -0,0 +1,171 @@
+package com.sun.graphql.audit.service;
+
+import com.sun.graphql.audit.config.AuditProperties;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the monthly audit_events partitions in shape: creates the coming
+ * months before rows arrive for them, and detaches (optionally drops) months
+ * past retention. Runs at startup and then daily.
+ *
+ * <p>Rows for a month without a partition land in audit_events_default, and
+ * Postgres refuses to create a partition whose range the default already
+ * holds rows for. A month created late therefore swaps in a fresh default
+ * partition and re-inserts the stranded rows, so each reaches its monthly
+ * partition.
+ */
+@Service
+public class AuditPartitionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AuditPartitionService.class);
+
+  /** Monthly partitions as named by audit_events_create_partition. */
+  static final Pattern PARTITION_NAME = Pattern.compile("audit_events_p(\\d{4})_(\\d{2})");
+
+  private static final String LIST_PARTITIONS = """
+      SELECT c.relname FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = 'audit_events'::regclass
+      """;
+
+  private static final String CREATE_PARTITION = "SELECT audit_events_create_partition(?)";
+
+  private static final String HAS_STRANDED_ROWS =
+      "SELECT EXISTS (SELECT 1 FROM audit_events_default WHERE created_at >= ? AND created_at < ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AuditProperties.Partitions partitions;
+
+  public AuditPartitionService(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      AuditProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.partitions = properties.partitions() == null
+        ? AuditProperties.Partitions.DEFAULTS : properties.partitions();
+  }
+
+  /**
+   * Creates upcoming partitions and applies retention. Failures are logged;
+   * the default partition still accepts rows meanwhile.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${audit.partitions.cron:0 15 3 * * *}")
+  public void maintain() {
+    try {
+      maintain(YearMonth.now());
+    } catch (DataAccessException e) {
+      logger.error("Audit partition maintenance failed", e);
+    }
+  }
+
+  void maintain(YearMonth current) {
+    createAhead(current);
+    applyRetention(current);
+  }
+
+  /**
+   * Ensures partitions exist for the current month and the configured number
+   * of months after it. A month that cannot be created is logged and the
+   * rest are still attempted.
+   *
+   * @param current the month to start from
+   * @return the partition names, created or already present
+   */
+  List<String> createAhead(YearMonth current) {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i <= partitions.monthsAhead(); i++) {
+      YearMonth month = current.plusMonths(i);
+      try {
+        names.add(createPartition(month));
+      } catch (DataAccessException e) {
+        logger.error("Could not create the audit partition for {}", month, e);
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Creates one month's partition. When the default partition already holds
+   * rows for the month, it is detached and replaced by an empty one, and its
+   * rows are re-inserted so they are routed to the new month; all in one
+   * transaction.
+   *
+   * @param month the month
+   * @return the partition name
+   */
+  String createPartition(YearMonth month) {
+    Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    Timestamp end = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+    Boolean stranded = jdbcTemplate.queryForObject(HAS_STRANDED_ROWS, Boolean.class, start, end);
+    if (!Boolean.TRUE.equals(stranded)) {
+      return jdbcTemplate.queryForObject(CREATE_PARTITION, String.class, start);
+    }
+    return transactionTemplate.execute(status -> {
+      jdbcTemplate.execute("ALTER TABLE audit_events DETACH PARTITION audit_events_default");
+      jdbcTemplate.execute("ALTER TABLE audit_events_default RENAME TO audit_events_default_stranded");
+      String name = jdbcTemplate.queryForObject(CREATE_PARTITION, String.class, start);
+      jdbcTemplate.execute("CREATE TABLE audit_events_default PARTITION OF audit_events DEFAULT");
+      int moved = jdbcTemplate.update("INSERT INTO audit_events SELECT * FROM audit_events_default_stranded");
+      jdbcTemplate.execute("DROP TABLE audit_events_default_stranded");
+      logger.warn("Created audit partition {} late; re-routed {} rows from the default partition", name, moved);
+      return name;
+    });
+  }
+
+  /**
+   * Detaches, and unless configured otherwise drops, every monthly partition
+   * entirely older than the retention window. The default partition is never
+   * touched.
+   *
+   * @param current the month retention counts back from
+   * @return the partitions removed from audit_events
+   */
+  List<String> applyRetention(YearMonth current) {
+    if (partitions.retentionMonths() <= 0) {
+      return List.of();
+    }
+    YearMonth oldestKept = current.minusMonths(partitions.retentionMonths() - 1L);
+    List<String> expired = new ArrayList<>();
+    for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+      Matcher matcher = PARTITION_NAME.matcher(name);
+      if (!matcher.matches()) {
+        continue;
+      }
+      YearMonth month = YearMonth.of(
+          Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+      if (month.isBefore(oldestKept)) {
+        expired.add(name);
+      }
+    }
+    expired.sort(null);
+    for (String name : expired) {
+      // Names come from the catalog and matched PARTITION_NAME, so they are safe to inline.
+      jdbcTemplate.execute("ALTER TABLE audit_events DETACH PARTITION " + name);
+      if (partitions.detachOnly()) {
+        logger.info("Detached audit partition {}", name);
+      } else {
+        jdbcTemplate.execute("DROP TABLE " + name);
+        logger.info("Dropped audit partition {}", name);
+      }
+    }
+    return expired;
+  }
+}
@@ -0,0 +1,180 @@
+package com.sun.graphql.audit.service;
+
+import com.sun.base.audit.entity.AuditEvent;
+import com.sun.base.audit.enums.AuditOutcome;
+import com.sun.base.audit.repository.AuditEventRepository;
+import com.sun.graphql.codegen.types.AuditRecord;
+import com.sun.graphql.codegen.types.AuditRecords;
+import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Time-bounded search over audit rows, newest first with keyset paging.
+ *
+ * <p>Every search carries a created_at range, which lets Postgres prune the
+ * monthly partitions it does not overlap; the range is capped so one query
+ * cannot walk the whole history. Paging continues from the last row's
+ * (created_at, id) rather than an offset, so deep pages cost the same as the
+ * first.
+ */
+@Service
+public class AuditSearchService {
+
+  public static final int DEFAULT_LIMIT = 50;
+  static final int MAX_LIMIT = 500;
+
+  private static final Sort NEWEST_FIRST =
+      Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+  private final AuditEventRepository repository;
+  private final Duration maxRange;
+
+  public AuditSearchService(AuditEventRepository repository,
+                            @Value("${audit.search.max-range:93d}") Duration maxRange) {
+    this.repository = repository;
+    this.maxRange = maxRange;
+  }
+
+  /**
+   * Filters on one audit search. Null fields are not filtered on.
+   */
+  public record Criteria(OffsetDateTime from, OffsetDateTime to, UUID userId,
+                         String operationName, String eventType, String namespace,
+                         String outcome) {
+  }
+
+  /**
+   * Finds one page of audit rows.
+   *
+   * @param criteria the time range and optional filters
+   * @param first the page size, at most MAX_LIMIT
+   * @param after the cursor from the previous page, or null for the first
+   * @return the page and the cursor for the next one
+   * @throws IllegalArgumentException on an empty or oversized range, a bad
+   *     page size, outcome or cursor
+   */
+  @Transactional(readOnly = true)
+  public AuditRecords search(Criteria criteria, int first, String after) {
+    if (criteria.from() == null || criteria.to() == null || !criteria.from().isBefore(criteria.to())) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+    if (Duration.between(criteria.from(), criteria.to()).compareTo(maxRange) > 0) {
+      throw new IllegalArgumentException("range must not exceed " + maxRange.toDays() + " days");
+    }
+    if (first < 1 || first > MAX_LIMIT) {
+      throw new IllegalArgumentException("first must be between 1 and " + MAX_LIMIT);
+    }
+
+    Specification<AuditEvent> spec = specification(criteria, after == null ? null : Cursor.decode(after));
+    List<AuditEvent> rows = repository.findBy(spec,
+        query -> query.sortBy(NEWEST_FIRST).limit(first + 1).all());
+
+    boolean hasMore = rows.size() > first;
+    List<AuditEvent> page = hasMore ? rows.subList(0, first) : rows;
+    String nextCursor = null;
+    if (hasMore) {
+      AuditEvent last = page.get(page.size() - 1);
+      nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+    }
+    return AuditRecords.newBuilder()
+        .items(page.stream().map(AuditSearchService::toRecord).toList())
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  static Specification<AuditEvent> specification(Criteria criteria, Cursor cursor) {
+    LocalDateTime from = toLocal(criteria.from());
+    LocalDateTime to = toLocal(criteria.to());
+    AuditOutcome outcome = criteria.outcome() == null
+        ? null : AuditOutcome.valueOf(criteria.outcome().toUpperCase(Locale.ROOT));
+
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+      predicates.add(cb.lessThan(root.get("createdAt"), to));
+      if (criteria.userId() != null) {
+        predicates.add(cb.equal(root.get("userId"), criteria.userId()));
+      }
+      if (criteria.operationName() != null) {
+        predicates.add(cb.equal(root.get("operationName"), criteria.operationName()));
+      }
+      if (criteria.eventType() != null) {
+        predicates.add(cb.equal(root.get("eventType"), criteria.eventType()));
+      }
+      if (criteria.namespace() != null) {
+        predicates.add(cb.equal(root.get("namespace"), criteria.namespace()));
+      }
+      if (outcome != null) {
+        predicates.add(cb.equal(root.get("outcome"), outcome));
+      }
+      if (cursor != null) {
+        predicates.add(cb.or(
+            cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+            cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                cb.lessThan(root.<UUID>get("id"), cursor.id()))));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  private static AuditRecord toRecord(AuditEvent event) {
+    return AuditRecord.newBuilder()
+        .id(event.getId().toString())
+        .createdAt(event.getCreatedAt().atZone(ZoneId.systemDefault()).toOffsetDateTime())
+        .correlationId(event.getCorrelationId().toString())
+        .userId(event.getUserId() == null ? null : event.getUserId().toString())
+        .namespace(event.getNamespace())
+        .eventType(event.getEventType())
+        .operationName(event.getOperationName())
+        .operationType(event.getOperationType().name())
+        .targetEntity(event.getTargetEntity())
+        .targetEntityId(event.getTargetEntityId() == null ? null : event.getTargetEntityId().toString())
+        .outcome(event.getOutcome().name())
+        .errorMessage(event.getErrorMessage())
+        .endpoint(event.getEndpoint())
+        .httpStatus(event.getHttpStatus())
+        .durationMs(event.getDurationMs())
+        .responseBytes(event.getResponseBytes())
+        .build();
+  }
+
+  /** created_at is stored as a zone-less timestamp in the server's zone. */
+  private static LocalDateTime toLocal(OffsetDateTime time) {
+    return time.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+  }
+
+  /**
+   * Position after the last row of a page.
+   */
+  record Cursor(LocalDateTime createdAt, UUID id) {
+
+    String encode() {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String value) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8)
+            .split("\\|", 2);
+        return new Cursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("invalid cursor", e);
+      }
+    }
+  }
+}
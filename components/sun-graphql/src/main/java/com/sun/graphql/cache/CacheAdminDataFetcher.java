@@ -0,0 +1,56 @@
+package com.sun.graphql.cache;
+
+import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsData;
+import com.sun.graphql.codegen.types.CacheInfo;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Operator surface for the gateway caches: statistics, and manual flushes
+ * for when data changed outside a mutation that publishes invalidations.
+ */
+@DgsComponent
+public class CacheAdminDataFetcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(CacheAdminDataFetcher.class);
+
+  private final ObservableCacheManager cacheManager;
+
+  public CacheAdminDataFetcher(ObservableCacheManager cacheManager) {
+    this.cacheManager = cacheManager;
+  }
+
+  @DgsData(parentType = "Query", field = "caches")
+  @PreAuthorize("@permissions.has('graphql.sun.caches')")
+  public List<CacheInfo> caches() {
+    return cacheManager.snapshots().stream()
+        .map(s -> CacheInfo.newBuilder()
+            .name(s.name())
+            .spec(s.spec())
+            .tags(s.tags())
+            .size(s.size())
+            .hitCount(s.stats().hitCount())
+            .missCount(s.stats().missCount())
+            .hitRate(s.stats().hitRate())
+            .evictionCount(s.stats().evictionCount())
+            .build())
+        .toList();
+  }
+
+  @DgsData(parentType = "Mutation", field = "flushCache")
+  @PreAuthorize("@permissions.has('graphql.sun.flushCache')")
+  public boolean flushCache(String name) {
+    logger.info("Flushing cache {}", name);
+    return cacheManager.flush(name);
+  }
+
+  @DgsData(parentType = "Mutation", field = "invalidateCacheTag")
+  @PreAuthorize("@permissions.has('graphql.sun.flushCache')")
+  public List<String> invalidateCacheTag(String tag) {
+    logger.info("Invalidating cache tag {}", tag);
+    return cacheManager.invalidateTag(tag);
+  }
+}
@@ -0,0 +1,29 @@
+package com.sun.graphql.cache;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Declarative cache configuration: a Caffeine spec per cache name plus the
+ * invalidation tags that clear it.
+ */
+@ConfigurationProperties(prefix = "sun.cache")
+public record CacheProperties(
+    /**
+     * Caffeine spec for caches without their own entry.
+     */
+    String defaultSpec,
+    /**
+     * Per-cache settings, keyed by cache name.
+     */
+    Map<String, Spec> caches) {
+
+  /**
+   * Settings for one cache.
+   *
+   * @param spec the Caffeine spec, e.g. {@code expireAfterWrite=5m,maximumSize=1000}
+   * @param tags the invalidation tags that clear this cache
+   */
+  public record Spec(String spec, List<String> tags) {}
+}
@@ -0,0 +1,145 @@
+package com.sun.graphql.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sun.base.cache.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caffeine cache manager driven by {@link CacheProperties}. Every cache is
+ * built from its own spec and records hit, miss, load and eviction statistics
+ * as {@code cache.*} meters tagged by cache name. Invalidations are counted
+ * per tag in {@code cache.invalidations}.
+ */
+public class ObservableCacheManager extends CaffeineCacheManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(ObservableCacheManager.class);
+
+  static final String FALLBACK_SPEC = "expireAfterWrite=30s,maximumSize=1000";
+
+  /**
+   * A cache's configuration and current statistics.
+   *
+   * @param name the cache name
+   * @param spec the Caffeine spec it was built from
+   * @param tags the invalidation tags that clear it
+   * @param size the approximate number of entries
+   * @param stats the cumulative statistics
+   */
+  public record Snapshot(String name, String spec, List<String> tags, long size, CacheStats stats) {
+  }
+
+  private final Map<String, CacheProperties.Spec> specs;
+  private final String defaultSpec;
+  private final MeterRegistry meterRegistry;
+
+  public ObservableCacheManager(CacheProperties properties, MeterRegistry meterRegistry) {
+    this.specs = properties.caches() == null ? Map.of() : Map.copyOf(properties.caches());
+    this.defaultSpec = properties.defaultSpec() == null ? FALLBACK_SPEC : properties.defaultSpec();
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected Cache<Object, Object> createNativeCaffeineCache(String name) {
+    Cache<Object, Object> cache = Caffeine.from(CaffeineSpec.parse(specOf(name)))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    return cache;
+  }
+
+  /**
+   * Clears the caches carrying any of the event's tags once the publishing
+   * transaction has committed.
+   *
+   * @param event the invalidation event
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onInvalidation(CacheInvalidationEvent event) {
+    event.tags().forEach(this::invalidateTag);
+  }
+
+  /**
+   * Clears every live cache declared with the tag.
+   *
+   * @param tag the invalidation tag
+   * @return the names of the caches cleared
+   */
+  public List<String> invalidateTag(String tag) {
+    List<String> cleared = new ArrayList<>();
+    for (String name : new TreeSet<>(getCacheNames())) {
+      if (tagsOf(name).contains(tag) && flush(name)) {
+        cleared.add(name);
+      }
+    }
+    Counter.builder("cache.invalidations")
+        .description("Tag invalidations published by mutations")
+        .tag("tag", tag)
+        .register(meterRegistry)
+        .increment();
+    logger.debug("Invalidated tag {}: cleared {}", tag, cleared);
+    return cleared;
+  }
+
+  /**
+   * Clears one cache, if it has been created.
+   *
+   * @param name the cache name
+   * @return whether the cache exists
+   */
+  public boolean flush(String name) {
+    Optional<CaffeineCache> cache = live(name);
+    cache.ifPresent(CaffeineCache::clear);
+    return cache.isPresent();
+  }
+
+  /**
+   * Describes every cache created so far, ordered by name.
+   *
+   * @return the snapshots
+   */
+  public List<Snapshot> snapshots() {
+    List<Snapshot> result = new ArrayList<>();
+    for (String name : new TreeSet<>(getCacheNames())) {
+      live(name).ifPresent(cache -> {
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        result.add(new Snapshot(name, specOf(name), tagsOf(name),
+            nativeCache.estimatedSize(), nativeCache.stats()));
+      });
+    }
+    return result;
+  }
+
+  private Optional<CaffeineCache> live(String name) {
+    // getCache would create a missing cache on demand; only look at existing ones.
+    if (!getCacheNames().contains(name)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable((CaffeineCache) getCache(name));
+  }
+
+  private String specOf(String name) {
+    CacheProperties.Spec spec = specs.get(name);
+    return spec == null || spec.spec() == null ? defaultSpec : spec.spec();
+  }
+
+  private List<String> tagsOf(String name) {
+    CacheProperties.Spec spec = specs.get(name);
+    return spec == null || spec.tags() == null ? List.of() : spec.tags();
+  }
+}
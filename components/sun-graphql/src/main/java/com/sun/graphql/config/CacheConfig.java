@@ -1,11 +1,10 @@
 package com.sun.graphql.config;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import java.time.Duration;
-import org.springframework.cache.CacheManager;
+import com.sun.graphql.cache.CacheProperties;
+import com.sun.graphql.cache.ObservableCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,27 +13,15 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
   /**
-   * Caffeine-backed cache manager with per-cache TTLs.
+   * Caffeine-backed cache manager with per-cache specs from
+   * {@code sun.cache.*}, statistics metrics and tag invalidation.
    */
   @Bean
-  public CacheManager cacheManager() {
-    return new CaffeineCacheManager() {
-      @Override
-      protected Cache<Object, Object> createNativeCaffeineCache(String name) {
-        if ("defineWord".equals(name)) {
-          return Caffeine.newBuilder()
-              .expireAfterWrite(Duration.ofHours(24))
-              .maximumSize(2000)
-              .build();
-        }
-        return Caffeine.newBuilder()
-            .expireAfterWrite(Duration.ofSeconds(30))
-            .maximumSize(1000)
-            .build();
-      }
-    };
+  public ObservableCacheManager cacheManager(CacheProperties properties, MeterRegistry meterRegistry) {
+    return new ObservableCacheManager(properties, meterRegistry);
   }
 }
@@ -19,6 +19,9 @@ import javax.sql.DataSource;
  * class), and one auto-configured {@code TransactionManager}. Components are enabled simply by
  * being on the classpath &mdash; see the {@code dbModules} list in
  * {@code sun-graphql/build.gradle}. Remove a module there to disable it.
+ *
+ * <p>When a read replica is configured, that {@link DataSource} is a router in
+ * front of a primary and a replica pool; see {@link ReadReplicaConfig}.
  */
 @Configuration
 @EnableJpaAuditing(auditorAwareRef = "auditorProvider")
@@ -0,0 +1,30 @@
+package com.sun.graphql.config;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The static cost of one GraphQL operation.
+ */
+public record QueryCost(
+    /**
+     * Total cost of the operation.
+     */
+    long total,
+    /**
+     * Cost of each root field, keyed by response name, in document order.
+     */
+    Map<String, Long> byField) {
+
+  /**
+   * Renders the breakdown, costliest root field first.
+   *
+   * @return e.g. {@code search=1200, linkedObjects=330}
+   */
+  public String describe() {
+    return byField.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .map(e -> e.getKey() + "=" + e.getValue())
+        .collect(Collectors.joining(", "));
+  }
+}
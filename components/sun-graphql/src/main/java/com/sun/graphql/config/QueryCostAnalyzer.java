@@ -0,0 +1,344 @@
+package com.sun.graphql.config;
+
+import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsData;
+import com.sun.base.ratelimit.Cost;
+import graphql.language.Argument;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.TypeName;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the static cost of a GraphQL operation before it runs. Fragment
+ * spreads are expanded, and the cost of a field's selections is multiplied
+ * by the number of items it returns: the value of its pagination argument,
+ * or a default size when the field is paginated or a list and the argument
+ * is missing. Fields cost one each, scalars nothing, unless the data-fetcher
+ * method declares a {@link Cost}.
+ */
+@Component
+public class QueryCostAnalyzer implements SmartInitializingSingleton {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryCostAnalyzer.class);
+
+  static final List<String> DEFAULT_MULTIPLIERS =
+      List.of("limit", "first", "last", "size", "pagination.size");
+
+  private final ApplicationContext context;
+  private final int defaultListSize;
+  private final Map<String, Weight> weights = new HashMap<>();
+
+  /**
+   * Builds the analyzer; the scan for {@link Cost} runs once every singleton
+   * is created.
+   *
+   * @param context the application context to discover data fetchers in
+   * @param defaultListSize the items assumed for a list without a size argument
+   */
+  public QueryCostAnalyzer(ApplicationContext context,
+      @Value("${sun.graphql.default-list-size:10}") int defaultListSize) {
+    this.context = context;
+    this.defaultListSize = defaultListSize;
+  }
+
+  /**
+   * Registers the weight of one field.
+   *
+   * @param coordinate the field as {@code Type.field}
+   * @param cost the declared cost
+   */
+  void register(String coordinate, Cost cost) {
+    List<String> multipliers = cost.multipliers().length == 0
+        ? DEFAULT_MULTIPLIERS
+        : Arrays.asList(cost.multipliers());
+    weights.put(coordinate, new Weight(cost.value(), multipliers,
+        cost.defaultSize() > 0 ? cost.defaultSize() : defaultListSize));
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    Map<String, Object> fetchers = context.getBeansWithAnnotation(DgsComponent.class);
+    for (Object fetcher : fetchers.values()) {
+      for (Method method : AopUtils.getTargetClass(fetcher).getMethods()) {
+        Cost cost = method.getAnnotation(Cost.class);
+        if (cost == null) {
+          continue;
+        }
+        for (DgsData data : method.getAnnotationsByType(DgsData.class)) {
+          String coordinate = data.parentType() + "." + data.field();
+          register(coordinate, cost);
+          logger.info("Query cost of {} set to {}", coordinate, cost.value());
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes the cost of the operation that would run.
+   *
+   * @param document the parsed document
+   * @param operationName the requested operation, or null for the only one
+   * @param schema the executable schema
+   * @param variables the request variables
+   * @return the total and the cost of each root field
+   */
+  public QueryCost analyze(
+      Document document, String operationName, GraphQLSchema schema, Map<String, Object> variables) {
+    OperationDefinition operation = operation(document, operationName);
+    if (operation == null) {
+      return new QueryCost(0, Map.of());
+    }
+    Walk walk = new Walk(document, schema, variables == null ? Map.of() : variables);
+    GraphQLType root = switch (operation.getOperation()) {
+      case MUTATION -> schema.getMutationType();
+      case SUBSCRIPTION -> schema.getSubscriptionType();
+      default -> schema.getQueryType();
+    };
+    Map<String, Long> byField = new LinkedHashMap<>();
+    walk.rootFields(operation.getSelectionSet(), root, byField, new HashSet<>());
+    long total = 0;
+    for (long cost : byField.values()) {
+      total = add(total, cost);
+    }
+    return new QueryCost(total, byField);
+  }
+
+  private static OperationDefinition operation(Document document, String operationName) {
+    List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+    for (OperationDefinition operation : operations) {
+      if (operationName == null || operationName.equals(operation.getName())) {
+        return operation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * One pass over a document. Fragment costs are memoized so nested spreads
+   * cost linear rather than exponential time.
+   */
+  private final class Walk {
+
+    private final GraphQLSchema schema;
+    private final Map<String, Object> variables;
+    private final Map<String, FragmentDefinition> fragments = new HashMap<>();
+    private final Map<String, Long> fragmentCosts = new HashMap<>();
+    private final Set<String> expanding = new HashSet<>();
+
+    private Walk(Document document, GraphQLSchema schema, Map<String, Object> variables) {
+      this.schema = schema;
+      this.variables = variables;
+      for (FragmentDefinition fragment : document.getDefinitionsOfType(FragmentDefinition.class)) {
+        fragments.put(fragment.getName(), fragment);
+      }
+    }
+
+    private void rootFields(
+        SelectionSet set, GraphQLType type, Map<String, Long> byField, Set<String> seen) {
+      if (set == null) {
+        return;
+      }
+      for (Selection<?> selection : set.getSelections()) {
+        if (selection instanceof Field field) {
+          byField.merge(field.getResultKey(), fieldCost(field, type, false), QueryCostAnalyzer::add);
+        } else if (selection instanceof InlineFragment inline) {
+          rootFields(inline.getSelectionSet(), conditionType(inline.getTypeCondition(), type),
+              byField, seen);
+        } else if (selection instanceof FragmentSpread spread && seen.add(spread.getName())) {
+          FragmentDefinition fragment = fragments.get(spread.getName());
+          if (fragment != null) {
+            rootFields(fragment.getSelectionSet(), conditionType(fragment.getTypeCondition(), type),
+                byField, seen);
+          }
+        }
+      }
+    }
+
+    /**
+     * @param sized whether the enclosing field was already multiplied by a
+     *     page size, so a list directly below it is that page
+     */
+    private long cost(SelectionSet set, GraphQLType type, boolean sized) {
+      if (set == null) {
+        return 0;
+      }
+      long total = 0;
+      for (Selection<?> selection : set.getSelections()) {
+        if (selection instanceof Field field) {
+          total = add(total, fieldCost(field, type, sized));
+        } else if (selection instanceof InlineFragment inline) {
+          total = add(total, cost(inline.getSelectionSet(),
+              conditionType(inline.getTypeCondition(), type), sized));
+        } else if (selection instanceof FragmentSpread spread) {
+          total = add(total, fragmentCost(spread.getName(), type, sized));
+        }
+      }
+      return total;
+    }
+
+    private long fragmentCost(String name, GraphQLType type, boolean sized) {
+      String key = name + ":" + sized;
+      Long known = fragmentCosts.get(key);
+      if (known != null) {
+        return known;
+      }
+      FragmentDefinition fragment = fragments.get(name);
+      if (fragment == null || !expanding.add(name)) {
+        // Unknown or cyclic spreads fail validation; they add nothing here.
+        return 0;
+      }
+      long cost = cost(fragment.getSelectionSet(), conditionType(fragment.getTypeCondition(), type), sized);
+      expanding.remove(name);
+      fragmentCosts.put(key, cost);
+      return cost;
+    }
+
+    private long fieldCost(Field field, GraphQLType parent, boolean sized) {
+      if (field.getName().startsWith("__")) {
+        return 0;
+      }
+      Weight weight = parent instanceof GraphQLNamedType named
+          ? weights.get(named.getName() + "." + field.getName())
+          : null;
+      if (field.getSelectionSet() == null) {
+        return weight == null ? 0 : weight.cost();
+      }
+      long own = weight == null ? 1 : weight.cost();
+      GraphQLFieldDefinition definition = parent instanceof GraphQLFieldsContainer container
+          ? container.getFieldDefinition(field.getName())
+          : null;
+      GraphQLType child = definition == null ? null : GraphQLTypeUtil.unwrapAll(definition.getType());
+      boolean list = definition != null
+          && GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(definition.getType()));
+      List<String> multipliers = weight == null ? DEFAULT_MULTIPLIERS : weight.multipliers();
+      int defaultSize = weight == null ? defaultListSize : weight.defaultSize();
+
+      Long requested = requestedSize(field, multipliers);
+      long items;
+      boolean childSized;
+      if (requested != null) {
+        items = Math.max(0, requested);
+        childSized = !list;
+      } else if (definition != null && paginated(definition, multipliers)) {
+        items = defaultSize;
+        childSized = !list;
+      } else if (list && !sized) {
+        items = defaultSize;
+        childSized = false;
+      } else {
+        items = 1;
+        childSized = false;
+      }
+      return add(own, multiply(items, cost(field.getSelectionSet(), child, childSized)));
+    }
+
+    private Long requestedSize(Field field, List<String> multipliers) {
+      for (String path : multipliers) {
+        String[] segments = path.split("\\.");
+        Object value = null;
+        for (Argument argument : field.getArguments()) {
+          if (argument.getName().equals(segments[0])) {
+            value = resolve(argument.getValue());
+          }
+        }
+        for (int i = 1; i < segments.length && value != null; i++) {
+          value = value instanceof Map<?, ?> map ? map.get(segments[i]) : null;
+        }
+        if (value instanceof Number number) {
+          return number.longValue();
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Resolves an argument literal to what a variable would hold: numbers,
+     * maps for input objects, null for anything else.
+     */
+    private Object resolve(graphql.language.Value<?> value) {
+      if (value instanceof IntValue intValue) {
+        return intValue.getValue();
+      }
+      if (value instanceof VariableReference reference) {
+        return variables.get(reference.getName());
+      }
+      if (value instanceof ObjectValue object) {
+        Map<String, Object> fields = new HashMap<>();
+        for (ObjectField objectField : object.getObjectFields()) {
+          Object resolved = resolve(objectField.getValue());
+          if (resolved != null) {
+            fields.put(objectField.getName(), resolved);
+          }
+        }
+        return fields;
+      }
+      return null;
+    }
+
+    private GraphQLType conditionType(TypeName condition, GraphQLType fallback) {
+      if (condition == null) {
+        return fallback;
+      }
+      GraphQLType type = schema.getType(condition.getName());
+      return type == null ? fallback : type;
+    }
+  }
+
+  private static boolean paginated(GraphQLFieldDefinition definition, List<String> multipliers) {
+    for (String path : multipliers) {
+      int dot = path.indexOf('.');
+      if (definition.getArgument(dot < 0 ? path : path.substring(0, dot)) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long add(long a, long b) {
+    long sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+
+  private static long multiply(long a, long b) {
+    if (a != 0 && b > Long.MAX_VALUE / a) {
+      return Long.MAX_VALUE;
+    }
+    return a * b;
+  }
+
+  /**
+   * A field's declared cost.
+   */
+  private record Weight(int cost, List<String> multipliers, int defaultSize) {}
+}
@@ -1,66 +1,101 @@
 package com.sun.graphql.config;
 
 import graphql.ExecutionInput;
+import graphql.ExecutionResult;
 import graphql.GraphQLException;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimpleInstrumentation;
-import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
 import graphql.language.Document;
 import graphql.language.Field;
-import graphql.language.FragmentSpread;
 import graphql.language.InlineFragment;
 import graphql.language.Node;
 import graphql.language.OperationDefinition;
 import graphql.language.Selection;
 import graphql.language.SelectionSet;
-import graphql.parser.InvalidSyntaxException;
-import graphql.parser.Parser;
+import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
- * Rejects queries whose depth or field-count exceeds a fixed budget, so a single
- * pathological document can't exhaust the connection pool.
+ * Rejects queries whose depth or static cost exceeds a fixed budget, so a
+ * single pathological document can't exhaust the connection pool. Cost comes
+ * from {@link QueryCostAnalyzer}; the rejection lists the cost of each root
+ * field.
+ *
+ * <p>The cost of every accepted operation is published for cost-based rate
+ * limiting: stored in the GraphQL context under {@code QueryCost.class},
+ * recorded in the {@code graphql.query.cost} summary, and returned in the
+ * response's {@code cost} extension.
  */
 @Component
 public class QueryGuardInstrumentation extends SimpleInstrumentation {
 
   private static final int MAX_DEPTH = 12;
-  private static final int MAX_COMPLEXITY = 300;
 
-  private static final InstrumentationContext<Document> NOOP =
+  private static final InstrumentationContext<List<ValidationError>> NOOP =
       new InstrumentationContext<>() {
         @Override
         public void onDispatched() {
         }
 
         @Override
-        public void onCompleted(Document result, Throwable t) {
+        public void onCompleted(List<ValidationError> result, Throwable t) {
         }
       };
 
+  private final QueryCostAnalyzer analyzer;
+  private final long maxCost;
+  private final DistributionSummary costs;
+
+  public QueryGuardInstrumentation(QueryCostAnalyzer analyzer,
+      @Value("${sun.graphql.max-cost:1000}") long maxCost, MeterRegistry meterRegistry) {
+    this.analyzer = analyzer;
+    this.maxCost = maxCost;
+    this.costs = DistributionSummary.builder("graphql.query.cost")
+        .description("Static cost of accepted GraphQL operations")
+        .register(meterRegistry);
+  }
+
   @Override
-  public InstrumentationContext<Document> beginParse(
-      InstrumentationExecutionParameters parameters, InstrumentationState state) {
-    try {
-      ExecutionInput input = parameters.getExecutionInput();
-      Document document = new Parser().parseDocument(input.getQuery());
-      int depth = maxDepth(document);
-      int complexity = countFields(document);
-      if (depth > MAX_DEPTH) {
-        throw new GraphQLException("Query depth " + depth + " exceeds limit " + MAX_DEPTH);
-      }
-      if (complexity > MAX_COMPLEXITY) {
-        throw new GraphQLException(
-            "Query complexity " + complexity + " exceeds limit " + MAX_COMPLEXITY);
-      }
-    } catch (InvalidSyntaxException e) {
-      return NOOP;
+  public InstrumentationContext<List<ValidationError>> beginValidation(
+      InstrumentationValidationParameters parameters, InstrumentationState state) {
+    Document document = parameters.getDocument();
+    int depth = maxDepth(document);
+    if (depth > MAX_DEPTH) {
+      throw new GraphQLException("Query depth " + depth + " exceeds limit " + MAX_DEPTH);
+    }
+    ExecutionInput input = parameters.getExecutionInput();
+    QueryCost cost = analyzer.analyze(
+        document, input.getOperationName(), parameters.getSchema(), input.getVariables());
+    if (cost.total() > maxCost) {
+      throw new GraphQLException("Query cost " + cost.total() + " exceeds limit " + maxCost
+          + " (" + cost.describe() + ")");
     }
+    input.getGraphQLContext().put(QueryCost.class, cost);
+    costs.record(cost.total());
     return NOOP;
   }
 
+  @Override
+  public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+      ExecutionResult executionResult, InstrumentationExecutionParameters parameters,
+      InstrumentationState state) {
+    QueryCost cost = parameters.getGraphQLContext().get(QueryCost.class);
+    if (cost == null) {
+      return CompletableFuture.completedFuture(executionResult);
+    }
+    return CompletableFuture.completedFuture(executionResult.transform(builder ->
+        builder.addExtension("cost", Map.of("requested", cost.total(), "limit", maxCost))));
+  }
+
   private int maxDepth(Document document) {
     int max = 0;
     for (Node child : document.getChildren()) {
@@ -85,31 +120,4 @@ public class QueryGuardInstrumentation extends SimpleInstrumentation {
     }
     return max;
   }
-
-  private int countFields(Document document) {
-    int count = 0;
-    for (Node child : document.getChildren()) {
-      if (child instanceof OperationDefinition op) {
-        count += countFields(op.getSelectionSet());
-      }
-    }
-    return count;
-  }
-
-  private int countFields(SelectionSet set) {
-    if (set == null) {
-      return 0;
-    }
-    int count = 0;
-    for (Selection<?> selection : set.getSelections()) {
-      if (selection instanceof Field) {
-        count += 1;
-      } else if (selection instanceof InlineFragment frag) {
-        count += countFields(frag.getSelectionSet());
-      } else if (selection instanceof FragmentSpread) {
-        count += 1;
-      }
-    }
-    return count;
-  }
 }
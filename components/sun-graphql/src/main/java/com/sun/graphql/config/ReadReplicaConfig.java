@@ -0,0 +1,83 @@
+package com.sun.graphql.config;
+
+import com.sun.graphql.datasource.ReadWriteRoutingDataSource;
+import com.sun.graphql.datasource.ReplicaLagMonitor;
+import com.sun.graphql.datasource.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.StringUtils;
+
+/**
+ * Read/write split, wired only when {@code sun.datasource.replica.url} is set.
+ * Otherwise the single auto-configured pool from {@code spring.datasource.*}
+ * serves everything, as described on {@link DatabaseConfig}.
+ *
+ * <p>Both pools are beans, so each gets its own {@code hikaricp.*} metrics
+ * tagged by pool name. The routing data source in front of them is the
+ * primary bean that JPA, JDBC and Flyway use.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "sun.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+  /**
+   * The write pool, configured exactly as the auto-configured one would be.
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  /**
+   * The read pool. Connections are read-only, so a misrouted write fails
+   * instead of diverging from the primary.
+   */
+  @Bean
+  public HikariDataSource replicaDataSource(ReplicaProperties replica, DataSourceProperties primary) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName("sun-hikari-replica");
+    dataSource.setJdbcUrl(replica.url());
+    boolean ownCredentials = StringUtils.hasText(replica.username());
+    dataSource.setUsername(ownCredentials ? replica.username() : primary.determineUsername());
+    dataSource.setPassword(ownCredentials ? replica.password() : primary.determinePassword());
+    dataSource.setDriverClassName(primary.determineDriverClassName());
+    dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replica,
+                                             ReplicaProperties properties, MeterRegistry meterRegistry) {
+    return new ReplicaLagMonitor(new JdbcTemplate(replica), properties.maxLag(), meterRegistry);
+  }
+
+  /**
+   * The routing data source, behind a lazy proxy so the route is chosen once
+   * the transaction's read-only flag is known.
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                               @Qualifier("replicaDataSource") HikariDataSource replica,
+                               ReplicaLagMonitor lagMonitor, ReplicaProperties properties,
+                               MeterRegistry meterRegistry) {
+    return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+        primary, replica, lagMonitor, properties.stickyWindow(), meterRegistry));
+  }
+}
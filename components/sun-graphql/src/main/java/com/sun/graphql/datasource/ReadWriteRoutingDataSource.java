@@ -0,0 +1,105 @@
+package com.sun.graphql.datasource;
+
+import com.sun.gaia.service.UserContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the read replica and
+ * everything else to the primary. Reads stay on the primary while the
+ * replica lags or is down, and for a short window after the same caller
+ * wrote, so a mutation's result is visible to the reads that follow it.
+ *
+ * <p>The routing decision is made when a connection is first needed, so the
+ * data source must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction's read-only flag is only published after the transaction
+ * manager has begun.
+ *
+ * <p>Every decision counts towards {@code sun.datasource.route}, tagged with
+ * the pool and the reason.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  /** A target pool. */
+  public enum Route { PRIMARY, REPLICA }
+
+  /** Why a connection went where it did. */
+  enum Reason { WRITE, READ, STICKY, LAGGING }
+
+  /** Callers remembered for stickiness before expired entries are swept. */
+  static final int MAX_RECENT_WRITERS = 10_000;
+
+  private final ReplicaLagMonitor lagMonitor;
+  private final long stickyNanos;
+  private final Map<UUID, Long> recentWrites = new ConcurrentHashMap<>();
+  private final Map<Reason, Counter> routed = new EnumMap<>(Reason.class);
+
+  public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, Duration stickyWindow,
+                                    MeterRegistry meterRegistry) {
+    this.lagMonitor = lagMonitor;
+    this.stickyNanos = stickyWindow.toNanos();
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    for (Reason reason : Reason.values()) {
+      Route route = reason == Reason.READ ? Route.REPLICA : Route.PRIMARY;
+      routed.put(reason, Counter.builder("sun.datasource.route")
+          .description("Connections routed to each pool")
+          .tag("pool", route.name().toLowerCase(Locale.ROOT))
+          .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+          .register(meterRegistry));
+    }
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Route determineCurrentLookupKey() {
+    Reason reason = reason(UserContextHolder.getUserId(), System.nanoTime());
+    routed.get(reason).increment();
+    return reason == Reason.READ ? Route.REPLICA : Route.PRIMARY;
+  }
+
+  Reason reason(UUID caller, long now) {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (caller != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+        wrote(caller, now);
+      }
+      return Reason.WRITE;
+    }
+    if (caller != null && wroteRecently(caller, now)) {
+      return Reason.STICKY;
+    }
+    if (!lagMonitor.usable()) {
+      return Reason.LAGGING;
+    }
+    return Reason.READ;
+  }
+
+  private void wrote(UUID caller, long now) {
+    if (recentWrites.size() >= MAX_RECENT_WRITERS) {
+      recentWrites.values().removeIf(at -> now - at > stickyNanos);
+    }
+    recentWrites.put(caller, now);
+  }
+
+  private boolean wroteRecently(UUID caller, long now) {
+    Long at = recentWrites.get(caller);
+    if (at == null) {
+      return false;
+    }
+    if (now - at > stickyNanos) {
+      recentWrites.remove(caller, at);
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,86 @@
+package com.sun.graphql.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Polls the replica's replay lag so routing can send reads back to the
+ * primary when the replica falls behind or stops answering. Until the first
+ * successful check the replica is treated as unusable.
+ *
+ * <p>Publishes the lag as the {@code sun.datasource.replica.lag} gauge, in
+ * seconds; NaN while the replica is unreachable.
+ */
+public class ReplicaLagMonitor {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  /**
+   * Seconds since the last replayed transaction, or 0 when the standby has
+   * replayed everything it received. A server not in recovery has no lag.
+   */
+  static final String LAG_QUERY = """
+      SELECT CASE
+               WHEN NOT pg_is_in_recovery() THEN 0
+               WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+               ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+             END
+      """;
+
+  private final JdbcTemplate replica;
+  private final double maxLagSeconds;
+  private volatile double lagSeconds = Double.NaN;
+
+  public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag, MeterRegistry meterRegistry) {
+    this.replica = replica;
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    Gauge.builder("sun.datasource.replica.lag", this, m -> m.lagSeconds)
+        .baseUnit("seconds")
+        .description("Replay lag of the read replica")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Measures the current lag.
+   */
+  @Scheduled(fixedDelayString = "${sun.datasource.replica.lag-check-ms:5000}")
+  public void check() {
+    boolean wasUsable = usable();
+    try {
+      Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+      lagSeconds = lag == null ? Double.NaN : lag;
+    } catch (DataAccessException e) {
+      lagSeconds = Double.NaN;
+      if (wasUsable) {
+        logger.warn("Read replica unreachable; routing reads to the primary", e);
+      }
+      return;
+    }
+    if (wasUsable != usable()) {
+      logger.info("Read replica lag {}s; reads now go to the {}", lagSeconds,
+          usable() ? "replica" : "primary");
+    }
+  }
+
+  /**
+   * @return whether the last check reached the replica and found it within
+   *     the allowed lag
+   */
+  public boolean usable() {
+    double lag = lagSeconds;
+    return !Double.isNaN(lag) && lag <= maxLagSeconds;
+  }
+
+  /**
+   * @return the last measured lag in seconds, NaN when unknown
+   */
+  public double lagSeconds() {
+    return lagSeconds;
+  }
+}
@@ -0,0 +1,46 @@
+package com.sun.graphql.datasource;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replica settings. Routing is only wired when a url is set; the other
+ * settings fall back to the defaults below.
+ */
+@ConfigurationProperties(prefix = "sun.datasource.replica")
+public record ReplicaProperties(
+    /**
+     * JDBC url of the replica.
+     */
+    String url,
+    /**
+     * Replica user; the primary's credentials are used when blank.
+     */
+    String username,
+    /**
+     * Replica password; the primary's credentials are used when blank.
+     */
+    String password,
+    /**
+     * Size of the replica connection pool.
+     */
+    Integer maximumPoolSize,
+    /**
+     * Replay lag beyond which reads go back to the primary.
+     */
+    Duration maxLag,
+    /**
+     * How long after a write the same caller keeps reading from the primary.
+     */
+    Duration stickyWindow) {
+
+  static final int DEFAULT_POOL_SIZE = 20;
+  static final Duration DEFAULT_MAX_LAG = Duration.ofSeconds(5);
+  static final Duration DEFAULT_STICKY_WINDOW = Duration.ofSeconds(5);
+
+  public ReplicaProperties {
+    maximumPoolSize = maximumPoolSize == null ? DEFAULT_POOL_SIZE : maximumPoolSize;
+    maxLag = maxLag == null ? DEFAULT_MAX_LAG : maxLag;
+    stickyWindow = stickyWindow == null ? DEFAULT_STICKY_WINDOW : stickyWindow;
+  }
+}
@@ -0,0 +1,121 @@
+package com.sun.graphql.fanout;
+
+import com.sun.gaia.service.UserContextHolder;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Runs one call per component in parallel for a gateway query that fans out
+ * across components, such as search and linkedObjects. Each call runs on the
+ * pool with the caller's user context and is bounded by a timeout. A call
+ * that fails or times out answers as failed rather than failing the query,
+ * and a timed-out call is cancelled, interrupting its thread, so it stops
+ * holding a pool thread and a connection.
+ */
+public class ComponentFanOut {
+
+  private static final Logger logger = LoggerFactory.getLogger(ComponentFanOut.class);
+
+  private final String name;
+  private final Executor executor;
+  private final Duration timeout;
+
+  /**
+   * @param name what each call does, for logs, e.g. {@code "search"}
+   * @param executor the pool the calls run on
+   * @param timeout how long one component's call may take
+   */
+  public ComponentFanOut(String name, Executor executor, Duration timeout) {
+    this.name = name;
+    this.executor = executor;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Builds a bounded pool for the per-component calls of one query. When
+   * saturated the request thread runs the call itself.
+   *
+   * @param threadNamePrefix the pool's thread name prefix
+   * @param corePoolSize the core pool size
+   * @param maxPoolSize the maximum pool size
+   * @return the initialized pool
+   */
+  public static ThreadPoolTaskExecutor pool(String threadNamePrefix, int corePoolSize, int maxPoolSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(corePoolSize);
+    executor.setMaxPoolSize(maxPoolSize);
+    executor.setQueueCapacity(50);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Starts one component's call. The returned future never completes
+   * exceptionally.
+   *
+   * @param component the component name, for the answer and logs
+   * @param call the component's call
+   * @param <T> the item type
+   * @return the component's answer
+   */
+  public <T> CompletableFuture<Answer<T>> submit(String component, Supplier<List<T>> call) {
+    UUID viewer = UserContextHolder.getUserId();
+    CompletableFuture<Answer<T>> answer = new CompletableFuture<>();
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      long started = System.nanoTime();
+      UUID previous = UserContextHolder.getUserId();
+      UserContextHolder.setUserId(viewer);
+      try {
+        answer.complete(new Answer<>(component, List.copyOf(call.get()), elapsed(started), false));
+      } catch (RuntimeException e) {
+        if (!answer.isDone()) {
+          logger.warn("{} failed in {}", name, component, e);
+        }
+        answer.complete(new Answer<>(component, List.of(), elapsed(started), true));
+      } finally {
+        if (previous == null) {
+          UserContextHolder.clear();
+        } else {
+          UserContextHolder.setUserId(previous);
+        }
+      }
+    }, null);
+    Answer<T> timedOut = new Answer<>(component, List.of(), timeout.toMillis(), true);
+    answer.completeOnTimeout(timedOut, timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .thenAccept(a -> {
+          if (a == timedOut) {
+            logger.warn("{} timed out in {} after {}; cancelling it", name, component, timeout);
+            task.cancel(true);
+          }
+        });
+    executor.execute(task);
+    return answer;
+  }
+
+  private static long elapsed(long started) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+  }
+
+  /**
+   * How one component answered.
+   *
+   * @param component the component name
+   * @param items the component's items; empty when it failed
+   * @param latencyMs how long it took, or the timeout when it timed out
+   * @param failed whether it failed or timed out
+   * @param <T> the item type
+   */
+  public record Answer<T>(String component, List<T> items, long latencyMs, boolean failed) {}
+}
@@ -0,0 +1,83 @@
+package com.sun.graphql.identity;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sun.hades.codegen.types.ReaderAccount;
+import com.sun.hades.service.ReaderAccountChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Short-lived cross-request cache of reader profiles by Discord id, in front
+ * of the readerProfile DataLoader. Ids without a profile are cached too, so
+ * authors who never linked Discord do not hit the database on every page.
+ * Entries are dropped as soon as the profile changes.
+ */
+@Component
+public class ReaderProfileCache {
+
+  private final Cache<String, Optional<ReaderAccount>> cache;
+
+  public ReaderProfileCache(
+      @Value("${sun.reader-profile.cache-ttl:60s}") Duration ttl,
+      @Value("${sun.reader-profile.cache-max-entries:10000}") long maxEntries,
+      MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(maxEntries)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "readerProfile");
+  }
+
+  /**
+   * Returns the cached entries for the given ids; an empty optional means the
+   * id is known to have no profile, and absent ids are not cached.
+   */
+  public Map<String, Optional<ReaderAccount>> getAll(Collection<String> discordIds) {
+    Map<String, Optional<ReaderAccount>> found = new HashMap<>();
+    for (String discordId : discordIds) {
+      Optional<ReaderAccount> cached = cache.getIfPresent(discordId);
+      if (cached != null) {
+        found.put(discordId, cached);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Caches a resolved profile, or the absence of one.
+   */
+  public void put(String discordId, ReaderAccount profile) {
+    cache.put(discordId, Optional.ofNullable(profile));
+  }
+
+  /**
+   * Drops a single profile.
+   */
+  public void invalidate(String discordId) {
+    cache.invalidate(discordId);
+  }
+
+  /**
+   * Drops a profile once the transaction that changed it has committed, so
+   * loads that start afterwards read the new row. A load that read the old row
+   * before the commit can still put it back after this eviction; that entry
+   * stays stale until the cache TTL expires.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onReaderAccountChanged(ReaderAccountChangedEvent event) {
+    if (event.discordId() != null) {
+      invalidate(event.discordId());
+    }
+  }
+}
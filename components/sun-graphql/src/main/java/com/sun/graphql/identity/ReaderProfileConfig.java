@@ -0,0 +1,33 @@
+package com.sun.graphql.identity;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for reader-profile batch loads, kept separate so slow profile
+ * queries cannot starve other async work.
+ */
+@Configuration
+public class ReaderProfileConfig {
+
+  /**
+   * Bounded pool for readerProfile DataLoader dispatches. When saturated the
+   * calling GraphQL thread runs the load itself rather than queueing without limit.
+   */
+  @Bean(name = "readerProfileExecutor")
+  public Executor readerProfileExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(100);
+    executor.setThreadNamePrefix("reader-profile-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(10);
+    executor.initialize();
+    return executor;
+  }
+}
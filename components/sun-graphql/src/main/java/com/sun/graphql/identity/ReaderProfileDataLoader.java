@@ -5,38 +5,89 @@ import com.sun.hades.codegen.types.ReaderAccount;
 import com.sun.hades.graphql.mappers.ReaderAccountMapper;
 import com.sun.hades.model.ReaderAccountEntity;
 import com.sun.hades.service.ReaderAccountService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.dataloader.MappedBatchLoader;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 /**
  * Batch-resolves reader-account profiles by Discord id, one backend call per
- * GraphQL request regardless of how many authors appear.
+ * GraphQL request regardless of how many authors appear. Profiles are served
+ * from {@link ReaderProfileCache} where possible, and only the misses are
+ * loaded, off the GraphQL thread on the readerProfile executor.
  */
 @DgsDataLoader(name = "readerProfile")
 public class ReaderProfileDataLoader implements MappedBatchLoader<String, ReaderAccount> {
 
   private final ReaderAccountService accountService;
   private final ReaderAccountMapper accountMapper;
+  private final ReaderProfileCache cache;
+  private final Executor executor;
+
+  private final DistributionSummary batchSize;
+  private final DistributionSummary missSize;
+  private final Timer loadLatency;
 
   public ReaderProfileDataLoader(
-      ReaderAccountService accountService, ReaderAccountMapper accountMapper) {
+      ReaderAccountService accountService,
+      ReaderAccountMapper accountMapper,
+      ReaderProfileCache cache,
+      @Qualifier("readerProfileExecutor") Executor executor,
+      MeterRegistry meterRegistry) {
     this.accountService = accountService;
     this.accountMapper = accountMapper;
+    this.cache = cache;
+    this.executor = executor;
+    this.batchSize = DistributionSummary.builder("reader_profile.loader.batch_size")
+        .description("Discord ids requested per readerProfile dispatch")
+        .register(meterRegistry);
+    this.missSize = DistributionSummary.builder("reader_profile.loader.misses")
+        .description("Discord ids per dispatch not found in the profile cache")
+        .register(meterRegistry);
+    this.loadLatency = Timer.builder("reader_profile.loader.latency")
+        .description("Time to resolve a readerProfile dispatch")
+        .register(meterRegistry);
   }
 
   @Override
   public CompletableFuture<Map<String, ReaderAccount>> load(Set<String> discordIds) {
+    if (discordIds == null || discordIds.isEmpty()) {
+      return CompletableFuture.completedFuture(new HashMap<>());
+    }
+    Timer.Sample sample = Timer.start();
+    batchSize.record(discordIds.size());
+
     Map<String, ReaderAccount> byDiscordId = new HashMap<>();
-    if (discordIds != null && !discordIds.isEmpty()) {
-      for (ReaderAccountEntity entity : accountService.findByDiscordIds(discordIds)) {
+    Set<String> misses = new HashSet<>(discordIds);
+    cache.getAll(discordIds).forEach((discordId, cached) -> {
+      misses.remove(discordId);
+      cached.ifPresent(profile -> byDiscordId.put(discordId, profile));
+    });
+    missSize.record(misses.size());
+    if (misses.isEmpty()) {
+      sample.stop(loadLatency);
+      return CompletableFuture.completedFuture(byDiscordId);
+    }
+
+    return CompletableFuture.supplyAsync(() -> {
+      Map<String, ReaderAccount> loaded = new HashMap<>();
+      for (ReaderAccountEntity entity : accountService.findByDiscordIds(misses)) {
         if (entity.getDiscordId() != null) {
-          byDiscordId.put(entity.getDiscordId(), accountMapper.map(entity));
+          loaded.put(entity.getDiscordId(), accountMapper.map(entity));
         }
       }
-    }
-    return CompletableFuture.completedFuture(byDiscordId);
+      for (String discordId : misses) {
+        cache.put(discordId, loaded.get(discordId));
+      }
+      byDiscordId.putAll(loaded);
+      return byDiscordId;
+    }, executor).whenComplete((result, error) -> sample.stop(loadLatency));
   }
 }
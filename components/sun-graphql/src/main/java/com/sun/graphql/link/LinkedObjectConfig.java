@@ -0,0 +1,80 @@
+package com.sun.graphql.link;
+
+import com.sun.briareus.graphql.services.BlogGraphQLService;
+import com.sun.cerberus.graphql.services.GalleryGraphQLService;
+import com.sun.echo.graphql.services.ChecklistDetailGraphQLService;
+import com.sun.graphql.codegen.types.LinkedObject;
+import com.sun.graphql.fanout.ComponentFanOut;
+import com.sun.hades.graphql.services.ReaderAccountGraphQLService;
+import com.sun.icarus.graphql.services.IcarusGraphQLService;
+import java.util.concurrent.Executor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers each component's remote-object lookup with the gateway
+ * linkedObjects query, and the pool the lookups run on.
+ */
+@Configuration
+public class LinkedObjectConfig {
+
+  @Bean
+  public LinkedObjectLocator hadesLinkedObjects(ReaderAccountGraphQLService service) {
+    return LinkedObjectLocator.of("hades", "graphql.hades.locateRemoteObjects",
+        ids -> service.locateRemoteObjects(ids).stream()
+            .map(r -> linked("hades", r.getId(), r.getOwnerType(), r.getOwnerId(), null))
+            .toList());
+  }
+
+  @Bean
+  public LinkedObjectLocator icarusLinkedObjects(IcarusGraphQLService service) {
+    return LinkedObjectLocator.of("icarus", "graphql.icarus.locateRemoteObjects",
+        ids -> service.locateRemoteObjects(ids).stream()
+            .map(r -> linked("icarus", r.getId(), r.getOwnerType(), r.getOwnerId(), null))
+            .toList());
+  }
+
+  @Bean
+  public LinkedObjectLocator echoLinkedObjects(ChecklistDetailGraphQLService service) {
+    return LinkedObjectLocator.of("echo", "graphql.echo.locateRemoteObjects",
+        ids -> service.locateRemoteObjects(ids).stream()
+            .map(r -> linked("echo", r.getId(), r.getOwnerType().name(), r.getOwnerId(), r.getDescription()))
+            .toList());
+  }
+
+  @Bean
+  public LinkedObjectLocator briareusLinkedObjects(BlogGraphQLService service) {
+    return LinkedObjectLocator.of("briareus", "graphql.briareus.listByRemoteObjects",
+        ids -> service.listByRemoteObjects(ids).stream()
+            .map(p -> linked("briareus", p.getId(), "BLOG_POST", p.getId(), p.getTitle()))
+            .toList());
+  }
+
+  @Bean
+  public LinkedObjectLocator cerberusLinkedObjects(GalleryGraphQLService service) {
+    return LinkedObjectLocator.of("cerberus", "graphql.cerberus.listByRemoteObjects",
+        ids -> service.listByRemoteObjects(ids).stream()
+            .map(g -> linked("cerberus", g.getId(), "GALLERY_ITEM", g.getId(), g.getTitle()))
+            .toList());
+  }
+
+  /**
+   * Bounded pool for the per-component lookups of one linkedObjects query.
+   * When saturated the request thread runs the lookup itself.
+   */
+  @Bean(name = "linkedObjectExecutor")
+  public Executor linkedObjectExecutor() {
+    return ComponentFanOut.pool("linked-objects-", 5, 10);
+  }
+
+  private static LinkedObject linked(
+      String component, String id, String ownerType, String ownerId, String description) {
+    return LinkedObject.newBuilder()
+        .component(component)
+        .id(id)
+        .ownerType(ownerType)
+        .ownerId(ownerId)
+        .description(description)
+        .build();
+  }
+}
@@ -0,0 +1,28 @@
+package com.sun.graphql.link;
+
+import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsData;
+import com.sun.graphql.codegen.types.LinkedObjects;
+import java.util.List;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Gateway resolver for the cross-component linkedObjects query. Components
+ * the caller lacks the lookup permission for are skipped rather than failing
+ * the query.
+ */
+@DgsComponent
+public class LinkedObjectDataFetcher {
+
+  private final LinkedObjectService linkedObjectService;
+
+  public LinkedObjectDataFetcher(LinkedObjectService linkedObjectService) {
+    this.linkedObjectService = linkedObjectService;
+  }
+
+  @DgsData(parentType = "Query", field = "linkedObjects")
+  @PreAuthorize("@permissions.isAuthenticated()")
+  public LinkedObjects linkedObjects(List<String> ids) {
+    return linkedObjectService.resolve(ids);
+  }
+}
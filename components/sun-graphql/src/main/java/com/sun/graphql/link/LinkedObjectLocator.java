@@ -0,0 +1,55 @@
+package com.sun.graphql.link;
+
+import com.sun.graphql.codegen.types.LinkedObject;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One component's answer to "what references these remote object ids",
+ * registered as a bean and fanned out to by {@link LinkedObjectService}.
+ */
+public interface LinkedObjectLocator {
+
+  /**
+   * The component name reported on each result, e.g. {@code hades}.
+   */
+  String component();
+
+  /**
+   * The permission the caller needs for this component to be queried; the
+   * same one guarding the component's own lookup field.
+   */
+  String permission();
+
+  /**
+   * Finds the objects referencing any of the given ids. Runs off the request
+   * thread with the caller's user context in place.
+   *
+   * @param ids the remote object ids
+   * @return the referencing objects
+   */
+  List<LinkedObject> locate(List<String> ids);
+
+  /**
+   * Builds a locator from a lookup function.
+   */
+  static LinkedObjectLocator of(
+      String component, String permission, Function<List<String>, List<LinkedObject>> locate) {
+    return new LinkedObjectLocator() {
+      @Override
+      public String component() {
+        return component;
+      }
+
+      @Override
+      public String permission() {
+        return permission;
+      }
+
+      @Override
+      public List<LinkedObject> locate(List<String> ids) {
+        return locate.apply(ids);
+      }
+    };
+  }
+}
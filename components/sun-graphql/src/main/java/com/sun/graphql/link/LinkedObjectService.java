@@ -0,0 +1,132 @@
+package com.sun.graphql.link;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sun.gaia.service.PermissionService;
+import com.sun.gaia.service.UserContextHolder;
+import com.sun.graphql.codegen.types.LinkedObject;
+import com.sun.graphql.codegen.types.LinkedObjectComponent;
+import com.sun.graphql.codegen.types.LinkedObjects;
+import com.sun.graphql.fanout.ComponentFanOut;
+import com.sun.graphql.fanout.ComponentFanOut.Answer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves which objects, in any component, reference a set of remote object
+ * ids. Every registered {@link LinkedObjectLocator} the caller has permission
+ * for is queried in parallel, so a lookup takes as long as the slowest
+ * component rather than the sum of them. Answers are cached briefly per
+ * caller, component and id set; a component that fails or times out is
+ * reported as failed and the rest are still returned.
+ */
+@Service
+public class LinkedObjectService {
+
+  private final List<LinkedObjectLocator> locators;
+  private final PermissionService permissions;
+  private final ComponentFanOut fanOut;
+  private final MeterRegistry meterRegistry;
+  private final Cache<CacheKey, List<LinkedObject>> cache;
+  private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+
+  public LinkedObjectService(
+      List<LinkedObjectLocator> locators,
+      PermissionService permissions,
+      @Qualifier("linkedObjectExecutor") Executor executor,
+      @Value("${sun.linked-objects.cache-ttl:30s}") Duration cacheTtl,
+      @Value("${sun.linked-objects.timeout:5s}") Duration timeout,
+      MeterRegistry meterRegistry) {
+    this.locators = locators;
+    this.permissions = permissions;
+    this.fanOut = new ComponentFanOut("linkedObjects lookup", executor, timeout);
+    this.meterRegistry = meterRegistry;
+    this.cache = Caffeine.newBuilder()
+        .expireAfterWrite(cacheTtl)
+        .maximumSize(10_000)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "linkedObjects");
+  }
+
+  /**
+   * Looks the ids up in every component the caller may query.
+   *
+   * @param ids the remote object ids
+   * @return the deduplicated references and how each component answered
+   */
+  public LinkedObjects resolve(List<String> ids) {
+    long started = System.nanoTime();
+    List<String> targets = new ArrayList<>(new TreeSet<>(ids == null ? List.of() : ids));
+    UUID viewer = UserContextHolder.getUserId();
+
+    Map<String, CacheKey> uncached = new HashMap<>();
+    List<CompletableFuture<Answer<LinkedObject>>> pending = new ArrayList<>();
+    for (LinkedObjectLocator locator : locators) {
+      if (targets.isEmpty() || !permissions.has(locator.permission())) {
+        continue;
+      }
+      CacheKey key = new CacheKey(viewer, locator.component(), targets);
+      List<LinkedObject> cached = cache.getIfPresent(key);
+      if (cached != null) {
+        pending.add(CompletableFuture.completedFuture(new Answer<>(locator.component(), cached, 0, false)));
+      } else {
+        uncached.put(locator.component(), key);
+        pending.add(fanOut.submit(locator.component(), () -> locator.locate(targets)));
+      }
+    }
+
+    Map<String, LinkedObject> items = new LinkedHashMap<>();
+    List<LinkedObjectComponent> components = new ArrayList<>();
+    for (CompletableFuture<Answer<LinkedObject>> future : pending) {
+      Answer<LinkedObject> answer = future.join();
+      CacheKey key = uncached.get(answer.component());
+      if (key != null) {
+        record(answer.component(), answer.latencyMs());
+        if (!answer.failed()) {
+          cache.put(key, answer.items());
+        }
+      }
+      for (LinkedObject item : answer.items()) {
+        items.putIfAbsent(item.getComponent() + ':' + item.getOwnerType() + ':' + item.getId(), item);
+      }
+      components.add(LinkedObjectComponent.newBuilder()
+          .component(answer.component())
+          .latencyMs((int) answer.latencyMs())
+          .cached(key == null)
+          .failed(answer.failed())
+          .build());
+    }
+    return LinkedObjects.newBuilder()
+        .items(new ArrayList<>(items.values()))
+        .components(components)
+        .latencyMs((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+        .build();
+  }
+
+  private void record(String component, long latencyMs) {
+    latencies.computeIfAbsent(component, c -> Timer.builder("linked_objects.component.latency")
+            .description("Time for one component to answer a linkedObjects lookup")
+            .tag("component", c)
+            .register(meterRegistry))
+        .record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  private record CacheKey(UUID viewer, String component, List<String> targets) {}
+}
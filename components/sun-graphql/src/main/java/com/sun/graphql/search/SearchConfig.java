@@ -0,0 +1,42 @@
+package com.sun.graphql.search;
+
+import com.sun.briareus.service.BriareusService;
+import com.sun.cerberus.service.CerberusService;
+import com.sun.graphql.fanout.ComponentFanOut;
+import com.sun.hades.service.ReaderTextService;
+import java.util.concurrent.Executor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers each component's full-text search with the gateway search query,
+ * and the pool the searches run on.
+ */
+@Configuration
+public class SearchConfig {
+
+  @Bean
+  public SearchProvider briareusSearch(BriareusService service) {
+    return SearchProvider.of("briareus", "BLOG_POST", "graphql.briareus.listBlogPosts", service::search);
+  }
+
+  @Bean
+  public SearchProvider cerberusSearch(CerberusService service) {
+    return SearchProvider.of("cerberus", "GALLERY_ITEM", "graphql.cerberus.list",
+        (query, language, limit, offset) -> service.search(query, limit, offset));
+  }
+
+  @Bean
+  public SearchProvider hadesSearch(ReaderTextService service) {
+    return SearchProvider.of("hades", "READER_TEXT", "graphql.hades.texts", service::search);
+  }
+
+  /**
+   * Bounded pool for the per-component searches of one search query. When
+   * saturated the request thread runs the search itself.
+   */
+  @Bean(name = "searchExecutor")
+  public Executor searchExecutor() {
+    return ComponentFanOut.pool("search-", 3, 9);
+  }
+}
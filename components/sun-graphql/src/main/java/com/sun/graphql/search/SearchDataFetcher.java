@@ -0,0 +1,31 @@
+package com.sun.graphql.search;
+
+import com.netflix.graphql.dgs.DgsComponent;
+import com.netflix.graphql.dgs.DgsData;
+import com.sun.base.ratelimit.Cost;
+import com.sun.graphql.codegen.types.SearchResults;
+import java.util.List;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Gateway resolver for the cross-component search query. Components the
+ * caller may not list are skipped rather than failing the query.
+ */
+@DgsComponent
+public class SearchDataFetcher {
+
+  private final SearchService searchService;
+
+  public SearchDataFetcher(SearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  @DgsData(parentType = "Query", field = "search")
+  @PreAuthorize("@permissions.isAuthenticated()")
+  @Cost(value = 5, defaultSize = SearchService.DEFAULT_LIMIT)
+  public SearchResults search(String query, List<String> components,
+      String language, Integer offset, Integer limit) {
+    return searchService.search(query, components, language,
+        offset == null ? 0 : offset, limit == null ? SearchService.DEFAULT_LIMIT : limit);
+  }
+}
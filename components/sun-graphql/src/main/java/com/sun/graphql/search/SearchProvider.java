@@ -0,0 +1,74 @@
+package com.sun.graphql.search;
+
+import com.sun.base.search.SearchHit;
+import java.util.List;
+
+/**
+ * One component's full-text search, registered as a bean and fanned out to
+ * by {@link SearchService}.
+ */
+public interface SearchProvider {
+
+  /**
+   * A function answering one page of a search.
+   */
+  @FunctionalInterface
+  interface Search {
+    List<SearchHit> search(String query, String language, int limit, long offset);
+  }
+
+  /**
+   * The component name reported on each result, e.g. {@code briareus}.
+   */
+  String component();
+
+  /**
+   * The object type reported on each result, e.g. {@code BLOG_POST}.
+   */
+  String type();
+
+  /**
+   * The permission the caller needs for this component to be searched; the
+   * same one guarding the component's own listing.
+   */
+  String permission();
+
+  /**
+   * Runs one page of the search, best hits first. Runs off the request
+   * thread with the caller's user context in place.
+   *
+   * @param query the web-search query
+   * @param language the query language, or null for any
+   * @param limit the maximum number of hits
+   * @param offset the number of hits to skip
+   * @return the hits
+   */
+  List<SearchHit> search(String query, String language, int limit, long offset);
+
+  /**
+   * Builds a provider from a search function.
+   */
+  static SearchProvider of(String component, String type, String permission, Search search) {
+    return new SearchProvider() {
+      @Override
+      public String component() {
+        return component;
+      }
+
+      @Override
+      public String type() {
+        return type;
+      }
+
+      @Override
+      public String permission() {
+        return permission;
+      }
+
+      @Override
+      public List<SearchHit> search(String query, String language, int limit, long offset) {
+        return search.search(query, language, limit, offset);
+      }
+    };
+  }
+}
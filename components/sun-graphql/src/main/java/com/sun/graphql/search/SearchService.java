@@ -0,0 +1,122 @@
+package com.sun.graphql.search;
+
+import com.sun.base.search.SearchHit;
+import com.sun.gaia.service.PermissionService;
+import com.sun.graphql.codegen.types.SearchComponent;
+import com.sun.graphql.codegen.types.SearchResult;
+import com.sun.graphql.codegen.types.SearchResults;
+import com.sun.graphql.fanout.ComponentFanOut;
+import com.sun.graphql.fanout.ComponentFanOut.Answer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text search across components. Every registered
+ * {@link SearchProvider} the caller has permission for is searched in
+ * parallel for the first {@code offset + limit + 1} hits; the answers are
+ * merged by rank and the requested page cut from the merge. Ranks are
+ * {@code ts_rank_cd} scores in every component, so they compare directly. A
+ * component that fails or times out is reported as failed and the rest are
+ * still returned.
+ */
+@Service
+public class SearchService {
+
+  static final int DEFAULT_LIMIT = 20;
+  static final int MAX_LIMIT = 100;
+  static final int MAX_OFFSET = 1000;
+
+  private static final Comparator<SearchResult> BEST_FIRST =
+      Comparator.comparingDouble(SearchResult::getRank).reversed()
+          .thenComparing(SearchResult::getComponent)
+          .thenComparing(SearchResult::getId);
+
+  private final List<SearchProvider> providers;
+  private final PermissionService permissions;
+  private final ComponentFanOut fanOut;
+
+  public SearchService(
+      List<SearchProvider> providers,
+      PermissionService permissions,
+      @Qualifier("searchExecutor") Executor executor,
+      @Value("${sun.search.timeout:5s}") Duration timeout) {
+    this.providers = providers;
+    this.permissions = permissions;
+    this.fanOut = new ComponentFanOut("search", executor, timeout);
+  }
+
+  /**
+   * Searches every component the caller may query.
+   *
+   * @param query the web-search query
+   * @param components the components to search, or null for all
+   * @param language the query language, or null for any
+   * @param offset the number of merged hits to skip
+   * @param limit the maximum number of hits
+   * @return one page of merged hits and how each component answered
+   */
+  public SearchResults search(
+      String query, List<String> components, String language, int offset, int limit) {
+    if (offset < 0 || offset > MAX_OFFSET) {
+      throw new IllegalArgumentException("offset must be between 0 and " + MAX_OFFSET);
+    }
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+    }
+    String lang = language == null || language.isBlank() ? null : language.trim();
+    int wanted = offset + limit + 1;
+
+    List<CompletableFuture<Answer<SearchResult>>> pending = new ArrayList<>();
+    if (query != null && !query.isBlank()) {
+      for (SearchProvider provider : providers) {
+        if ((components == null || components.contains(provider.component()))
+            && permissions.has(provider.permission())) {
+          String trimmed = query.trim();
+          pending.add(fanOut.submit(provider.component(),
+              () -> provider.search(trimmed, lang, wanted, 0).stream()
+                  .map(hit -> result(provider, hit))
+                  .toList()));
+        }
+      }
+    }
+
+    List<SearchResult> merged = new ArrayList<>();
+    List<SearchComponent> answered = new ArrayList<>();
+    for (CompletableFuture<Answer<SearchResult>> future : pending) {
+      Answer<SearchResult> answer = future.join();
+      merged.addAll(answer.items());
+      answered.add(SearchComponent.newBuilder()
+          .component(answer.component())
+          .latencyMs((int) answer.latencyMs())
+          .failed(answer.failed())
+          .build());
+    }
+    merged.sort(BEST_FIRST);
+    int from = Math.min(offset, merged.size());
+    int to = Math.min(offset + limit, merged.size());
+    return SearchResults.newBuilder()
+        .items(new ArrayList<>(merged.subList(from, to)))
+        .components(answered)
+        .hasMore(merged.size() > offset + limit)
+        .build();
+  }
+
+  private static SearchResult result(SearchProvider provider, SearchHit hit) {
+    return SearchResult.newBuilder()
+        .component(provider.component())
+        .type(provider.type())
+        .id(hit.id().toString())
+        .title(hit.title())
+        .snippet(hit.snippet())
+        .rank(hit.rank())
+        .build();
+  }
+
+}
@@ -0,0 +1,24 @@
+-- V29 outbound mail queue: emails are written here by EmailService and
+-- delivered by background workers with retry and backoff.
+
+CREATE TABLE IF NOT EXISTS gaia_outbound_emails (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  to_address VARCHAR(320) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  body TEXT NOT NULL,
+  dedup_key VARCHAR(512),
+  status VARCHAR(16) NOT NULL DEFAULT 'PENDING'
+    CHECK (status IN ('PENDING','SENDING','SENT','FAILED')),
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  claimed_at TIMESTAMP(6),
+  sent_at TIMESTAMP(6),
+  last_error VARCHAR(1000),
+  createdat TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  lastupdatedat TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by UUID,
+  last_updated_by UUID
+);
+
+CREATE INDEX idx_outbound_emails_due ON gaia_outbound_emails (next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_outbound_emails_dedup ON gaia_outbound_emails (dedup_key, createdat) WHERE dedup_key IS NOT NULL;
@@ -0,0 +1,12 @@
+-- V30 forum post listing: posts carry a snapshot of their author's Discord
+-- id. The (thread_id, status, createdat) index behind the thread page query
+-- is built concurrently by V40.
+
+ALTER TABLE icarus_forum_posts ADD COLUMN IF NOT EXISTS author_discord_id VARCHAR(255);
+
+UPDATE icarus_forum_posts p
+   SET author_discord_id = a.provider_id
+  FROM gaia_accounts a
+ WHERE a.id = p.created_by
+   AND a.provider = 'discord'
+   AND p.author_discord_id IS NULL;
@@ -0,0 +1,41 @@
+-- V31 remote_object reverse index: one row per (owner table, owner id,
+-- referenced remote object id). locateRemoteObjects looks targets up here
+-- instead of scanning every owner's remote_object JSONB array. Rows are
+-- written by RemoteObjectRefListener whenever an owner is saved or deleted.
+
+CREATE TABLE IF NOT EXISTS remote_object_refs (
+  owner_type VARCHAR(64) NOT NULL,
+  owner_id UUID NOT NULL,
+  target TEXT NOT NULL,
+  PRIMARY KEY (owner_type, owner_id, target)
+);
+
+CREATE INDEX IF NOT EXISTS idx_remote_object_refs_target ON remote_object_refs (target, owner_type);
+
+-- Backfill from the existing owners. Most of these tables are created by
+-- Hibernate, so any that do not exist yet are skipped.
+DO $$
+DECLARE
+  owner TEXT;
+BEGIN
+  FOREACH owner IN ARRAY ARRAY[
+    'briareus_posts',
+    'cerberus_gallery_items',
+    'echo_checklist_entry_details',
+    'echo_checklist_item_details',
+    'echo_checklist_template_details',
+    'hades_private_notes',
+    'hades_reader_annotations',
+    'icarus_forum_threads'
+  ] LOOP
+    IF to_regclass(owner) IS NOT NULL THEN
+      EXECUTE format(
+        'INSERT INTO remote_object_refs (owner_type, owner_id, target) '
+        || 'SELECT %L, o.id, elem FROM %I o, jsonb_array_elements_text(CASE '
+        || 'WHEN jsonb_typeof(o.remote_object) = ''array'' THEN o.remote_object ELSE ''[]''::jsonb END) AS elem '
+        || 'WHERE elem <> '''' '
+        || 'ON CONFLICT DO NOTHING',
+        owner, owner);
+    END IF;
+  END LOOP;
+END $$;
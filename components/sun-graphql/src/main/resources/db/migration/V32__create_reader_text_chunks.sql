@@ -0,0 +1,25 @@
+-- V32 reader text chunk store: bodies move out of hades_reader_texts.content
+-- into fixed-size compressed chunks indexed by character offset, so range
+-- reads fetch only the chunks they cover. The legacy column stays nullable
+-- until ReaderTextContentMigrator has converted every text.
+
+ALTER TABLE hades_reader_texts ADD COLUMN IF NOT EXISTS content TEXT;
+ALTER TABLE hades_reader_texts ALTER COLUMN content DROP NOT NULL;
+ALTER TABLE hades_reader_texts ADD COLUMN IF NOT EXISTS content_length INT;
+
+UPDATE hades_reader_texts
+   SET content_length = length(content)
+ WHERE content IS NOT NULL
+   AND content_length IS NULL;
+
+CREATE TABLE IF NOT EXISTS hades_reader_text_chunks (
+  text_id UUID NOT NULL REFERENCES hades_reader_texts(id) ON DELETE CASCADE,
+  seq INT NOT NULL,
+  char_offset INT NOT NULL,
+  char_length INT NOT NULL,
+  data BYTEA NOT NULL,
+  PRIMARY KEY (text_id, seq)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reader_text_chunks_offset
+  ON hades_reader_text_chunks (text_id, char_offset);
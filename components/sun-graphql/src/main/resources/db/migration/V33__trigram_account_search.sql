@@ -0,0 +1,7 @@
+-- V33 account search: the pg_trgm extension behind the trigram GIN indexes
+-- on reader and gaia usernames, so substring and prefix matches
+-- (LOWER(col) LIKE '%q%', as issued by the reader search and by FilterBuilder
+-- MATCHES/STARTS_WITH/ENDS_WITH) use an index instead of a sequential scan.
+-- The indexes themselves are built concurrently by V40.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,73 @@
+-- V34 full-text search: stored tsvectors for blog posts, gallery items and
+-- reader text chunks, searched by FullTextSearch and ReaderTextSearch. Each
+-- document is stemmed with the text search config of its own language; a
+-- query without a language matches every configured one. Reader text chunk
+-- vectors are written by ReaderTextContentStore, since the bodies are
+-- compressed; ReaderTextContentMigrator backfills existing texts. The GIN
+-- indexes on blog posts and gallery items are built concurrently by V40.
+
+-- Maps a language code or name (en, en-US, English, pt_BR ...) to a text
+-- search config. Unknown and missing languages fall back to 'simple', which
+-- lower-cases without stemming. Must stay IMMUTABLE: generated columns use it.
+CREATE OR REPLACE FUNCTION sun_search_config(language TEXT) RETURNS regconfig
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+  SELECT CASE split_part(replace(lower(coalesce(language, '')), '_', '-'), '-', 1)
+    WHEN 'en' THEN 'english'
+    WHEN 'english' THEN 'english'
+    WHEN 'fr' THEN 'french'
+    WHEN 'french' THEN 'french'
+    WHEN 'es' THEN 'spanish'
+    WHEN 'spanish' THEN 'spanish'
+    WHEN 'de' THEN 'german'
+    WHEN 'german' THEN 'german'
+    WHEN 'it' THEN 'italian'
+    WHEN 'italian' THEN 'italian'
+    WHEN 'pt' THEN 'portuguese'
+    WHEN 'portuguese' THEN 'portuguese'
+    WHEN 'nl' THEN 'dutch'
+    WHEN 'dutch' THEN 'dutch'
+    WHEN 'ru' THEN 'russian'
+    WHEN 'russian' THEN 'russian'
+    WHEN 'sv' THEN 'swedish'
+    WHEN 'swedish' THEN 'swedish'
+    ELSE 'simple'
+  END::regconfig
+$$;
+
+-- Parses a web-search query (quoted phrases, OR, -exclusions) in one
+-- language, or in every configured language when none is given so that a
+-- document matches whichever config it was indexed with.
+CREATE OR REPLACE FUNCTION sun_search_query(query TEXT, language TEXT) RETURNS tsquery
+LANGUAGE sql STABLE PARALLEL SAFE AS $$
+  SELECT CASE
+    WHEN language IS NOT NULL THEN websearch_to_tsquery(sun_search_config(language), query)
+    ELSE websearch_to_tsquery('simple', query)
+      || websearch_to_tsquery('english', query)
+      || websearch_to_tsquery('french', query)
+      || websearch_to_tsquery('spanish', query)
+      || websearch_to_tsquery('german', query)
+      || websearch_to_tsquery('italian', query)
+      || websearch_to_tsquery('portuguese', query)
+      || websearch_to_tsquery('dutch', query)
+      || websearch_to_tsquery('russian', query)
+      || websearch_to_tsquery('swedish', query)
+  END
+$$;
+
+ALTER TABLE briareus_posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector(sun_search_config(language), coalesce(title, '')), 'A')
+    || setweight(to_tsvector(sun_search_config(language), coalesce(content, '')), 'B')
+  ) STORED;
+
+ALTER TABLE cerberus_gallery_items ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector(sun_search_config(NULL), coalesce(title, '')), 'A')
+    || setweight(to_tsvector(sun_search_config(NULL), coalesce(description, '')), 'B')
+    || setweight(to_tsvector(sun_search_config(NULL), coalesce(content, '')), 'C')
+  ) STORED;
+
+ALTER TABLE hades_reader_text_chunks ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE INDEX IF NOT EXISTS idx_reader_text_chunks_search
+  ON hades_reader_text_chunks USING gin (search_vector);
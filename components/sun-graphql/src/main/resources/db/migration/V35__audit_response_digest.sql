@@ -0,0 +1,6 @@
+-- V35 audit response digest: AuditFilter streams responses instead of
+-- buffering them, keeping only the body size and a SHA-256 for the audit row.
+-- The digest is null for binary and streamed responses, which are not captured.
+
+ALTER TABLE audit_events ADD COLUMN IF NOT EXISTS response_bytes BIGINT;
+ALTER TABLE audit_events ADD COLUMN IF NOT EXISTS response_sha256 TEXT;
@@ -0,0 +1,119 @@
+-- V36 audit_events becomes a table range-partitioned by month on created_at.
+-- Old months can then be detached or dropped whole instead of deleted row by
+-- row (which the append-only triggers forbid anyway), and time-bounded
+-- searches only touch the partitions their range overlaps.
+--
+-- Partitions are named audit_events_pYYYY_MM. audit_events_create_partition
+-- is called here for every month that already holds rows and by
+-- AuditPartitionService for the months ahead; rows outside every partition
+-- land in audit_events_default rather than failing the insert.
+
+ALTER TABLE audit_events RENAME TO audit_events_unpartitioned;
+ALTER INDEX audit_events_pkey RENAME TO audit_events_unpartitioned_pkey;
+DROP INDEX idx_audit_events_time;
+DROP INDEX idx_audit_events_correlation;
+DROP INDEX idx_audit_events_user;
+DROP INDEX idx_audit_events_target;
+DROP INDEX idx_audit_events_namespace;
+
+CREATE TABLE audit_events (
+    id               UUID NOT NULL DEFAULT gen_random_uuid(),
+
+    created_at       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    correlation_id   UUID NOT NULL,
+
+    user_id          UUID,
+    namespace        TEXT,
+
+    event_type       TEXT NOT NULL,
+    operation_name   TEXT,
+    operation_type   TEXT NOT NULL,
+    target_entity    TEXT,
+    target_entity_id UUID,
+    outcome          TEXT NOT NULL,
+    error_message    TEXT,
+
+    endpoint         TEXT NOT NULL,
+    ip_address       TEXT,
+    user_agent       TEXT,
+    http_status      INTEGER NOT NULL,
+    duration_ms      BIGINT,
+    response_bytes   BIGINT,
+    response_sha256  TEXT,
+
+    payload_redacted TEXT,
+
+    prev_hash        TEXT,
+    row_hash         TEXT NOT NULL,
+
+    -- the partition key must be part of every unique constraint.
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Creates the partition for the month containing the given timestamp if it
+-- does not exist yet. Returns the partition name.
+CREATE OR REPLACE FUNCTION audit_events_create_partition(in_month TIMESTAMP)
+RETURNS TEXT AS $$
+DECLARE
+    lower_bound    TIMESTAMP := date_trunc('month', in_month);
+    upper_bound    TIMESTAMP := lower_bound + INTERVAL '1 month';
+    partition_name TEXT := 'audit_events_p' || to_char(lower_bound, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF audit_events FOR VALUES FROM (%L) TO (%L)',
+            partition_name, lower_bound, upper_bound);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_month TIMESTAMP;
+    next_month  TIMESTAMP;
+BEGIN
+    SELECT date_trunc('month', LEAST(COALESCE(min(created_at), now()), now()))
+    INTO first_month
+    FROM audit_events_unpartitioned;
+
+    FOR next_month IN
+        SELECT generate_series(first_month,
+                               date_trunc('month', now()) + INTERVAL '3 months',
+                               INTERVAL '1 month')
+    LOOP
+        PERFORM audit_events_create_partition(next_month);
+    END LOOP;
+END $$;
+
+CREATE TABLE audit_events_default PARTITION OF audit_events DEFAULT;
+
+INSERT INTO audit_events
+SELECT id, created_at, correlation_id, user_id, namespace, event_type,
+       operation_name, operation_type, target_entity, target_entity_id,
+       outcome, error_message, endpoint, ip_address, user_agent, http_status,
+       duration_ms, response_bytes, response_sha256, payload_redacted,
+       prev_hash, row_hash
+FROM audit_events_unpartitioned;
+
+DROP TABLE audit_events_unpartitioned;
+
+-- created_at follows insertion order, so a BRIN index stays tiny and still
+-- narrows scans inside a partition. The B-trees serve the filtered searches
+-- and keyset paging, newest first.
+CREATE INDEX idx_audit_events_time_brin   ON audit_events USING BRIN (created_at);
+CREATE INDEX idx_audit_events_time        ON audit_events (created_at DESC, id DESC);
+CREATE INDEX idx_audit_events_correlation ON audit_events (correlation_id);
+CREATE INDEX idx_audit_events_user        ON audit_events (user_id, created_at DESC);
+CREATE INDEX idx_audit_events_operation   ON audit_events (operation_name, created_at DESC);
+CREATE INDEX idx_audit_events_event_type  ON audit_events (event_type, created_at DESC);
+CREATE INDEX idx_audit_events_target      ON audit_events (target_entity, target_entity_id);
+CREATE INDEX idx_audit_events_namespace   ON audit_events (namespace, created_at DESC);
+
+-- Row triggers on a partitioned table apply to every partition. Detaching
+-- or dropping a whole partition is DDL and is not blocked by them.
+CREATE TRIGGER audit_no_update BEFORE UPDATE ON audit_events
+    FOR EACH ROW EXECUTE FUNCTION block_audit_mutation();
+
+CREATE TRIGGER audit_no_delete BEFORE DELETE ON audit_events
+    FOR EACH ROW EXECUTE FUNCTION block_audit_mutation();
@@ -0,0 +1,36 @@
+-- V37 progress counters on checklist entries: total items and how many are
+-- COMPLETE, FAILED or NOT_NEEDED. ChecklistEntryItemService keeps them in
+-- step with every item change, so entry listings show progress without
+-- reading echo_checklist_entry_items.
+--
+-- The echo tables are created by Hibernate, so on a fresh database this is
+-- skipped and the columns arrive with the table.
+
+DO $$
+BEGIN
+  IF to_regclass('echo_checklist_entries') IS NOT NULL THEN
+    ALTER TABLE echo_checklist_entries
+      ADD COLUMN IF NOT EXISTS item_count INTEGER NOT NULL DEFAULT 0,
+      ADD COLUMN IF NOT EXISTS complete_count INTEGER NOT NULL DEFAULT 0,
+      ADD COLUMN IF NOT EXISTS failed_count INTEGER NOT NULL DEFAULT 0,
+      ADD COLUMN IF NOT EXISTS not_needed_count INTEGER NOT NULL DEFAULT 0;
+
+    IF to_regclass('echo_checklist_entry_items') IS NOT NULL THEN
+      UPDATE echo_checklist_entries e
+      SET item_count = p.total,
+          complete_count = p.complete,
+          failed_count = p.failed,
+          not_needed_count = p.not_needed
+      FROM (
+        SELECT entry_id,
+               count(*) AS total,
+               count(*) FILTER (WHERE status = 'COMPLETE') AS complete,
+               count(*) FILTER (WHERE status = 'FAILED') AS failed,
+               count(*) FILTER (WHERE status = 'NOT_NEEDED') AS not_needed
+        FROM echo_checklist_entry_items
+        GROUP BY entry_id
+      ) p
+      WHERE e.id = p.entry_id;
+    END IF;
+  END IF;
+END $$;
@@ -0,0 +1,53 @@
+-- V38 one table for checklist details. Entry, template and item details used
+-- to live in three tables, so an untyped attach/detach probed each in turn and
+-- locateRemoteObjects ran one lookup per table. They now share
+-- echo_checklist_details, told apart by owner_type, with a unique
+-- (owner_type, owner_id) key and an owner_id index for untyped lookups.
+--
+-- The table is created here (matching ChecklistDetailEntity) so the old rows
+-- can be copied before Hibernate starts. Detail ids are kept, and their
+-- remote_object_refs rows are re-keyed to the new owner table.
+
+CREATE TABLE IF NOT EXISTS echo_checklist_details (
+  id UUID PRIMARY KEY,
+  createdAt TIMESTAMP(6) NOT NULL DEFAULT current_timestamp,
+  lastUpdatedAt TIMESTAMP(6) NOT NULL DEFAULT current_timestamp,
+  created_by UUID,
+  last_updated_by UUID,
+  owner_type VARCHAR(255) NOT NULL CHECK (owner_type IN ('ENTRY', 'TEMPLATE', 'ITEM')),
+  owner_id UUID NOT NULL,
+  description TEXT,
+  remote_object JSONB,
+  CONSTRAINT echo_checklist_details_owner_unique UNIQUE (owner_type, owner_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_echo_checklist_details_owner_id ON echo_checklist_details (owner_id);
+
+DO $$
+DECLARE
+  source RECORD;
+BEGIN
+  FOR source IN
+    SELECT * FROM (VALUES
+      ('echo_checklist_entry_details', 'ENTRY'),
+      ('echo_checklist_template_details', 'TEMPLATE'),
+      ('echo_checklist_item_details', 'ITEM')
+    ) AS s(tbl, owner_type)
+  LOOP
+    IF to_regclass(source.tbl) IS NOT NULL THEN
+      EXECUTE format(
+        'INSERT INTO echo_checklist_details '
+        || '(id, createdAt, lastUpdatedAt, created_by, last_updated_by, owner_type, owner_id, description, remote_object) '
+        || 'SELECT id, createdAt, lastUpdatedAt, created_by, last_updated_by, %L, owner_id, description, remote_object '
+        || 'FROM %I ON CONFLICT (owner_type, owner_id) DO NOTHING',
+        source.owner_type, source.tbl);
+
+      UPDATE remote_object_refs SET owner_type = 'echo_checklist_details'
+      WHERE owner_type = source.tbl
+        AND owner_id IN (SELECT id FROM echo_checklist_details);
+      DELETE FROM remote_object_refs WHERE owner_type = source.tbl;
+
+      EXECUTE format('DROP TABLE %I', source.tbl);
+    END IF;
+  END LOOP;
+END $$;
@@ -0,0 +1,18 @@
+-- V39 outbound mail: a claim token per delivery attempt, so a worker whose
+-- stale claim was released cannot record over a later attempt, and a unique
+-- dedup key, so concurrent enqueues of the same message cannot both insert.
+
+ALTER TABLE gaia_outbound_emails ADD COLUMN claim_token UUID;
+
+-- Keep the key only on the newest message per key before enforcing it.
+UPDATE gaia_outbound_emails e
+SET dedup_key = NULL
+FROM (
+  SELECT id, row_number() OVER (PARTITION BY dedup_key ORDER BY createdat DESC) AS rn
+  FROM gaia_outbound_emails
+  WHERE dedup_key IS NOT NULL
+) ranked
+WHERE e.id = ranked.id AND ranked.rn > 1;
+
+DROP INDEX IF EXISTS idx_outbound_emails_dedup;
+CREATE UNIQUE INDEX idx_outbound_emails_dedup ON gaia_outbound_emails (dedup_key) WHERE dedup_key IS NOT NULL;
@@ -0,0 +1,24 @@
+-- V40 indexes on large, live tables for V30, V33 and V34, built with
+-- CONCURRENTLY so writes to those tables are not blocked while they build.
+-- CONCURRENTLY cannot run inside a transaction, so Flyway runs this script
+-- without one; it must contain nothing but these statements. Every index is
+-- IF NOT EXISTS, so a build interrupted part way can be resumed by dropping
+-- the INVALID index it left behind and migrating again.
+
+-- V30: the thread page query filters on status.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_forum_posts_thread_status_created
+  ON icarus_forum_posts (thread_id, status, createdat);
+
+-- V33: the expressions must match the username search queries exactly.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reader_accounts_username_trgm
+  ON hades_reader_accounts USING gin (lower(discord_username) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reader_accounts_global_name_trgm
+  ON hades_reader_accounts USING gin (lower(global_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_gaia_accounts_username_trgm
+  ON gaia_accounts USING gin (lower(username) gin_trgm_ops);
+
+-- V34: full-text search vectors.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_briareus_posts_search
+  ON briareus_posts USING gin (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cerberus_gallery_items_search
+  ON cerberus_gallery_items USING gin (search_vector);
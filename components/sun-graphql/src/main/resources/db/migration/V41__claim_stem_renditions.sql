@@ -0,0 +1,8 @@
+-- V41 stem renditions: a claim token per rendition attempt, so two passes
+-- never render the same stem and a pass whose stale claim was taken over
+-- cannot record over the newer attempt. The table is created by Hibernate,
+-- which adds the columns itself where it does not exist yet.
+
+ALTER TABLE IF EXISTS apollo_stems
+  ADD COLUMN IF NOT EXISTS rendition_claim_token UUID,
+  ADD COLUMN IF NOT EXISTS rendition_claimed_at TIMESTAMP;
@@ -0,0 +1,13 @@
+-- V42 gallery derivatives: a claim token per derivative attempt, replacing
+-- lastUpdatedAt as the claim's identity, so an unrelated edit of the item
+-- can no longer void a claim and a worker whose stale claim was taken over
+-- cannot record over the newer attempt.
+
+ALTER TABLE cerberus_gallery_items
+  ADD COLUMN IF NOT EXISTS derivative_claim_token UUID,
+  ADD COLUMN IF NOT EXISTS derivative_claimed_at TIMESTAMP;
+
+-- Items claimed before the columns existed go stale from their last update.
+UPDATE cerberus_gallery_items
+SET derivative_claimed_at = lastupdatedat
+WHERE derivative_status = 'PROCESSING' AND derivative_claimed_at IS NULL;
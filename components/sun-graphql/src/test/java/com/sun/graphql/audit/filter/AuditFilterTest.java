@@ -9,6 +9,8 @@ import static org.mockito.Mockito.verify;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.base.audit.context.AuditContext;
 import com.sun.base.audit.context.AuditRequestSnapshot;
+import com.sun.base.audit.enums.AuditOutcome;
+import com.sun.graphql.audit.config.AuditProperties;
 import com.sun.graphql.audit.graphql.AuditOperationRegistry;
 import com.sun.graphql.audit.service.AuditEventService;
 import jakarta.servlet.FilterChain;
@@ -31,7 +33,7 @@ class AuditFilterTest {
     auditContext = new AuditContext();
     auditEventService = Mockito.mock(AuditEventService.class);
     filter = new AuditFilter(
-        auditContext, auditEventService, new AuditOperationRegistry(), new ObjectMapper());
+        auditContext, auditEventService, new AuditOperationRegistry(new AuditProperties(true, null, null, null)), new ObjectMapper());
   }
 
   @AfterEach
@@ -66,6 +68,40 @@ class AuditFilterTest {
     assertThat(captor.getValue().operations().get(0).operationName()).isEqualTo("/auth/login");
   }
 
+  @Test
+  void streamsTheResponseAndRecordsItsSizeAndDigest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (req, res) -> {
+      res.setContentType("application/json");
+      res.getWriter().write("{\"ok\":true}");
+    };
+
+    filter.doFilter(request, response, chain);
+
+    assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+    ArgumentCaptor<AuditRequestSnapshot> captor = ArgumentCaptor.forClass(AuditRequestSnapshot.class);
+    verify(auditEventService).persist(captor.capture(), anyLong());
+    assertThat(captor.getValue().responseBytes()).isEqualTo(11);
+    assertThat(captor.getValue().responseSha256()).hasSize(64);
+  }
+
+  @Test
+  void recordsGraphqlErrorsReturnedWithOkAsFailure() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = (req, res) -> {
+      res.setContentType("application/json");
+      res.getOutputStream().write("{ \"errors\": [{\"message\": \"Invalid syntax\"}] }".getBytes());
+    };
+
+    filter.doFilter(request, response, chain);
+
+    ArgumentCaptor<AuditRequestSnapshot> captor = ArgumentCaptor.forClass(AuditRequestSnapshot.class);
+    verify(auditEventService).persist(captor.capture(), anyLong());
+    assertThat(captor.getValue().operations().get(0).outcome()).isEqualTo(AuditOutcome.FAILURE);
+  }
+
   @Test
   void skipsOptionsPreflight() throws Exception {
     MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/graphql");
@@ -0,0 +1,130 @@
+package com.sun.graphql.audit.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Heap and time-to-first-byte comparison for a 10 MB response written in
+ * 64 KB pieces: buffering it in a ContentCachingResponseWrapper, as the audit
+ * filter did, against teeing it through AuditResponseCapture. The client is a
+ * sink that discards bytes and records when the first one arrived; run with
+ * {@code SUN_BENCHMARK=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "SUN_BENCHMARK", matches = "true")
+class AuditResponseCaptureBenchmarkTest {
+
+  private static final int BODY_BYTES = 10 * 1024 * 1024;
+  private static final int PIECE_BYTES = 64 * 1024;
+  private static final int ITERATIONS = 20;
+
+  @Test
+  void teeStreamsWithoutBufferingTheBody() throws Exception {
+    byte[] piece = new byte[PIECE_BYTES];
+    Arrays.fill(piece, (byte) 'x');
+
+    Result cached = measure(sink -> {
+      ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(sink);
+      write(wrapper, piece);
+      wrapper.copyBodyToResponse();
+    });
+    Result teed = measure(sink -> {
+      AuditResponseCapture capture = new AuditResponseCapture(sink, 1024);
+      write(capture, piece);
+      capture.finish();
+      capture.sha256();
+    });
+
+    assertThat(teed.bytes()).isLessThan(BODY_BYTES / 10);
+    assertThat(cached.bytes()).isGreaterThan(BODY_BYTES);
+    assertThat(teed.ttfbMillis()).isLessThan(cached.ttfbMillis());
+  }
+
+  private interface Handler {
+    void handle(Sink sink) throws IOException;
+  }
+
+  private record Result(double ttfbMillis, long bytes) {
+  }
+
+  private static void write(HttpServletResponse response, byte[] piece) throws IOException {
+    response.setContentType("application/json");
+    ServletOutputStream out = response.getOutputStream();
+    for (int written = 0; written < BODY_BYTES; written += piece.length) {
+      out.write(piece);
+    }
+  }
+
+  private static Result measure(Handler handler) throws IOException {
+    for (int i = 0; i < ITERATIONS; i++) {
+      handler.handle(new Sink());
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    long allocated = threads.getThreadAllocatedBytes(threadId);
+    long ttfb = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      Sink sink = new Sink();
+      long start = System.nanoTime();
+      handler.handle(sink);
+      ttfb += sink.firstByteAt - start;
+    }
+    long bytes = threads.getThreadAllocatedBytes(threadId) - allocated;
+    return new Result(ttfb / 1e6 / ITERATIONS, bytes / ITERATIONS);
+  }
+
+  /**
+   * A client connection that discards the body and notes when it started.
+   */
+  private static final class Sink extends HttpServletResponseWrapper {
+
+    private long firstByteAt;
+
+    private final ServletOutputStream out = new ServletOutputStream() {
+      @Override
+      public void write(int b) {
+        arrived();
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        arrived();
+      }
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      @Override
+      public void setWriteListener(WriteListener listener) {
+      }
+    };
+
+    private Sink() {
+      super(new MockHttpServletResponse());
+    }
+
+    private void arrived() {
+      if (firstByteAt == 0) {
+        firstByteAt = System.nanoTime();
+      }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return out;
+    }
+  }
+}
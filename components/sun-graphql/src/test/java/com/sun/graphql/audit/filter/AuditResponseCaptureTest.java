@@ -0,0 +1,112 @@
+package com.sun.graphql.audit.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for AuditResponseCapture.
+ */
+class AuditResponseCaptureTest {
+
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+  private final AuditResponseCapture capture = new AuditResponseCapture(response, 8);
+
+  @Test
+  void streamsEveryByteThroughAndKeepsABoundedPrefix() throws Exception {
+    capture.setContentType("application/json");
+    capture.getOutputStream().write("{\"data\":".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(response.getContentAsString()).isEqualTo("{\"data\":");
+
+    capture.getOutputStream().write('1');
+    capture.getOutputStream().write("}".getBytes(StandardCharsets.UTF_8), 0, 1);
+
+    assertThat(response.getContentAsString()).isEqualTo("{\"data\":1}");
+    assertThat(capture.bytesWritten()).isEqualTo(10);
+    assertThat(new String(capture.prefix(), StandardCharsets.UTF_8)).isEqualTo("{\"data\":");
+    assertThat(capture.sha256()).isEqualTo(sha256("{\"data\":1}"));
+  }
+
+  @Test
+  void passesLargeBodiesThroughWithoutBufferingThem() throws Exception {
+    byte[] piece = new byte[64 * 1024];
+    capture.setContentType("application/json");
+
+    capture.getOutputStream().write(piece);
+
+    assertThat(response.getContentAsByteArray()).hasSize(piece.length);
+
+    for (int i = 1; i < 16; i++) {
+      capture.getOutputStream().write(piece);
+    }
+    capture.finish();
+
+    assertThat(response.getContentAsByteArray()).hasSize(16 * piece.length);
+    assertThat(capture.bytesWritten()).isEqualTo(16L * piece.length);
+    assertThat(capture.prefix()).hasSize(8);
+  }
+
+  @Test
+  void capturesWriterOutputOnceFinished() throws Exception {
+    capture.setContentType("application/json");
+    capture.setCharacterEncoding("UTF-8");
+    PrintWriter writer = capture.getWriter();
+    writer.write("{\"é\":true}");
+    capture.finish();
+
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("{\"é\":true}");
+    assertThat(capture.bytesWritten()).isEqualTo(11);
+    assertThat(capture.sha256()).isEqualTo(sha256("{\"é\":true}"));
+    assertThatThrownBy(capture::getOutputStream).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void countsButDoesNotCaptureBinaryBodies() throws Exception {
+    capture.setContentType("image/png");
+    capture.getOutputStream().write(new byte[100]);
+
+    assertThat(response.getContentAsByteArray()).hasSize(100);
+    assertThat(capture.bytesWritten()).isEqualTo(100);
+    assertThat(capture.prefix()).isEmpty();
+    assertThat(capture.sha256()).isNull();
+  }
+
+  @Test
+  void resetDiscardsWhatWasCaptured() throws Exception {
+    capture.setContentType("text/plain");
+    capture.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+    capture.resetBuffer();
+    capture.getOutputStream().write("ok".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(capture.bytesWritten()).isEqualTo(2);
+    assertThat(capture.prefix()).asString(StandardCharsets.UTF_8).isEqualTo("ok");
+    assertThat(capture.sha256()).isEqualTo(sha256("ok"));
+  }
+
+  @Test
+  void digestsAnEmptyBody() throws Exception {
+    assertThat(capture.bytesWritten()).isZero();
+    assertThat(capture.sha256()).isEqualTo(sha256(""));
+  }
+
+  @Test
+  void capturableSkipsBinaryAndStreamingTypes() {
+    assertThat(AuditResponseCapture.capturable(null)).isTrue();
+    assertThat(AuditResponseCapture.capturable("application/graphql-response+json")).isTrue();
+    assertThat(AuditResponseCapture.capturable("Application/Octet-Stream")).isFalse();
+    assertThat(AuditResponseCapture.capturable("text/event-stream;charset=UTF-8")).isFalse();
+    assertThat(AuditResponseCapture.capturable("audio/mpeg")).isFalse();
+  }
+
+  private static String sha256(String body) throws Exception {
+    return HexFormat.of().formatHex(
+        MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+  }
+}
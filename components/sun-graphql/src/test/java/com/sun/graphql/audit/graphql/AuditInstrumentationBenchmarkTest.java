@@ -0,0 +1,108 @@
+package com.sun.graphql.audit.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.base.audit.context.AuditContext;
+import com.sun.graphql.audit.service.AuditArguments;
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Request-thread CPU and allocation of audit capture for a mutation carrying
+ * a 500-element input and a plain query: sanitizing every field's arguments
+ * eagerly, as the instrumentation did, against keeping references and
+ * deferring the work to the persist stage. Run with
+ * {@code SUN_BENCHMARK=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "SUN_BENCHMARK", matches = "true")
+class AuditInstrumentationBenchmarkTest {
+
+  private static final int WARMUP = 2_000;
+  private static final int ITERATIONS = 5_000;
+
+  private final AuditContext auditContext = new AuditContext();
+
+  @Test
+  void lazyCaptureCostsLessOnTheRequestThread() {
+    List<String> tags = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      tags.add("tag-" + i);
+    }
+    Map<String, Object> variables = new LinkedHashMap<>();
+    variables.put("input", Map.of("note", "x".repeat(2_000), "tags", tags));
+    ExecutionInput mutation = ExecutionInput.newExecutionInput()
+        .query("mutation($input: VoteInput) { hadesMutations { vote(input: $input) { id } } }")
+        .variables(variables)
+        .build();
+    ExecutionInput query = ExecutionInput.newExecutionInput()
+        .query("{ gaiaQueries { me { id } } }")
+        .build();
+
+    GraphQL lazy = AuditInstrumentationTest.graphQL(auditContext, null);
+    GraphQL eager = GraphQL.newGraphQL(lazy.getGraphQLSchema())
+        .instrumentation(new ChainedInstrumentation(eagerlySanitizing(), lazy.getInstrumentation()))
+        .build();
+
+    for (String label : List.of("mutation", "query")) {
+      ExecutionInput input = label.equals("mutation") ? mutation : query;
+      Result before = measure(() -> eager.execute(input));
+      Result after = measure(() -> lazy.execute(input));
+      assertThat(after.bytes()).as("%s bytes", label).isLessThan(before.bytes());
+      assertThat(after.cpuMicros()).as("%s cpu", label).isLessThan(before.cpuMicros());
+    }
+  }
+
+  /** The argument copy the instrumentation used to make for every operation. */
+  private static SimplePerformantInstrumentation eagerlySanitizing() {
+    return new SimplePerformantInstrumentation() {
+      @Override
+      public InstrumentationContext<Object> beginFieldFetch(
+          InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        var env = parameters.getEnvironment();
+        if (env.getExecutionStepInfo().getPath().getLevel() == 2) {
+          AuditArguments.toJsonSafe(env.getArguments());
+        }
+        return super.beginFieldFetch(parameters, state);
+      }
+    };
+  }
+
+  private record Result(double cpuMicros, long bytes) {
+  }
+
+  private Result measure(Supplier<?> request) {
+    for (int i = 0; i < WARMUP; i++) {
+      run(request);
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    long allocated = threads.getThreadAllocatedBytes(threadId);
+    long cpu = threads.getCurrentThreadCpuTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      run(request);
+    }
+    long cpuNanos = threads.getCurrentThreadCpuTime() - cpu;
+    long bytes = threads.getThreadAllocatedBytes(threadId) - allocated;
+    return new Result(cpuNanos / 1e3 / ITERATIONS, bytes / ITERATIONS);
+  }
+
+  private void run(Supplier<?> request) {
+    auditContext.begin();
+    request.get();
+    auditContext.clear();
+  }
+}
@@ -0,0 +1,123 @@
+package com.sun.graphql.audit.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.base.audit.context.AuditContext;
+import com.sun.base.audit.enums.AuditVerbosity;
+import com.sun.graphql.audit.config.AuditProperties;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AuditInstrumentation.
+ */
+class AuditInstrumentationTest {
+
+  static final String SDL = """
+      type Query { gaiaQueries: GaiaQueries }
+      type Mutation { hadesMutations: HadesMutations }
+      type GaiaQueries { me: Account }
+      type HadesMutations { vote(input: VoteInput): Account }
+      type Account { id: ID }
+      input VoteInput { note: String tags: [String] }
+      """;
+
+  static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+  private final AuditContext auditContext = new AuditContext();
+
+  @BeforeEach
+  void setUp() {
+    auditContext.begin();
+  }
+
+  @AfterEach
+  void tearDown() {
+    auditContext.clear();
+  }
+
+  static GraphQL graphQL(AuditContext auditContext, AuditProperties.Capture capture) {
+    GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(
+        new SchemaParser().parse(SDL),
+        RuntimeWiring.newRuntimeWiring()
+            .type("Query", t -> t.dataFetcher("gaiaQueries", env -> Map.of()))
+            .type("Mutation", t -> t.dataFetcher("hadesMutations", env -> Map.of()))
+            .type("GaiaQueries", t -> t.dataFetcher("me", env -> Map.of("id", ACCOUNT_ID.toString())))
+            .type("HadesMutations", t -> t.dataFetcher("vote", env -> Map.of("id", ACCOUNT_ID.toString())))
+            .build());
+    AuditOperationRegistry registry = new AuditOperationRegistry(new AuditProperties(true, null, null, capture));
+    return GraphQL.newGraphQL(schema)
+        .instrumentation(new AuditInstrumentation(auditContext, registry))
+        .build();
+  }
+
+  @Test
+  void mutationsKeepTheirArgumentsForThePersistStage() {
+    graphQL(auditContext, null).execute(
+        "mutation { hadesMutations { vote(input: {note: \"hi\", tags: [\"a\"]}) { id } } }");
+
+    assertThat(auditContext.operations()).singleElement().satisfies(op -> {
+      assertThat(op.operationName()).isEqualTo("vote");
+      assertThat(op.variables()).isEqualTo(Map.of("input", Map.of("note", "hi", "tags", List.of("a"))));
+      assertThat(op.targetEntityId()).isEqualTo(ACCOUNT_ID);
+    });
+  }
+
+  @Test
+  void mutationArgumentsAreKeptByReferenceNotCopied() {
+    AtomicReference<Map<String, Object>> fetched = new AtomicReference<>();
+    GraphQL audited = graphQL(auditContext, null);
+    GraphQL graphQL = GraphQL.newGraphQL(audited.getGraphQLSchema())
+        .instrumentation(new ChainedInstrumentation(new SimplePerformantInstrumentation() {
+          @Override
+          public InstrumentationContext<Object> beginFieldFetch(
+              InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+            if (parameters.getEnvironment().getField().getName().equals("vote")) {
+              fetched.set(parameters.getEnvironment().getArguments());
+            }
+            return super.beginFieldFetch(parameters, state);
+          }
+        }, audited.getInstrumentation()))
+        .build();
+
+    graphQL.execute("mutation { hadesMutations { vote(input: {note: \"hi\", tags: [\"a\"]}) { id } } }");
+
+    assertThat(auditContext.operations()).singleElement()
+        .satisfies(op -> assertThat(op.variables()).isSameAs(fetched.get()));
+  }
+
+  @Test
+  void queriesRecordMetadataOnlyByDefault() {
+    graphQL(auditContext, null).execute("{ gaiaQueries { me { id } } }");
+
+    assertThat(auditContext.operations()).singleElement()
+        .satisfies(op -> assertThat(op.variables()).isNull());
+  }
+
+  @Test
+  void operationsLeftOutByPolicyAreCountedButNotRecorded() {
+    var none = new AuditProperties.Capture(AuditVerbosity.NONE, AuditVerbosity.FULL, 1.0, Map.of());
+    graphQL(auditContext, none).execute("{ gaiaQueries { me { id } } }");
+
+    var unsampled = new AuditProperties.Capture(AuditVerbosity.FULL, AuditVerbosity.FULL, 0.0, Map.of());
+    graphQL(auditContext, unsampled).execute("{ gaiaQueries { me { id } } }");
+
+    assertThat(auditContext.operations()).isEmpty();
+    assertThat(auditContext.skippedOperations()).isEqualTo(2);
+  }
+}
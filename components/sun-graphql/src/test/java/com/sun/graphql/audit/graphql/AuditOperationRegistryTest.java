@@ -2,12 +2,15 @@ package com.sun.graphql.audit.graphql;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.sun.base.audit.enums.AuditVerbosity;
 import com.sun.base.audit.enums.OperationType;
+import com.sun.graphql.audit.config.AuditProperties;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class AuditOperationRegistryTest {
 
-  private final AuditOperationRegistry registry = new AuditOperationRegistry();
+  private final AuditOperationRegistry registry = new AuditOperationRegistry(new AuditProperties(true, null, null, null));
 
   @Test
   void forParentType_deriviesNamespaceAndTypeForMutations() {
@@ -60,4 +63,32 @@ class AuditOperationRegistryTest {
     assertThat(meta.eventType()).isEqualTo("UNKNOWN");
     assertThat(meta.namespace()).isNull();
   }
+
+  @Test
+  void forParentType_defaultsToQueryMetadataAndFullMutations() {
+    assertThat(registry.forParentType("GaiaQueries", "me").verbosity()).isEqualTo(AuditVerbosity.METADATA);
+    assertThat(registry.forParentType("HadesMutations", "vote").verbosity()).isEqualTo(AuditVerbosity.FULL);
+  }
+
+  @Test
+  void forParentType_appliesConfiguredPolicy() {
+    AuditOperationRegistry configured = new AuditOperationRegistry(new AuditProperties(true, null, null,
+        new AuditProperties.Capture(AuditVerbosity.FULL, AuditVerbosity.FULL, 0.25,
+            Map.of("HADES_DEFINEWORD", AuditVerbosity.NONE))));
+
+    var query = configured.forParentType("GaiaQueries", "me");
+    var overridden = configured.forParentType("HadesQueries", "defineWord");
+    var mutation = configured.forParentType("HadesMutations", "vote");
+
+    assertThat(query.verbosity()).isEqualTo(AuditVerbosity.FULL);
+    assertThat(query.sampleRate()).isEqualTo(0.25);
+    assertThat(overridden.verbosity()).isEqualTo(AuditVerbosity.NONE);
+    assertThat(mutation.sampleRate()).isEqualTo(1.0);
+  }
+
+  @Test
+  void forParentType_resolvesEachFieldOnce() {
+    assertThat(registry.forParentType("GaiaQueries", "me"))
+        .isSameAs(registry.forParentType("GaiaQueries", "me"));
+  }
 }
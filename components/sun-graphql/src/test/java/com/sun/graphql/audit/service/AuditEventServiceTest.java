@@ -15,6 +15,8 @@ import com.sun.base.audit.enums.OperationType;
 import com.sun.base.audit.redaction.PayloadRedactor;
 import com.sun.base.audit.repository.AuditEventRepository;
 import com.sun.graphql.audit.config.AuditProperties;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -33,8 +35,7 @@ class AuditEventServiceTest {
     return new AuditEventService(
         repository,
         new PayloadRedactor(new ObjectMapper()),
-        new ObjectMapper(),
-        new AuditProperties(enabled, null));
+        new AuditProperties(enabled, null, null, null));
   }
 
   private AuditContext.AuditOperation op(String name, Object variables) {
@@ -48,7 +49,8 @@ class AuditEventServiceTest {
   }
 
   private AuditRequestSnapshot snapshot(UUID userId, List<AuditContext.AuditOperation> ops) {
-    return new AuditRequestSnapshot(ops, UUID.randomUUID(), userId, "/graphql", "127.0.0.1", "ua", 200);
+    return new AuditRequestSnapshot(ops, UUID.randomUUID(), userId, "/graphql", "127.0.0.1", "ua", 200,
+        2, "44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a");
   }
 
   @Test
@@ -101,6 +103,31 @@ class AuditEventServiceTest {
     assertThat(payload).doesNotContain("hunter2");
   }
 
+  @Test
+  void persist_convertsCapturedArgumentsBeforeRedacting() {
+    AuditEventService svc = service(true);
+    OffsetDateTime at = OffsetDateTime.of(2026, 10, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+    svc.persist(snapshot(UUID.randomUUID(),
+        List.of(op("createAnnotation", Map.of("input", Map.of("at", at, "tags", List.of("a")))))), 1L);
+
+    ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).saveAll(captor.capture());
+    assertThat(captor.getValue().get(0).getPayloadRedacted())
+        .contains("\"at\":\"2026-10-01T09:30Z\"", "\"tags\":[\"a\"]");
+  }
+
+  @Test
+  void persist_storesNoPayloadForMetadataOnlyOperations() {
+    AuditEventService svc = service(true);
+
+    svc.persist(snapshot(UUID.randomUUID(), List.of(op("me", null))), 1L);
+
+    ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).saveAll(captor.capture());
+    assertThat(captor.getValue().get(0).getPayloadRedacted()).isNull();
+  }
+
   @Test
   void persist_swallowsPersistenceFailures() {
     org.mockito.Mockito.when(repository.saveAll(any())).thenThrow(new RuntimeException("db down"));
@@ -0,0 +1,140 @@
+package com.sun.graphql.audit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sun.graphql.audit.config.AuditProperties;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for AuditPartitionService.
+ */
+class AuditPartitionServiceTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+  private AuditPartitionService service(int monthsAhead, int retentionMonths, boolean detachOnly) {
+    return new AuditPartitionService(jdbcTemplate, transactionManager, new AuditProperties(true, null,
+        new AuditProperties.Partitions(monthsAhead, retentionMonths, detachOnly), null));
+  }
+
+  @Test
+  void createAhead_createsTheCurrentAndComingMonths() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any()))
+        .thenAnswer(inv -> "audit_events_p" + ((Timestamp) inv.getArgument(2))
+            .toLocalDateTime().toLocalDate().toString().substring(0, 7).replace('-', '_'));
+
+    List<String> names = service(2, 0, true).createAhead(YearMonth.of(2026, 11));
+
+    assertThat(names).containsExactly(
+        "audit_events_p2026_11", "audit_events_p2026_12", "audit_events_p2027_01");
+  }
+
+  @Test
+  void createAhead_reroutesDefaultRowsWhenThePartitionIsCreatedAfterThem() {
+    Timestamp november = Timestamp.valueOf("2026-11-01 00:00:00");
+    Timestamp december = Timestamp.valueOf("2026-12-01 00:00:00");
+    when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(november), eq(december)))
+        .thenReturn(true);
+    when(jdbcTemplate.queryForObject(anyString(), eq(String.class), eq(november)))
+        .thenReturn("audit_events_p2026_11");
+    when(jdbcTemplate.update("INSERT INTO audit_events SELECT * FROM audit_events_default_stranded"))
+        .thenReturn(3);
+
+    List<String> names = service(0, 0, true).createAhead(YearMonth.of(2026, 11));
+
+    assertThat(names).containsExactly("audit_events_p2026_11");
+    InOrder ddl = inOrder(jdbcTemplate, transactionManager);
+    ddl.verify(transactionManager).getTransaction(any());
+    ddl.verify(jdbcTemplate).execute("ALTER TABLE audit_events DETACH PARTITION audit_events_default");
+    ddl.verify(jdbcTemplate).execute("ALTER TABLE audit_events_default RENAME TO audit_events_default_stranded");
+    ddl.verify(jdbcTemplate).queryForObject("SELECT audit_events_create_partition(?)", String.class, november);
+    ddl.verify(jdbcTemplate).execute("CREATE TABLE audit_events_default PARTITION OF audit_events DEFAULT");
+    ddl.verify(jdbcTemplate).update("INSERT INTO audit_events SELECT * FROM audit_events_default_stranded");
+    ddl.verify(jdbcTemplate).execute("DROP TABLE audit_events_default_stranded");
+    ddl.verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void createAhead_createsPlainlyWhenTheDefaultHoldsNoRowsForTheMonth() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any()))
+        .thenReturn("audit_events_p2026_11");
+
+    service(0, 0, true).createAhead(YearMonth.of(2026, 11));
+
+    verify(jdbcTemplate, never()).execute(anyString());
+    verifyNoInteractions(transactionManager);
+  }
+
+  @Test
+  void createAhead_keepsGoingPastAMonthThatFails() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any()))
+        .thenThrow(new DataIntegrityViolationException("overlaps"))
+        .thenReturn("audit_events_p2026_12");
+
+    List<String> names = service(1, 0, true).createAhead(YearMonth.of(2026, 11));
+
+    assertThat(names).containsExactly("audit_events_p2026_12");
+  }
+
+  @Test
+  void applyRetention_keepsEverythingWhenRetentionIsZero() {
+    assertThat(service(3, 0, false).applyRetention(YearMonth.of(2026, 10))).isEmpty();
+
+    verify(jdbcTemplate, never()).execute(anyString());
+  }
+
+  @Test
+  void applyRetention_detachesMonthsOutsideTheWindow() {
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+        "audit_events_p2026_08", "audit_events_p2026_06", "audit_events_default",
+        "audit_events_p2026_07", "audit_events_p2026_10"));
+
+    List<String> removed = service(3, 3, true).applyRetention(YearMonth.of(2026, 10));
+
+    assertThat(removed).containsExactly("audit_events_p2026_06", "audit_events_p2026_07");
+    verify(jdbcTemplate).execute("ALTER TABLE audit_events DETACH PARTITION audit_events_p2026_06");
+    verify(jdbcTemplate).execute("ALTER TABLE audit_events DETACH PARTITION audit_events_p2026_07");
+    verify(jdbcTemplate, never()).execute("DROP TABLE audit_events_p2026_06");
+  }
+
+  @Test
+  void applyRetention_dropsDetachedPartitionsUnlessDetachOnly() {
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(List.of("audit_events_p2025_12", "audit_events_p2026_10"));
+
+    List<String> removed = service(3, 1, false).applyRetention(YearMonth.of(2026, 10));
+
+    assertThat(removed).containsExactly("audit_events_p2025_12");
+    verify(jdbcTemplate).execute("ALTER TABLE audit_events DETACH PARTITION audit_events_p2025_12");
+    verify(jdbcTemplate).execute("DROP TABLE audit_events_p2025_12");
+  }
+
+  @Test
+  void constructor_fallsBackToDefaultsWhenUnconfigured() {
+    when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any()))
+        .thenReturn("p");
+
+    AuditPartitionService service = new AuditPartitionService(
+        jdbcTemplate, transactionManager, new AuditProperties(true, null, null, null));
+
+    assertThat(service.createAhead(YearMonth.of(2026, 10))).hasSize(4);
+    assertThat(service.applyRetention(YearMonth.of(2026, 10))).isEmpty();
+  }
+}
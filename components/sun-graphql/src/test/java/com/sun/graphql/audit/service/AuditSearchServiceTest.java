@@ -0,0 +1,100 @@
+package com.sun.graphql.audit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sun.base.audit.entity.AuditEvent;
+import com.sun.base.audit.enums.AuditOutcome;
+import com.sun.base.audit.enums.OperationType;
+import com.sun.base.audit.repository.AuditEventRepository;
+import com.sun.graphql.codegen.types.AuditRecords;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Unit tests for AuditSearchService.
+ */
+class AuditSearchServiceTest {
+
+  private static final OffsetDateTime FROM = OffsetDateTime.of(2026, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private final AuditEventRepository repository = mock(AuditEventRepository.class);
+  private final AuditSearchService service = new AuditSearchService(repository, Duration.ofDays(93));
+
+  private static AuditSearchService.Criteria range(OffsetDateTime from, OffsetDateTime to) {
+    return new AuditSearchService.Criteria(from, to, null, null, null, null, null);
+  }
+
+  private static AuditEvent event(int minute) {
+    AuditEvent event = new AuditEvent();
+    event.setId(UUID.randomUUID());
+    event.setCreatedAt(LocalDateTime.of(2026, 10, 2, 12, minute));
+    event.setCorrelationId(UUID.randomUUID());
+    event.setEventType("HADES_VOTE");
+    event.setOperationName("vote");
+    event.setOperationType(OperationType.MUTATION);
+    event.setOutcome(AuditOutcome.SUCCESS);
+    event.setEndpoint("/graphql");
+    event.setHttpStatus(200);
+    return event;
+  }
+
+  @Test
+  void search_rejectsMissingEmptyOrOversizedRanges() {
+    assertThatThrownBy(() -> service.search(range(FROM, null), 10, null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.search(range(FROM, FROM), 10, null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.search(range(FROM, FROM.plusDays(94)), 10, null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("93 days");
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void search_rejectsBadPageSizesAndCursors() {
+    assertThatThrownBy(() -> service.search(range(FROM, FROM.plusDays(1)), 0, null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.search(range(FROM, FROM.plusDays(1)), AuditSearchService.MAX_LIMIT + 1, null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.search(range(FROM, FROM.plusDays(1)), 10, "not-a-cursor"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("invalid cursor");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void search_returnsACursorOnlyWhenMoreRowsRemain() {
+    List<AuditEvent> rows = new ArrayList<>(List.of(event(3), event(2), event(1)));
+    when(repository.findBy(any(Specification.class), any()))
+        .thenReturn(rows, rows.subList(0, 2));
+
+    AuditRecords more = service.search(range(FROM, FROM.plusDays(7)), 2, null);
+    AuditRecords last = service.search(range(FROM, FROM.plusDays(7)), 2, null);
+
+    assertThat(more.getItems()).extracting("id")
+        .containsExactly(rows.get(0).getId().toString(), rows.get(1).getId().toString());
+    assertThat(AuditSearchService.Cursor.decode(more.getNextCursor()))
+        .isEqualTo(new AuditSearchService.Cursor(rows.get(1).getCreatedAt(), rows.get(1).getId()));
+    assertThat(last.getNextCursor()).isNull();
+  }
+
+  @Test
+  void cursor_roundTrips() {
+    AuditSearchService.Cursor cursor =
+        new AuditSearchService.Cursor(LocalDateTime.of(2026, 10, 2, 12, 0, 0, 123_456_000), UUID.randomUUID());
+
+    assertThat(AuditSearchService.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+}
@@ -0,0 +1,84 @@
+package com.sun.graphql.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.base.cache.CacheInvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+/**
+ * Unit tests for ObservableCacheManager.
+ */
+class ObservableCacheManagerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ObservableCacheManager manager = new ObservableCacheManager(
+      new CacheProperties("expireAfterWrite=30s,maximumSize=10", Map.of(
+          "texts", new CacheProperties.Spec("expireAfterWrite=5m,maximumSize=100", List.of("hades.texts")),
+          "textCounts", new CacheProperties.Spec(null, List.of("hades.texts")),
+          "accounts", new CacheProperties.Spec("maximumSize=5", List.of("gaia.accounts")))),
+      meterRegistry);
+
+  @Test
+  void caches_useTheirOwnSpecAndExportStats() {
+    Cache texts = manager.getCache("texts");
+    texts.put("page-1", "value");
+    texts.get("page-1");
+    texts.get("page-2");
+
+    ObservableCacheManager.Snapshot snapshot = manager.snapshots().get(0);
+    assertThat(snapshot.name()).isEqualTo("texts");
+    assertThat(snapshot.spec()).isEqualTo("expireAfterWrite=5m,maximumSize=100");
+    assertThat(snapshot.tags()).containsExactly("hades.texts");
+    assertThat(snapshot.stats().hitCount()).isEqualTo(1);
+    assertThat(snapshot.stats().missCount()).isEqualTo(1);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "texts").tag("result", "hit")
+        .functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void caches_withoutSpecFallBackToDefault() {
+    manager.getCache("unconfigured");
+    manager.getCache("textCounts");
+
+    assertThat(manager.snapshots())
+        .extracting(ObservableCacheManager.Snapshot::spec)
+        .containsOnly("expireAfterWrite=30s,maximumSize=10");
+  }
+
+  @Test
+  void invalidation_clearsOnlyCachesWithTheTag() {
+    manager.getCache("texts").put("k", "v");
+    manager.getCache("textCounts").put("k", "v");
+    manager.getCache("accounts").put("k", "v");
+
+    manager.onInvalidation(CacheInvalidationEvent.of("hades.texts"));
+
+    assertThat(manager.getCache("texts").get("k")).isNull();
+    assertThat(manager.getCache("textCounts").get("k")).isNull();
+    assertThat(manager.getCache("accounts").get("k")).isNotNull();
+    assertThat(meterRegistry.get("cache.invalidations").tag("tag", "hades.texts").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void invalidateTag_reportsClearedCachesAndSkipsUncreatedOnes() {
+    manager.getCache("texts");
+
+    assertThat(manager.invalidateTag("hades.texts")).containsExactly("texts");
+    assertThat(manager.getCacheNames()).containsExactly("texts");
+  }
+
+  @Test
+  void flush_returnsFalseForUnknownCache() {
+    manager.getCache("accounts").put("k", "v");
+
+    assertThat(manager.flush("accounts")).isTrue();
+    assertThat(manager.getCache("accounts").get("k")).isNull();
+    assertThat(manager.flush("missing")).isFalse();
+    assertThat(manager.getCacheNames()).doesNotContain("missing");
+  }
+}
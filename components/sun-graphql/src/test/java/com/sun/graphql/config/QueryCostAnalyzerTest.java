@@ -0,0 +1,123 @@
+package com.sun.graphql.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.sun.base.ratelimit.Cost;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Unit tests for QueryCostAnalyzer.
+ */
+class QueryCostAnalyzerTest {
+
+  private static final GraphQLSchema SCHEMA = UnExecutableSchemaGenerator.makeUnExecutableSchema(
+      new SchemaParser().parse("""
+          type Query {
+            post(id: ID): Post
+            posts(limit: Int): [Post!]!
+            paged(pagination: PaginationInput): PagedPosts
+            search(query: String, limit: Int): SearchResults
+          }
+          input PaginationInput { page: Int size: Int }
+          type PagedPosts { items: [Post!]! total: Int }
+          type SearchResults { items: [Post!]! total: Int }
+          type Post { id: ID title: String author: Author comments: [Comment!]! }
+          type Comment { id: ID body: String author: Author }
+          type Author { id: ID name: String }
+          """));
+
+  private QueryCostAnalyzer analyzer;
+
+  @BeforeEach
+  void setUp() {
+    analyzer = new QueryCostAnalyzer(mock(ApplicationContext.class), 10);
+  }
+
+  @Test
+  void analyze_chargesObjectsButNotScalars() {
+    assertThat(cost("{ post(id: 1) { id title author { name } } }", Map.of())).isEqualTo(2);
+  }
+
+  @Test
+  void analyze_multipliesBySizeArgumentOrDefault() {
+    assertThat(cost("{ posts(limit: 50) { id author { name } } }", Map.of())).isEqualTo(51);
+    // 1 + 10 posts * (1 + 10 comments * 1 author)
+    assertThat(cost("{ posts { comments { author { id } } } }", Map.of())).isEqualTo(111);
+  }
+
+  @Test
+  void analyze_readsPaginationFromVariablesWithoutCountingThePageTwice() {
+    String query = "query($p: PaginationInput) { paged(pagination: $p) { total items { author { id } } } }";
+
+    assertThat(cost(query, Map.of("p", Map.of("size", 30)))).isEqualTo(61);
+    assertThat(cost(query, Map.of())).isEqualTo(21);
+  }
+
+  @Test
+  void analyze_expandsFragments() {
+    String query = """
+        { posts(limit: 5) { ...PostParts } }
+        fragment PostParts on Post { author { ...AuthorParts } comments { id } }
+        fragment AuthorParts on Author { name }
+        """;
+
+    assertThat(cost(query, Map.of())).isEqualTo(11);
+  }
+
+  @Test
+  void analyze_staysLinearForNestedFragments() {
+    StringBuilder query = new StringBuilder("{ post(id: 1) { ...F0 } }\n");
+    for (int i = 0; i < 40; i++) {
+      query.append("fragment F").append(i).append(" on Post { author { id } ...F").append(i + 1)
+          .append(" a").append(i).append(": author { id } }\n");
+    }
+    query.append("fragment F40 on Post { id }\n");
+
+    assertThat(cost(query.toString(), Map.of())).isEqualTo(81);
+  }
+
+  @Test
+  void analyze_appliesDeclaredCosts() throws Exception {
+    analyzer.register("Query.search",
+        getClass().getDeclaredMethod("search").getAnnotation(Cost.class));
+
+    assertThat(cost("{ search(query: \"moon\") { items { id author { id } } } }", Map.of()))
+        .isEqualTo(5 + 20 * 2);
+    assertThat(cost("{ search(query: \"moon\", limit: 3) { total } }", Map.of())).isEqualTo(5);
+  }
+
+  @Test
+  void analyze_breaksDownByRootField() {
+    QueryCost cost = analyzer.analyze(
+        Parser.parse("{ post(id: 1) { author { id } } top: posts(limit: 2) { author { id } } }"),
+        null, SCHEMA, Map.of());
+
+    assertThat(cost.total()).isEqualTo(5);
+    assertThat(cost.describe()).isEqualTo("top=3, post=2");
+  }
+
+  @Test
+  void analyze_picksTheRequestedOperation() {
+    QueryCost cost = analyzer.analyze(
+        Parser.parse("query A { post(id: 1) { id } } query B { posts(limit: 4) { author { id } } }"),
+        "B", SCHEMA, Map.of());
+
+    assertThat(cost.total()).isEqualTo(5);
+  }
+
+  private long cost(String query, Map<String, Object> variables) {
+    return analyzer.analyze(Parser.parse(query), null, SCHEMA, variables).total();
+  }
+
+  @Cost(value = 5, defaultSize = 20)
+  private void search() {
+  }
+}
@@ -0,0 +1,103 @@
+package com.sun.graphql.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sun.gaia.service.UserContextHolder;
+import com.sun.graphql.datasource.ReadWriteRoutingDataSource.Reason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for ReadWriteRoutingDataSource.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+      mock(DataSource.class), mock(DataSource.class), lagMonitor, Duration.ofSeconds(5), meterRegistry);
+  private final UUID caller = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    when(lagMonitor.usable()).thenReturn(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    UserContextHolder.clear();
+  }
+
+  private static void transaction(boolean readOnly) {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+  }
+
+  @Test
+  void readOnlyTransactionsGoToTheReplica() {
+    transaction(true);
+
+    assertThat(routing.reason(caller, 0)).isEqualTo(Reason.READ);
+  }
+
+  @Test
+  void writesAndNonTransactionalWorkGoToThePrimary() {
+    assertThat(routing.reason(caller, 0)).isEqualTo(Reason.WRITE);
+
+    transaction(false);
+    assertThat(routing.reason(caller, 0)).isEqualTo(Reason.WRITE);
+  }
+
+  @Test
+  void readsFollowingAWriteStayOnThePrimaryForTheWindow() {
+    transaction(false);
+    routing.reason(caller, 0);
+
+    transaction(true);
+    assertThat(routing.reason(caller, 4 * SECOND)).isEqualTo(Reason.STICKY);
+    assertThat(routing.reason(UUID.randomUUID(), 4 * SECOND)).isEqualTo(Reason.READ);
+    assertThat(routing.reason(caller, 6 * SECOND)).isEqualTo(Reason.READ);
+  }
+
+  @Test
+  void nonTransactionalWorkDoesNotMakeTheCallerSticky() {
+    routing.reason(caller, 0);
+
+    transaction(true);
+    assertThat(routing.reason(caller, SECOND)).isEqualTo(Reason.READ);
+  }
+
+  @Test
+  void readsFallBackToThePrimaryWhileTheReplicaLags() {
+    when(lagMonitor.usable()).thenReturn(false);
+    transaction(true);
+
+    assertThat(routing.reason(caller, 0)).isEqualTo(Reason.LAGGING);
+  }
+
+  @Test
+  void determineCurrentLookupKey_countsEachDecisionPerPool() {
+    UserContextHolder.setUserId(caller);
+    transaction(true);
+    routing.determineCurrentLookupKey();
+    transaction(false);
+    routing.determineCurrentLookupKey();
+
+    assertThat(meterRegistry.get("sun.datasource.route").tags("pool", "replica", "reason", "read")
+        .counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("sun.datasource.route").tags("pool", "primary", "reason", "write")
+        .counter().count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,98 @@
+package com.sun.graphql.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.gaia.service.UserContextHolder;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing against two real Postgres servers. Run with
+ * {@code SUN_IT_PRIMARY_URL} and {@code SUN_IT_REPLICA_URL} pointing at two
+ * local instances (a streaming replica or simply a second server), plus
+ * {@code SUN_IT_USERNAME} and {@code SUN_IT_PASSWORD}. Each server is told
+ * apart by its port.
+ */
+@EnabledIfEnvironmentVariable(named = "SUN_IT_REPLICA_URL", matches = ".+")
+class ReadWriteRoutingIntegrationTest {
+
+  private static final String PORT = "SELECT current_setting('port')";
+
+  private HikariDataSource primary;
+  private HikariDataSource replica;
+  private ReplicaLagMonitor lagMonitor;
+  private JdbcTemplate jdbc;
+  private TransactionTemplate writes;
+  private TransactionTemplate reads;
+
+  @BeforeEach
+  void setUp() {
+    primary = pool(System.getenv("SUN_IT_PRIMARY_URL"));
+    replica = pool(System.getenv("SUN_IT_REPLICA_URL"));
+    lagMonitor = new ReplicaLagMonitor(new JdbcTemplate(replica), Duration.ofSeconds(5),
+        new SimpleMeterRegistry());
+    DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+        primary, replica, lagMonitor, Duration.ofMillis(500), new SimpleMeterRegistry()));
+    jdbc = new JdbcTemplate(routing);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+    writes = new TransactionTemplate(transactionManager);
+    reads = new TransactionTemplate(transactionManager);
+    reads.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    UserContextHolder.clear();
+    primary.close();
+    replica.close();
+  }
+
+  private static HikariDataSource pool(String url) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(url);
+    dataSource.setUsername(System.getenv("SUN_IT_USERNAME"));
+    dataSource.setPassword(System.getenv("SUN_IT_PASSWORD"));
+    dataSource.setMaximumPoolSize(2);
+    return dataSource;
+  }
+
+  private String port(TransactionTemplate transaction) {
+    return transaction.execute(status -> jdbc.queryForObject(PORT, String.class));
+  }
+
+  @Test
+  void readOnlyTransactionsReachTheReplicaOnceItIsChecked() {
+    String primaryPort = new JdbcTemplate(primary).queryForObject(PORT, String.class);
+    String replicaPort = new JdbcTemplate(replica).queryForObject(PORT, String.class);
+
+    assertThat(port(reads)).isEqualTo(primaryPort);
+    lagMonitor.check();
+    assertThat(port(reads)).isEqualTo(replicaPort);
+    assertThat(port(writes)).isEqualTo(primaryPort);
+  }
+
+  @Test
+  void aCallerReadsItsOwnWritesFromThePrimary() throws Exception {
+    String primaryPort = new JdbcTemplate(primary).queryForObject(PORT, String.class);
+    String replicaPort = new JdbcTemplate(replica).queryForObject(PORT, String.class);
+    lagMonitor.check();
+    UserContextHolder.setUserId(UUID.randomUUID());
+
+    port(writes);
+    assertThat(port(reads)).isEqualTo(primaryPort);
+
+    Thread.sleep(600);
+    assertThat(port(reads)).isEqualTo(replicaPort);
+  }
+}
@@ -0,0 +1,51 @@
+package com.sun.graphql.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Unit tests for ReplicaLagMonitor.
+ */
+class ReplicaLagMonitorTest {
+
+  private final JdbcTemplate replica = mock(JdbcTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), meterRegistry);
+
+  @Test
+  void unusableUntilFirstChecked() {
+    assertThat(monitor.usable()).isFalse();
+  }
+
+  @Test
+  void usableWithinTheAllowedLag() {
+    when(replica.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(1.5, 7.0);
+
+    monitor.check();
+    assertThat(monitor.usable()).isTrue();
+    assertThat(meterRegistry.get("sun.datasource.replica.lag").gauge().value()).isEqualTo(1.5);
+
+    monitor.check();
+    assertThat(monitor.usable()).isFalse();
+  }
+
+  @Test
+  void unusableWhenTheReplicaCannotBeReached() {
+    when(replica.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class))
+        .thenReturn(0.0)
+        .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+    monitor.check();
+    monitor.check();
+
+    assertThat(monitor.usable()).isFalse();
+    assertThat(monitor.lagSeconds()).isNaN();
+  }
+}
@@ -0,0 +1,78 @@
+package com.sun.graphql.fanout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.gaia.service.UserContextHolder;
+import com.sun.graphql.fanout.ComponentFanOut.Answer;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ComponentFanOut.
+ */
+class ComponentFanOutTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final UUID viewer = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    UserContextHolder.setUserId(viewer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    UserContextHolder.clear();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void submit_runsWithTheCallersUserContext() {
+    ComponentFanOut fanOut = new ComponentFanOut("test", executor, Duration.ofSeconds(5));
+
+    Answer<UUID> answer = fanOut.submit("gaia", () -> List.of(UserContextHolder.getUserId())).join();
+
+    assertThat(answer.component()).isEqualTo("gaia");
+    assertThat(answer.items()).containsExactly(viewer);
+    assertThat(answer.failed()).isFalse();
+  }
+
+  @Test
+  void submit_answersFailedWhenTheCallThrows() {
+    ComponentFanOut fanOut = new ComponentFanOut("test", executor, Duration.ofSeconds(5));
+
+    Answer<String> answer = fanOut.<String>submit("gaia", () -> {
+      throw new IllegalStateException("down");
+    }).join();
+
+    assertThat(answer.failed()).isTrue();
+    assertThat(answer.items()).isEmpty();
+  }
+
+  @Test
+  void submit_cancelsACallThatTimesOut() throws InterruptedException {
+    ComponentFanOut fanOut = new ComponentFanOut("test", executor, Duration.ofMillis(100));
+    CountDownLatch interrupted = new CountDownLatch(1);
+
+    Answer<String> answer = fanOut.<String>submit("gaia", () -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return List.of("late");
+    }).join();
+
+    assertThat(answer.failed()).isTrue();
+    assertThat(answer.latencyMs()).isEqualTo(100);
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
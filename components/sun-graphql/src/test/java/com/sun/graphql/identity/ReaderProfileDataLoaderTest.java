@@ -1,19 +1,24 @@
 package com.sun.graphql.identity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.sun.hades.codegen.types.ReaderAccount;
 import com.sun.hades.graphql.mappers.ReaderAccountMapper;
 import com.sun.hades.model.ReaderAccountEntity;
+import com.sun.hades.service.ReaderAccountChangedEvent;
 import com.sun.hades.service.ReaderAccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -22,7 +27,17 @@ class ReaderProfileDataLoaderTest {
 
   @Mock private ReaderAccountService accountService;
   @Mock private ReaderAccountMapper accountMapper;
-  @InjectMocks private ReaderProfileDataLoader loader;
+  private SimpleMeterRegistry meterRegistry;
+  private ReaderProfileCache cache;
+  private ReaderProfileDataLoader loader;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new ReaderProfileCache(Duration.ofMinutes(1), 100, meterRegistry);
+    loader = new ReaderProfileDataLoader(
+        accountService, accountMapper, cache, Runnable::run, meterRegistry);
+  }
 
   @Test
   void load_shouldBatchAndMapAccounts() throws Exception {
@@ -79,6 +94,38 @@ class ReaderProfileDataLoaderTest {
     assertThat(result.get(discordId)).isEqualTo(a);
   }
 
+  @Test
+  void load_shouldServeRepeatedIdsFromCache() throws Exception {
+    ReaderAccountEntity e = entity("123");
+    ReaderAccount a = ReaderAccount.newBuilder().id(e.getId().toString()).discordId("123").build();
+    when(accountService.findByDiscordIds(Set.of("123", "456"))).thenReturn(List.of(e));
+    when(accountMapper.map(e)).thenReturn(a);
+
+    loader.load(Set.of("123", "456")).get();
+    Map<String, ReaderAccount> result = loader.load(Set.of("123", "456")).get();
+
+    assertThat(result).containsOnlyKeys("123");
+    verify(accountService, times(1)).findByDiscordIds(Set.of("123", "456"));
+    assertThat(meterRegistry.get("reader_profile.loader.batch_size").summary().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("reader_profile.loader.misses").summary().totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void load_shouldReloadAfterAccountChanged() throws Exception {
+    ReaderAccountEntity e = entity("123");
+    ReaderAccount before = ReaderAccount.newBuilder().id(e.getId().toString()).discordUsername("old").build();
+    ReaderAccount after = ReaderAccount.newBuilder().id(e.getId().toString()).discordUsername("new").build();
+    when(accountService.findByDiscordIds(Set.of("123"))).thenReturn(List.of(e));
+    when(accountMapper.map(e)).thenReturn(before, after);
+
+    loader.load(Set.of("123")).get();
+    cache.onReaderAccountChanged(new ReaderAccountChangedEvent("123"));
+    Map<String, ReaderAccount> result = loader.load(Set.of("123")).get();
+
+    assertThat(result.get("123")).isEqualTo(after);
+    verify(accountService, times(2)).findByDiscordIds(Set.of("123"));
+  }
+
   private ReaderAccountEntity entity(String discordId) {
     ReaderAccountEntity e = new ReaderAccountEntity();
     e.setId(UUID.randomUUID());
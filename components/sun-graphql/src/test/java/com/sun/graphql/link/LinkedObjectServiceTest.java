@@ -0,0 +1,158 @@
+package com.sun.graphql.link;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.sun.gaia.service.PermissionService;
+import com.sun.gaia.service.UserContextHolder;
+import com.sun.graphql.codegen.types.LinkedObject;
+import com.sun.graphql.codegen.types.LinkedObjectComponent;
+import com.sun.graphql.codegen.types.LinkedObjects;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for LinkedObjectService fanning out to component locators.
+ */
+@ExtendWith(MockitoExtension.class)
+class LinkedObjectServiceTest {
+
+  @Mock private PermissionService permissions;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final UUID viewer = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    UserContextHolder.setUserId(viewer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    UserContextHolder.clear();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void resolve_queriesComponentsInParallel() {
+    when(permissions.has(anyString())).thenReturn(true);
+    LinkedObjectService service = service(Duration.ofSeconds(5),
+        slow("hades", 300, "a1"), slow("icarus", 300, "t1"), slow("echo", 300, "e1"));
+
+    LinkedObjects result = service.resolve(List.of("hades:text:1"));
+
+    assertThat(result.getItems()).extracting(LinkedObject::getId).containsExactly("a1", "t1", "e1");
+    assertThat(result.getComponents()).extracting(LinkedObjectComponent::getLatencyMs)
+        .allSatisfy(ms -> assertThat(ms).isGreaterThanOrEqualTo(300));
+    assertThat(result.getLatencyMs()).isLessThan(800);
+    assertThat(meterRegistry.get("linked_objects.component.latency").tag("component", "icarus")
+        .timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void resolve_dedupesAndServesRepeatsFromCache() {
+    when(permissions.has(anyString())).thenReturn(true);
+    AtomicInteger calls = new AtomicInteger();
+    LinkedObjectLocator hades = LinkedObjectLocator.of("hades", "graphql.hades.locateRemoteObjects", ids -> {
+      calls.incrementAndGet();
+      return List.of(linked("hades", "a1"), linked("hades", "a1"));
+    });
+    LinkedObjectService service = service(Duration.ofSeconds(5), hades);
+
+    LinkedObjects first = service.resolve(List.of("x", "y", "x"));
+    LinkedObjects second = service.resolve(List.of("y", "x"));
+
+    assertThat(first.getItems()).hasSize(1);
+    assertThat(second.getItems()).hasSize(1);
+    assertThat(second.getComponents().get(0).getCached()).isTrue();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void resolve_skipsComponentsWithoutPermission() {
+    when(permissions.has("graphql.hades.locateRemoteObjects")).thenReturn(true);
+    when(permissions.has("graphql.icarus.locateRemoteObjects")).thenReturn(false);
+    LinkedObjectService service = service(Duration.ofSeconds(5),
+        slow("hades", 0, "a1"), slow("icarus", 0, "t1"));
+
+    LinkedObjects result = service.resolve(List.of("x"));
+
+    assertThat(result.getComponents()).extracting(LinkedObjectComponent::getComponent)
+        .containsExactly("hades");
+    assertThat(result.getItems()).extracting(LinkedObject::getId).containsExactly("a1");
+  }
+
+  @Test
+  void resolve_reportsFailedAndTimedOutComponents() {
+    when(permissions.has(anyString())).thenReturn(true);
+    LinkedObjectLocator broken = LinkedObjectLocator.of("echo", "graphql.echo.locateRemoteObjects", ids -> {
+      throw new IllegalStateException("down");
+    });
+    LinkedObjectService service = service(Duration.ofMillis(200),
+        slow("hades", 0, "a1"), broken, slow("icarus", 2000, "t1"));
+
+    LinkedObjects result = service.resolve(List.of("x"));
+
+    assertThat(result.getItems()).extracting(LinkedObject::getId).containsExactly("a1");
+    assertThat(result.getComponents()).extracting(LinkedObjectComponent::getFailed)
+        .containsExactly(false, true, true);
+  }
+
+  @Test
+  void resolve_runsLocatorsAsTheCaller() {
+    when(permissions.has(anyString())).thenReturn(true);
+    AtomicReference<UUID> seen = new AtomicReference<>();
+    AtomicReference<String> thread = new AtomicReference<>();
+    LinkedObjectService service = service(Duration.ofSeconds(5),
+        LinkedObjectLocator.of("hades", "graphql.hades.locateRemoteObjects", ids -> {
+          seen.set(UserContextHolder.getUserId());
+          thread.set(Thread.currentThread().getName());
+          return List.of();
+        }));
+
+    service.resolve(List.of("x"));
+
+    assertThat(seen).hasValue(viewer);
+    assertThat(thread.get()).isNotEqualTo(Thread.currentThread().getName());
+  }
+
+  private LinkedObjectService service(Duration timeout, LinkedObjectLocator... locators) {
+    return new LinkedObjectService(
+        List.of(locators), permissions, executor, Duration.ofMinutes(1), timeout, meterRegistry);
+  }
+
+  private static LinkedObjectLocator slow(String component, long millis, String id) {
+    return LinkedObjectLocator.of(component, "graphql." + component + ".locateRemoteObjects", ids -> {
+      try {
+        TimeUnit.MILLISECONDS.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return List.of(linked(component, id));
+    });
+  }
+
+  private static LinkedObject linked(String component, String id) {
+    return LinkedObject.newBuilder()
+        .component(component)
+        .id(id)
+        .ownerType("OWNER")
+        .ownerId(id)
+        .build();
+  }
+}
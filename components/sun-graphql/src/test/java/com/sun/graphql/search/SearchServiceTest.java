@@ -0,0 +1,147 @@
+package com.sun.graphql.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.sun.base.search.SearchHit;
+import com.sun.gaia.service.PermissionService;
+import com.sun.gaia.service.UserContextHolder;
+import com.sun.graphql.codegen.types.SearchComponent;
+import com.sun.graphql.codegen.types.SearchResult;
+import com.sun.graphql.codegen.types.SearchResults;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for SearchService merging component searches.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+  @Mock private PermissionService permissions;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final UUID viewer = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    UserContextHolder.setUserId(viewer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    UserContextHolder.clear();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void search_mergesComponentsByRankAndPages() {
+    when(permissions.has("perm.posts")).thenReturn(true);
+    when(permissions.has("perm.texts")).thenReturn(true);
+    AtomicInteger requested = new AtomicInteger();
+    SearchProvider posts = SearchProvider.of("briareus", "BLOG_POST", "perm.posts", (q, lang, limit, offset) -> {
+      requested.set(limit);
+      return List.of(hit(0.9), hit(0.5), hit(0.1));
+    });
+    SearchProvider texts = SearchProvider.of("hades", "READER_TEXT", "perm.texts",
+        (q, lang, limit, offset) -> List.of(hit(0.7), hit(0.3)));
+    SearchService service = service(Duration.ofSeconds(5), posts, texts);
+
+    SearchResults result = service.search(" moon ", null, null, 1, 2);
+
+    assertThat(requested).hasValue(4);
+    assertThat(result.getItems()).extracting(SearchResult::getRank).containsExactly(0.7, 0.5);
+    assertThat(result.getItems()).extracting(SearchResult::getType).containsExactly("READER_TEXT", "BLOG_POST");
+    assertThat(result.getHasMore()).isTrue();
+    assertThat(result.getComponents()).extracting(SearchComponent::getComponent)
+        .containsExactly("briareus", "hades");
+  }
+
+  @Test
+  void search_skipsUnpermittedAndUnrequestedComponents() {
+    when(permissions.has("perm.posts")).thenReturn(false);
+    SearchProvider posts = SearchProvider.of("briareus", "BLOG_POST", "perm.posts",
+        (q, lang, limit, offset) -> List.of(hit(1)));
+    SearchProvider items = SearchProvider.of("cerberus", "GALLERY_ITEM", "perm.items",
+        (q, lang, limit, offset) -> List.of(hit(1)));
+    SearchService service = service(Duration.ofSeconds(5), posts, items);
+
+    SearchResults result = service.search("moon", List.of("briareus"), null, 0, 10);
+
+    assertThat(result.getItems()).isEmpty();
+    assertThat(result.getComponents()).isEmpty();
+    assertThat(result.getHasMore()).isFalse();
+  }
+
+  @Test
+  void search_reportsFailedAndSlowComponents() {
+    when(permissions.has("perm")).thenReturn(true);
+    SearchProvider broken = SearchProvider.of("briareus", "BLOG_POST", "perm", (q, lang, limit, offset) -> {
+      throw new IllegalStateException("down");
+    });
+    SearchProvider slow = SearchProvider.of("hades", "READER_TEXT", "perm", (q, lang, limit, offset) -> {
+      try {
+        Thread.sleep(2000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return List.of(hit(1));
+    });
+    SearchProvider ok = SearchProvider.of("cerberus", "GALLERY_ITEM", "perm",
+        (q, lang, limit, offset) -> List.of(hit(0.4)));
+    SearchService service = service(Duration.ofMillis(200), broken, slow, ok);
+
+    SearchResults result = service.search("moon", null, null, 0, 10);
+
+    assertThat(result.getItems()).extracting(SearchResult::getComponent).containsExactly("cerberus");
+    assertThat(result.getComponents()).extracting(SearchComponent::getFailed)
+        .containsExactly(true, true, false);
+  }
+
+  @Test
+  void search_propagatesUserContextAndLanguage() {
+    when(permissions.has("perm")).thenReturn(true);
+    AtomicReference<UUID> seenUser = new AtomicReference<>();
+    AtomicReference<String> seenLanguage = new AtomicReference<>();
+    SearchProvider posts = SearchProvider.of("briareus", "BLOG_POST", "perm", (q, lang, limit, offset) -> {
+      seenUser.set(UserContextHolder.getUserId());
+      seenLanguage.set(lang);
+      return List.of();
+    });
+
+    service(Duration.ofSeconds(5), posts).search("moon", null, " fr ", 0, 10);
+
+    assertThat(seenUser).hasValue(viewer);
+    assertThat(seenLanguage).hasValue("fr");
+  }
+
+  @Test
+  void search_rejectsOutOfRangePages() {
+    SearchService service = service(Duration.ofSeconds(5));
+
+    assertThatThrownBy(() -> service.search("moon", null, null, 0, SearchService.MAX_LIMIT + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.search("moon", null, null, -1, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private SearchService service(Duration timeout, SearchProvider... providers) {
+    return new SearchService(List.of(providers), permissions, executor, timeout);
+  }
+
+  private static SearchHit hit(double rank) {
+    return new SearchHit(UUID.randomUUID(), "title", "a <mark>moon</mark>", rank);
+  }
+}
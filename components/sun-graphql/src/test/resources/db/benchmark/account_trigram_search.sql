@@ -0,0 +1,85 @@
+-- Type-ahead search over reader accounts at 100k and 1M rows, before and
+-- after the pg_trgm GIN indexes from V33. Runs in its own schema and rolls
+-- back:
+--
+--   psql "$DATABASE_URL" -f account_trigram_search.sql
+--
+-- Each size is timed for a 2-character prefix, a 4-character substring and a
+-- 6-character substring, using the ranked query from
+-- ReaderAccountRepository.searchRanked.
+
+\timing on
+BEGIN;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE SCHEMA bench_account_trigram_search;
+SET LOCAL search_path = bench_account_trigram_search, public;
+
+CREATE TABLE accounts (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  discord_username TEXT NOT NULL,
+  global_name TEXT
+);
+
+CREATE FUNCTION syllables(seed INT) RETURNS TEXT LANGUAGE sql IMMUTABLE AS $$
+  SELECT string_agg((ARRAY['an','na','ma','ri','jo','el','ka','to','lu','be','sa','mi','ne','ro','xi','de'])
+                    [1 + ((seed * 2654435761::bigint + k * 40503) % 16)::int], '')
+  FROM generate_series(1, 2 + seed % 3) AS k
+$$;
+
+CREATE FUNCTION search(q TEXT, pattern TEXT, prefix TEXT) RETURNS SETOF accounts LANGUAGE sql AS $$
+  SELECT * FROM accounts r
+  WHERE lower(r.discord_username) LIKE pattern OR lower(r.global_name) LIKE pattern
+  ORDER BY CASE
+    WHEN lower(r.discord_username) = q OR lower(r.global_name) = q THEN 0
+    WHEN lower(r.discord_username) LIKE prefix OR lower(r.global_name) LIKE prefix THEN 1
+    ELSE 2 END,
+  greatest(similarity(lower(r.discord_username), q), similarity(lower(coalesce(r.global_name, '')), q)) DESC,
+  r.discord_username
+  LIMIT 10
+$$;
+
+-- 100k accounts
+INSERT INTO accounts (discord_username, global_name)
+SELECT syllables(g) || g, CASE WHEN g % 2 = 0 THEN syllables(g * 7) END
+FROM generate_series(1, 100000) AS g;
+ANALYZE accounts;
+
+SELECT count(*) FROM search('ma', 'ma%', 'ma%');
+SELECT count(*) FROM search('rijo', '%rijo%', 'rijo%');
+SELECT count(*) FROM search('marina', '%marina%', 'marina%');
+
+CREATE INDEX accounts_username_trgm ON accounts USING gin (lower(discord_username) gin_trgm_ops);
+CREATE INDEX accounts_global_name_trgm ON accounts USING gin (lower(global_name) gin_trgm_ops);
+ANALYZE accounts;
+
+SELECT count(*) FROM search('ma', 'ma%', 'ma%');
+SELECT count(*) FROM search('rijo', '%rijo%', 'rijo%');
+SELECT count(*) FROM search('marina', '%marina%', 'marina%');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM accounts
+WHERE lower(discord_username) LIKE '%marina%' OR lower(global_name) LIKE '%marina%';
+
+-- 1M accounts
+DROP INDEX accounts_username_trgm;
+DROP INDEX accounts_global_name_trgm;
+INSERT INTO accounts (discord_username, global_name)
+SELECT syllables(g) || g, CASE WHEN g % 2 = 0 THEN syllables(g * 7) END
+FROM generate_series(100001, 1000000) AS g;
+ANALYZE accounts;
+
+SELECT count(*) FROM search('ma', 'ma%', 'ma%');
+SELECT count(*) FROM search('rijo', '%rijo%', 'rijo%');
+SELECT count(*) FROM search('marina', '%marina%', 'marina%');
+
+CREATE INDEX accounts_username_trgm ON accounts USING gin (lower(discord_username) gin_trgm_ops);
+CREATE INDEX accounts_global_name_trgm ON accounts USING gin (lower(global_name) gin_trgm_ops);
+ANALYZE accounts;
+
+SELECT count(*) FROM search('ma', 'ma%', 'ma%');
+SELECT count(*) FROM search('rijo', '%rijo%', 'rijo%');
+SELECT count(*) FROM search('marina', '%marina%', 'marina%');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM accounts
+WHERE lower(discord_username) LIKE '%marina%' OR lower(global_name) LIKE '%marina%';
+
+ROLLBACK;
@@ -0,0 +1,60 @@
+-- Compares reading one 4000-character page of a 2 MB reader text from the
+-- legacy content column with reading it from hades_reader_text_chunks. Runs
+-- in its own schema and rolls back:
+--
+--   psql "$DATABASE_URL" -f reader_text_chunks.sql
+--
+-- The chunk data here is plain UTF-8 (SQL has no Deflate); ReaderTextChunks
+-- compresses it further, so real chunks are smaller than these.
+
+\timing on
+BEGIN;
+CREATE SCHEMA bench_reader_text_chunks;
+SET LOCAL search_path = bench_reader_text_chunks, public;
+
+CREATE TABLE texts (
+  id UUID PRIMARY KEY,
+  content TEXT
+);
+
+INSERT INTO texts
+SELECT '00000000-0000-0000-0000-000000000001',
+       string_agg((ARRAY['la', 'maison', 'était', 'silencieuse', 'quand', 'Marie', 'ouvrit', 'la porte'])
+                  [1 + (g * 7919) % 8], ' ')
+FROM generate_series(1, 330000) AS g;
+
+UPDATE texts SET content = left(content, 2097152);
+
+CREATE TABLE chunks (
+  text_id UUID NOT NULL REFERENCES texts(id) ON DELETE CASCADE,
+  seq INT NOT NULL,
+  char_offset INT NOT NULL,
+  char_length INT NOT NULL,
+  data BYTEA NOT NULL,
+  PRIMARY KEY (text_id, seq)
+);
+CREATE INDEX ON chunks (text_id, char_offset);
+
+INSERT INTO chunks
+SELECT t.id, s.seq, s.seq * 16384, length(substring(t.content FROM s.seq * 16384 + 1 FOR 16384)),
+       convert_to(substring(t.content FROM s.seq * 16384 + 1 FOR 16384), 'UTF8')
+FROM texts t, generate_series(0, 127) AS s(seq);
+
+ANALYZE texts;
+ANALYZE chunks;
+
+-- Before: the entity load detoasts and ships the whole body.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT content FROM texts WHERE id = '00000000-0000-0000-0000-000000000001';
+
+-- After: only the chunks overlapping [1048699, 1052699) are read.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT seq, char_offset, char_length, data FROM chunks
+WHERE text_id = '00000000-0000-0000-0000-000000000001'
+  AND char_offset < 1052699 AND char_offset + char_length > 1048699
+ORDER BY seq;
+
+SELECT pg_size_pretty(pg_column_size(content)::bigint) AS legacy_stored FROM texts;
+SELECT pg_size_pretty(sum(pg_column_size(data))::bigint) AS chunks_stored FROM chunks;
+
+ROLLBACK;
@@ -0,0 +1,55 @@
+-- Compares the remote_object_refs reverse index with the JSONB array scan it
+-- replaced, at 1M owner rows. Runs in its own schema and rolls back:
+--
+--   psql "$DATABASE_URL" -f remote_object_refs.sql
+--
+-- Each owner references 1-4 of 200k remote objects; the lookup asks for 20.
+
+\timing on
+BEGIN;
+CREATE SCHEMA bench_remote_object_refs;
+SET LOCAL search_path = bench_remote_object_refs, public;
+
+CREATE TABLE owners (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  remote_object JSONB NOT NULL
+);
+
+INSERT INTO owners (remote_object)
+SELECT (
+  SELECT jsonb_agg('hades:text:' || ((g * 7919 + k * 104729) % 200000))
+  FROM generate_series(1, 1 + g % 4) AS k
+)
+FROM generate_series(1, 1000000) AS g;
+
+CREATE TABLE remote_object_refs (
+  owner_type VARCHAR(64) NOT NULL,
+  owner_id UUID NOT NULL,
+  target TEXT NOT NULL,
+  PRIMARY KEY (owner_type, owner_id, target)
+);
+CREATE INDEX idx_remote_object_refs_target ON remote_object_refs (target, owner_type);
+
+INSERT INTO remote_object_refs (owner_type, owner_id, target)
+SELECT 'owners', o.id, elem FROM owners o, jsonb_array_elements_text(o.remote_object) AS elem
+ON CONFLICT DO NOTHING;
+
+ANALYZE owners;
+ANALYZE remote_object_refs;
+
+CREATE TEMP TABLE wanted AS
+SELECT array_agg('hades:text:' || (i * 9973 % 200000)) AS ids FROM generate_series(1, 20) AS i;
+
+-- Before: JSONB scan, as the old findByRemoteObjectsIn queries did.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM owners
+WHERE EXISTS (SELECT 1 FROM jsonb_array_elements_text(remote_object) AS elem
+              WHERE elem = ANY((SELECT ids FROM wanted)));
+
+-- After: reverse index, as RemoteObjectRefRepositoryImpl queries it.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT o.* FROM owners o
+WHERE o.id IN (SELECT r.owner_id FROM remote_object_refs r
+               WHERE r.owner_type = 'owners' AND r.target = ANY((SELECT ids FROM wanted)));
+
+ROLLBACK;
@@ -27,7 +27,9 @@ public class AuditContext {
        */
       OperationMetadata metadata,
       /**
-       * The raw request variables or body.
+       * The request variables or body as received; made JSON-safe and
+       * redacted only when the row is persisted. Null when the operation's
+       * verbosity excludes the payload.
        */
       Object variables,
       /**
@@ -45,6 +47,7 @@ public class AuditContext {
 
   private static final class AuditState {
     final List<AuditOperation> operations = new ArrayList<>();
+    int skipped;
     UUID correlationId;
     Instant startedAt;
     String endpoint;
@@ -90,6 +93,21 @@ public class AuditContext {
     state().operations.add(operation);
   }
 
+  /**
+   * Notes an operation that ran but was left out of the audit trail by its
+   * verbosity or sampling policy.
+   */
+  public void skipOperation() {
+    state().skipped++;
+  }
+
+  /**
+   * @return how many operations the current request left out by policy
+   */
+  public int skippedOperations() {
+    return state().skipped;
+  }
+
   /**
    * @return the operations captured for the current request so far
    */
@@ -35,4 +35,12 @@ public record AuditRequestSnapshot(
     /**
      * The response status code.
      */
-    int httpStatus) {}
+    int httpStatus,
+    /**
+     * The number of response body bytes sent.
+     */
+    long responseBytes,
+    /**
+     * The hex SHA-256 of the response body, or null when it was not captured.
+     */
+    String responseSha256) {}
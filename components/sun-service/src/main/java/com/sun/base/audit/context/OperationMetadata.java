@@ -1,5 +1,6 @@
 package com.sun.base.audit.context;
 
+import com.sun.base.audit.enums.AuditVerbosity;
 import com.sun.base.audit.enums.OperationType;
 import java.util.Set;
 
@@ -26,7 +27,23 @@ public record OperationMetadata(
     /**
      * Field names to mask in the stored payload.
      */
-    Set<String> sensitiveFields) {
+    Set<String> sensitiveFields,
+    /**
+     * How much of the operation to keep.
+     */
+    AuditVerbosity verbosity,
+    /**
+     * Fraction of executions recorded, from 0 to 1.
+     */
+    double sampleRate) {
+
+  /**
+   * Metadata for an operation recorded in full on every execution.
+   */
+  public OperationMetadata(String eventType, OperationType operationType, String namespace,
+                           String targetEntity, Set<String> sensitiveFields) {
+    this(eventType, operationType, namespace, targetEntity, sensitiveFields, AuditVerbosity.FULL, 1.0);
+  }
 
   /**
    * Builds a fallback metadata for unmapped operations or endpoints.
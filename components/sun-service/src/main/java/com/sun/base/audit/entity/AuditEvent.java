@@ -82,6 +82,13 @@ public class AuditEvent {
   @Column(name = "duration_ms", updatable = false)
   private Long durationMs;
 
+  @Column(name = "response_bytes", updatable = false)
+  private Long responseBytes;
+
+  /** SHA-256 of the response body; null for binary and streamed responses. */
+  @Column(name = "response_sha256", updatable = false, columnDefinition = "text")
+  private String responseSha256;
+
   /** Masked request body/variables, safe to store as plain text. */
   @Column(name = "payload_redacted", updatable = false, columnDefinition = "text")
   private String payloadRedacted;
@@ -228,6 +235,22 @@ public class AuditEvent {
     this.durationMs = durationMs;
   }
 
+  public Long getResponseBytes() {
+    return responseBytes;
+  }
+
+  public void setResponseBytes(Long responseBytes) {
+    this.responseBytes = responseBytes;
+  }
+
+  public String getResponseSha256() {
+    return responseSha256;
+  }
+
+  public void setResponseSha256(String responseSha256) {
+    this.responseSha256 = responseSha256;
+  }
+
   public String getPayloadRedacted() {
     return payloadRedacted;
   }
@@ -0,0 +1,19 @@
+package com.sun.base.audit.enums;
+
+/**
+ * How much of an operation the audit trail keeps.
+ */
+public enum AuditVerbosity {
+  /**
+   * Not recorded at all.
+   */
+  NONE,
+  /**
+   * A row without the request payload.
+   */
+  METADATA,
+  /**
+   * A row with the redacted request payload.
+   */
+  FULL
+}
@@ -2,15 +2,25 @@ package com.sun.base.audit.redaction;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
  * Masks sensitive fields in a payload before it's stored. Passwords and tokens
  * are always masked.
+ *
+ * <p>The payload is serialized once through a {@link RedactingGenerator} that
+ * swaps masked values for {@link #MASK} as the tokens go by, so no tree or copy
+ * of the payload is built. Which field names to mask is decided by a
+ * {@link Plan} compiled once per sensitive-field set, which remembers its
+ * verdict for each name it has seen.
  */
 @Component
 public class PayloadRedactor {
@@ -23,65 +33,115 @@ public class PayloadRedactor {
    * operation. Matched case-insensitively on contains, so password,
    * newPassword, and passwordHash are all caught.
    */
-  private static final Set<String> SECRET_FRAGMENTS =
-      Set.of("password", "secret", "token", "authorization", "credential", "apikey", "api_key");
+  private static final String[] SECRET_FRAGMENTS =
+      {"password", "secret", "token", "authorization", "credential", "apikey", "api_key"};
+
+  /** Bound on remembered verdicts per plan; names past it are decided each time. */
+  static final int MAX_VERDICTS = 4096;
+
+  /** Bound on compiled plans; operations declare a handful of distinct sets. */
+  static final int MAX_PLANS = 256;
 
   private final ObjectMapper mapper;
+  private final Plan secretsOnly = new Plan(Set.of());
+  private final Map<Set<String>, Plan> plans = new ConcurrentHashMap<>();
 
   public PayloadRedactor(ObjectMapper mapper) {
     this.mapper = mapper;
   }
 
   /**
-   * Produces a deep-copied, masked view of the payload. Secrets and sensitive
-   * fields are replaced with a mask. The input is not mutated.
+   * Serializes the payload as JSON with secrets and sensitive fields masked.
+   * The input is not mutated.
+   *
+   * @param payload the request variables/body to mask
+   * @param sensitiveFields field names to mask in addition to the deny-list
+   * @return the masked JSON, or null for a null payload
+   * @throws UncheckedIOException when the payload cannot be serialized
+   */
+  public String redactToJson(Object payload, Set<String> sensitiveFields) {
+    if (payload == null) {
+      return null;
+    }
+    StringWriter out = new StringWriter();
+    try (RedactingGenerator generator =
+        new RedactingGenerator(mapper.getFactory().createGenerator(out), plan(sensitiveFields))) {
+      mapper.writeValue(generator, payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Produces a masked JSON tree of the payload. Secrets and sensitive fields
+   * are replaced with a mask. The input is not mutated.
    *
    * @param payload the request variables/body to mask
    * @param sensitiveFields field names to mask in addition to the deny-list
    * @return a new masked JSON tree
    */
   public JsonNode redact(Object payload, Set<String> sensitiveFields) {
-    JsonNode root = mapper.valueToTree(payload);
-    redactInPlace(root, sensitiveFields);
-    return root;
+    try {
+      return mapper.readTree(String.valueOf(redactToJson(payload, sensitiveFields)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
-  private void redactInPlace(JsonNode node, Set<String> sensitiveFields) {
-    if (node == null || !node.isObject()) {
-      return;
+  private Plan plan(Set<String> sensitiveFields) {
+    if (sensitiveFields == null || sensitiveFields.isEmpty()) {
+      return secretsOnly;
     }
-    ObjectNode obj = (ObjectNode) node;
-    obj.fieldNames().forEachRemaining(name -> {
-      if (isSecret(name) || contains(sensitiveFields, name)) {
-        obj.set(name, TextNode.valueOf(MASK));
-      } else {
-        JsonNode child = obj.get(name);
-        if (child != null && child.isObject()) {
-          redactInPlace(child, sensitiveFields);
-        } else if (child != null && child.isArray()) {
-          redactArray((ArrayNode) child, sensitiveFields);
-        }
+    Plan plan = plans.get(sensitiveFields);
+    if (plan == null) {
+      plan = new Plan(sensitiveFields);
+      if (plans.size() < MAX_PLANS) {
+        plans.putIfAbsent(Set.copyOf(sensitiveFields), plan);
       }
-    });
+    }
+    return plan;
   }
 
-  private void redactArray(ArrayNode array, Set<String> sensitiveFields) {
-    for (JsonNode element : array) {
-      if (element.isObject()) {
-        redactInPlace(element, sensitiveFields);
+  static boolean isSecret(String lowerName) {
+    for (String fragment : SECRET_FRAGMENTS) {
+      if (lowerName.contains(fragment)) {
+        return true;
       }
     }
+    return false;
   }
 
-  private boolean isSecret(String fieldName) {
-    String lower = fieldName.toLowerCase();
-    return SECRET_FRAGMENTS.stream().anyMatch(lower::contains);
-  }
+  /**
+   * The field-name decision table for one sensitive-field set.
+   */
+  static final class Plan {
 
-  private boolean contains(Set<String> fields, String fieldName) {
-    if (fields == null || fields.isEmpty()) {
-      return false;
+    private final Set<String> sensitive;
+    private final Map<String, Boolean> verdicts = new ConcurrentHashMap<>();
+
+    Plan(Set<String> sensitiveFields) {
+      this.sensitive = sensitiveFields.stream()
+          .map(f -> f.toLowerCase(Locale.ROOT))
+          .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Whether values under this field name are masked.
+     *
+     * @param name the field name as written
+     * @return true to mask
+     */
+    boolean masks(String name) {
+      Boolean verdict = verdicts.get(name);
+      if (verdict == null) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        verdict = isSecret(lower) || sensitive.contains(lower);
+        if (verdicts.size() < MAX_VERDICTS) {
+          verdicts.put(name, verdict);
+        }
+      }
+      return verdict;
     }
-    return fields.stream().anyMatch(f -> f.equalsIgnoreCase(fieldName));
   }
 }
@@ -0,0 +1,391 @@
+package com.sun.base.audit.redaction;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Generator that masks values as they are written: after a field name the
+ * {@link PayloadRedactor.Plan} masks, it writes {@link PayloadRedactor#MASK}
+ * and swallows the tokens of the original value, however deeply nested.
+ * Everything else passes straight through to the underlying generator.
+ *
+ * <p>Copy methods are not delegated, so objects, trees and parser copies are
+ * serialized token by token through this generator.
+ */
+final class RedactingGenerator extends JsonGeneratorDelegate {
+
+  private static final int NOT_SKIPPING = -1;
+
+  private final PayloadRedactor.Plan plan;
+
+  /**
+   * Container depth inside the value being skipped: 0 right after a masked
+   * field name, until its scalar or closing token; NOT_SKIPPING otherwise.
+   */
+  private int skipDepth = NOT_SKIPPING;
+
+  RedactingGenerator(JsonGenerator delegate, PayloadRedactor.Plan plan) {
+    super(delegate, false);
+    this.plan = plan;
+  }
+
+  /**
+   * Accounts for one scalar token.
+   *
+   * @return true when it belongs to a masked value and must not be written
+   */
+  private boolean skipScalar() {
+    if (skipDepth == NOT_SKIPPING) {
+      return false;
+    }
+    if (skipDepth == 0) {
+      skipDepth = NOT_SKIPPING;
+    }
+    return true;
+  }
+
+  private boolean skipStart() {
+    if (skipDepth == NOT_SKIPPING) {
+      return false;
+    }
+    skipDepth++;
+    return true;
+  }
+
+  private boolean skipEnd() {
+    if (skipDepth == NOT_SKIPPING) {
+      return false;
+    }
+    if (--skipDepth == 0) {
+      skipDepth = NOT_SKIPPING;
+    }
+    return true;
+  }
+
+  private boolean mask(String name) throws IOException {
+    if (skipDepth != NOT_SKIPPING) {
+      return true;
+    }
+    if (!plan.masks(name)) {
+      return false;
+    }
+    delegate.writeFieldName(name);
+    delegate.writeString(PayloadRedactor.MASK);
+    skipDepth = 0;
+    return true;
+  }
+
+  // Structure
+
+  @Override
+  public void writeStartArray() throws IOException {
+    if (!skipStart()) {
+      super.writeStartArray();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  public void writeStartArray(int size) throws IOException {
+    if (!skipStart()) {
+      super.writeStartArray(size);
+    }
+  }
+
+  @Override
+  public void writeStartArray(Object forValue) throws IOException {
+    if (!skipStart()) {
+      super.writeStartArray(forValue);
+    }
+  }
+
+  @Override
+  public void writeStartArray(Object forValue, int size) throws IOException {
+    if (!skipStart()) {
+      super.writeStartArray(forValue, size);
+    }
+  }
+
+  @Override
+  public void writeEndArray() throws IOException {
+    if (!skipEnd()) {
+      super.writeEndArray();
+    }
+  }
+
+  @Override
+  public void writeStartObject() throws IOException {
+    if (!skipStart()) {
+      super.writeStartObject();
+    }
+  }
+
+  @Override
+  public void writeStartObject(Object forValue) throws IOException {
+    if (!skipStart()) {
+      super.writeStartObject(forValue);
+    }
+  }
+
+  @Override
+  public void writeStartObject(Object forValue, int size) throws IOException {
+    if (!skipStart()) {
+      super.writeStartObject(forValue, size);
+    }
+  }
+
+  @Override
+  public void writeEndObject() throws IOException {
+    if (!skipEnd()) {
+      super.writeEndObject();
+    }
+  }
+
+  @Override
+  public void writeFieldName(String name) throws IOException {
+    if (!mask(name)) {
+      super.writeFieldName(name);
+    }
+  }
+
+  @Override
+  public void writeFieldName(SerializableString name) throws IOException {
+    if (!mask(name.getValue())) {
+      super.writeFieldName(name);
+    }
+  }
+
+  @Override
+  public void writeFieldId(long id) throws IOException {
+    writeFieldName(Long.toString(id));
+  }
+
+  @Override
+  public void writeOmittedField(String fieldName) throws IOException {
+    if (skipDepth == NOT_SKIPPING) {
+      super.writeOmittedField(fieldName);
+    }
+  }
+
+  // Scalars
+
+  @Override
+  public void writeArray(int[] array, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeArray(array, offset, length);
+    }
+  }
+
+  @Override
+  public void writeArray(long[] array, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeArray(array, offset, length);
+    }
+  }
+
+  @Override
+  public void writeArray(double[] array, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeArray(array, offset, length);
+    }
+  }
+
+  @Override
+  public void writeArray(String[] array, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeArray(array, offset, length);
+    }
+  }
+
+  @Override
+  public void writeString(String text) throws IOException {
+    if (!skipScalar()) {
+      super.writeString(text);
+    }
+  }
+
+  @Override
+  public void writeString(Reader reader, int len) throws IOException {
+    if (!skipScalar()) {
+      super.writeString(reader, len);
+    }
+  }
+
+  @Override
+  public void writeString(char[] text, int offset, int len) throws IOException {
+    if (!skipScalar()) {
+      super.writeString(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeString(SerializableString text) throws IOException {
+    if (!skipScalar()) {
+      super.writeString(text);
+    }
+  }
+
+  @Override
+  public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeRawUTF8String(text, offset, length);
+    }
+  }
+
+  @Override
+  public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeUTF8String(text, offset, length);
+    }
+  }
+
+  @Override
+  public void writeRawValue(String text) throws IOException {
+    if (!skipScalar()) {
+      super.writeRawValue(text);
+    }
+  }
+
+  @Override
+  public void writeRawValue(String text, int offset, int len) throws IOException {
+    if (!skipScalar()) {
+      super.writeRawValue(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeRawValue(char[] text, int offset, int len) throws IOException {
+    if (!skipScalar()) {
+      super.writeRawValue(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len)
+      throws IOException {
+    if (!skipScalar()) {
+      super.writeBinary(b64variant, data, offset, len);
+    }
+  }
+
+  @Override
+  public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength)
+      throws IOException {
+    if (skipScalar()) {
+      return dataLength;
+    }
+    return super.writeBinary(b64variant, data, dataLength);
+  }
+
+  @Override
+  public void writeNumber(short v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(int v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(long v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(BigInteger v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(double v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(float v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(BigDecimal v) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(String encodedValue) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(encodedValue);
+    }
+  }
+
+  @Override
+  public void writeNumber(char[] encodedValueBuffer, int offset, int length) throws IOException {
+    if (!skipScalar()) {
+      super.writeNumber(encodedValueBuffer, offset, length);
+    }
+  }
+
+  @Override
+  public void writeBoolean(boolean state) throws IOException {
+    if (!skipScalar()) {
+      super.writeBoolean(state);
+    }
+  }
+
+  @Override
+  public void writeNull() throws IOException {
+    if (!skipScalar()) {
+      super.writeNull();
+    }
+  }
+
+  @Override
+  public void writeEmbeddedObject(Object object) throws IOException {
+    if (!skipScalar()) {
+      super.writeEmbeddedObject(object);
+    }
+  }
+
+  @Override
+  public void writeTypeId(Object id) throws IOException {
+    if (skipDepth == NOT_SKIPPING) {
+      super.writeTypeId(id);
+    }
+  }
+
+  @Override
+  public void writeObjectId(Object id) throws IOException {
+    if (!skipScalar()) {
+      super.writeObjectId(id);
+    }
+  }
+
+  @Override
+  public void writeObjectRef(Object id) throws IOException {
+    if (!skipScalar()) {
+      super.writeObjectRef(id);
+    }
+  }
+}
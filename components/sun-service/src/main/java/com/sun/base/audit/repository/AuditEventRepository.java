@@ -5,12 +5,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 /**
  * Repository for AuditEvent rows. Insert and read only - the table is append-only
  * both here (no update/delete methods) and at the database (triggers).
+ * Specifications back the time-bounded audit search.
  */
-public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
+public interface AuditEventRepository
+    extends JpaRepository<AuditEvent, UUID>, JpaSpecificationExecutor<AuditEvent> {
 
   /**
    * Most recent audit row, used to seed the global hash chain.
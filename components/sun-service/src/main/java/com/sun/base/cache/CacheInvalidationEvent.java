@@ -0,0 +1,24 @@
+package com.sun.base.cache;
+
+import java.util.Set;
+
+/**
+ * Published by a mutation to drop cached reads it made stale. Each tag names
+ * a kind of data, e.g. {@code hades.texts}; the gateway's cache manager clears
+ * every cache declared with one of the tags once the publishing transaction
+ * commits.
+ *
+ * @param tags the invalidated tags
+ */
+public record CacheInvalidationEvent(Set<String> tags) {
+
+  /**
+   * An event for the given tags.
+   *
+   * @param tags the invalidated tags
+   * @return the event
+   */
+  public static CacheInvalidationEvent of(String... tags) {
+    return new CacheInvalidationEvent(Set.of(tags));
+  }
+}
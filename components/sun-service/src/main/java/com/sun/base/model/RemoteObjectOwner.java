@@ -0,0 +1,17 @@
+package com.sun.base.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An entity carrying a {@code remote_object} list of cross-component
+ * references. Owners registered with {@link RemoteObjectRefListener} are
+ * mirrored into the {@code remote_object_refs} reverse index, which is what
+ * {@code locateRemoteObjects} queries instead of scanning the JSONB column.
+ */
+public interface RemoteObjectOwner {
+
+  UUID getId();
+
+  List<String> getRemoteObject();
+}
@@ -0,0 +1,32 @@
+package com.sun.base.model;
+
+import com.sun.base.repository.RemoteObjectRefIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps the {@code remote_object_refs} reverse index in step with an owner's
+ * {@code remote_object} column. Runs inside the flush that writes the owner, so
+ * every attach, detach, create and delete path updates the index in the same
+ * transaction without having to call it explicitly.
+ */
+public class RemoteObjectRefListener {
+
+  private final RemoteObjectRefIndex index;
+
+  public RemoteObjectRefListener(RemoteObjectRefIndex index) {
+    this.index = index;
+  }
+
+  @PostPersist
+  @PostUpdate
+  void sync(RemoteObjectOwner owner) {
+    index.replace(RemoteObjectRefIndex.ownerType(owner.getClass()), owner.getId(), owner.getRemoteObject());
+  }
+
+  @PostRemove
+  void remove(RemoteObjectOwner owner) {
+    index.remove(RemoteObjectRefIndex.ownerType(owner.getClass()), owner.getId());
+  }
+}
@@ -0,0 +1,36 @@
+package com.sun.base.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the static query cost of a data-fetcher method's field, overriding
+ * the gateway default of one per field. The cost of the field's selections is
+ * multiplied by the number of items it returns, read from its pagination
+ * arguments.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cost {
+
+  /**
+   * Cost of resolving the field once, excluding its selections.
+   */
+  int value() default 1;
+
+  /**
+   * Arguments giving the number of items returned, first present wins;
+   * dotted paths reach into input objects. Empty means the gateway defaults
+   * ({@code limit}, {@code first}, {@code last}, {@code size},
+   * {@code pagination.size}).
+   */
+  String[] multipliers() default {};
+
+  /**
+   * Number of items assumed when none of the multiplier arguments is given;
+   * zero means the gateway default.
+   */
+  int defaultSize() default 0;
+}
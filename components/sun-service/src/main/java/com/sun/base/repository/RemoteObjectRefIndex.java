@@ -0,0 +1,95 @@
+package com.sun.base.repository;
+
+import jakarta.persistence.Table;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Maintains the {@code remote_object_refs} reverse index: one row per
+ * (owner table, owner id, referenced remote object id), with a B-tree on the
+ * target so lookups by remote object touch only the matching rows.
+ *
+ * <p>The owner type is the owning entity's table name, which keeps ids from
+ * different components apart without a registry.
+ */
+@Repository
+public class RemoteObjectRefIndex {
+
+  private static final Map<Class<?>, String> OWNER_TYPES = new ConcurrentHashMap<>();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RemoteObjectRefIndex(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Makes the indexed targets of one owner equal to the given list, touching
+   * only the rows that changed.
+   *
+   * @param ownerType the owner table name
+   * @param ownerId the owner id
+   * @param targets the owner's remote object ids, or null for none
+   */
+  public void replace(String ownerType, UUID ownerId, Collection<String> targets) {
+    String[] wanted = distinct(targets);
+    jdbcTemplate.update(
+        "DELETE FROM remote_object_refs WHERE owner_type = ? AND owner_id = ? AND NOT (target = ANY(?))",
+        ownerType, ownerId, wanted);
+    if (wanted.length > 0) {
+      jdbcTemplate.update(
+          "INSERT INTO remote_object_refs (owner_type, owner_id, target) "
+              + "SELECT ?, ?, t FROM unnest(?::text[]) AS t ON CONFLICT DO NOTHING",
+          ownerType, ownerId, wanted);
+    }
+  }
+
+  /**
+   * Drops every indexed target of one owner.
+   *
+   * @param ownerType the owner table name
+   * @param ownerId the owner id
+   */
+  public void remove(String ownerType, UUID ownerId) {
+    jdbcTemplate.update(
+        "DELETE FROM remote_object_refs WHERE owner_type = ? AND owner_id = ?", ownerType, ownerId);
+  }
+
+  /**
+   * The owner type of an entity class: the name of its mapped table.
+   *
+   * @param type the entity class, or a subclass of it
+   * @return the table name
+   * @throws IllegalArgumentException when no {@code @Table} is declared
+   */
+  public static String ownerType(Class<?> type) {
+    return OWNER_TYPES.computeIfAbsent(type, t -> {
+      for (Class<?> c = t; c != null; c = c.getSuperclass()) {
+        Table table = c.getAnnotation(Table.class);
+        if (table != null && !table.name().isBlank()) {
+          return table.name();
+        }
+      }
+      throw new IllegalArgumentException("No @Table on " + t.getName());
+    });
+  }
+
+  private static String[] distinct(Collection<String> targets) {
+    if (targets == null || targets.isEmpty()) {
+      return new String[0];
+    }
+    Set<String> unique = new LinkedHashSet<>();
+    for (String target : targets) {
+      if (target != null && !target.isBlank()) {
+        unique.add(target);
+      }
+    }
+    return unique.toArray(new String[0]);
+  }
+}
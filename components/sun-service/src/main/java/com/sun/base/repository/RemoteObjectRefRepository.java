@@ -0,0 +1,24 @@
+package com.sun.base.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository fragment answering remote-object lookups from the
+ * {@code remote_object_refs} reverse index. Repositories of
+ * {@link com.sun.base.model.RemoteObjectOwner} entities extend it and
+ * implement {@code findByRemoteObjectsIn} on top of it.
+ */
+public interface RemoteObjectRefRepository {
+
+  /**
+   * Loads the entities of the given type that reference any of the given
+   * remote object ids, in one query.
+   *
+   * @param type the owner entity class
+   * @param targets the remote object ids
+   * @param <T> the owner entity type
+   * @return the matching entities
+   */
+  <T> List<T> findByRemoteObjectRefs(Class<T> type, Collection<String> targets);
+}
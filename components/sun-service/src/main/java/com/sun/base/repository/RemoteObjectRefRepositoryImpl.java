@@ -0,0 +1,31 @@
+package com.sun.base.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Native-query implementation of {@link RemoteObjectRefRepository}, picked up
+ * by Spring Data for every repository extending the fragment.
+ */
+public class RemoteObjectRefRepositoryImpl implements RemoteObjectRefRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> List<T> findByRemoteObjectRefs(Class<T> type, Collection<String> targets) {
+    if (targets == null || targets.isEmpty()) {
+      return List.of();
+    }
+    String ownerType = RemoteObjectRefIndex.ownerType(type);
+    return entityManager.createNativeQuery(
+            "SELECT o.* FROM " + ownerType + " o WHERE o.id IN (SELECT r.owner_id FROM remote_object_refs r "
+                + "WHERE r.owner_type = ?1 AND r.target = ANY(?2))", type)
+        .setParameter(1, ownerType)
+        .setParameter(2, targets.toArray(new String[0]))
+        .getResultList();
+  }
+}
@@ -0,0 +1,85 @@
+package com.sun.base.search;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Ranked full-text search over a table with a {@code search_vector}
+ * tsvector column and a GIN index on it. Queries use web-search syntax
+ * (quoted phrases, {@code or}, {@code -excluded}) and are parsed by
+ * {@code sun_search_query}: with the given language's configuration, or
+ * with every configuration at once so stemmed documents in any language
+ * match. Only the returned page is loaded in full for its snippets.
+ */
+@Repository
+public class FullTextSearch {
+
+  /** ts_headline options shared by every search source. */
+  public static final String HEADLINE_OPTIONS =
+      "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" ... \"";
+
+  /**
+   * Wraps a text expression so its HTML special characters are escaped.
+   * Snippets are HTML, so the text ts_headline cuts them from must be
+   * escaped before it adds the {@code <mark>} tags; otherwise markup in a
+   * body reaches the client unescaped.
+   *
+   * @param expression a trusted SQL text expression
+   * @return the escaped expression
+   */
+  public static String htmlEscaped(String expression) {
+    return "replace(replace(replace(" + expression + ", '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+  }
+
+  /**
+   * A searchable table. The expressions are trusted SQL over the alias
+   * {@code t}; they never carry user input.
+   *
+   * @param table the table name
+   * @param title the title expression
+   * @param body the expression snippets are cut from
+   * @param language the expression giving a row's language, or {@code NULL}
+   * @param filter an extra predicate, or null for none
+   */
+  public record Source(String table, String title, String body, String language, String filter) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public FullTextSearch(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Runs a ranked search.
+   *
+   * @param source the table to search
+   * @param query the web-search query
+   * @param language the query language, or null to match every configured one
+   * @param limit the maximum number of hits
+   * @param offset the number of hits to skip
+   * @return the hits, best first
+   */
+  public List<SearchHit> search(Source source, String query, String language, int limit, long offset) {
+    if (query == null || query.isBlank() || limit <= 0) {
+      return List.of();
+    }
+    String sql = "SELECT t.id, " + source.title() + ", h.rank, "
+        + "ts_headline(sun_search_config(" + source.language() + "), "
+        + htmlEscaped("coalesce(" + source.body() + ", '')") + ", "
+        + "websearch_to_tsquery(sun_search_config(" + source.language() + "), ?), '" + HEADLINE_OPTIONS + "') "
+        + "FROM (SELECT t.id, ts_rank_cd(t.search_vector, q.query) AS rank "
+        + "      FROM " + source.table() + " t, sun_search_query(?, ?) AS q(query) "
+        + "      WHERE t.search_vector @@ q.query"
+        + (source.filter() == null ? "" : " AND (" + source.filter() + ")")
+        + "      ORDER BY rank DESC, t.id LIMIT ? OFFSET ?) h "
+        + "JOIN " + source.table() + " t ON t.id = h.id "
+        + "ORDER BY h.rank DESC, t.id";
+    return jdbcTemplate.query(sql,
+        (rs, i) -> new SearchHit(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(4),
+            rs.getDouble(3)),
+        query, query, language, limit, offset);
+  }
+}
@@ -0,0 +1,15 @@
+package com.sun.base.search;
+
+import java.util.UUID;
+
+/**
+ * One full-text search match.
+ *
+ * @param id the matching row's id
+ * @param title the row's title
+ * @param snippet an HTML excerpt of the body, escaped, with matches wrapped in
+ *     {@code <mark>}
+ * @param rank the {@code ts_rank_cd} score; higher is better
+ */
+public record SearchHit(UUID id, String title, String snippet, double rank) {
+}
@@ -0,0 +1,120 @@
+package com.sun.base.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Shared pieces of the pipelines that derive files from an upload, such as
+ * resized gallery images and stem renditions. Derived files are named after
+ * a hash of the original and the settings that produced them, so their URLs
+ * change whenever their content does and can be cached forever. They are
+ * written under a temporary name and moved into place, so such a URL never
+ * serves a partial file.
+ */
+public final class DerivedFiles {
+
+  private DerivedFiles() {
+  }
+
+  /**
+   * Hashes an original file together with the settings that derive from it.
+   *
+   * @param settings the pipeline version and settings, joined
+   * @param original the original file
+   * @param length the number of hex characters to keep
+   * @return the truncated hex SHA-256
+   * @throws IOException if the original cannot be read
+   */
+  public static String fingerprint(String settings, Path original, int length) throws IOException {
+    MessageDigest digest = digest(settings);
+    try (InputStream in = new DigestInputStream(Files.newInputStream(original), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    return HexFormat.of().formatHex(digest.digest()).substring(0, length);
+  }
+
+  /**
+   * Hashes an original already in memory together with the settings that
+   * derive from it.
+   *
+   * @param settings the pipeline version and settings, joined
+   * @param original the original's bytes
+   * @param length the number of hex characters to keep
+   * @return the truncated hex SHA-256
+   */
+  public static String fingerprint(String settings, byte[] original, int length) {
+    MessageDigest digest = digest(settings);
+    digest.update(original);
+    return HexFormat.of().formatHex(digest.digest()).substring(0, length);
+  }
+
+  private static MessageDigest digest(String settings) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update((settings + "|").getBytes(StandardCharsets.UTF_8));
+    return digest;
+  }
+
+  /**
+   * Atomically replaces a derived file with its fully written temporary copy.
+   *
+   * @param partial the temporary copy, in the same directory
+   * @param target the derived file's final name
+   * @throws IOException if the move fails
+   */
+  public static void moveIntoPlace(Path partial, Path target) throws IOException {
+    Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Registers a pipeline's file size summary for one kind of file, e.g. the
+   * originals or what was derived from them.
+   *
+   * @param meterRegistry the registry
+   * @param name the meter name
+   * @param description the meter description
+   * @param kind the {@code kind} tag
+   * @return the summary
+   */
+  public static DistributionSummary bytes(
+      MeterRegistry meterRegistry, String name, String description, String kind) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .baseUnit("bytes")
+        .tag("kind", kind)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Registers a pipeline's counter for one outcome, e.g. ready or failed.
+   *
+   * @param meterRegistry the registry
+   * @param name the meter name
+   * @param description the meter description
+   * @param outcome the {@code outcome} tag
+   * @return the counter
+   */
+  public static Counter outcome(
+      MeterRegistry meterRegistry, String name, String description, String outcome) {
+    return Counter.builder(name)
+        .description(description)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
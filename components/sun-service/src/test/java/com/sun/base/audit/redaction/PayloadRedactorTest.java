@@ -4,6 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,7 +50,7 @@ class PayloadRedactorTest {
   void redact_descendsIntoNestedObjectsAndArrays() {
     Map<String, Object> payload = Map.of(
         "input", Map.of("token", "secret"),
-        "items", java.util.List.of(Map.of("authorization", "bearer")));
+        "items", List.of(Map.of("authorization", "bearer")));
 
     JsonNode redacted = redactor.redact(payload, Set.of());
 
@@ -56,7 +60,7 @@ class PayloadRedactorTest {
 
   @Test
   void redact_leavesInputUnchanged() {
-    Map<String, Object> payload = new java.util.HashMap<>(Map.of("password", "hunter2"));
+    Map<String, Object> payload = new HashMap<>(Map.of("password", "hunter2"));
 
     redactor.redact(payload, Set.of());
 
@@ -69,4 +73,57 @@ class PayloadRedactorTest {
 
     assertThat(redacted.isNull()).isTrue();
   }
+
+  @Test
+  void redactToJson_masksWholeValuesInOnePass() {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("id", 7);
+    payload.put("credentials", Map.of("user", "a", "nested", List.of(1, 2)));
+    payload.put("Email", "a@b.com");
+    payload.put("tags", List.of("x", Map.of("apiKey", "k")));
+    payload.put("after", true);
+
+    String json = redactor.redactToJson(payload, Set.of("email"));
+
+    assertThat(json).isEqualTo("{\"id\":7,\"credentials\":\"REDACTED\",\"Email\":\"REDACTED\","
+        + "\"tags\":[\"x\",{\"apiKey\":\"REDACTED\"}],\"after\":true}");
+  }
+
+  @Test
+  void redactToJson_matchesRedactOnALargePayload() throws Exception {
+    List<Object> items = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Map<String, Object> item = new LinkedHashMap<>();
+      item.put("id", i);
+      item.put("title", "Chapter " + i);
+      item.put("email", "reader" + i + "@example.com");
+      item.put("accessToken", "tok-" + i);
+      item.put("position", Map.of("start", i * 10, "end", i * 10 + 9));
+      items.add(item);
+    }
+    Map<String, Object> payload = Map.of("input", Map.of("items", items, "password", "hunter2"));
+
+    String json = redactor.redactToJson(payload, Set.of("email"));
+
+    assertThat(new ObjectMapper().readTree(json)).isEqualTo(redactor.redact(payload, Set.of("email")));
+    assertThat(json).doesNotContain("@example.com", "tok-", "hunter2");
+  }
+
+  @Test
+  void redactToJson_returnsNullForNullPayload() {
+    assertThat(redactor.redactToJson(null, Set.of())).isNull();
+  }
+
+  @Test
+  void plan_remembersVerdictsUpToItsBound() {
+    PayloadRedactor.Plan plan = new PayloadRedactor.Plan(Set.of("Email"));
+
+    assertThat(plan.masks("EMAIL")).isTrue();
+    assertThat(plan.masks("newPassword")).isTrue();
+    assertThat(plan.masks("body")).isFalse();
+    for (int i = 0; i < PayloadRedactor.MAX_VERDICTS * 2; i++) {
+      assertThat(plan.masks("field" + i)).isFalse();
+    }
+    assertThat(plan.masks("authorizationHeader")).isTrue();
+  }
 }
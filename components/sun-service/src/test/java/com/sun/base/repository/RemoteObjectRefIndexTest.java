@@ -0,0 +1,65 @@
+package com.sun.base.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.sun.base.model.BaseEntity;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Table;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RemoteObjectRefIndexTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final RemoteObjectRefIndex index = new RemoteObjectRefIndex(jdbcTemplate);
+
+  @Test
+  void replace_deletesStaleTargetsAndInsertsDistinctOnes() {
+    UUID ownerId = UUID.randomUUID();
+
+    index.replace("owners", ownerId, Arrays.asList("hades:text:1", "hades:text:1", " ", null, "blog:2"));
+
+    ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+    verify(jdbcTemplate).update(contains("DELETE"), eq("owners"), eq(ownerId), args.capture());
+    assertThat((String[]) args.getValue()).containsExactly("hades:text:1", "blog:2");
+    verify(jdbcTemplate).update(contains("INSERT"), eq("owners"), eq(ownerId), args.capture());
+    assertThat((String[]) args.getValue()).containsExactly("hades:text:1", "blog:2");
+  }
+
+  @Test
+  void replace_withNoTargets_onlyClearsOwner() {
+    UUID ownerId = UUID.randomUUID();
+
+    index.replace("owners", ownerId, List.of());
+
+    verify(jdbcTemplate).update(contains("DELETE"), eq("owners"), eq(ownerId), eq(new String[0]));
+    verify(jdbcTemplate, never()).update(contains("INSERT"), anyString(), eq(ownerId), eq(new String[0]));
+  }
+
+  @Test
+  void ownerType_isTheTableOfTheConcreteEntity() {
+    assertThat(RemoteObjectRefIndex.ownerType(Owner.class)).isEqualTo("test_owners");
+    assertThat(RemoteObjectRefIndex.ownerType(Owner.Subclass.class)).isEqualTo("test_owners");
+    assertThatThrownBy(() -> RemoteObjectRefIndex.ownerType(Unmapped.class))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Table(name = "test_owners")
+  static class Owner extends BaseEntity {
+    static class Subclass extends Owner {}
+  }
+
+  @MappedSuperclass
+  abstract static class Unmapped extends BaseEntity {}
+}
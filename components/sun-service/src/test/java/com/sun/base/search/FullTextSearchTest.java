@@ -0,0 +1,46 @@
+package com.sun.base.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class FullTextSearchTest {
+
+  private static final FullTextSearch.Source POSTS = new FullTextSearch.Source(
+      "posts", "t.title", "t.content", "t.language", "t.deleted = false");
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final FullTextSearch search = new FullTextSearch(jdbcTemplate);
+
+  @Test
+  void search_skipsBlankQueriesAndEmptyPages() {
+    assertThat(search.search(POSTS, "  ", null, 10, 0)).isEmpty();
+    assertThat(search.search(POSTS, null, null, 10, 0)).isEmpty();
+    assertThat(search.search(POSTS, "moon", null, 0, 0)).isEmpty();
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void search_ranksInsideTheIndexedTableAndHighlightsOnlyThePage() {
+    search.search(POSTS, "new moon", "en", 20, 40);
+
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class),
+        eq("new moon"), eq("new moon"), eq("en"), eq(20), eq(40L));
+    assertThat(sql.getValue())
+        .contains("FROM posts t, sun_search_query(?, ?) AS q(query)")
+        .contains("t.search_vector @@ q.query AND (t.deleted = false)")
+        .contains("LIMIT ? OFFSET ?) h")
+        .contains("ts_headline(sun_search_config(t.language), replace(replace(replace(coalesce(t.content, ''), "
+            + "'&', '&amp;'), '<', '&lt;'), '>', '&gt;')");
+  }
+}
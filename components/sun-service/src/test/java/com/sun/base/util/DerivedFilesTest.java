@@ -0,0 +1,61 @@
+package com.sun.base.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for DerivedFiles.
+ */
+class DerivedFilesTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void fingerprint_isTheSameForAFileAndItsBytes() throws Exception {
+    byte[] content = {1, 2, 3};
+    Path original = Files.write(dir.resolve("a.wav"), content);
+
+    String fromFile = DerivedFiles.fingerprint("1|128k", original, 16);
+
+    assertThat(fromFile).hasSize(16).matches("[0-9a-f]+");
+    assertThat(DerivedFiles.fingerprint("1|128k", content, 16)).isEqualTo(fromFile);
+  }
+
+  @Test
+  void fingerprint_changesWithTheContentAndTheSettings() {
+    String base = DerivedFiles.fingerprint("1|85", new byte[] {1}, 12);
+
+    assertThat(DerivedFiles.fingerprint("1|85", new byte[] {2}, 12)).isNotEqualTo(base);
+    assertThat(DerivedFiles.fingerprint("1|90", new byte[] {1}, 12)).isNotEqualTo(base);
+    assertThat(DerivedFiles.fingerprint("1|85", new byte[] {1}, 12)).isEqualTo(base);
+  }
+
+  @Test
+  void moveIntoPlace_replacesTheTargetAndRemovesThePartial() throws Exception {
+    Path partial = Files.writeString(dir.resolve("x.partial"), "new");
+    Path target = Files.writeString(dir.resolve("x"), "old");
+
+    DerivedFiles.moveIntoPlace(partial, target);
+
+    assertThat(target).hasContent("new");
+    assertThat(partial).doesNotExist();
+  }
+
+  @Test
+  void meters_areTaggedByKindAndOutcome() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    DerivedFiles.bytes(registry, "test.bytes", "sizes", "original").record(10);
+    DerivedFiles.outcome(registry, "test.outcomes", "outcomes", "ready").increment();
+
+    assertThat(registry.get("test.bytes").tag("kind", "original").summary().totalAmount())
+        .isEqualTo(10.0);
+    assertThat(registry.get("test.outcomes").tag("outcome", "ready").counter().count())
+        .isEqualTo(1.0);
+  }
+}